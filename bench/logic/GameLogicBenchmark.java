@@ -0,0 +1,107 @@
+package logic;
+
+import java.util.concurrent.TimeUnit;
+import logic.boards.Board;
+import logic.boards.fieldTypes.Property;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the hot paths of the game logic: searching the placeable
+ * cells, the move of a computer, counting the points at the end of a game and
+ * a whole game without a gui
+ *
+ * @author Mario da Graca (cgt103579)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameLogicBenchmark {
+
+    /**
+     * Level the benchmarks are run on
+     */
+    @Param({"1", "2", "3"})
+    public int levelNo;
+
+    //Game that wasn't started yet
+    private GameLogicDizzle newGame;
+    //Game that was played until the end
+    private GameLogicDizzle finishedGame;
+    //Playing board of the first player of the new game
+    private Board board;
+    //Placeable cells of the first player of the new game
+    private Position[] placeable;
+    //Seed of the next headless game
+    private long seed;
+
+    /**
+     * Creates the games every benchmark works on
+     *
+     * @throws Exception
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        this.newGame = new GameLogicDizzle(3, this.levelNo, 42L);
+        this.board = this.newGame.getPlayers()[0].getBoard();
+        long dicePool = 0L;
+        for (Die die : this.newGame.getDice()) {
+            dicePool |= this.board.getFaceMask(die.getfaceValue());
+        }
+        this.placeable = this.board.getBitBoard().toPositionArray(
+                this.board.getPlaceableNeighbourMask(Property.CROSSED) & dicePool);
+
+        this.finishedGame = new GameLogicDizzle(3, this.levelNo, 42L);
+        this.finishedGame.playHeadless();
+        this.seed = 0L;
+    }
+
+    /**
+     * @return mask of the placeable neighbours of the crossed cells
+     */
+    @Benchmark
+    public long getPlaceableNeighbourMask() {
+        return this.board.getPlaceableNeighbourMask(Property.CROSSED);
+    }
+
+    /**
+     * @return next move of the first player
+     */
+    @Benchmark
+    public Position evaluateNextMove() {
+        return this.newGame.getPlayers()[0].evaluateNextMove(this.placeable);
+    }
+
+    /**
+     * @return outcome of the game
+     */
+    @Benchmark
+    public GameResult handleEndOfGame() {
+        this.finishedGame.handleEndOfGame();
+        return this.finishedGame.getResult();
+    }
+
+    /**
+     * @return outcome of a whole game of four computers
+     * @throws Exception
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public GameResult playHeadless() throws Exception {
+        this.seed++;
+        return new GameLogicDizzle(3, this.levelNo, this.seed).playHeadless();
+    }
+}
@@ -0,0 +1,111 @@
+package logic;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of saving a game as JSON or in the binary format and loading it
+ * again
+ *
+ * @author Mario da Graca (cgt103579)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SaveGameBenchmark {
+
+    //File the game is saved to as JSON
+    private File file;
+    //File the game is saved to in the binary format
+    private File binaryFile;
+    //Game that is saved
+    private SaveGame saveGame;
+    //Content of the saved file
+    private String json;
+    //Game in the binary format
+    private byte[] binary;
+
+    /**
+     * Plays a game and saves it once, so there is a file to be loaded
+     *
+     * @throws Exception
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        this.file = File.createTempFile("dizzle-bench", ".json");
+        this.binaryFile = File.createTempFile("dizzle-bench", SaveGame.BINARY_EXTENSION);
+        GameLogicDizzle game = new GameLogicDizzle(3, 3, 42L);
+        game.playHeadless();
+
+        //the players of the game, in a round that can be loaded again
+        Player[] toSave = game.createSaveGame().getPlayers();
+        this.saveGame = new SaveGame(3, 1, 0, new int[]{1, 2, 3, 4, 5, 6}, toSave);
+        this.saveGame.saveToJSON(this.file.getPath());
+        this.json = new String(Files.readAllBytes(this.file.toPath()), StandardCharsets.UTF_8);
+        this.binary = this.saveGame.toBinary();
+    }
+
+    /**
+     * Deletes the files
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.file.delete();
+        this.binaryFile.delete();
+    }
+
+    /**
+     * @throws Exception
+     */
+    @Benchmark
+    public void saveToJSON() throws Exception {
+        this.saveGame.saveToJSON(this.file.getPath());
+    }
+
+    /**
+     * @return loaded game
+     * @throws Exception
+     */
+    @Benchmark
+    public GameLogicDizzle loadJSON() throws Exception {
+        LoadGame loadGame = new LoadGame(this.file.getPath(), HeadlessGUI.INSTANCE);
+        loadGame.loadJSON(this.json);
+        return loadGame.loadGame();
+    }
+
+    /**
+     * @throws Exception
+     */
+    @Benchmark
+    public void saveToBinary() throws Exception {
+        this.saveGame.saveToBinary(this.binaryFile.getPath());
+    }
+
+    /**
+     * @return loaded game
+     * @throws Exception
+     */
+    @Benchmark
+    public GameLogicDizzle loadBinary() throws Exception {
+        LoadGame loadGame = new LoadGame(this.file.getPath(), HeadlessGUI.INSTANCE);
+        loadGame.load(this.binary);
+        return loadGame.loadGame();
+    }
+}
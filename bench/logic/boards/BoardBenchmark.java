@@ -0,0 +1,74 @@
+package logic.boards;
+
+import java.io.InputStream;
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of creating the playing board of a level, once from the JSON
+ * level file and once from the cached level template
+ *
+ * @author Mario da Graca (cgt103579)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+
+    /**
+     * Level that is created
+     */
+    @Param({"1", "2", "3"})
+    public int levelNo;
+
+    //Content of the level file
+    private String json;
+    //Cached template of the level
+    private LevelTemplate template;
+
+    /**
+     * Reads the level file once
+     *
+     * @throws Exception
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        try (InputStream in = Board.class.getResourceAsStream("levelFiles/Level" + this.levelNo + ".json");
+                Scanner scanner = new Scanner(in, "UTF-8")) {
+            this.json = scanner.useDelimiter("\\A").next();
+        }
+        this.template = LevelTemplate.get(this.levelNo);
+    }
+
+    /**
+     * @return board parsed from the JSON level file
+     * @throws Exception
+     */
+    @Benchmark
+    public Board fromJSON() throws Exception {
+        return new Board(this.json);
+    }
+
+    /**
+     * @return board copied from the level template
+     */
+    @Benchmark
+    public Board fromTemplate() {
+        return this.template.createBoard();
+    }
+}
@@ -0,0 +1,318 @@
+package gui;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javafx.application.Platform;
+import logic.CellChanges;
+import logic.Die;
+import logic.GUIConnector;
+import logic.LogEvent;
+import logic.Position;
+import logic.boards.BitBoard;
+import logic.boards.fieldTypes.Property;
+
+/**
+ * GUIConnector for a game that runs on another thread than the JavaFX
+ * application thread. Every call of the logic is turned into an update of the
+ * gui that waits until the next frame: all updates that come in before the
+ * next frame are applied at once in a single Platform.runLater
+ * <p>
+ * Updates that change the same thing replace each other, e.g. only the last
+ * image of a cell or the last dice pool is shown. So the cost of a frame
+ * depends on the changed cells and not on the amount of calls. Updates that
+ * add something to the gui (creating the boards, writing the log) are always
+ * applied in the order they were made
+ *
+ * @author Mario da Graca (cgt103579)
+ */
+public class BatchingGUI implements GUIConnector {
+
+    /**
+     * Kinds of updates, updates of the same kind for the same player and cell
+     * replace each other
+     */
+    private final static int CELL_IMAGE = 1;
+    private final static int CELL_STYLE = 2;
+    private final static int ALL_CELL_STYLES = 3;
+    private final static int DICE_POOL = 4;
+    private final static int SKIPPED_PLAYER = 5;
+    private final static int ROLL_BUTTON = 6;
+    private final static int SKIP_BUTTON = 7;
+    private final static int PLAYER_GRID_PANE = 8;
+    private final static int CURR_ROUND = 9;
+    private final static int ROUND = 10;
+    private final static int FLAG_POINTS = 11;
+    private final static int ORDERED = 12;
+
+    //Gui the updates are applied to
+    private final GUIConnector gui;
+    //Updates for the next frame in the order they have to be applied
+    private Map<Long, Runnable> pending;
+    //Counter to give every update that can't be replaced its own key
+    private long orderedCounter;
+    //The next frame is already scheduled
+    private boolean frameScheduled;
+    //The game of this gui was left, its updates are dropped
+    private volatile boolean disposed;
+
+    /**
+     * Constructor
+     *
+     * @param gui gui the updates are applied to, is only called by the JavaFX
+     * application thread
+     */
+    public BatchingGUI(GUIConnector gui) {
+        this.gui = gui;
+        this.pending = new LinkedHashMap<>();
+        this.orderedCounter = 0;
+        this.frameScheduled = false;
+        this.disposed = false;
+    }
+
+    /**
+     * Drops all updates that weren't applied yet and every update that comes
+     * in afterwards, e.g. when a new game is started while the old one is
+     * still running
+     */
+    public void dispose() {
+        this.disposed = true;
+        synchronized (this) {
+            this.pending.clear();
+        }
+    }
+
+    /**
+     * Creates the key of an update
+     *
+     * @param kind kind of the update
+     * @param player index of the player whose board is updated
+     * @param x column of the cell
+     * @param y row of the cell
+     * @return key of the update
+     */
+    private static long key(int kind, int player, int x, int y) {
+        return (long) kind << 48 | (long) (player & 0xFFFF) << 32 | (x & 0xFFFF) << 16 | (y & 0xFFFF);
+    }
+
+    /**
+     * Adds an update for the next frame and schedules the frame if necessary.
+     * An earlier update with the same key is replaced, the update is applied
+     * after all other updates that are pending
+     *
+     * @param key key of the update
+     * @param update update of the gui
+     */
+    private synchronized void update(long key, Runnable update) {
+        if (!this.disposed) {
+            this.pending.remove(key);
+            this.pending.put(key, update);
+            if (!this.frameScheduled) {
+                this.frameScheduled = true;
+                Platform.runLater(this::applyFrame);
+            }
+        }
+    }
+
+    /**
+     * Adds an update that is never replaced
+     *
+     * @param update update of the gui
+     */
+    private synchronized void updateOrdered(Runnable update) {
+        update(key(ORDERED, 0, 0, 0) + this.orderedCounter++, update);
+    }
+
+    /**
+     * Applies all pending updates, is called by the JavaFX application thread
+     */
+    private void applyFrame() {
+        Map<Long, Runnable> frame;
+        synchronized (this) {
+            frame = this.pending;
+            this.pending = new LinkedHashMap<>();
+            this.frameScheduled = false;
+        }
+        for (Runnable update : frame.values()) {
+            if (!this.disposed) {
+                update.run();
+            }
+        }
+    }
+
+    /**
+     * Unhighlights a cell of the player that got a die or was crossed out, the
+     * gui does that together with the new image of the cell. It's a separate
+     * update, so it isn't lost if the image is replaced in the same frame
+     *
+     * @param pos position of the cell
+     * @param turnOf index of the player whose board changed
+     */
+    private void unhighlightChangedCell(Position pos, int turnOf) {
+        if (turnOf == 0) {
+            //the gui expects the position in the grid pane of the player here
+            Position translated = Position.of(pos.getX() + 1, pos.getY() + 1);
+            update(key(CELL_STYLE, 0, pos.getX(), pos.getY()), () -> this.gui.unhighlightPlaceableCell(translated));
+        }
+    }
+
+    @Override
+    public void highlightPlaceableCell(Position pos) {
+        update(key(CELL_STYLE, 0, pos.getX(), pos.getY()), () -> this.gui.highlightPlaceableCell(pos));
+    }
+
+    @Override
+    public void unhighlightPlaceableCell(Position pos) {
+        //the position is in the grid pane of the player, the key is made of
+        //the position on the board like the one of highlightPlaceableCell
+        update(key(CELL_STYLE, 0, pos.getX() - 1, pos.getY() - 1), () -> this.gui.unhighlightPlaceableCell(pos));
+    }
+
+    @Override
+    public void unhighlightAllCells() {
+        update(key(ALL_CELL_STYLES, 0, 0, 0), () -> this.gui.unhighlightAllCells());
+    }
+
+    @Override
+    public void setCellImages(Position pos, Property property, Die die) {
+        updateOrdered(() -> this.gui.setCellImages(pos, property, die));
+    }
+
+    @Override
+    public void setHorizontalVerticalImage(Position pos, Property property, int points) {
+        updateOrdered(() -> this.gui.setHorizontalVerticalImage(pos, property, points));
+    }
+
+    @Override
+    public void setSkippedPlayer(int col) {
+        update(key(SKIPPED_PLAYER, col, 0, 0), () -> this.gui.setSkippedPlayer(col));
+    }
+
+    @Override
+    public void setUnskippedPlayer(int col) {
+        update(key(SKIPPED_PLAYER, col, 0, 0), () -> this.gui.setUnskippedPlayer(col));
+    }
+
+    @Override
+    public void enableRollButton(Boolean bool) {
+        update(key(ROLL_BUTTON, 0, 0, 0), () -> this.gui.enableRollButton(bool));
+    }
+
+    @Override
+    public void enableSkipButton(Boolean bool) {
+        update(key(SKIP_BUTTON, 0, 0, 0), () -> this.gui.enableSkipButton(bool));
+    }
+
+    @Override
+    public void enablePlayerGridPane(Boolean bool) {
+        update(key(PLAYER_GRID_PANE, 0, 0, 0), () -> this.gui.enablePlayerGridPane(bool));
+    }
+
+    @Override
+    public void setDimensions(int heigth, int width) {
+        updateOrdered(() -> this.gui.setDimensions(heigth, width));
+    }
+
+    @Override
+    public void setCurrRound(int currRound) {
+        update(key(CURR_ROUND, 0, 0, 0), () -> this.gui.setCurrRound(currRound));
+    }
+
+    @Override
+    public void displayDicePool(Die[] dicePool) {
+        Die[] copy = Arrays.copyOf(dicePool, dicePool.length);
+        update(key(DICE_POOL, 0, 0, 0), () -> this.gui.displayDicePool(copy));
+    }
+
+    @Override
+    public void displayPlacedDie(Position position, Die die, int turnOf) {
+        update(key(CELL_IMAGE, turnOf, position.getX(), position.getY()),
+                () -> this.gui.displayPlacedDie(position, die, turnOf));
+        unhighlightChangedCell(position, turnOf);
+    }
+
+    @Override
+    public void displayCrossedCell(Position position, int turnOf) {
+        update(key(CELL_IMAGE, turnOf, position.getX(), position.getY()),
+                () -> this.gui.displayCrossedCell(position, turnOf));
+        unhighlightChangedCell(position, turnOf);
+    }
+
+    @Override
+    public void displayExplodedCell(Position position, int turnOf) {
+        update(key(CELL_IMAGE, turnOf, position.getX(), position.getY()),
+                () -> this.gui.displayExplodedCell(position, turnOf));
+        unhighlightChangedCell(position, turnOf);
+    }
+
+    @Override
+    public void displayPutBackDie(Position position, Property property, Die die, int turnOf) {
+        update(key(CELL_IMAGE, turnOf, position.getX(), position.getY()),
+                () -> this.gui.displayPutBackDie(position, property, die, turnOf));
+    }
+
+    /**
+     * The changed cells are turned into updates of the single cells, so they
+     * replace earlier images of the same cells in the frame
+     *
+     * @param changes changed cells of every playing board
+     */
+    @Override
+    public void displayChangedCells(CellChanges changes) {
+        BitBoard bitBoard = changes.getBitBoard();
+        for (int i = 0; i < changes.getAmountPlayers(); i++) {
+            long crossed = changes.getCrossed(i);
+            while (crossed != 0L) {
+                displayCrossedCell(bitBoard.toPosition(Long.numberOfTrailingZeros(crossed)), i);
+                crossed &= crossed - 1;
+            }
+            long exploded = changes.getExploded(i);
+            while (exploded != 0L) {
+                displayExplodedCell(bitBoard.toPosition(Long.numberOfTrailingZeros(exploded)), i);
+                exploded &= exploded - 1;
+            }
+        }
+    }
+
+    @Override
+    public void createAllGridPanes() {
+        updateOrdered(() -> this.gui.createAllGridPanes());
+    }
+
+    @Override
+    public void createScoreBoardGridPane(int amountRows) {
+        updateOrdered(() -> this.gui.createScoreBoardGridPane(amountRows));
+    }
+
+    @Override
+    public void setScoreBoardImage(Property property, String points, int row) {
+        updateOrdered(() -> this.gui.setScoreBoardImage(property, points, row));
+    }
+
+    @Override
+    public void updateFlagPointsLabel(int points) {
+        update(key(FLAG_POINTS, 0, 0, 0), () -> this.gui.updateFlagPointsLabel(points));
+    }
+
+    @Override
+    public void updateRound(int turnOf, int currRound) {
+        update(key(ROUND, turnOf, 0, 0), () -> this.gui.updateRound(turnOf, currRound));
+    }
+
+    @Override
+    public void writeLogToGUI(int turnOf, LogEvent logEvent, Position pos, Die die, int levelNo, int flagPoints, Die[] dice) {
+        Die[] diceCopy = dice == null ? null : Arrays.copyOf(dice, dice.length);
+        updateOrdered(() -> this.gui.writeLogToGUI(turnOf, logEvent, pos, die, levelNo, flagPoints, diceCopy));
+    }
+
+    @Override
+    public void announceWinner(List<Integer> points, int winner) {
+        updateOrdered(() -> this.gui.announceWinner(points, winner));
+    }
+
+    @Override
+    public void displayException(String message) {
+        updateOrdered(() -> this.gui.displayException(message));
+    }
+}
@@ -0,0 +1,159 @@
+package gui;
+
+import javafx.geometry.HPos;
+import javafx.geometry.Pos;
+import javafx.geometry.VPos;
+import javafx.scene.control.Label;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.ColumnConstraints;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.RowConstraints;
+import javafx.scene.text.Font;
+import logic.Die;
+
+/**
+ * View of the dice pool. The label, the grid and an ImageView for every slot
+ * are created once, afterwards only the images of the slots that changed are
+ * swapped. A slot shows the die with the same index in the dice pool or is
+ * empty
+ *
+ * @author Mario da Graca (cgt103579)
+ */
+class DicePoolView {
+
+    //Constants to define the dimension for the dice pool
+    private final static int AMOUNT_ROWS_DICE = 4;
+    private final static int AMOUNT_COLS_DICE = 4;
+
+    /**
+     * Amount of slots, dice after the last slot aren't shown
+     */
+    final static int AMOUNT_SLOTS = AMOUNT_ROWS_DICE * AMOUNT_COLS_DICE;
+
+    //Grid the view was added to
+    private final GridPane grdPnDicePool;
+    //Grid with the slots
+    private final GridPane grdPnDiceDisplay;
+    //Image of every face value, index 0 is the image of an empty slot
+    private final Image[] faceImages;
+    //ImageView of every slot
+    private final ImageView[] slots;
+    //Face value every slot shows, 0 for an empty slot
+    private final int[] shownFaces;
+    //Reused buffers for the diff of the last shown dice pool
+    private final int[] changedSlots;
+    private final int[] changedFaces;
+
+    /**
+     * Constructor, creates the view with empty slots and adds it to the grid
+     *
+     * @param grdPnDicePool grid the view is added to, is cleared before
+     * @param faceImages image of every face value, index 0 is the image of an
+     * empty slot
+     */
+    DicePoolView(GridPane grdPnDicePool, Image[] faceImages) {
+        this.grdPnDicePool = grdPnDicePool;
+        this.faceImages = faceImages;
+        this.slots = new ImageView[AMOUNT_SLOTS];
+        this.shownFaces = new int[AMOUNT_SLOTS];
+        this.changedSlots = new int[AMOUNT_SLOTS];
+        this.changedFaces = new int[AMOUNT_SLOTS];
+
+        this.grdPnDicePool.getChildren().clear();
+        this.grdPnDicePool.getRowConstraints().clear();
+        this.grdPnDicePool.getColumnConstraints().clear();
+        this.grdPnDicePool.setAlignment(Pos.CENTER);
+
+        ColumnConstraints labelCol = new ColumnConstraints();
+        labelCol.setHalignment(HPos.CENTER);
+        labelCol.setPercentWidth(10);
+        this.grdPnDicePool.getColumnConstraints().add(labelCol);
+
+        ColumnConstraints GridCol = new ColumnConstraints();
+        GridCol.setPercentWidth(90);
+        GridCol.setHalignment(HPos.CENTER);
+        this.grdPnDicePool.getColumnConstraints().add(GridCol);
+
+        Label lblDicePool = new Label("Dice-Pool");
+        lblDicePool.setFont(new Font("System", 20));
+        lblDicePool.setStyle("-fx-font-weight: bold;");
+        this.grdPnDicePool.add(lblDicePool, 0, 0);
+
+        this.grdPnDiceDisplay = new GridPane();
+        this.grdPnDiceDisplay.setAlignment(Pos.CENTER);
+        this.grdPnDiceDisplay.setHgap(2);
+        this.grdPnDiceDisplay.setVgap(2);
+
+        for (int k = 0; k < AMOUNT_COLS_DICE; k++) {
+            ColumnConstraints col = new ColumnConstraints();
+            col.setMinWidth(50);
+            col.setHalignment(HPos.CENTER);
+            this.grdPnDiceDisplay.getColumnConstraints().add(col);
+        }
+
+        for (int i = 0; i < AMOUNT_ROWS_DICE; i++) {
+            RowConstraints row = new RowConstraints();
+            row.setMinHeight(50);
+            row.setValignment(VPos.CENTER);
+            this.grdPnDiceDisplay.getRowConstraints().add(row);
+        }
+
+        //Fills the gridPane with empty slots
+        for (int i = 0; i < AMOUNT_SLOTS; i++) {
+            ImageView iv = new ImageView();
+            iv.setImage(this.faceImages[0]);
+            iv.fitWidthProperty().bind(this.grdPnDiceDisplay.widthProperty().
+                    divide(AMOUNT_COLS_DICE).subtract(this.grdPnDiceDisplay.getHgap()));
+            iv.fitHeightProperty().bind(this.grdPnDiceDisplay.heightProperty().
+                    divide(AMOUNT_ROWS_DICE).subtract(this.grdPnDiceDisplay.getVgap()));
+            iv.setPreserveRatio(true);
+            this.grdPnDiceDisplay.add(iv, i % AMOUNT_COLS_DICE, i / AMOUNT_COLS_DICE);
+            this.slots[i] = iv;
+        }
+
+        this.grdPnDicePool.add(this.grdPnDiceDisplay, 0, 1);
+    }
+
+    /**
+     * Checks if the view is still part of its grid, e.g. the grid is cleared
+     * when a new game is started
+     *
+     * @return true if the view is shown
+     */
+    boolean isShown() {
+        return this.grdPnDiceDisplay.getParent() == this.grdPnDicePool;
+    }
+
+    /**
+     * Shows a dice pool, only the slots whose face value changed are updated
+     *
+     * @param dicePool all available dice
+     */
+    void show(Die[] dicePool) {
+        int amountChanged = 0;
+        for (int i = 0; i < AMOUNT_SLOTS; i++) {
+            int face = i < dicePool.length ? dicePool[i].getfaceValue() : 0;
+            if (face != this.shownFaces[i]) {
+                this.changedSlots[amountChanged] = i;
+                this.changedFaces[amountChanged] = face;
+                amountChanged++;
+            }
+        }
+        update(this.changedSlots, this.changedFaces, amountChanged);
+    }
+
+    /**
+     * Applies a diff of the dice pool
+     *
+     * @param slots slots that changed
+     * @param faces new face value of every changed slot, 0 for an empty slot
+     * @param amount amount of changed slots
+     */
+    void update(int[] slots, int[] faces, int amount) {
+        for (int i = 0; i < amount; i++) {
+            this.slots[slots[i]].setImage(this.faceImages[faces[i]]);
+            this.shownFaces[slots[i]] = faces[i];
+        }
+    }
+}
@@ -5,7 +5,12 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.file.Paths;
 import java.util.ResourceBundle;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import javafx.application.Platform;
 import javafx.beans.value.ObservableValue;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
@@ -28,9 +33,12 @@ import javafx.scene.layout.Pane;
 import javafx.stage.FileChooser;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
+import logic.GameJournal;
 import logic.GameLogicDizzle;
+import logic.JournalRecovery;
 import logic.LoadGame;
 import logic.Position;
+import logic.SaveGame;
 import logic.exceptions.LevelParsingException;
 import logic.exceptions.LevelSavingException;
 
@@ -90,6 +98,9 @@ public class FXMLDocumentController implements Initializable {
     @FXML
     private GridPane grdPnScoreBoard;
 
+    //File the journal of the current game is written to
+    private final static String JOURNAL_FILE = "LastGame.journal";
+
     //Paren component for the startUp Window
     private Parent startUpParent;
 
@@ -99,6 +110,17 @@ public class FXMLDocumentController implements Initializable {
     //Current game
     private GameLogicDizzle game;
 
+    //Gui of the current game
+    private BatchingGUI gui;
+
+    //Thread that runs the game loop, so the gui doesn't freeze while the
+    //computers move. Every access to the game happens on this thread
+    private final ExecutorService gameLoop = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "game-loop");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     //Amount of computer player -> selected in StartUp Window
     private int amountComputers;
 
@@ -142,6 +164,88 @@ public class FXMLDocumentController implements Initializable {
         alert.showAndWait();
     }
 
+    /**
+     * Displays an exception from the game loop on the JavaFX application
+     * thread
+     *
+     * @param message that the Alert displays
+     */
+    private void displayLoopException(String message) {
+        Platform.runLater(() -> displayException(message));
+    }
+
+    /**
+     * Runs an action on the game loop thread, after everything that was passed
+     * to it before
+     *
+     * @param action action to run
+     */
+    private void runGame(Runnable action) {
+        this.gameLoop.execute(action);
+    }
+
+    /**
+     * Passes an action of the human player to the current game on the game
+     * loop thread
+     *
+     * @param action action with the current game
+     */
+    private void playGame(Consumer<GameLogicDizzle> action) {
+        GameLogicDizzle currGame = this.game;
+        if (currGame != null) {
+            runGame(() -> action.accept(currGame));
+        }
+    }
+
+    /**
+     * Leaves the current game: its remaining updates of the gui are dropped
+     * and its journal is closed, all its records are written
+     */
+    private void leaveGame() {
+        GameLogicDizzle oldGame = this.game;
+        if (this.gui != null) {
+            this.gui.dispose();
+        }
+        if (oldGame != null) {
+            runGame(() -> {
+                if (oldGame.getJournal() != null) {
+                    oldGame.getJournal().close();
+                }
+            });
+        }
+        this.game = null;
+        this.gui = null;
+    }
+
+    /**
+     * Creates the gui for a new game, its updates are applied once per frame
+     *
+     * @param amountComputers amount of computers of the game
+     * @return gui of the game
+     */
+    private BatchingGUI createGUI(int amountComputers) {
+        this.gui = new BatchingGUI(new JavaFXGUI(bttnRollDice, bttnSkipTurn, amountComputers, lblPlayerRound, grdPnScoreBoard,
+                grdPnPlayerBoard, grdPnDicePool, grdPnCBoards, grdPnLogArea, txtAreaLog));
+        return this.gui;
+    }
+
+    /**
+     * Writes a game to a new journal, so it can be resumed after a crash, and
+     * starts it on the game loop thread
+     *
+     * @param newGame game to start
+     */
+    private void startGame(GameLogicDizzle newGame) {
+        runGame(() -> {
+            try {
+                newGame.setJournal(new GameJournal(Paths.get(JOURNAL_FILE), GameJournal.DEFAULT_SNAPSHOT_INTERVAL));
+            } catch (IOException e) {
+                displayLoopException("The journal of the game couldn't be created.\nThe game can't be resumed after a crash.\n" + e.getMessage());
+            }
+            newGame.startGame();
+        });
+    }
+
     /**
      * Handles the event of clicking on the new game button -> creates a new
      * game
@@ -150,6 +254,7 @@ public class FXMLDocumentController implements Initializable {
      */
     @FXML
     private void handleNewGameClick(ActionEvent event) {
+        leaveGame();
         //clear everything -> possible to start a new game without restarting 
         //the program
         grdPnCBoards.getChildren().clear();
@@ -184,14 +289,13 @@ public class FXMLDocumentController implements Initializable {
                 try {
                     //create the game
                     this.game = new GameLogicDizzle(amountComputers, selectedLevel, 0, 0,
-                            new JavaFXGUI(bttnRollDice, bttnSkipTurn, amountComputers, lblPlayerRound, grdPnScoreBoard,
-                                    grdPnPlayerBoard, grdPnDicePool, grdPnCBoards, grdPnLogArea, txtAreaLog));
+                            createGUI(amountComputers));
                     spltPnMainMenu.setDisable(false);
                     bttnRollDice.setDisable(true);
                     bttnSkipTurn.setDisable(true);
                     grdPnPlayerBoard.setDisable(false);
                     //start the game
-                    this.game.startGame();
+                    startGame(this.game);
                 } catch (LevelParsingException e) {
                     displayException(e.getMessage());
                 }
@@ -211,7 +315,7 @@ public class FXMLDocumentController implements Initializable {
      */
     @FXML
     private void handleRollDiceClick(ActionEvent event) {
-        this.game.handleRollDiceClicked();
+        playGame(currGame -> currGame.handleRollDiceClicked());
     }
 
     /**
@@ -238,7 +342,8 @@ public class FXMLDocumentController implements Initializable {
         }
         //Translate coordinates to match with the logic playing Board
         if (leftClicked) {
-            this.game.handleClickedCell(new Position(x - 1, y - 1));
+            Position clicked = Position.of(x - 1, y - 1);
+            playGame(currGame -> currGame.handleClickedCell(clicked));
         }
     }
 
@@ -250,7 +355,7 @@ public class FXMLDocumentController implements Initializable {
      */
     @FXML
     private void handleSkipTurnClicked(ActionEvent event) {
-        this.game.handleClickedSkippedButton();
+        playGame(currGame -> currGame.handleClickedSkippedButton());
     }
 
     /**
@@ -277,6 +382,7 @@ public class FXMLDocumentController implements Initializable {
         }
         fileChooser.setTitle("Save current Game");
         fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("JSON", "*.json"));
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Binary", "*" + SaveGame.BINARY_EXTENSION));
         //Step 3: Open the Dialog (set window owner, so nothing in the original window 
         //can be changed) 
         File selectedFile = fileChooser.showSaveDialog(anchrPnMain.getScene().getWindow());
@@ -285,11 +391,14 @@ public class FXMLDocumentController implements Initializable {
             if (this.game == null) {
                 displayException("You can only save a game that you already started.\nStart a new game by clicking on:\n'File -> New game'");
             } else {
-                try {
-                    this.game.saveGame(selectedFile.getName());
-                } catch (LevelSavingException e) {
-                    displayException(e.getMessage());
-                }
+                //saved between two moves of the game loop
+                playGame(currGame -> {
+                    try {
+                        currGame.saveGame(selectedFile.getName());
+                    } catch (LevelSavingException e) {
+                        displayLoopException(e.getMessage());
+                    }
+                });
             }
         }
     }
@@ -317,16 +426,16 @@ public class FXMLDocumentController implements Initializable {
             fileChooser.setInitialDirectory(currDir.getParentFile());
         }
         fileChooser.setTitle("Load a Game");
-        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("JSON", "*.json"));
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Save games", "*.json", "*" + SaveGame.BINARY_EXTENSION));
         //Step 3: Open the Dialog (set window owner, so nothing in the original window 
         //can be changed) 
         File selectedFile = fileChooser.showOpenDialog(anchrPnMain.getScene().getWindow());
         if (selectedFile != null) {
             LoadGame loadNewGame = new LoadGame(selectedFile.getAbsolutePath(), null);
             try {
-                loadNewGame.loadJSON();
-                loadNewGame.setGUI(new JavaFXGUI(bttnRollDice, bttnSkipTurn, loadNewGame.getAmountComputers(), lblPlayerRound, grdPnScoreBoard,
-                        grdPnPlayerBoard, grdPnDicePool, grdPnCBoards, grdPnLogArea, txtAreaLog));
+                loadNewGame.load();
+                leaveGame();
+                loadNewGame.setGUI(createGUI(loadNewGame.getAmountComputers()));
 
                 //clear everything to display new game
                 //makes it possible to load a game, when one was already started
@@ -344,7 +453,7 @@ public class FXMLDocumentController implements Initializable {
 
                 try {
                     this.game = loadNewGame.loadGame();
-                    this.game.startGame();
+                    startGame(this.game);
                 } catch (LevelParsingException e) {
                     displayException("Error loading the saved level.\n" + e.getMessage());
                 } catch (FileNotFoundException e) {
@@ -358,6 +467,70 @@ public class FXMLDocumentController implements Initializable {
         }
     }
 
+    /**
+     * Handles the event of clicking on the resume game menu button -> resumes
+     * the last game from its journal, e.g. after a crash
+     *
+     * @param event
+     */
+    @FXML
+    private void handleResumeGameClick(ActionEvent event) {
+        leaveGame();
+        JournalRecovery recovery = new JournalRecovery(Paths.get(JOURNAL_FILE), null);
+        //the journal has to be complete before it is read, it's closed by the
+        //game loop thread
+        runGame(() -> {
+            try {
+                recovery.read();
+                Platform.runLater(() -> resumeGame(recovery));
+            } catch (FileNotFoundException e) {
+                displayLoopException("There is no game that can be resumed.\nStart a new game by clicking on:\n'File -> New game'");
+            } catch (LevelParsingException e) {
+                displayLoopException("Error resuming the last game.\n" + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Displays the game of a read journal and resumes it on the game loop
+     * thread
+     *
+     * @param recovery recovery that read the journal
+     */
+    private void resumeGame(JournalRecovery recovery) {
+        recovery.setGUI(createGUI(recovery.getAmountComputers()));
+
+        //clear everything to display the resumed game
+        grdPnCBoards.getChildren().clear();
+        grdPnScoreBoard.getChildren().clear();
+        grdPnPlayerBoard.getChildren().clear();
+        grdPnDicePool.getChildren().clear();
+        lblSelectedLevel.setText("Selected Level: ");
+        lblPlayerRound.setText("Current Round: ");
+
+        spltPnMainMenu.setDisable(false);
+        bttnRollDice.setDisable(true);
+        bttnSkipTurn.setDisable(true);
+        grdPnPlayerBoard.setDisable(false);
+
+        runGame(() -> {
+            try {
+                //the resumed game is already started
+                GameLogicDizzle resumed = recovery.recover();
+                Platform.runLater(() -> {
+                    this.game = resumed;
+                    lblSelectedLevel.setText(lblSelectedLevel.getText() + resumed.getLevelNo());
+                });
+            } catch (FileNotFoundException e) {
+                displayLoopException("The level file belonging to the last game couldn't be found or opened.");
+            } catch (LevelParsingException e) {
+                displayLoopException("Error resuming the last game.\n" + e.getMessage());
+            } catch (IOException e) {
+                displayLoopException("The journal of the last game couldn't be continued.\n" + e.getMessage());
+            }
+        });
+    }
+
     /**
      * Handles the event of clicking on the close game menu button
      *
@@ -365,6 +538,7 @@ public class FXMLDocumentController implements Initializable {
      */
     @FXML
     private void handleCloseGameClick(ActionEvent event) {
+        leaveGame();
         Stage stage = (Stage) txtAreaLog.getScene().getWindow();
         stage.close();
     }
@@ -0,0 +1,196 @@
+package gui;
+
+import java.util.HashMap;
+import java.util.Map;
+import javafx.scene.image.Image;
+import logic.boards.fieldTypes.Property;
+
+/**
+ * All images of the game, every picture is decoded once and only when it's
+ * needed. The images are decoded in the size they're displayed in (e.g. the
+ * size of a cell of a board), so the ImageViews don't have to scale them down
+ * from the full size of the pictures. Every size is cached, boards with the
+ * same cell size share their images
+ * <p>
+ * The images are returned as tables: the images of the special fields by the
+ * ordinal of their property and the images of the dice by their face value,
+ * index 0 is an empty cell
+ *
+ * @author Mario da Graca (cgt103579)
+ */
+final class ImageAtlas {
+
+    /**
+     * Size of the pictures, images aren't decoded bigger than that
+     */
+    final static int FULL_SIZE = 200;
+
+    //Path to the image folder
+    private final static String PATH = "/gui/pictures/";
+    //Sizes are rounded up to a multiple of this, so similar sizes share images
+    private final static int SIZE_STEP = 8;
+
+    //Decoded pictures by file name and size
+    private final static Map<String, Image> PICTURES = new HashMap<>();
+    //Images of the special fields by size
+    private final static Map<Integer, Image[]> FIELD_IMAGES = new HashMap<>();
+    //Images of the dice on the boards by size
+    private final static Map<Integer, Image[]> BOARD_DIE_IMAGES = new HashMap<>();
+    //Images of the dice in the dice pool by size
+    private final static Map<Integer, Image[]> POOL_DIE_IMAGES = new HashMap<>();
+
+    /**
+     * Utility class
+     */
+    private ImageAtlas() {
+    }
+
+    /**
+     * Returns the filename of the image of a special field
+     *
+     * @param property Type of special field
+     * @return filename of a png, unlocked padlocks are shown as empty fields
+     */
+    private static String getFileName(Property property) {
+        String fileName;
+        switch (property) {
+            case JEWEL_RED:
+                fileName = "jewelRed.png";
+                break;
+            case JEWEL_YELLOW:
+                fileName = "jewelYellow.png";
+                break;
+            case JEWEL_BLUE:
+                fileName = "jewelBlue.png";
+                break;
+            case BOMB:
+                fileName = "bomb.png";
+                break;
+            case EXPLODED:
+                fileName = "exploded.png";
+                break;
+            case PUZZLE_BLUE:
+                fileName = "puzzleBlue.png";
+                break;
+            case PUZZLE_GREEN:
+                fileName = "puzzleGreen.png";
+                break;
+            case KEY_YELLOW:
+                fileName = "keyYellow.png";
+                break;
+            case KEYHOLE_YELLOW:
+                fileName = "keyholeYellow.png";
+                break;
+            case KEY_BLUE:
+                fileName = "keyBlue.png";
+                break;
+            case KEYHOLE_BLUE:
+                fileName = "keyholeBlue.png";
+                break;
+            case FLAG_BLUE:
+                fileName = "flagBlue.png";
+                break;
+            case ROCKET:
+                fileName = "rocket.png";
+                break;
+            case PLANET:
+                fileName = "planet.png";
+                break;
+            case CROSSED:
+                fileName = "crossed.png";
+                break;
+            case NOT_REACHABLE:
+                fileName = "notReachable.png";
+                break;
+            case A_UP:
+                fileName = "aUp.png";
+                break;
+            case A_DOWN:
+                fileName = "aDown.png";
+                break;
+            case A_LEFT:
+                fileName = "aLeft.png";
+                break;
+            case A_RIGHT:
+                fileName = "aRight.png";
+                break;
+            default:
+                fileName = "empty.png";
+        }
+        return fileName;
+    }
+
+    /**
+     * Rounds a size to the sizes that are cached
+     *
+     * @param size size in pixels
+     * @return cached size
+     */
+    private static int round(int size) {
+        return Math.max(SIZE_STEP, Math.min(FULL_SIZE, (size + SIZE_STEP - 1) / SIZE_STEP * SIZE_STEP));
+    }
+
+    /**
+     * Returns a picture in a size, decodes it the first time
+     *
+     * @param fileName file name of the picture
+     * @param size rounded size
+     * @return image
+     */
+    private static Image getPicture(String fileName, int size) {
+        return PICTURES.computeIfAbsent(fileName + '@' + size, key
+                -> size == FULL_SIZE ? new Image(PATH + fileName) : new Image(PATH + fileName, size, size, true, true));
+    }
+
+    /**
+     * Returns the images of the dice with a prefix
+     *
+     * @param prefix prefix of the file names
+     * @param size rounded size
+     * @return images by face value, index 0 is an empty cell
+     */
+    private static Image[] createDieImages(String prefix, int size) {
+        return new Image[]{getPicture("empty.png", size),
+            getPicture(prefix + "One.png", size), getPicture(prefix + "Two.png", size),
+            getPicture(prefix + "Three.png", size), getPicture(prefix + "Four.png", size),
+            getPicture(prefix + "Five.png", size), getPicture(prefix + "Six.png", size)};
+    }
+
+    /**
+     * Returns the images of all special fields in a size
+     *
+     * @param size size of a cell in pixels
+     * @return images by the ordinal of the property
+     */
+    static synchronized Image[] getFieldImages(int size) {
+        return FIELD_IMAGES.computeIfAbsent(round(size), roundedSize -> {
+            Property[] properties = Property.values();
+            Image[] toReturn = new Image[properties.length];
+            for (Property property : properties) {
+                toReturn[property.ordinal()] = getPicture(getFileName(property), roundedSize);
+            }
+            return toReturn;
+        });
+    }
+
+    /**
+     * Returns the images of the dice on a board in a size
+     *
+     * @param size size of a cell in pixels
+     * @return images by face value, index 0 is an empty cell
+     */
+    static synchronized Image[] getBoardDieImages(int size) {
+        return BOARD_DIE_IMAGES.computeIfAbsent(round(size), roundedSize -> createDieImages("b", roundedSize));
+    }
+
+    /**
+     * Returns the images of the dice in the dice pool in a size, these are
+     * shown for placed dice too
+     *
+     * @param size size of a cell in pixels
+     * @return images by face value, index 0 is an empty cell
+     */
+    static synchronized Image[] getPoolDieImages(int size) {
+        return POOL_DIE_IMAGES.computeIfAbsent(round(size), roundedSize -> createDieImages("d", roundedSize));
+    }
+}
@@ -2,6 +2,7 @@ package gui;
 
 import java.util.Arrays;
 import java.util.List;
+import javafx.beans.binding.DoubleBinding;
 import javafx.geometry.HPos;
 import javafx.geometry.Pos;
 import javafx.geometry.VPos;
@@ -19,10 +20,12 @@ import javafx.scene.layout.RowConstraints;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.TextAlignment;
+import logic.CellChanges;
 import logic.Die;
 import logic.GUIConnector;
 import logic.LogEvent;
 import logic.Position;
+import logic.boards.BitBoard;
 import logic.boards.fieldTypes.Property;
 
 /**
@@ -49,50 +52,33 @@ public class JavaFXGUI implements GUIConnector {
     private int height;
     private int width;
 
-    //Path to the image folder
-    private final static String PATH = "/gui/pictures/";
-    //Constants to define the dimension for the dice pool
-    private final static int AMOUNT_ROWS_DICE = 4;
-    private final static int AMOUNT_COLS_DICE = 4;
-
-    //Load Dice Images for the dice Pool
-    private final static Image D_ONE = new Image(PATH + "dOne.png");
-    private final static Image D_TWO = new Image(PATH + "dTwo.png");
-    private final static Image D_THREE = new Image(PATH + "dThree.png");
-    private final static Image D_FOUR = new Image(PATH + "dFour.png");
-    private final static Image D_FIVE = new Image(PATH + "dFive.png");
-    private final static Image D_SIX = new Image(PATH + "dSix.png");
-
-    //Load Dice Images for the board
-    private final static Image B_ONE = new Image(PATH + "bOne.png");
-    private final static Image B_TWO = new Image(PATH + "bTwo.png");
-    private final static Image B_THREE = new Image(PATH + "bThree.png");
-    private final static Image B_FOUR = new Image(PATH + "bFour.png");
-    private final static Image B_FIVE = new Image(PATH + "bFive.png");
-    private final static Image B_SIX = new Image(PATH + "bSix.png");
-
-    //Load all Special Field Images for the board
-    private final static Image JEWEL_RED_IMAGE = new Image(PATH + getFileName(Property.JEWEL_RED));
-    private final static Image JEWEL_YELLOW_IMAGE = new Image(PATH + getFileName(Property.JEWEL_YELLOW));
-    private final static Image JEWEL_BLUE_IMAGE = new Image(PATH + getFileName(Property.JEWEL_BLUE));
-    private final static Image BOMB_IMAGE = new Image(PATH + getFileName(Property.BOMB));
-    private final static Image EXPLODED_IMAGE = new Image(PATH + getFileName(Property.EXPLODED));
-    private final static Image PUZZLE_BLUE_IMAGE = new Image(PATH + getFileName(Property.PUZZLE_BLUE));
-    private final static Image PUZZLE_GREEN_IMAGE = new Image(PATH + getFileName(Property.PUZZLE_GREEN));
-    private final static Image KEY_YELLOW_IMAGE = new Image(PATH + getFileName(Property.KEY_YELLOW));
-    private final static Image KEYHOLE_YELLOW_IMAGE = new Image(PATH + getFileName(Property.KEYHOLE_YELLOW));
-    private final static Image KEY_BLUE_IMAGE = new Image(PATH + getFileName(Property.KEY_BLUE));
-    private final static Image KEYHOLE_BLUE_IMAGE = new Image(PATH + getFileName(Property.KEYHOLE_BLUE));
-    private final static Image FLAG_IMAGE = new Image(PATH + getFileName(Property.FLAG_BLUE));
-    private final static Image ROCKET_IMAGE = new Image(PATH + getFileName(Property.ROCKET));
-    private final static Image PLANET_IMAGE = new Image(PATH + getFileName(Property.PLANET));
-    private final static Image EMPTY_IMAGE = new Image(PATH + getFileName(Property.NORMAL));
-    private final static Image CROSSED_IMAGE = new Image(PATH + getFileName(Property.CROSSED));
-    private final static Image NOT_REACHABLE_IMAGE = new Image(PATH + getFileName(Property.NOT_REACHABLE));
-    private final static Image A_UP_IMAGE = new Image(PATH + getFileName(Property.A_UP));
-    private final static Image A_DOWN_IMAGE = new Image(PATH + getFileName(Property.A_DOWN));
-    private final static Image A_LEFT_IMAGE = new Image(PATH + getFileName(Property.A_LEFT));
-    private final static Image A_RIGHT_IMAGE = new Image(PATH + getFileName(Property.A_RIGHT));
+    //View of the dice pool, created with the first dice pool
+    private DicePoolView dicePoolView;
+
+    //Sizes the images are decoded in (in pixels): the widest column of the
+    //player board, the width of all computer boards and the cells of the
+    //score board and the dice pool
+    private final static int PLAYER_BOARD_SIZE = 1022;
+    private final static int COMPUTER_BOARDS_SIZE = 1750;
+    private final static int SCORE_BOARD_CELL_SIZE = 60;
+    private final static int DICE_POOL_CELL_SIZE = 100;
+    //Maximum amount of boards (player and computers)
+    private final static int AMOUNT_BOARDS = 4;
+
+    //Images of every board in the size of its cells: the special fields by
+    //the ordinal of the property, the dice and the placed dice by face value
+    private final Image[][] fieldImages = new Image[AMOUNT_BOARDS][];
+    private final Image[][] dieImages = new Image[AMOUNT_BOARDS][];
+    private final Image[][] placedDieImages = new Image[AMOUNT_BOARDS][];
+    //Nodes of every cell of every board by index (y * width + x), they're
+    //created once and reused by every update: the special field, the die and
+    //the background of the cells of the player
+    private final ImageView[][] fieldViews = new ImageView[AMOUNT_BOARDS][];
+    private final ImageView[][] dieViews = new ImageView[AMOUNT_BOARDS][];
+    private Pane[] playerCellPanes;
+    //Size of the ImageViews of every board, shared by all its cells
+    private final DoubleBinding[] fitWidths = new DoubleBinding[AMOUNT_BOARDS];
+    private final DoubleBinding[] fitHeights = new DoubleBinding[AMOUNT_BOARDS];
 
     /**
      * Constructor to create a new Instance of JavaFXGUI (Creating a new game)
@@ -152,89 +138,10 @@ public class JavaFXGUI implements GUIConnector {
         this.txtAreaLog.setText("");
     }
 
-    /**
-     * Returns the filename for the passed special field
-     *
-     * @param property Type of special field
-     * @return filename of a png
-     */
-    private static String getFileName(Property property) {
-        String fileName = "";
-        switch (property) {
-            case JEWEL_RED:
-                fileName = "jewelRed.png";
-                break;
-            case JEWEL_YELLOW:
-                fileName = "jewelYellow.png";
-                break;
-            case JEWEL_BLUE:
-                fileName = "jewelBlue.png";
-                break;
-            case BOMB:
-                fileName = "bomb.png";
-                break;
-            case EXPLODED:
-                fileName = "exploded.png";
-                break;
-            case PUZZLE_BLUE:
-                fileName = "puzzleBlue.png";
-                break;
-            case PUZZLE_GREEN:
-                fileName = "puzzleGreen.png";
-                break;
-            case KEY_YELLOW:
-                fileName = "keyYellow.png";
-                break;
-            case KEYHOLE_YELLOW:
-            case UNLOCKED_KEYHOLE_YELLOW:
-                fileName = "keyholeYellow.png";
-                break;
-            case KEY_BLUE:
-                fileName = "keyBlue.png";
-                break;
-            case KEYHOLE_BLUE:
-            case UNLOCKED_KEYHOLE_BLUE:
-                fileName = "keyholeBlue.png";
-                break;
-            case FLAG_BLUE:
-                fileName = "flagBlue.png";
-                break;
-            case ROCKET:
-                fileName = "rocket.png";
-                break;
-            case PLANET:
-                fileName = "planet.png";
-                break;
-            case NORMAL:
-                fileName = "empty.png";
-                break;
-            case CROSSED:
-                fileName = "crossed.png";
-                break;
-            case NOT_REACHABLE:
-                fileName = "notReachable.png";
-                break;
-            case A_UP:
-                fileName = "aUp.png";
-                break;
-            case A_DOWN:
-                fileName = "aDown.png";
-                break;
-            case A_LEFT:
-                fileName = "aLeft.png";
-                break;
-            case A_RIGHT:
-                fileName = "aRight.png";
-                break;
-        }
-        return fileName;
-    }
-
     @Override
     public void setHorizontalVerticalImage(Position pos, Property property, int points) {
         addBackgroundPane(pos.getX(), pos.getY(), grdPnPlayerBoard);
-        addImageView(pos.getX(), pos.getY(), grdPnPlayerBoard,
-                getSpecialFieldImage(property), this.width + 2, this.height + 2, 1);
+        addImageView(pos.getX(), pos.getY(), 0, getFieldImage(0, property), 1);
         Label lblPoints = new Label("" + points);
         lblPoints.setFont(new Font("System", 20));
         lblPoints.setStyle("-fx-font-weight: bold;");
@@ -245,249 +152,89 @@ public class JavaFXGUI implements GUIConnector {
     /**
      * Return the image according to the property
      *
+     * @param board index of the board (matches the index of the player)
      * @param property of the field
-     * @return Image
+     * @return Image in the cell size of the board
      */
-    private static Image getSpecialFieldImage(Property property) {
-        Image outputImage;
-        switch (property) {
-            case NOT_REACHABLE:
-                outputImage = NOT_REACHABLE_IMAGE;
-                break;
-            case BOMB:
-                outputImage = BOMB_IMAGE;
-                break;
-            case CROSSED:
-                outputImage = CROSSED_IMAGE;
-                break;
-            case EXPLODED:
-                outputImage = EXPLODED_IMAGE;
-                break;
-            case FLAG_BLUE:
-                outputImage = FLAG_IMAGE;
-                break;
-            case JEWEL_BLUE:
-                outputImage = JEWEL_BLUE_IMAGE;
-                break;
-            case JEWEL_RED:
-                outputImage = JEWEL_RED_IMAGE;
-                break;
-            case JEWEL_YELLOW:
-                outputImage = JEWEL_YELLOW_IMAGE;
-                break;
-            case KEY_BLUE:
-                outputImage = KEY_BLUE_IMAGE;
-                break;
-            case KEYHOLE_BLUE:
-                outputImage = KEYHOLE_BLUE_IMAGE;
-                break;
-            case KEY_YELLOW:
-                outputImage = KEY_YELLOW_IMAGE;
-                break;
-            case KEYHOLE_YELLOW:
-                outputImage = KEYHOLE_YELLOW_IMAGE;
-                break;
-            case PLANET:
-                outputImage = PLANET_IMAGE;
-                break;
-            case PUZZLE_BLUE:
-                outputImage = PUZZLE_BLUE_IMAGE;
-                break;
-            case PUZZLE_GREEN:
-                outputImage = PUZZLE_GREEN_IMAGE;
-                break;
-            case ROCKET:
-                outputImage = ROCKET_IMAGE;
-                break;
-            case A_UP:
-                outputImage = A_UP_IMAGE;
-                break;
-            case A_DOWN:
-                outputImage = A_DOWN_IMAGE;
-                break;
-            case A_LEFT:
-                outputImage = A_LEFT_IMAGE;
-                break;
-            case A_RIGHT:
-                outputImage = A_RIGHT_IMAGE;
-                break;
-            default:
-                outputImage = EMPTY_IMAGE;
-        }
-        return outputImage;
+    private Image getFieldImage(int board, Property property) {
+        return this.fieldImages[board][property.ordinal()];
     }
 
     /**
      * Returns the image corresponding to a die Value
      *
-     * @param dieValue Value of the rollen Die
-     * @return Image
+     * @param board index of the board (matches the index of the player)
+     * @param dieValue Value of the rollen Die, null for an empty cell
+     * @return Image in the cell size of the board
      */
-    private static Image getPlayingBoardDieImage(Die dieValue) {
-        Image outputImage;
-        int value = -1;
-        if (dieValue != null) {
-            value = dieValue.getfaceValue();
-        }
+    private Image getDieImage(int board, Die dieValue) {
+        return this.dieImages[board][dieValue == null ? 0 : dieValue.getfaceValue()];
+    }
 
-        switch (value) {
-            case 1:
-                outputImage = B_ONE;
-                break;
-            case 2:
-                outputImage = B_TWO;
-                break;
-            case 3:
-                outputImage = B_THREE;
-                break;
-            case 4:
-                outputImage = B_FOUR;
-                break;
-            case 5:
-                outputImage = B_FIVE;
-                break;
-            case 6:
-                outputImage = B_SIX;
-                break;
-            default:
-                outputImage = EMPTY_IMAGE;
-        }
-        return outputImage;
+    /**
+     * Returns the index of a cell in the tables of the nodes
+     *
+     * @param x column of the cell on the board
+     * @param y row of the cell on the board
+     * @return index of the cell
+     */
+    private int index(int x, int y) {
+        return y * this.width + x;
     }
 
     /**
-     * Returns the correct die Image corresponding to the die
+     * Sets both images of a cell
      *
-     * @param die to be displayed in the dice Pool
-     * @return Image
+     * @param board index of the board (matches the index of the player)
+     * @param pos position of the cell on the board
+     * @param fieldImage image of the special field
+     * @param dieImage image of the die
      */
-    private static Image getDicePoolDieImage(Die die) {
-        Image toReturn;
-        switch (die.getfaceValue()) {
-            case 1:
-                toReturn = D_ONE;
-                break;
-            case 2:
-                toReturn = D_TWO;
-                break;
-            case 3:
-                toReturn = D_THREE;
-                break;
-            case 4:
-                toReturn = D_FOUR;
-                break;
-            case 5:
-                toReturn = D_FIVE;
-                break;
-            case 6:
-                toReturn = D_SIX;
-                break;
-            default:
-                toReturn = EMPTY_IMAGE;
-        }
-        return toReturn;
+    private void setCellImage(int board, Position pos, Image fieldImage, Image dieImage) {
+        int idx = index(pos.getX(), pos.getY());
+        this.fieldViews[board][idx].setImage(fieldImage);
+        this.dieViews[board][idx].setImage(dieImage);
     }
 
     @Override
     public void unhighlightAllCells() {
-        for (Node node : grdPnPlayerBoard.getChildren()) {
-            if (node instanceof Pane) {
-                node.setStyle("-fx-background-color: black, white; "
-                        + "-fx-background-insets: 0, 1; -fx-opacity: 1;");
-            }
+        for (Pane pane : this.playerCellPanes) {
+            pane.setStyle("-fx-background-color: black, white; "
+                    + "-fx-background-insets: 0, 1; -fx-opacity: 1;");
         }
     }
 
     @Override
     public void highlightPlaceableCell(Position pos) {
-        for (Node node : grdPnPlayerBoard.getChildren()) {
-            if ((GridPane.getColumnIndex(node) == pos.getX() + 1)
-                    && (GridPane.getRowIndex(node) == pos.getY() + 1)
-                    && (node instanceof Pane)) {
-                node.setStyle("-fx-background-color: black, aaff00; "
-                        + "-fx-background-insets: 0, 1; -fx-opacity: 0.5;");
-            }
-        }
+        this.playerCellPanes[index(pos.getX(), pos.getY())].setStyle("-fx-background-color: black, aaff00; "
+                + "-fx-background-insets: 0, 1; -fx-opacity: 0.5;");
     }
 
+    /**
+     * Unhighlights a specific cell
+     *
+     * @param pos Position of the cell in the gridpane of the player (the
+     * position on the board plus 1)
+     */
     @Override
     public void unhighlightPlaceableCell(Position pos) {
-        for (Node node : grdPnPlayerBoard.getChildren()) {
-            if ((GridPane.getColumnIndex(node) == pos.getX())
-                    && (GridPane.getRowIndex(node) == pos.getY())
-                    && (node instanceof Pane)) {
-                node.setStyle("-fx-background-color: black, white; "
-                        + "-fx-background-insets: 0, 1; -fx-opacity: 1;");
-            }
-        }
+        this.playerCellPanes[index(pos.getX() - 1, pos.getY() - 1)].setStyle("-fx-background-color: black, white; "
+                + "-fx-background-insets: 0, 1; -fx-opacity: 1;");
     }
 
     /**
-     * Displays the dice Pool
+     * Displays the dice Pool, the view is created once and afterwards only
+     * the changed dice are updated
      *
      * @param dicePool all available dice
      */
     @Override
     public void displayDicePool(Die[] dicePool) {
-        this.grdPnDicePool.getChildren().clear();
-        this.grdPnDicePool.getRowConstraints().clear();
-        this.grdPnDicePool.getColumnConstraints().clear();
-        this.grdPnDicePool.setAlignment(Pos.CENTER);
-
-        ColumnConstraints labelCol = new ColumnConstraints();
-        labelCol.setHalignment(HPos.CENTER);
-        labelCol.setPercentWidth(10);
-        this.grdPnDicePool.getColumnConstraints().add(labelCol);
-
-        ColumnConstraints GridCol = new ColumnConstraints();
-        GridCol.setPercentWidth(90);
-        GridCol.setHalignment(HPos.CENTER);
-        this.grdPnDicePool.getColumnConstraints().add(GridCol);
-
-        Label lblDicePool = new Label("Dice-Pool");
-        lblDicePool.setFont(new Font("System", 20));
-        lblDicePool.setStyle("-fx-font-weight: bold;");
-        this.grdPnDicePool.add(lblDicePool, 0, 0);
-
-        GridPane grdPnDiceDisplay = new GridPane();
-        grdPnDiceDisplay.getRowConstraints().clear();
-        grdPnDiceDisplay.getColumnConstraints().clear();
-
-        grdPnDiceDisplay.setAlignment(Pos.CENTER);
-        grdPnDiceDisplay.setHgap(2);
-        grdPnDiceDisplay.setVgap(2);
-
-        for (int k = 0; k < AMOUNT_COLS_DICE; k++) {
-            ColumnConstraints col = new ColumnConstraints();
-            col.setMinWidth(50);
-            col.setHalignment(HPos.CENTER);
-            grdPnDiceDisplay.getColumnConstraints().add(col);
+        //the grid is cleared when a new game is started
+        if (this.dicePoolView == null || !this.dicePoolView.isShown()) {
+            this.dicePoolView = new DicePoolView(this.grdPnDicePool, ImageAtlas.getPoolDieImages(DICE_POOL_CELL_SIZE));
         }
-
-        for (int i = 0; i < AMOUNT_ROWS_DICE; i++) {
-            RowConstraints row = new RowConstraints();
-            row.setMinHeight(50);
-            row.setValignment(VPos.CENTER);
-            grdPnDiceDisplay.getRowConstraints().add(row);
-        }
-
-        int counter = 0;
-        //Fills the gridPane with Images
-        for (int l = 0; l < AMOUNT_ROWS_DICE; l++) {
-            for (int m = 0; m < AMOUNT_COLS_DICE; m++) {
-                if (counter < dicePool.length) {
-                    addImageView(m, l, grdPnDiceDisplay,
-                            getDicePoolDieImage(dicePool[counter]), AMOUNT_COLS_DICE,
-                            AMOUNT_ROWS_DICE, 1);
-                    counter++;
-                } else {
-                    addImageView(m, l, grdPnDiceDisplay, EMPTY_IMAGE, AMOUNT_COLS_DICE,
-                            AMOUNT_ROWS_DICE, 1);
-                }
-            }
-        }
-
-        this.grdPnDicePool.add(grdPnDiceDisplay, 0, 1);
+        this.dicePoolView.show(dicePool);
     }
 
     @Override
@@ -554,8 +301,8 @@ public class JavaFXGUI implements GUIConnector {
     @Override
     public void setScoreBoardImage(Property property, String points, int row) {
         addBackgroundPane(row, 0, grdPnScoreBoard);
-        addImageView(row, 0, 60, grdPnScoreBoard,
-                getSpecialFieldImage(property), 0.5);
+        addImageView(row, 0, SCORE_BOARD_CELL_SIZE, grdPnScoreBoard,
+                ImageAtlas.getFieldImages(SCORE_BOARD_CELL_SIZE)[property.ordinal()], 0.5);
 
         Label temp = new Label(points);
         temp.setTextAlignment(TextAlignment.CENTER);
@@ -578,96 +325,49 @@ public class JavaFXGUI implements GUIConnector {
 
     @Override
     public void displayPlacedDie(Position position, Die die, int turnOf) {
-        Position translatedPos = position;
-        GridPane currGP;
-        switch (turnOf) {
-            case 0:
-                currGP = grdPnPlayerBoard;
-                translatedPos.setX(translatedPos.getX() + 1);
-                translatedPos.setY(translatedPos.getY() + 1);
-                unhighlightPlaceableCell(translatedPos);
-                break;
-            case 1:
-                currGP = (GridPane) grdPnCBoards.getChildren().get(1);
-                break;
-            case 2:
-                currGP = (GridPane) grdPnCBoards.getChildren().get(3);
-                break;
-            default:
-                currGP = (GridPane) grdPnCBoards.getChildren().get(5);
-                break;
-        }
-
-        for (Node node : currGP.getChildren()) {
-            if ((GridPane.getColumnIndex(node) == translatedPos.getX())
-                    && (GridPane.getRowIndex(node) == translatedPos.getY())
-                    && (node instanceof ImageView)) {
-                ImageView iv = (ImageView) node;
-                iv.setImage(getDicePoolDieImage(die));
-            }
+        if (turnOf == 0) {
+            unhighlightPlaceableCell(Position.of(position.getX() + 1, position.getY() + 1));
         }
+        Image placedDie = this.placedDieImages[turnOf][die.getfaceValue()];
+        setCellImage(turnOf, position, placedDie, placedDie);
     }
 
     @Override
     public void displayCrossedCell(Position position, int turnOf) {
-        Position translatedPos = position;
-        GridPane currGP;
-        switch (turnOf) {
-            case 0:
-                currGP = grdPnPlayerBoard;
-                translatedPos.setX(translatedPos.getX() + 1);
-                translatedPos.setY(translatedPos.getY() + 1);
-                unhighlightPlaceableCell(position);
-                break;
-            case 1:
-                currGP = (GridPane) grdPnCBoards.getChildren().get(1);
-                break;
-            case 2:
-                currGP = (GridPane) grdPnCBoards.getChildren().get(3);
-                break;
-            default:
-                currGP = (GridPane) grdPnCBoards.getChildren().get(5);
-                break;
-        }
-
-        for (Node node : currGP.getChildren()) {
-            if ((GridPane.getColumnIndex(node) == position.getX())
-                    && (GridPane.getRowIndex(node) == position.getY())
-                    && (node instanceof ImageView)) {
-                ImageView iv = (ImageView) node;
-                iv.setImage(CROSSED_IMAGE);
-            }
+        if (turnOf == 0) {
+            unhighlightPlaceableCell(Position.of(position.getX() + 1, position.getY() + 1));
         }
+        Image crossed = getFieldImage(turnOf, Property.CROSSED);
+        setCellImage(turnOf, position, crossed, crossed);
     }
 
     @Override
     public void displayExplodedCell(Position position, int turnOf) {
-        Position translatedPos = position;
-        GridPane currGP;
-        switch (turnOf) {
-            case 0:
-                currGP = grdPnPlayerBoard;
-                translatedPos.setX(translatedPos.getX() + 1);
-                translatedPos.setY(translatedPos.getY() + 1);
-                unhighlightPlaceableCell(position);
-                break;
-            case 1:
-                currGP = (GridPane) grdPnCBoards.getChildren().get(1);
-                break;
-            case 2:
-                currGP = (GridPane) grdPnCBoards.getChildren().get(3);
-                break;
-            default:
-                currGP = (GridPane) grdPnCBoards.getChildren().get(5);
-                break;
+        if (turnOf == 0) {
+            unhighlightPlaceableCell(Position.of(position.getX() + 1, position.getY() + 1));
         }
+        Image exploded = getFieldImage(turnOf, Property.EXPLODED);
+        setCellImage(turnOf, position, exploded, exploded);
+    }
+
+    @Override
+    public void displayPutBackDie(Position position, Property property, Die die, int turnOf) {
+        setCellImage(turnOf, position, getFieldImage(turnOf, property), getDieImage(turnOf, die));
+    }
 
-        for (Node node : currGP.getChildren()) {
-            if ((GridPane.getColumnIndex(node) == position.getX())
-                    && (GridPane.getRowIndex(node) == position.getY())
-                    && (node instanceof ImageView)) {
-                ImageView iv = (ImageView) node;
-                iv.setImage(EXPLODED_IMAGE);
+    @Override
+    public void displayChangedCells(CellChanges changes) {
+        BitBoard bitBoard = changes.getBitBoard();
+        for (int i = 0; i < changes.getAmountPlayers(); i++) {
+            long crossed = changes.getCrossed(i);
+            while (crossed != 0L) {
+                displayCrossedCell(bitBoard.toPosition(Long.numberOfTrailingZeros(crossed)), i);
+                crossed &= crossed - 1;
+            }
+            long exploded = changes.getExploded(i);
+            while (exploded != 0L) {
+                displayExplodedCell(bitBoard.toPosition(Long.numberOfTrailingZeros(exploded)), i);
+                exploded &= exploded - 1;
             }
         }
     }
@@ -793,27 +493,50 @@ public class JavaFXGUI implements GUIConnector {
     }
 
     /**
-     * Adds an ImageView to a Field and fills it with an Image
+     * Adds an ImageView to a cell of a board and fills it with an Image, the
+     * ImageView is as big as the cells of the board
      *
      * @param colIndex column at which the ImageView should be placed
      * @param rowIndex row at which the ImageView should be placed
-     * @param grid in which the ImageView should be placed
+     * @param board index of the board (matches the index of the player)
      * @param im that should be placed
-     * @param colCount amount of Columns in the Grid
-     * @param rowCount amount of Rows in the Grid
      * @param opacity of the ImageView
+     * @return the ImageView
      */
-    private static void addImageView(int colIndex, int rowIndex, GridPane grid,
-            Image im, int colCount, int rowCount, double opacity) {
+    private ImageView addImageView(int colIndex, int rowIndex, int board, Image im, double opacity) {
         ImageView iv = new ImageView();
         iv.setImage(im);
         iv.setOpacity(opacity);
-        iv.fitWidthProperty().bind(grid.widthProperty().
-                divide(colCount).subtract(grid.getHgap()));
-        iv.fitHeightProperty().bind(grid.heightProperty().
-                divide(rowCount).subtract(grid.getVgap()));
+        iv.fitWidthProperty().bind(this.fitWidths[board]);
+        iv.fitHeightProperty().bind(this.fitHeights[board]);
         iv.setPreserveRatio(true);
-        grid.add(iv, colIndex, rowIndex);
+        getBoardGridPane(board).add(iv, colIndex, rowIndex);
+        return iv;
+    }
+
+    /**
+     * Returns the GridPane of a board
+     *
+     * @param board index of the board (matches the index of the player)
+     * @return GridPane
+     */
+    private GridPane getBoardGridPane(int board) {
+        //2 = amount of Nodes in one column of grdPnCBoards
+        return board == 0 ? this.grdPnPlayerBoard : (GridPane) this.grdPnCBoards.getChildren().get(board * 2 - 1);
+    }
+
+    /**
+     * Binds the size of the ImageViews of a board to the size of its
+     * GridPane, the bindings are shared by all cells
+     *
+     * @param board index of the board (matches the index of the player)
+     * @param colCount amount of Columns in the Grid
+     * @param rowCount amount of Rows in the Grid
+     */
+    private void bindFitSize(int board, int colCount, int rowCount) {
+        GridPane grid = getBoardGridPane(board);
+        this.fitWidths[board] = grid.widthProperty().divide(colCount).subtract(grid.getHgap());
+        this.fitHeights[board] = grid.heightProperty().divide(rowCount).subtract(grid.getVgap());
     }
 
     /**
@@ -822,16 +545,19 @@ public class JavaFXGUI implements GUIConnector {
      * @param colIndex column where the pane should be placed
      * @param rowIndex row where the pane should be placed
      * @param grid grid pane in which the pane should be added
+     * @return the pane
      */
-    private void addBackgroundPane(int colIndex, int rowIndex, GridPane grid) {
+    private Pane addBackgroundPane(int colIndex, int rowIndex, GridPane grid) {
         Pane background = new Pane();
         background.setStyle("-fx-background-color: black, white; "
                 + "-fx-background-insets: 0, 1;");
         grid.add(background, colIndex, rowIndex);
+        return background;
     }
 
     /**
-     * Sets the Images at a given Position in every Grid Pane
+     * Sets the Images at a given Position in every Grid Pane, the nodes of the
+     * cell are kept for all updates
      *
      * @param pos Position where the Images should be placed
      * @param property Type of Field that should be placed
@@ -839,23 +565,19 @@ public class JavaFXGUI implements GUIConnector {
      */
     @Override
     public void setCellImages(Position pos, Property property, Die die) {
-        addBackgroundPane(pos.getX() + 1, pos.getY() + 1, grdPnPlayerBoard);
+        int idx = index(pos.getX(), pos.getY());
+        this.playerCellPanes[idx] = addBackgroundPane(pos.getX() + 1, pos.getY() + 1, grdPnPlayerBoard);
         //Player Specialfield
-        addImageView(pos.getX() + 1, pos.getY() + 1, grdPnPlayerBoard,
-                getSpecialFieldImage(property), this.width + 2, this.height + 2, 0.5);
+        this.fieldViews[0][idx] = addImageView(pos.getX() + 1, pos.getY() + 1, 0, getFieldImage(0, property), 0.5);
         //Player Die Value
-        addImageView(pos.getX() + 1, pos.getY() + 1, grdPnPlayerBoard,
-                getPlayingBoardDieImage(die), this.width + 2, this.height + 2, 1);
+        this.dieViews[0][idx] = addImageView(pos.getX() + 1, pos.getY() + 1, 0, getDieImage(0, die), 1);
 
-        //2 = amount of Nodes in one cell of grdPnCBoards
-        for (int i = 1; i < this.amountComputers * 2; i += 2) {
-            addBackgroundPane(pos.getX(), pos.getY(), (GridPane) grdPnCBoards.getChildren().get(i));
+        for (int i = 1; i <= this.amountComputers; i++) {
+            addBackgroundPane(pos.getX(), pos.getY(), getBoardGridPane(i));
             //Computer Specialfield
-            addImageView(pos.getX(), pos.getY(), (GridPane) grdPnCBoards.getChildren().get(i),
-                    getSpecialFieldImage(property), this.width, this.height, 0.5);
+            this.fieldViews[i][idx] = addImageView(pos.getX(), pos.getY(), i, getFieldImage(i, property), 0.5);
             //Computer Die Value
-            addImageView(pos.getX(), pos.getY(), (GridPane) grdPnCBoards.getChildren().get(i),
-                    getPlayingBoardDieImage(die), this.width, this.height, 1);
+            this.dieViews[i][idx] = addImageView(pos.getX(), pos.getY(), i, getDieImage(i, die), 1);
         }
     }
 
@@ -957,6 +679,11 @@ public class JavaFXGUI implements GUIConnector {
             grdPnCBoards.add(cName, i, 0);
             grdPnCBoards.add(createGridPane(), i, 1);
         }
+
+        bindFitSize(0, this.width + 2, this.height + 2);
+        for (int i = 1; i <= this.amountComputers; i++) {
+            bindFitSize(i, this.width, this.height);
+        }
     }
 
     @Override
@@ -979,9 +706,27 @@ public class JavaFXGUI implements GUIConnector {
         this.skipTurn.setDisable(!bool);
     }
 
+    /**
+     * Sets the dimensions of the boards and takes the images in the size of
+     * their cells from the atlas
+     *
+     * @param height height of the GridPane
+     * @param width width of the GridPane
+     */
     @Override
     public void setDimensions(int height, int width) {
         this.height = height;
         this.width = width;
+        int playerCellSize = PLAYER_BOARD_SIZE / (Math.max(width, height) + 2);
+        int computerCellSize = COMPUTER_BOARDS_SIZE / Math.max(1, this.amountComputers) / Math.max(width, height);
+        for (int i = 0; i < AMOUNT_BOARDS; i++) {
+            int cellSize = i == 0 ? playerCellSize : computerCellSize;
+            this.fieldImages[i] = ImageAtlas.getFieldImages(cellSize);
+            this.dieImages[i] = ImageAtlas.getBoardDieImages(cellSize);
+            this.placedDieImages[i] = ImageAtlas.getPoolDieImages(cellSize);
+            this.fieldViews[i] = new ImageView[height * width];
+            this.dieViews[i] = new ImageView[height * width];
+        }
+        this.playerCellPanes = new Pane[height * width];
     }
 }
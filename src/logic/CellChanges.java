@@ -0,0 +1,105 @@
+package logic;
+
+import logic.boards.BitBoard;
+
+/**
+ * Cells of all playing boards that were crossed out or exploded at the end of
+ * a turn. The changes of a turn are passed to the gui at once, as bits of the
+ * playing boards. One instance is reused for every turn of a game, so a gui
+ * that needs the changes after the call has to copy them
+ *
+ * @author Mario da Graca (cgt103579)
+ */
+public final class CellChanges {
+
+    //Geometry of the playing boards
+    private final BitBoard bitBoard;
+    //Crossed out cells of every player
+    private final long[] crossed;
+    //Exploded cells of every player
+    private final long[] exploded;
+
+    /**
+     * Constructor, there are no changes yet
+     *
+     * @param bitBoard geometry of the playing boards
+     * @param amountPlayers amount of players of the game
+     */
+    CellChanges(BitBoard bitBoard, int amountPlayers) {
+        this.bitBoard = bitBoard;
+        this.crossed = new long[amountPlayers];
+        this.exploded = new long[amountPlayers];
+    }
+
+    /**
+     * Removes all changes, e.g. before the next turn is resolved
+     */
+    void clear() {
+        for (int i = 0; i < this.crossed.length; i++) {
+            this.crossed[i] = 0L;
+            this.exploded[i] = 0L;
+        }
+    }
+
+    /**
+     * Adds crossed out cells of a player
+     *
+     * @param player index of the player
+     * @param cells mask of the cells
+     */
+    void cross(int player, long cells) {
+        this.crossed[player] |= cells;
+    }
+
+    /**
+     * Adds exploded cells of a player
+     *
+     * @param player index of the player
+     * @param cells mask of the cells
+     */
+    void explode(int player, long cells) {
+        this.exploded[player] |= cells;
+    }
+
+    /**
+     * @return geometry of the playing boards
+     */
+    public BitBoard getBitBoard() {
+        return this.bitBoard;
+    }
+
+    /**
+     * @return amount of players of the game
+     */
+    public int getAmountPlayers() {
+        return this.crossed.length;
+    }
+
+    /**
+     * @param player index of the player
+     * @return cells that were crossed out on the board of the player
+     */
+    public long getCrossed(int player) {
+        return this.crossed[player];
+    }
+
+    /**
+     * @param player index of the player
+     * @return cells that exploded on the board of the player
+     */
+    public long getExploded(int player) {
+        return this.exploded[player];
+    }
+
+    /**
+     * @return true if no cell changed
+     */
+    public boolean isEmpty() {
+        for (int i = 0; i < this.crossed.length; i++) {
+            if ((this.crossed[i] | this.exploded[i]) != 0L) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
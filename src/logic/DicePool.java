@@ -0,0 +1,261 @@
+package logic;
+
+import java.util.Arrays;
+
+/**
+ * Class that represents the dice pool (dice cup) of a turn. The order of the
+ * dice doesn't matter in the game, so the pool only counts how many dice of
+ * every face value it contains. Checking, adding and removing a die are O(1)
+ * and don't allocate anything. The dice are always listed in ascending order
+ *
+ * @author Mario da Graca (cgt103579)
+ */
+public class DicePool {
+
+    //Amount of dice of every face value, index is the face value
+    private final int[] counts;
+    //Amount of all dice in the pool
+    private int size;
+    //Face values that are in the pool, bit i is set if face value i is in it
+    private int faceMask;
+    //Zobrist hash of the counts, kept up to date with every change
+    private long stateHash;
+
+    /**
+     * Constructor for an empty dice pool
+     */
+    public DicePool() {
+        this.counts = new int[Die.MAX_FACE_VALUE + 1];
+        this.size = 0;
+        this.faceMask = 0;
+        this.stateHash = 0L;
+    }
+
+    /**
+     * Constructor for a dice pool with the given dice
+     *
+     * @param dice dice in the pool
+     */
+    public DicePool(Die... dice) {
+        this();
+        for (Die die : dice) {
+            add(die.getfaceValue());
+        }
+    }
+
+    /**
+     * Checks if the face value is a value a die can have
+     *
+     * @param faceValue value of a die
+     * @return true or false
+     */
+    private static boolean isValidFace(int faceValue) {
+        return faceValue >= 1 && faceValue <= Die.MAX_FACE_VALUE;
+    }
+
+    /**
+     * Checks if a die with the given face value is in the pool
+     *
+     * @param faceValue value of the die
+     * @return true or false
+     */
+    public boolean contains(int faceValue) {
+        return isValidFace(faceValue) && this.counts[faceValue] > 0;
+    }
+
+    /**
+     * Checks if the given die is in the pool
+     *
+     * @param die die to be checked, can be null
+     * @return true or false
+     */
+    public boolean contains(Die die) {
+        return die != null && contains(die.getfaceValue());
+    }
+
+    /**
+     * Adds a die to the pool
+     *
+     * @param faceValue value of the die
+     */
+    public void add(int faceValue) {
+        if (!isValidFace(faceValue)) {
+            throw new IllegalArgumentException("A die can't have the value " + faceValue);
+        }
+        this.stateHash ^= ZobristKeys.die(faceValue, this.counts[faceValue])
+                ^ ZobristKeys.die(faceValue, this.counts[faceValue] + 1);
+        this.counts[faceValue]++;
+        this.size++;
+        this.faceMask |= 1 << faceValue;
+    }
+
+    /**
+     * Adds a die to the pool
+     *
+     * @param die die to be added
+     */
+    public void add(Die die) {
+        add(die.getfaceValue());
+    }
+
+    /**
+     * Removes one die with the given value from the pool
+     *
+     * @param faceValue value of the die
+     * @return true if the die was in the pool and got removed
+     */
+    public boolean remove(int faceValue) {
+        boolean toReturn = contains(faceValue);
+        if (toReturn) {
+            this.stateHash ^= ZobristKeys.die(faceValue, this.counts[faceValue])
+                    ^ ZobristKeys.die(faceValue, this.counts[faceValue] - 1);
+            this.counts[faceValue]--;
+            this.size--;
+            if (this.counts[faceValue] == 0) {
+                this.faceMask &= ~(1 << faceValue);
+            }
+        }
+        return toReturn;
+    }
+
+    /**
+     * Removes one die from the pool
+     *
+     * @param die die to be removed, can be null
+     * @return true if the die was in the pool and got removed
+     */
+    public boolean remove(Die die) {
+        return die != null && remove(die.getfaceValue());
+    }
+
+    /**
+     * Removes all dice from the pool
+     */
+    public void clear() {
+        Arrays.fill(this.counts, 0);
+        this.size = 0;
+        this.faceMask = 0;
+        this.stateHash = 0L;
+    }
+
+    /**
+     * @param faceValue value of a die
+     * @return amount of dice with this value in the pool
+     */
+    public int count(int faceValue) {
+        return isValidFace(faceValue) ? this.counts[faceValue] : 0;
+    }
+
+    /**
+     * @return amount of all dice in the pool
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @return true if there is no die in the pool
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Returns the face values that are in the pool as bits. Bit i is set if at
+     * least one die with the value i is in the pool. The values can be iterated
+     * without allocating anything via Integer.numberOfTrailingZeros
+     *
+     * @return face values in the pool
+     */
+    public int getFaceMask() {
+        return this.faceMask;
+    }
+
+    /**
+     * Returns the Zobrist hash of the pool. Pools with the same dice have the
+     * same hash, no matter in which order the dice were added
+     *
+     * @return hash of the pool
+     */
+    public long getStateHash() {
+        return this.stateHash;
+    }
+
+    /**
+     * @return all dice of the pool in ascending order
+     */
+    public Die[] toArray() {
+        Die[] toReturn = new Die[this.size];
+        int i = 0;
+        for (int faceValue = 1; faceValue <= Die.MAX_FACE_VALUE; faceValue++) {
+            for (int k = 0; k < this.counts[faceValue]; k++) {
+                toReturn[i] = Die.of(faceValue);
+                i++;
+            }
+        }
+        return toReturn;
+    }
+
+    /**
+     * @return the values of all dice of the pool in ascending order
+     */
+    public int[] toFaceValues() {
+        int[] toReturn = new int[this.size];
+        int i = 0;
+        for (int faceValue = 1; faceValue <= Die.MAX_FACE_VALUE; faceValue++) {
+            for (int k = 0; k < this.counts[faceValue]; k++) {
+                toReturn[i] = faceValue;
+                i++;
+            }
+        }
+        return toReturn;
+    }
+
+    /**
+     * Replaces the dice of this pool with the dice of another pool
+     *
+     * @param other pool whose dice are taken
+     */
+    public void set(DicePool other) {
+        System.arraycopy(other.counts, 0, this.counts, 0, this.counts.length);
+        this.size = other.size;
+        this.faceMask = other.faceMask;
+        this.stateHash = other.stateHash;
+    }
+
+    /**
+     * @return a copy of this pool
+     */
+    public DicePool copy() {
+        DicePool toReturn = new DicePool();
+        toReturn.set(this);
+        return toReturn;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    /**
+     * Compares two dice pools and checks if they contain the same dice
+     *
+     * @param other
+     * @return equal or not
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (other == this) {
+            return true;
+        }
+        if (!(other instanceof DicePool)) {
+            return false;
+        }
+        return Arrays.equals(this.counts, ((DicePool) other).counts);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(this.counts);
+    }
+}
@@ -0,0 +1,38 @@
+package logic;
+
+/**
+ * Interface for the source the dice of a game are rolled with. Every game has
+ * its own source, so games that are played at the same time don't share a
+ * random number generator
+ *
+ * Is implemented by
+ * SplittableDiceSource - seeded source based on a SplittableRandom
+ *
+ * @author Mario da Graca (cgt103579)
+ */
+public interface DiceSource {
+
+    /**
+     * Rolls a single die
+     *
+     * @return value of the die between 1 and Die.MAX_FACE_VALUE
+     */
+    public int nextFaceValue();
+
+    /**
+     * Returns the seed of this source. A new source with the same seed rolls
+     * exactly the same dice
+     *
+     * @return seed of this source
+     */
+    public long getSeed();
+
+    /**
+     * Creates a new independent source for another game. The new source is
+     * determined by the state of this source, so splitting a seeded source
+     * always results in the same sources
+     *
+     * @return new source
+     */
+    public DiceSource split();
+}
@@ -1,26 +1,59 @@
 package logic;
 
-import java.util.Arrays;
-
 /**
  * Class to create Dice as objects. Value of 1-6 and methods that allow you to
- * roll several dice
+ * roll several dice. Dice are immutable, use Die.of to get one
  *
  * @author Mario da Graca (cgt103579)
  */
-public class Die {
+public final class Die {
 
-    //Constant to define the maximum value a die can have
-    private static final byte MAX_FACE_VALUE = 6;
+    /**
+     * Constant to define the maximum value a die can have
+     */
+    public static final byte MAX_FACE_VALUE = 6;
+    //Shared dice for every face value from 0 (crossed cells of a level) to
+    //MAX_FACE_VALUE, index is the face value
+    private static final Die[] SHARED = createSharedDice();
     //Value of this die
     private final int faceValue;
+    //Hash of the value, computed once
+    private final int hash;
 
     /**
      * Constructor
      * @param faceValue
      */
-    public Die(int faceValue) {
+    private Die(int faceValue) {
         this.faceValue = faceValue;
+        this.hash = 13 * 7 + faceValue;
+    }
+
+    /**
+     * Returns a die with the given value. Dice are immutable, so all dice
+     * with a face value between 0 and MAX_FACE_VALUE are shared
+     *
+     * @param faceValue value of the die
+     * @return die with the value
+     */
+    public static Die of(int faceValue) {
+        if (faceValue >= 0 && faceValue <= MAX_FACE_VALUE) {
+            return SHARED[faceValue];
+        }
+        return new Die(faceValue);
+    }
+
+    /**
+     * Creates the shared dice
+     *
+     * @return one die for every face value, index is the face value
+     */
+    private static Die[] createSharedDice() {
+        Die[] toReturn = new Die[MAX_FACE_VALUE + 1];
+        for (int i = 0; i < toReturn.length; i++) {
+            toReturn[i] = new Die(i);
+        }
+        return toReturn;
     }
 
     /**
@@ -39,21 +72,37 @@ public class Die {
      * @return Die[] with all values in sorted order
      */
     public static Die[] rollDice(int amountOfDice) {
-        Die[] rolledDice = new Die[amountOfDice];
+        return rollDice(amountOfDice, new SplittableDiceSource());
+    }
+
+    /**
+     * Rolls any amount of Dice with the given source and returns their values
+     * in sorted order. The same state of the source always results in the
+     * same dice
+     *
+     * @param amountOfDice to be rolled
+     * @param source source the dice are rolled with
+     * @return Die[] with all values in sorted order
+     */
+    public static Die[] rollDice(int amountOfDice, DiceSource source) {
+        DicePool pool = new DicePool();
+        rollDice(pool, amountOfDice, source);
+        return pool.toArray();
+    }
+
+    /**
+     * Rolls any amount of Dice with the given source directly into a dice
+     * pool. The pool is cleared before. No object is created per die
+     *
+     * @param pool dice pool that is filled
+     * @param amountOfDice to be rolled
+     * @param source source the dice are rolled with
+     */
+    public static void rollDice(DicePool pool, int amountOfDice, DiceSource source) {
+        pool.clear();
         for (int i = 0; i < amountOfDice; i++) {
-            /*
-            Math.random returns random double digit between 0.0 and 1.0
-            Multiply it with the maximum Value(6) plus 1, because
-            Dice range from 1-6 instead of 0-5
-             */
-            rolledDice[i] = new Die((int) (Math.random() * MAX_FACE_VALUE + 1));
+            pool.add(source.nextFaceValue());
         }
-
-        /*
-        Sort the Array via given Comparator ascending
-         */
-        Arrays.sort(rolledDice, (Die Die1, Die Die2) -> Die1.faceValue - Die2.faceValue);
-        return rolledDice;
     }
 
     @Override
@@ -86,8 +135,6 @@ public class Die {
 
     @Override
     public int hashCode() {
-        int hash = 7;
-        hash = 13 * hash + this.faceValue;
-        return hash;
+        return this.hash;
     }
 }
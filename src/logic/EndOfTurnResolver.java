@@ -0,0 +1,92 @@
+package logic;
+
+import logic.boards.Board;
+import logic.boards.SpecialCellIndex;
+import logic.boards.fieldTypes.Property;
+
+/**
+ * Resolves the end of a turn for all players in a single pass: bombs a die
+ * was placed on are crossed out or explode, keys unlock their padlocks, the
+ * rocket crosses out the planet and all placed dice are crossed out. Only the
+ * masks of the players and the special cells of the level are used, so
+ * nothing is allocated. All cells that changed are collected in one change
+ * set for the gui
+ *
+ * @author Mario da Graca (cgt103579)
+ */
+final class EndOfTurnResolver {
+
+    //Special cells of the level
+    private final SpecialCellIndex specialCells;
+    //Changes of the last resolved turn, reused for every turn
+    private final CellChanges changes;
+
+    /**
+     * Constructor
+     *
+     * @param originalBoard board of the level
+     * @param amountPlayers amount of players of the game
+     */
+    EndOfTurnResolver(Board originalBoard, int amountPlayers) {
+        this.specialCells = originalBoard.getSpecialCells();
+        this.changes = new CellChanges(originalBoard.getBitBoard(), amountPlayers);
+    }
+
+    /**
+     * Resolves the end of the turn. When more players have a die on the same
+     * bomb, all of them cross it out and it explodes on all other boards. A
+     * die on a key unlocks the padlocks of the key and a die on the rocket
+     * crosses out the planet. At last all placed dice are crossed out
+     *
+     * @param players all players of the game
+     * @param amountPlayers amount of players
+     * @return cells that were crossed out or exploded, valid until the next
+     * turn is resolved
+     */
+    CellChanges resolve(Player[] players, int amountPlayers) {
+        this.changes.clear();
+        //only bombs a die was placed on have to be looked at
+        long placedBombs = 0L;
+        for (int i = 0; i < amountPlayers; i++) {
+            placedBombs |= players[i].getBoard().getPropertyMask(Property.DICE_PLACED);
+        }
+        placedBombs &= this.specialCells.getBombMask();
+
+        for (int i = 0; i < amountPlayers; i++) {
+            Player player = players[i];
+            Board board = player.getBoard();
+            if (placedBombs != 0L) {
+                long ownBombs = board.getPropertyMask(Property.DICE_PLACED) & placedBombs;
+                long otherBombs = placedBombs & ~ownBombs;
+                board.updateCellsAdd(Property.CROSSED, ownBombs);
+                player.addCellsToChecked(ownBombs);
+                player.removeCellsFromDiceOn(ownBombs);
+                board.updateCellsAdd(Property.EXPLODED, otherBombs);
+                player.addCellsToExploded(otherBombs);
+                this.changes.cross(i, ownBombs);
+                this.changes.explode(i, otherBombs);
+            }
+
+            long diceOn = player.getDiceOnMask();
+            long keysWithDie = diceOn & this.specialCells.getAllKeysMask();
+            for (int key = 0; keysWithDie != 0L && key < this.specialCells.getAmountKeys(); key++) {
+                if ((keysWithDie & this.specialCells.getKeyMask(key)) != 0L) {
+                    board.unlockPadlocks(this.specialCells.getPadlockMask(key));
+                }
+            }
+
+            if ((diceOn & this.specialCells.getRocketMask()) != 0L) {
+                long planet = this.specialCells.getPlanetMask();
+                board.updateCellsAdd(Property.CROSSED, planet);
+                player.addCellsToChecked(planet);
+                this.changes.cross(i, planet);
+            }
+
+            board.updateCellsAdd(Property.CROSSED, diceOn);
+            player.addCellsToChecked(diceOn);
+            player.clearDiceOn();
+            this.changes.cross(i, diceOn);
+        }
+        return this.changes;
+    }
+}
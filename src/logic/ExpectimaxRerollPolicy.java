@@ -0,0 +1,267 @@
+package logic;
+
+import logic.boards.Board;
+import logic.boards.fieldTypes.FieldProperty;
+
+/**
+ * Policy that decides with an expectimax search if rolling the dice cup again
+ * is better than skipping. Rolling the dice cup is a chance node: all
+ * outcomes of the roll (multisets of face values) are enumerated and weighted
+ * by their multinomial probability instead of sampling them. If a rolled die
+ * is placeable the player gains the value of the best cell he can place it on,
+ * otherwise he has to put back his least valuable placed die and is out of the
+ * turn. Skipping is worth nothing. The player rolls again if the expected value
+ * of the chance node is positive.
+ * <p>
+ * A cell is worth one die plus the points of a jewel on it. The value of an
+ * outcome only depends on which face values were rolled, so the probabilities
+ * of every set of face values are summed up once per amount of dice. The
+ * values of chance nodes are memoized in a transposition table that can be
+ * shared by all threads
+ *
+ * @author Mario da Graca (cgt103579)
+ */
+public class ExpectimaxRerollPolicy implements RerollPolicy {
+
+    /**
+     * Instance that is used by every computer player unless a game sets
+     * another policy, shares its memoized chance nodes between all games
+     */
+    public final static ExpectimaxRerollPolicy SHARED = new ExpectimaxRerollPolicy();
+
+    /**
+     * Value of a placed die (values are in thousandths of a die)
+     */
+    public final static int DIE_VALUE = 1000;
+
+    /**
+     * Default amount of memoized chance nodes
+     */
+    public final static int DEFAULT_MEMO_SIZE = 1 << 16;
+
+    //Amount of dice up to which the probabilities of the face values are
+    //calculated in advance (dice cup of four players)
+    private final static int MAX_PRECALCULATED_DICE = 13;
+    //Amount of sets of face values, bit i is set if face value i was rolled
+    private final static int AMOUNT_FACE_SETS = 1 << (Die.MAX_FACE_VALUE + 1);
+    //Probabilities of all sets of face values by amount of dice
+    private final static double[][] FACE_SET_PROBABILITIES = createFaceSetProbabilities();
+
+    //Memoized values of chance nodes
+    private final TranspositionTable memo;
+
+    /**
+     * Constructor for a policy with its own memo of the default size
+     */
+    public ExpectimaxRerollPolicy() {
+        this(new TranspositionTable(DEFAULT_MEMO_SIZE));
+    }
+
+    /**
+     * Constructor
+     *
+     * @param memo table the values of chance nodes are memoized in, can be
+     * shared with other policies
+     */
+    public ExpectimaxRerollPolicy(TranspositionTable memo) {
+        this.memo = memo;
+    }
+
+    /**
+     * Calculates the probabilities of the sets of face values for all amounts
+     * of dice up to MAX_PRECALCULATED_DICE
+     *
+     * @return probabilities by amount of dice and set of face values
+     */
+    private static double[][] createFaceSetProbabilities() {
+        double[][] toReturn = new double[MAX_PRECALCULATED_DICE + 1][];
+        for (int amountDice = 0; amountDice < toReturn.length; amountDice++) {
+            toReturn[amountDice] = calcFaceSetProbabilities(amountDice);
+        }
+        return toReturn;
+    }
+
+    /**
+     * Enumerates all outcomes of rolling the dice and sums up the probability
+     * of every set of face values
+     *
+     * @param amountDice amount of rolled dice
+     * @return probabilities by set of face values
+     */
+    private static double[] calcFaceSetProbabilities(int amountDice) {
+        double[] toReturn = new double[AMOUNT_FACE_SETS];
+        //n! / 6^n, every outcome divides it by the factorials of its counts
+        double weight = 1.0;
+        for (int i = 1; i <= amountDice; i++) {
+            weight *= (double) i / Die.MAX_FACE_VALUE;
+        }
+        addOutcomes(toReturn, 1, amountDice, 0, weight);
+        return toReturn;
+    }
+
+    /**
+     * Adds the probabilities of all outcomes that only differ in the counts of
+     * the face value and all higher face values
+     *
+     * @param probabilities probabilities by set of face values
+     * @param faceValue face value whose count is chosen
+     * @param diceLeft amount of dice that don't have a face value yet
+     * @param faceSet face values that were rolled so far
+     * @param weight n! / 6^n divided by the factorials of the chosen counts
+     */
+    private static void addOutcomes(double[] probabilities, int faceValue,
+            int diceLeft, int faceSet, double weight) {
+        if (faceValue == Die.MAX_FACE_VALUE) {
+            //the remaining dice all have the highest face value
+            double currWeight = weight;
+            for (int i = 2; i <= diceLeft; i++) {
+                currWeight /= i;
+            }
+            probabilities[diceLeft > 0 ? faceSet | (1 << faceValue) : faceSet] += currWeight;
+        } else {
+            double currWeight = weight;
+            for (int count = 0; count <= diceLeft; count++) {
+                if (count > 0) {
+                    currWeight /= count;
+                }
+                addOutcomes(probabilities, faceValue + 1, diceLeft - count,
+                        count > 0 ? faceSet | (1 << faceValue) : faceSet, currWeight);
+            }
+        }
+    }
+
+    /**
+     * Returns the probabilities of all sets of face values when rolling the
+     * dice
+     *
+     * @param amountDice amount of rolled dice
+     * @return probabilities by set of face values, bit i of the index is set
+     * if face value i was rolled
+     */
+    static double[] getFaceSetProbabilities(int amountDice) {
+        return amountDice <= MAX_PRECALCULATED_DICE
+                ? FACE_SET_PROBABILITIES[amountDice]
+                : calcFaceSetProbabilities(amountDice);
+    }
+
+    /**
+     * Returns the value of a cell if the player places a die on it
+     *
+     * @param board playing board of the player
+     * @param cell bit of the cell
+     * @return value of the cell
+     */
+    private static int getCellValue(Board board, long cell) {
+        int toReturn = DIE_VALUE;
+        FieldProperty[] jewels = board.getJewels();
+        if (jewels != null) {
+            for (int i = 0; i < jewels.length; i++) {
+                if ((board.getJewelMasks()[i] & cell) != 0L) {
+                    toReturn += jewels[i].getPoints() * DIE_VALUE;
+                }
+            }
+        }
+        return toReturn;
+    }
+
+    /**
+     * Calculates the expected value of rolling the dice cup again
+     *
+     * @param amountDice amount of dice in the dice cup
+     * @param gains value of the best cell for every face value, 0 if a die
+     * with this face value isn't placeable
+     * @param loss value of the die that has to be put back if no die is
+     * placeable, 0 if the player has no placed die
+     * @return expected value of the chance node
+     */
+    int getExpectedValue(int amountDice, int[] gains, int loss) {
+        long hash = hashChanceNode(amountDice, gains, loss);
+        long entry = this.memo.probe(hash);
+        if (entry != TranspositionTable.NO_ENTRY) {
+            return TranspositionTable.getValue(entry);
+        }
+
+        double[] probabilities = getFaceSetProbabilities(amountDice);
+        double expected = 0.0;
+        for (int faceSet = 0; faceSet < AMOUNT_FACE_SETS; faceSet++) {
+            if (probabilities[faceSet] > 0.0) {
+                int best = 0;
+                for (int faces = faceSet; faces != 0; faces &= faces - 1) {
+                    best = Math.max(best, gains[Integer.numberOfTrailingZeros(faces)]);
+                }
+                expected += probabilities[faceSet] * (best > 0 ? best : -loss);
+            }
+        }
+        int toReturn = (int) Math.round(expected);
+        this.memo.store(hash, toReturn, Math.min(amountDice, TranspositionTable.MAX_DEPTH),
+                TranspositionTable.NO_MOVE);
+        return toReturn;
+    }
+
+    /**
+     * Hashes all inputs of a chance node
+     *
+     * @param amountDice amount of dice in the dice cup
+     * @param gains value of the best cell for every face value
+     * @param loss value of the die that has to be put back
+     * @return hash of the chance node
+     */
+    private static long hashChanceNode(int amountDice, int[] gains, int loss) {
+        long toReturn = amountDice * 0x9E3779B97F4A7C15L;
+        for (int faceValue = 1; faceValue <= Die.MAX_FACE_VALUE; faceValue++) {
+            toReturn = (toReturn ^ gains[faceValue]) * 0xBF58476D1CE4E5B9L;
+            toReturn ^= toReturn >>> 31;
+        }
+        toReturn = (toReturn ^ loss) * 0x94D049BB133111EBL;
+        return toReturn ^ (toReturn >>> 29);
+    }
+
+    /**
+     * Returns the value of the least valuable die the player placed
+     *
+     * @param board playing board of the player
+     * @param placed mask of the placed dice
+     * @return value of the die or 0 if there is no placed die
+     */
+    private static int getLeastPlacedValue(Board board, long placed) {
+        int toReturn = 0;
+        for (long cells = placed; cells != 0L; cells &= cells - 1) {
+            int value = getCellValue(board, Long.lowestOneBit(cells));
+            if (toReturn == 0 || value < toReturn) {
+                toReturn = value;
+            }
+        }
+        return toReturn;
+    }
+
+    @Override
+    public boolean shouldReroll(GameLogicDizzle game) {
+        Player player = game.getPlayers()[game.getTurnOf()];
+        Board board = player.getBoard();
+        long frontier = game.getCurrFrontier();
+
+        int[] gains = new int[Die.MAX_FACE_VALUE + 1];
+        for (int faceValue = 1; faceValue <= Die.MAX_FACE_VALUE; faceValue++) {
+            for (long cells = frontier & board.getFaceMask(faceValue); cells != 0L; cells &= cells - 1) {
+                gains[faceValue] = Math.max(gains[faceValue], getCellValue(board, Long.lowestOneBit(cells)));
+            }
+        }
+        int loss = getLeastPlacedValue(board, player.getDiceOnMask());
+        return getExpectedValue(game.getDice().length, gains, loss) > 0;
+    }
+
+    @Override
+    public Position dieToPutBack(GameLogicDizzle game, Position[] placed) {
+        Board board = game.getPlayers()[game.getTurnOf()].getBoard();
+        Position toReturn = placed[0];
+        int leastValue = getCellValue(board, board.getBitBoard().bit(toReturn));
+        for (int i = 1; i < placed.length; i++) {
+            int value = getCellValue(board, board.getBitBoard().bit(placed[i]));
+            if (value < leastValue) {
+                toReturn = placed[i];
+                leastValue = value;
+            }
+        }
+        return toReturn;
+    }
+}
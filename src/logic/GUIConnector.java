@@ -10,6 +10,7 @@ import logic.boards.fieldTypes.Property;
  * 
  * Is implemented by 
  * JavaFXGUI - real interaction with the gui
+ * HeadlessGUI - no interaction for games without a gui
  * and 
  * FakeGUI - fake interaction for testing purposes
  * @author Mario da Graca (cgt103579)
@@ -144,6 +145,27 @@ public interface GUIConnector {
      */
     public void displayExplodedCell(Position position, int turnOf);
 
+    /**
+     * Shows the original cell again after a computer put its die back in the
+     * dice cup
+     *
+     * @param position of the cell
+     * @param property special field of the cell
+     * @param die die value of the cell
+     * @param turnOf determines on which board the cell should be shown
+     * (matches the player who put the die back)
+     */
+    public void displayPutBackDie(Position position, Property property, Die die, int turnOf);
+
+    /**
+     * Shows all cells that were crossed out or exploded at the end of a turn
+     * at once. The changes are reused for the next turn, so they are only
+     * valid during this call
+     *
+     * @param changes changed cells of every playing board
+     */
+    public void displayChangedCells(CellChanges changes);
+
     /**
      * Creates the playingBoard for the player
      */
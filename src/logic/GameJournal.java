@@ -0,0 +1,549 @@
+package logic;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.CRC32;
+import logic.exceptions.LevelSavingException;
+
+/**
+ * Append-only journal of a running game, a crashed game can be resumed from it
+ * (see JournalRecovery). At the start of a turn the journal contains a
+ * snapshot of the game (the binary save game format) every few turns, after
+ * it every rolled face value, every input of the human player (clicked cell,
+ * roll dice, skip) and every action of all players (place, put back, roll,
+ * skip, end of turn). The inputs and the face values are enough to replay the
+ * game from the last snapshot, the actions are only written to follow the game
+ * <p>
+ * Every record is [int length][byte type][payload][int CRC32 of type and
+ * payload], so a record that was only partly written when the game crashed is
+ * detected and ignored. The game only queues the records, a writer thread
+ * writes all queued records at once and forces them to the disk once per
+ * batch. Records are never dropped: if the queue is full the game waits for
+ * the writer. Queueing a record and closing the journal hold the lock of the
+ * journal, so the journal can be closed by another thread (e.g. when the
+ * application exits) and no record is queued after the end of the file
+ *
+ * @author Mario da Graca (cgt103579)
+ */
+public class GameJournal implements GameListener {
+
+    /**
+     * Default amount of records that can wait to be written
+     */
+    public final static int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * Default amount of turns between two snapshots
+     */
+    public final static int DEFAULT_SNAPSHOT_INTERVAL = 3;
+
+    /**
+     * First bytes of every journal ("DZLJ")
+     */
+    final static int MAGIC = 0x445A4C4A;
+
+    /**
+     * Version of the journal format
+     */
+    final static byte VERSION = 1;
+
+    /**
+     * Size of the header: magic, version and snapshot interval
+     */
+    final static int HEADER_SIZE = 6;
+
+    /**
+     * Size of a record without its payload: length, type and checksum
+     */
+    final static int RECORD_OVERHEAD = 9;
+
+    /**
+     * Record types, the payload is described next to each type
+     */
+    final static byte SNAPSHOT = 1;    //binary save game
+    final static byte DICE = 2;        //rolled face values, one byte each
+    final static byte CLICK = 3;       //x, y of a cell the human clicked on
+    final static byte ROLL_CLICK = 4;  //human clicked on roll dice
+    final static byte SKIP_CLICK = 5;  //human clicked on skip
+    final static byte PLACE = 6;       //player, x, y
+    final static byte PUT_BACK = 7;    //player, x, y
+    final static byte ROLL = 8;        //player
+    final static byte SKIP = 9;        //player
+    final static byte END_OF_TURN = 10;
+    final static byte END_OF_GAME = 11;
+
+    /**
+     * Record that tells the writer thread to close the file
+     */
+    private final static byte[] CLOSE = new byte[0];
+
+    //Records that still have to be written
+    private final BlockingQueue<byte[]> queue;
+    //Amount of turns between two snapshots
+    private final int snapshotInterval;
+    //Thread that writes the records to the file
+    private final Thread writerThread;
+    //Closes the journal when the application exits
+    private final Thread shutdownHook;
+    //Face values that were rolled since the last record, guarded by the lock
+    private byte[] pendingFaces;
+    //Amount of face values in pendingFaces, guarded by the lock
+    private int amountPendingFaces;
+    //Amount of turns since the last snapshot
+    private int turnsSinceSnapshot;
+    //First error that occured while writing, null if there was none
+    private final AtomicReference<IOException> error;
+    //Journal was closed, guarded by the lock
+    private boolean closed;
+
+    /**
+     * Constructor for a new journal, clears the file and writes the header
+     *
+     * @param path path to the journal file
+     * @param snapshotInterval amount of turns between two snapshots (1 - 127)
+     * @throws IOException error while opening the file
+     */
+    public GameJournal(Path path, int snapshotInterval) throws IOException {
+        this(openNew(path, snapshotInterval), snapshotInterval, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor for a journal that continues an existing file. Everything
+     * after the given length (a partly written record) is cut off
+     *
+     * @param path path to the journal file
+     * @param validLength length of the valid part of the file
+     * @param snapshotInterval amount of turns between two snapshots
+     * @throws IOException error while opening the file
+     */
+    GameJournal(Path path, long validLength, int snapshotInterval) throws IOException {
+        this(openExisting(path, validLength), snapshotInterval, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor, starts the writer thread
+     *
+     * @param channel opened file, positioned at its end
+     * @param snapshotInterval amount of turns between two snapshots
+     * @param capacity amount of records that can wait to be written
+     */
+    private GameJournal(FileChannel channel, int snapshotInterval, int capacity) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.snapshotInterval = snapshotInterval;
+        this.pendingFaces = new byte[32];
+        this.amountPendingFaces = 0;
+        this.turnsSinceSnapshot = 0;
+        this.error = new AtomicReference<>();
+        this.closed = false;
+        this.writerThread = new Thread(() -> writeRecords(channel), "game-journal-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+        this.shutdownHook = new Thread(this::close, "game-journal-shutdown");
+        Runtime.getRuntime().addShutdownHook(this.shutdownHook);
+    }
+
+    /**
+     * Opens a new journal file and writes the header
+     *
+     * @param path path to the journal file
+     * @param snapshotInterval amount of turns between two snapshots
+     * @return opened file
+     * @throws IOException error while opening the file
+     */
+    private static FileChannel openNew(Path path, int snapshotInterval) throws IOException {
+        if (snapshotInterval < 1 || snapshotInterval > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Illegal snapshot interval: " + snapshotInterval);
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).put(VERSION).put((byte) snapshotInterval).flip();
+        try {
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return channel;
+    }
+
+    /**
+     * Opens an existing journal file and cuts off its invalid end
+     *
+     * @param path path to the journal file
+     * @param validLength length of the valid part of the file
+     * @return opened file, positioned at its end
+     * @throws IOException error while opening the file
+     */
+    private static FileChannel openExisting(Path path, long validLength) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE);
+        try {
+            channel.truncate(validLength);
+            channel.position(validLength);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return channel;
+    }
+
+    /**
+     * Calculates the checksum of a record
+     *
+     * @param data array the record is in
+     * @param offset offset of the type of the record
+     * @param length length of the type and the payload
+     * @return checksum
+     */
+    static int checksum(byte[] data, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(data, offset, length);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Wraps the source of the dice, so every rolled face value is written to
+     * the journal
+     *
+     * @param source source the dice are rolled with
+     * @return source that writes the face values to the journal
+     */
+    DiceSource record(DiceSource source) {
+        return new RecordingDiceSource(source, this);
+    }
+
+    /**
+     * Called when the journal is attached to a game. The journal needs a
+     * snapshot at the start of a turn, if the game is in the middle of a turn
+     * the first snapshot is written at its end
+     *
+     * @param game game the journal is attached to
+     * @param atTurnStart true if the game is at the start of a turn
+     */
+    void attached(GameLogicDizzle game, boolean atTurnStart) {
+        if (atTurnStart) {
+            snapshot(game);
+        } else {
+            this.turnsSinceSnapshot = this.snapshotInterval;
+        }
+    }
+
+    /**
+     * Writes a snapshot of the game, must be at the start of a turn
+     *
+     * @param game game that is journaled
+     */
+    void snapshot(GameLogicDizzle game) {
+        try {
+            append(SNAPSHOT, game.createSaveGame().toBinary());
+            this.turnsSinceSnapshot = 0;
+        } catch (LevelSavingException e) {
+            this.error.compareAndSet(null, new IOException(e.getMessage(), e));
+        }
+    }
+
+    /**
+     * Adds a rolled face value
+     *
+     * @param faceValue face value of the die
+     */
+    synchronized void face(int faceValue) {
+        if (this.amountPendingFaces == this.pendingFaces.length) {
+            this.pendingFaces = Arrays.copyOf(this.pendingFaces, this.pendingFaces.length * 2);
+        }
+        this.pendingFaces[this.amountPendingFaces++] = (byte) faceValue;
+    }
+
+    /**
+     * Writes that the human clicked on a cell
+     *
+     * @param pos clicked cell
+     */
+    void click(Position pos) {
+        append(CLICK, new byte[]{(byte) pos.getX(), (byte) pos.getY()});
+    }
+
+    /**
+     * Writes that the human clicked on roll dice
+     */
+    void rollClick() {
+        append(ROLL_CLICK, new byte[0]);
+    }
+
+    /**
+     * Writes that the human clicked on skip
+     */
+    void skipClick() {
+        append(SKIP_CLICK, new byte[0]);
+    }
+
+    @Override
+    public void diePlaced(int player, Position pos) {
+        append(PLACE, new byte[]{(byte) player, (byte) pos.getX(), (byte) pos.getY()});
+    }
+
+    @Override
+    public void diePutBack(int player, Position pos) {
+        append(PUT_BACK, new byte[]{(byte) player, (byte) pos.getX(), (byte) pos.getY()});
+    }
+
+    @Override
+    public void diceRolled(int player) {
+        append(ROLL, new byte[]{(byte) player});
+    }
+
+    @Override
+    public void playerSkipped(int player) {
+        append(SKIP, new byte[]{(byte) player});
+    }
+
+    /**
+     * Writes that a turn is over and a snapshot every few turns, the last turn
+     * needs no snapshot anymore
+     *
+     * @param game game that is journaled
+     * @param gameOver true if it was the last turn
+     */
+    @Override
+    public void turnOver(GameLogicDizzle game, boolean gameOver) {
+        append(END_OF_TURN, new byte[0]);
+        this.turnsSinceSnapshot++;
+        if (!gameOver && this.turnsSinceSnapshot >= this.snapshotInterval) {
+            snapshot(game);
+        }
+    }
+
+    @Override
+    public void gameOver(GameLogicDizzle game) {
+        append(END_OF_GAME, new byte[0]);
+    }
+
+    /**
+     * Queues a record, the face values that were rolled before are queued
+     * first. Waits if the queue is full. Records after closing the journal are
+     * ignored
+     *
+     * @param type type of the record
+     * @param payload payload of the record
+     */
+    private synchronized void append(byte type, byte[] payload) {
+        if (!this.closed) {
+            appendFaces();
+            queueRecord(type, payload);
+        }
+    }
+
+    /**
+     * Queues the face values that were rolled since the last record, the lock
+     * has to be held
+     */
+    private void appendFaces() {
+        if (this.amountPendingFaces > 0) {
+            queueRecord(DICE, Arrays.copyOf(this.pendingFaces, this.amountPendingFaces));
+            this.amountPendingFaces = 0;
+        }
+    }
+
+    /**
+     * Frames a record with its length and checksum and queues it
+     *
+     * @param type type of the record
+     * @param payload payload of the record
+     */
+    private void queueRecord(byte type, byte[] payload) {
+        byte[] record = new byte[payload.length + RECORD_OVERHEAD];
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        buffer.putInt(payload.length).put(type).put(payload);
+        buffer.putInt(checksum(record, 4, payload.length + 1));
+        put(record);
+    }
+
+    /**
+     * Puts a record in the queue and waits for a free place
+     *
+     * @param record record to queue
+     */
+    private void put(byte[] record) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                this.queue.put(record);
+                break;
+            } catch (InterruptedException e) {
+                //the record mustn't get lost
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes all queued records, forces them to the disk, closes the file and
+     * stops the writer thread. Further records are ignored. Every record that
+     * was queued before is written, the end of the file is queued last
+     */
+    public void close() {
+        synchronized (this) {
+            if (this.closed) {
+                return;
+            }
+            //face values after the last record are part of the journal too
+            appendFaces();
+            this.closed = true;
+        }
+        put(CLOSE);
+        try {
+            this.writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (Thread.currentThread() != this.shutdownHook) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(this.shutdownHook);
+            } catch (IllegalStateException e) {
+                //application is already shutting down
+            }
+        }
+    }
+
+    /**
+     * Returns the first error that occured while writing and resets it
+     *
+     * @return the error or null if there was none
+     */
+    public IOException pollError() {
+        return this.error.getAndSet(null);
+    }
+
+    /**
+     * Loop of the writer thread. Takes all queued records at once, writes them
+     * and forces them to the disk with a single call until the journal is
+     * closed. After an error the records are only taken from the queue, so the
+     * game is never blocked
+     *
+     * @param channel opened file, positioned at its end
+     */
+    private void writeRecords(FileChannel channel) {
+        FileChannel currChannel = channel;
+        List<byte[]> batch = new ArrayList<>();
+        boolean running = true;
+        while (running) {
+            try {
+                batch.add(this.queue.take());
+            } catch (InterruptedException e) {
+                //the thread is only stopped by closing the journal
+                continue;
+            }
+            this.queue.drainTo(batch);
+
+            int size = 0;
+            for (byte[] record : batch) {
+                size += record.length;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(size);
+            for (byte[] record : batch) {
+                if (record == CLOSE) {
+                    running = false;
+                } else {
+                    buffer.put(record);
+                }
+            }
+            buffer.flip();
+            if (currChannel != null && buffer.hasRemaining()) {
+                try {
+                    while (buffer.hasRemaining()) {
+                        currChannel.write(buffer);
+                    }
+                    //only the content and the length of the file are needed
+                    //to read the records, not the other metadata
+                    currChannel.force(false);
+                } catch (IOException e) {
+                    this.error.compareAndSet(null, e);
+                    currChannel = closeQuietly(currChannel);
+                }
+            }
+            batch.clear();
+        }
+
+        if (currChannel != null) {
+            try {
+                currChannel.close();
+            } catch (IOException e) {
+                this.error.compareAndSet(null, e);
+            }
+        }
+    }
+
+    /**
+     * Closes a file after an error
+     *
+     * @param channel opened file
+     * @return null, the file can't be used anymore
+     */
+    private static FileChannel closeQuietly(FileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            //the first error was already stored
+        }
+        return null;
+    }
+
+    /**
+     * Source of the dice that writes every rolled face value to the journal
+     */
+    private static final class RecordingDiceSource implements DiceSource {
+
+        //Source the dice are rolled with
+        private final DiceSource source;
+        //Journal the face values are written to
+        private final GameJournal journal;
+
+        /**
+         * Constructor
+         *
+         * @param source source the dice are rolled with
+         * @param journal journal the face values are written to
+         */
+        private RecordingDiceSource(DiceSource source, GameJournal journal) {
+            this.source = source;
+            this.journal = journal;
+        }
+
+        @Override
+        public int nextFaceValue() {
+            int toReturn = this.source.nextFaceValue();
+            this.journal.face(toReturn);
+            return toReturn;
+        }
+
+        @Override
+        public long getSeed() {
+            return this.source.getSeed();
+        }
+
+        /**
+         * The new source belongs to another game (e.g. a rollout), so its
+         * dice aren't written to the journal
+         *
+         * @return new source
+         */
+        @Override
+        public DiceSource split() {
+            return this.source.split();
+        }
+    }
+}
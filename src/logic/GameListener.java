@@ -0,0 +1,60 @@
+package logic;
+
+/**
+ * Interface for everything that wants to follow the actions of all players in
+ * a game, e.g. to write them to a file. The listeners of a game are called by
+ * the thread that plays the game, right when an action happens
+ *
+ * Is implemented by
+ * GameJournal - journal a crashed game can be resumed from
+ * GameArchive.Recorder - records finished games for analytics
+ *
+ * @author Mario da Graca (cgt103579)
+ */
+public interface GameListener {
+
+    /**
+     * A player placed a die
+     *
+     * @param player index of the player
+     * @param pos cell the die was placed on
+     */
+    public void diePlaced(int player, Position pos);
+
+    /**
+     * A player put a die back in the dice cup
+     *
+     * @param player index of the player
+     * @param pos cell the die was on
+     */
+    public void diePutBack(int player, Position pos);
+
+    /**
+     * A player rolled the dice cup again
+     *
+     * @param player index of the player
+     */
+    public void diceRolled(int player);
+
+    /**
+     * A player skipped the rest of the turn
+     *
+     * @param player index of the player
+     */
+    public void playerSkipped(int player);
+
+    /**
+     * A turn is over, the next turn was already initiated
+     *
+     * @param game game whose turn is over
+     * @param gameOver true if it was the last turn
+     */
+    public void turnOver(GameLogicDizzle game, boolean gameOver);
+
+    /**
+     * The game is over, its result is set
+     *
+     * @param game finished game
+     */
+    public void gameOver(GameLogicDizzle game);
+}
@@ -0,0 +1,248 @@
+package logic;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Class that writes the log of a game to a file on a background thread. The
+ * game only puts the log entries in a bounded queue and never waits for the
+ * disk. The writer thread writes all queued entries in one batch to a buffered
+ * file and flushes it when requested (e.g. at the end of every turn) and when
+ * the writer is closed. If the queue is full, entries are dropped instead of
+ * blocking the game and the amount of dropped entries is written to the log.
+ * A requested flush is never dropped, it is kept in a flag that the writer
+ * thread checks before every batch
+ *
+ * @author Mario da Graca (cgt103579)
+ */
+public class GameLogWriter {
+
+    /**
+     * Default amount of entries that can wait to be written
+     */
+    public final static int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * Entry that wakes up the writer thread to flush the file
+     */
+    private final static String FLUSH = new String("flush");
+
+    /**
+     * Entry that tells the writer thread to flush and close the file
+     */
+    private final static String CLOSE = new String("close");
+
+    //Entries that still have to be written
+    private final BlockingQueue<String> queue;
+    //Flush the file at the end of every turn
+    private final boolean flushOnTurnEnd;
+    //Amount of entries that were dropped because the queue was full
+    private final AtomicInteger dropped;
+    //Flush was requested and the writer thread hasn't taken the entries yet
+    private final AtomicBoolean flushRequested;
+    //Thread that writes the entries to the file
+    private final Thread writerThread;
+    //Closes the writer when the application exits
+    private final Thread shutdownHook;
+    //First error that occured while writing, null if there was none
+    private final AtomicReference<IOException> error;
+    //Writer was closed
+    private volatile boolean closed;
+
+    /**
+     * Constructor, opens the file and starts the writer thread
+     *
+     * @param path path to the log file
+     * @param append true -> append to the file, false -> clear the file
+     * @param capacity amount of entries that can wait to be written
+     * @param flushOnTurnEnd true -> flush the file at the end of every turn
+     */
+    public GameLogWriter(Path path, boolean append, int capacity, boolean flushOnTurnEnd) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.flushOnTurnEnd = flushOnTurnEnd;
+        this.dropped = new AtomicInteger();
+        this.flushRequested = new AtomicBoolean();
+        this.error = new AtomicReference<>();
+        this.closed = false;
+        this.writerThread = new Thread(() -> writeEntries(path, append), "game-log-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+        this.shutdownHook = new Thread(this::close, "game-log-shutdown");
+        Runtime.getRuntime().addShutdownHook(this.shutdownHook);
+    }
+
+    /**
+     * Queues an entry for the log file. Never blocks, if the queue is full the
+     * entry is dropped. Entries after closing the writer are ignored
+     *
+     * @param entry text of the entry
+     */
+    public void log(String entry) {
+        if (!this.closed && !this.queue.offer(entry)) {
+            this.dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Requests a flush of the file after all currently queued entries are
+     * written. Never blocks, if the queue is full the writer thread is busy
+     * and sees the request with its next batch
+     */
+    public void flush() {
+        if (!this.closed) {
+            this.flushRequested.set(true);
+            this.queue.offer(FLUSH);
+        }
+    }
+
+    /**
+     * Tells the writer that a turn is over. Flushes the file if the writer
+     * should flush at the end of every turn
+     */
+    public void endOfTurn() {
+        if (this.flushOnTurnEnd) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes all queued entries, flushes and closes the file and stops the
+     * writer thread. Further entries are ignored
+     */
+    public void close() {
+        synchronized (this) {
+            if (this.closed) {
+                return;
+            }
+            this.closed = true;
+        }
+        try {
+            //the writer thread always takes entries from the queue, so waiting
+            //for a free place can't block forever
+            this.queue.put(CLOSE);
+            this.writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (Thread.currentThread() != this.shutdownHook) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(this.shutdownHook);
+            } catch (IllegalStateException e) {
+                //application is already shutting down
+            }
+        }
+    }
+
+    /**
+     * Returns the first error that occured while writing and resets it
+     *
+     * @return the error or null if there was none
+     */
+    public IOException pollError() {
+        return this.error.getAndSet(null);
+    }
+
+    /**
+     * Loop of the writer thread. Takes all queued entries at once and writes
+     * them until the writer is closed. After an error the entries are only
+     * taken from the queue, so the game is never blocked
+     *
+     * @param path path to the log file
+     * @param append true -> append to the file, false -> clear the file
+     */
+    private void writeEntries(Path path, boolean append) {
+        BufferedWriter writer = null;
+        try {
+            writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException e) {
+            this.error.compareAndSet(null, e);
+        }
+
+        List<String> batch = new ArrayList<>();
+        boolean running = true;
+        while (running) {
+            try {
+                batch.add(this.queue.take());
+            } catch (InterruptedException e) {
+                //the thread is only stopped by closing the writer
+                continue;
+            }
+            //every entry that was queued before the request is in this batch
+            //or was already written
+            boolean flush = this.flushRequested.getAndSet(false);
+            this.queue.drainTo(batch);
+            for (String entry : batch) {
+                if (entry == CLOSE) {
+                    running = false;
+                } else if (writer != null && entry != FLUSH) {
+                    try {
+                        writer.write(entry);
+                    } catch (IOException e) {
+                        this.error.compareAndSet(null, e);
+                        writer = closeQuietly(writer);
+                    }
+                }
+            }
+            if (flush && writer != null) {
+                try {
+                    writeDropped(writer);
+                    writer.flush();
+                } catch (IOException e) {
+                    this.error.compareAndSet(null, e);
+                    writer = closeQuietly(writer);
+                }
+            }
+            batch.clear();
+        }
+
+        if (writer != null) {
+            try {
+                writeDropped(writer);
+                writer.close();
+            } catch (IOException e) {
+                this.error.compareAndSet(null, e);
+            }
+        }
+    }
+
+    /**
+     * Writes how many entries were dropped since the last time
+     *
+     * @param writer writer of the file
+     * @throws IOException error while writing
+     */
+    private void writeDropped(BufferedWriter writer) throws IOException {
+        int amountDropped = this.dropped.getAndSet(0);
+        if (amountDropped > 0) {
+            writer.write("[" + amountDropped + " log entries dropped]\n");
+        }
+    }
+
+    /**
+     * Closes a writer after an error
+     *
+     * @param writer writer of the file
+     * @return null, the writer can't be used anymore
+     */
+    private static BufferedWriter closeQuietly(BufferedWriter writer) {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            //the first error was already stored
+        }
+        return null;
+    }
+}
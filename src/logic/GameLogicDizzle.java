@@ -1,26 +1,20 @@
 package logic;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonParseException;
-import java.io.BufferedReader;
-import java.io.File;
 import java.io.FileNotFoundException;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
-import java.util.Stack;
+import logic.boards.BitBoard;
 import logic.boards.Board;
 import logic.boards.Field;
-import logic.boards.LevelDataJSON;
+import logic.boards.LevelTemplate;
+import logic.boards.SpecialCellIndex;
 import logic.boards.fieldTypes.FieldProperty;
 import logic.boards.fieldTypes.Property;
 import logic.exceptions.IllegalCoordinatesException;
@@ -100,11 +94,6 @@ public class GameLogicDizzle {
         }
     }
 
-    /**
-     * Path to the level files
-     */
-    private final static String PATH = "boards/levelFiles/Level";
-
     /**
      * Constant to define the amount of levels
      */
@@ -120,6 +109,16 @@ public class GameLogicDizzle {
      */
     public final static int MIN_AMOUNT_PLAYERS = 2;
 
+    /**
+     * Name of the log file
+     */
+    private final static String LOG_FILE = "LastGame.log";
+
+    /**
+     * Flush the log file at the end of every turn
+     */
+    private final static boolean FLUSH_LOG_ON_TURN_END = true;
+
     /**
      * current level number
      */
@@ -162,14 +161,9 @@ public class GameLogicDizzle {
     private int startingPlayer;
 
     /**
-     * Positions of bombs
+     * Current dice pool, size dependant on amount of players
      */
-    private Set<Position> positionBombs;
-
-    /**
-     * Current dice pool, length dependant on amount of players
-     */
-    private Die[] dice;
+    private final DicePool dice = new DicePool();
 
     /**
      * Player Array, index 0 is always the human player
@@ -192,9 +186,9 @@ public class GameLogicDizzle {
     private flagPoints currFlagpoints;
 
     /**
-     * Position of the planet
+     * Resolves the end of every turn, created with the first turn that ends
      */
-    private Position planetPos;
+    private EndOfTurnResolver endOfTurn;
 
     /**
      * enum to keep track what happened in the last move -> relevant for logging
@@ -216,6 +210,59 @@ public class GameLogicDizzle {
      */
     private int flagUpdated;
 
+    /**
+     * Source the dice are rolled with, every game has its own
+     */
+    private DiceSource diceSource = new SplittableDiceSource();
+
+    /**
+     * Game without gui and logging, in which every player is a computer
+     */
+    private boolean headless;
+
+    /**
+     * Outcome of the game, set when the game is over
+     */
+    private GameResult result;
+
+    /**
+     * Point in time (System.nanoTime) when a headless game stops playing,
+     * Long.MAX_VALUE if it plays until the game is over
+     */
+    private long deadline = Long.MAX_VALUE;
+
+    /**
+     * Writer of the log file, null if the game isn't logged
+     */
+    private GameLogWriter logWriter;
+
+    /**
+     * Writer of the log file of the latest game that was started or loaded
+     */
+    private static GameLogWriter lastGameLog;
+
+    /**
+     * Strategy every computer player chooses its moves with, index is the
+     * index of the player
+     */
+    private final MoveStrategy[] strategies = createDefaultStrategies();
+
+    /**
+     * How every computer player decides to roll the dice cup again or skip
+     */
+    private final RerollPolicy[] rerollPolicies = createDefaultRerollPolicies();
+
+    /**
+     * Journal the game can be resumed from after a crash, null if the game
+     * isn't journaled
+     */
+    private GameJournal journal;
+
+    /**
+     * Listeners that follow the actions of all players
+     */
+    private GameListener[] listeners = new GameListener[0];
+
     //<editor-fold defaultstate="collapsed" desc="Constructors for Testing">
     /**
      *
@@ -234,7 +281,9 @@ public class GameLogicDizzle {
      */
     GameLogicDizzle(Die[] dicePool, GUIConnector gui) {
         this.gui = gui;
-        this.dice = dicePool;
+        for (Die die : dicePool) {
+            this.dice.add(die);
+        }
     }
 
     /**
@@ -274,12 +323,10 @@ public class GameLogicDizzle {
         this.maxRound = calcMaxAmountRounds(this.amountComputers);
         this.turnOf = turnOf;
         this.gui = gui;
-        this.originalBoard = new Board(createLevelDataJSON(this.levelNo));
+        this.originalBoard = LevelTemplate.get(this.levelNo).createBoard();
         this.players = createPlayers();
         this.currFlagpoints = flagPoints.reachedFirst;
         this.startingPlayer = 0;
-        this.positionBombs = this.originalBoard.getBombOn();
-        this.planetPos = this.originalBoard.getPlanet();
         this.indexCounter = 0;
         this.index = new int[this.amountComputers + 1];
         this.currLogEvent = LogEvent.GAME_STARTED;
@@ -297,6 +344,104 @@ public class GameLogicDizzle {
         writeLogToFile();
     }
 
+    /**
+     * Constructor to create a new game without a gui, in which every player
+     * (including the first one) is a computer. Nothing is displayed or logged
+     * and the dice are rolled with the given seed, so the same seed always
+     * results in the same game
+     *
+     * @param amountComputerPlayer amount of players besides the first one
+     * @param levelNo
+     * @param seed seed the dice are rolled with
+     * @throws logic.exceptions.LevelParsingException
+     * @throws java.io.FileNotFoundException
+     */
+    public GameLogicDizzle(int amountComputerPlayer, int levelNo, long seed)
+            throws LevelParsingException, FileNotFoundException {
+        this(amountComputerPlayer, levelNo, new SplittableDiceSource(seed));
+    }
+
+    /**
+     * Constructor to create a new game without a gui, in which every player
+     * (including the first one) is a computer. The dice are rolled with the
+     * given source, which mustn't be shared with another game
+     *
+     * @param amountComputerPlayer amount of players besides the first one
+     * @param levelNo
+     * @param diceSource source the dice are rolled with
+     * @throws logic.exceptions.LevelParsingException
+     * @throws java.io.FileNotFoundException
+     */
+    public GameLogicDizzle(int amountComputerPlayer, int levelNo, DiceSource diceSource)
+            throws LevelParsingException, FileNotFoundException {
+        this.levelNo = levelNo;
+        this.amountComputers = amountComputerPlayer;
+        this.round = 0;
+        this.maxRound = calcMaxAmountRounds(this.amountComputers);
+        this.turnOf = 0;
+        this.gui = HeadlessGUI.INSTANCE;
+        this.headless = true;
+        this.diceSource = diceSource;
+        this.originalBoard = LevelTemplate.get(this.levelNo).createBoard();
+        this.players = createPlayers();
+        this.currFlagpoints = flagPoints.reachedFirst;
+        this.startingPlayer = 0;
+        this.indexCounter = 0;
+        this.index = new int[this.amountComputers + 1];
+        this.currLogEvent = LogEvent.GAME_STARTED;
+        this.flagUpdated = 0;
+
+        createDicePool(this.amountComputers);
+        initIndexArray();
+    }
+
+    /**
+     * Constructor for a game that is continued from a state without a gui.
+     * Every player is a computer that uses the default strategy, the playing
+     * boards are created from the cells of the state
+     *
+     * @param state state the game continues from
+     * @param diceSource source the dice of the game are rolled with
+     */
+    private GameLogicDizzle(GameState state, DiceSource diceSource) {
+        this.levelNo = state.getLevelNo();
+        this.round = state.getRound();
+        this.turnOf = state.getTurnOf();
+        this.maxRound = state.getMaxRound();
+        this.amountComputers = state.getAmountPlayers() - 1;
+        this.indexCounter = state.getIndexCounter();
+        this.startingPlayer = state.getStartingPlayer();
+        this.index = new int[this.amountComputers + 1];
+        initIndexArray();
+        this.dice.set(state.getDice());
+        this.originalBoard = state.getLevel();
+        SpecialCellIndex specialCells = this.originalBoard.getSpecialCells();
+        this.players = new Player[this.amountComputers + 1];
+        for (int i = 0; i < this.players.length; i++) {
+            GameState.Seat seat = state.getSeat(i);
+            Board board = this.originalBoard.copy();
+            board.updateCellsAdd(Property.DICE_PLACED, seat.diceOn);
+            board.updateCellsAdd(Property.CROSSED, seat.checked);
+            long crossedKeys = seat.checked & specialCells.getAllKeysMask();
+            for (int key = 0; crossedKeys != 0L && key < specialCells.getAmountKeys(); key++) {
+                if ((crossedKeys & specialCells.getKeyMask(key)) != 0L) {
+                    board.unlockPadlocks(specialCells.getPadlockMask(key) & ~(seat.checked | seat.diceOn));
+                }
+            }
+            board.updateCellsAdd(Property.EXPLODED, seat.exploded);
+            this.players[i] = new Player(seat.active, seat.checked, seat.diceOn, seat.exploded,
+                    seat.flagReachedAs, board);
+            this.players[i].setCurrRound(seat.currRound);
+            this.players[i].setPlayerState(seat.playerState);
+        }
+        this.gui = HeadlessGUI.INSTANCE;
+        this.currFlagpoints = flagPoints.getFlagPointsByIdx(state.getFlagTier());
+        this.currLogEvent = LogEvent.NONE;
+        this.flagUpdated = state.getFlagUpdated();
+        this.diceSource = diceSource;
+        this.headless = true;
+    }
+
     /**
      * Validates the data that is passed from a file
      *
@@ -354,7 +499,7 @@ public class GameLogicDizzle {
 
         if (levelNo > 0 && levelNo <= AMOUNT_LEVELS) {
             this.levelNo = levelNo;
-            this.originalBoard = new Board(createLevelDataJSON(this.levelNo));
+            this.originalBoard = LevelTemplate.get(this.levelNo).createBoard();
         } else {
             throw new LevelParsingException("Illegal LevelData.\nThe level according to the levelNo in the file doesn't exist.\nTry another file.");
         }
@@ -371,14 +516,14 @@ public class GameLogicDizzle {
         if (validateData(round, turnOf, dice)) {
             this.round = round;
             this.turnOf = 0;
-            this.dice = dice;
+            for (Die die : dice) {
+                this.dice.add(die);
+            }
         }
 
         this.gui = gui;
         this.currFlagpoints = flagPoints.reachedFirst;
         this.startingPlayer = turnOf;
-        this.positionBombs = this.originalBoard.getBombOn();
-        this.planetPos = this.originalBoard.getPlanet();
         this.indexCounter = 0;
         this.index = new int[this.amountComputers + 1];
         this.currLogEvent = LogEvent.LOADED_GAME;
@@ -388,7 +533,7 @@ public class GameLogicDizzle {
         this.gui.setDimensions(this.originalBoard.getField().length, this.originalBoard.getField()[0].length);
         this.gui.createAllGridPanes();
         this.gui.setCurrRound(round);
-        this.gui.displayDicePool(this.dice);
+        displayDicePool();
         displayGame();
         displayPointBoard();
         displayHorizontalVerticalPoints();
@@ -405,22 +550,9 @@ public class GameLogicDizzle {
 
         //Update all the playing boards according to the read in save game file
         int flagCount = 0;
+        SpecialCellIndex specialCells = this.originalBoard.getSpecialCells();
         for (int i = 0; i <= this.amountComputers; i++) {
             this.players[i].setCurrRound(this.round);
-            Position bluePadlock = null;
-            Position yellowPadlock = null;
-            //get positions of the padlocks
-            for (int k = 0; k < this.originalBoard.getField().length; k++) {
-                for (int m = 0; m < this.originalBoard.getField()[0].length; m++) {
-                    Property currProp = this.originalBoard.getField()[k][m].getProperty();
-                    if (currProp == Property.KEYHOLE_BLUE) {
-                        bluePadlock = new Position(m, k);
-                    }
-                    if (currProp == Property.KEYHOLE_YELLOW) {
-                        yellowPadlock = new Position(m, k);
-                    }
-                }
-            }
 
             //set the current round for each player
             if (i > this.startingPlayer) {
@@ -431,35 +563,30 @@ public class GameLogicDizzle {
             //Update the boards with the already placed dice and display them
             for (Position pos : this.players[i].getDiceOn()) {
                 Die dieOnClickedCell = this.players[i].getBoard().getField()[pos.getY()][pos.getX()].getDieValue();
-                this.players[i].updateBoardAdd(new Position(pos.getX(), pos.getY()), Property.DICE_PLACED);
-                this.gui.displayPlacedDie(new Position(pos.getX(), pos.getY()), dieOnClickedCell, i);
+                this.players[i].updateBoardAdd(pos, Property.DICE_PLACED);
+                this.gui.displayPlacedDie(pos, dieOnClickedCell, i);
             }
 
             //Add starting positions to crossed out cells
             for (Position startingPo : this.originalBoard.getStartingPos()) {
-                this.players[i].addToChecked(new Position(startingPo.getX(), startingPo.getY()));
+                this.players[i].addToChecked(startingPo);
             }
 
+            //Padlocks that were already crossed out or have a die on them
+            //mustn't be unlocked again when their key is crossed out
+            long playedCells = this.players[i].getCheckedMask() | this.players[i].getDiceOnMask();
+
             //Update the boards with the already crossed out cells and display them
             for (Position currPos : this.players[i].getChecked()) {
-                this.players[i].updateBoardAdd(new Position(currPos.getX(), currPos.getY()), Property.CROSSED);
-                this.gui.displayCrossedCell(new Position(currPos.getX(), currPos.getY()), i);
-                Property currProp = this.originalBoard.getField()[currPos.getY()][currPos.getX()].getProperty();
-
-                //If a key is crossed out unlock the according padlock
-                if (currProp == Property.KEY_BLUE) {
-                    if (bluePadlock != null) {
-                        Die oldDie = this.originalBoard.getField()[bluePadlock.getY()][bluePadlock.getX()].getDieValue();
-                        this.players[i].updateBoardPutBack(new Position(bluePadlock.getX(),
-                                bluePadlock.getY()), Property.UNLOCKED_KEYHOLE_BLUE, oldDie, new Stack<>());
-                    }
-                }
-                if (currProp == Property.KEY_YELLOW) {
-                    if (yellowPadlock != null) {
-                        Die oldDie = this.originalBoard.getField()[yellowPadlock.getY()][yellowPadlock.getX()].getDieValue();
-                        this.players[i].updateBoardPutBack(new Position(yellowPadlock.getX(),
-                                yellowPadlock.getY()), Property.UNLOCKED_KEYHOLE_YELLOW, oldDie, new Stack<>());
-                    }
+                this.players[i].updateBoardAdd(currPos, Property.CROSSED);
+                this.gui.displayCrossedCell(currPos, i);
+            }
+
+            //If a key is crossed out unlock the according padlocks
+            long crossedKeys = this.players[i].getCheckedMask() & specialCells.getAllKeysMask();
+            for (int key = 0; crossedKeys != 0L && key < specialCells.getAmountKeys(); key++) {
+                if ((crossedKeys & specialCells.getKeyMask(key)) != 0L) {
+                    this.players[i].getBoard().unlockPadlocks(specialCells.getPadlockMask(key) & ~playedCells);
                 }
             }
             
@@ -471,8 +598,8 @@ public class GameLogicDizzle {
 
             //Update the already exploded cells and display them
             for (Position currBombPos : this.players[i].getExploded()) {
-                this.players[i].updateBoardAdd(new Position(currBombPos.getX(), currBombPos.getY()), Property.EXPLODED);
-                this.gui.displayExplodedCell(new Position(currBombPos.getX(), currBombPos.getY()), i);
+                this.players[i].updateBoardAdd(currBombPos, Property.EXPLODED);
+                this.gui.displayExplodedCell(currBombPos, i);
             }
         }
     }
@@ -484,7 +611,7 @@ public class GameLogicDizzle {
         for (int i = 0; i < this.originalBoard.getField().length; i++) {
             for (int k = 0; k < this.originalBoard.getField()[0].length; k++) {
                 Field currField = players[0].getBoard().getField()[i][k];
-                this.gui.setCellImages(new Position(k, i), currField.getProperty(), currField.getDieValue());
+                this.gui.setCellImages(this.originalBoard.getBitBoard().toPosition(k, i), currField.getProperty(), currField.getDieValue());
             }
         }
     }
@@ -498,11 +625,11 @@ public class GameLogicDizzle {
             //Determine wether the arrow to display a line is on the left, right or lower
             //side of the playing board with the facing direction to the board
             if (startingPosHori.getX() == 0) {
-                this.gui.setHorizontalVerticalImage(new Position(0,
+                this.gui.setHorizontalVerticalImage(Position.of(0,
                         startingPosHori.getY() + 1), Property.A_RIGHT,
                         horizontal.getPoints());
             } else {
-                this.gui.setHorizontalVerticalImage(new Position(this.originalBoard.getField()[0].length + 1,
+                this.gui.setHorizontalVerticalImage(Position.of(this.originalBoard.getField()[0].length + 1,
                         startingPosHori.getY() + 1), Property.A_LEFT,
                         horizontal.getPoints());
             }
@@ -511,7 +638,7 @@ public class GameLogicDizzle {
         for (FieldProperty vertical : players[0].getBoard().getVerticals()) {
             Position startingPosVerti = vertical.getPositions()[0];
             this.gui.setHorizontalVerticalImage(
-                    new Position(startingPosVerti.getX() + 1, this.originalBoard.getField().length + 1), Property.A_UP,
+                    Position.of(startingPosVerti.getX() + 1, this.originalBoard.getField().length + 1), Property.A_UP,
                     vertical.getPoints());
 
         }
@@ -587,60 +714,32 @@ public class GameLogicDizzle {
     }
 
     /**
-     * Returns an instance of a class in which the information of the JSON is
-     * stored
-     *
-     * @param levelPath to the JSON
-     * @return LevelDataJSON
-     * @throws FileNotFoundException JSON File not found
-     * @throws logic.exceptions.LevelParsingException
+     * Opens the log file of the game. There is only one log file, so the
+     * writer of the previous game is closed and the file is cleared
      */
-    public LevelDataJSON getLevelFromJSON(String levelPath)
-            throws FileNotFoundException, LevelParsingException {
-        try {
-            InputStream in = GameLogicDizzle.class.getResourceAsStream(levelPath);
-            BufferedReader reader = new BufferedReader(new InputStreamReader(in));
-
-            Gson gson = new Gson();
-            try {
-                LevelDataJSON levelJSON = gson.fromJson(reader, LevelDataJSON.class);
-                return levelJSON;
-            } catch (JsonParseException e) {
-                throw new LevelParsingException("There was an error while loading the level file.\n" + e.getMessage());
+    private void createFile() {
+        synchronized (GameLogicDizzle.class) {
+            if (lastGameLog != null) {
+                lastGameLog.close();
             }
-        } catch (NullPointerException e) {
-            throw new LevelParsingException("There was an error while loading the level file.\nCheck if you got all necessary files.");
+            lastGameLog = new GameLogWriter(Paths.get(LOG_FILE), false,
+                    GameLogWriter.DEFAULT_CAPACITY, FLUSH_LOG_ON_TURN_END);
+            this.logWriter = lastGameLog;
         }
     }
 
     /**
-     * Creates an Instance of the JSON File
-     *
-     * @param selectedLevel
-     * @return LevelDataJSON
+     * Closes the log file of the game, the writer thread is stopped
      */
-    private LevelDataJSON createLevelDataJSON(int selectedLevel) throws FileNotFoundException, LevelParsingException {
-        return getLevelFromJSON(PATH + selectedLevel + ".json");
-    }
-
-    /**
-     * Creates the Log file already existing -> Clear whats written not existing
-     * -> create it
-     */
-    private void createFile() {
-        try {
-            File myObj = new File("LastGame.log");
-            if (!myObj.createNewFile()) {
-                try {
-                    FileWriter myWriter;
-                    myWriter = new FileWriter("LastGame.log", false);
-                    myWriter.write("");
-                } catch (IOException e) {
-                    this.gui.displayException("An Error occured while trying to create the log File.\n" + e.getMessage() + "Try again later.");
+    private void closeFile() {
+        synchronized (GameLogicDizzle.class) {
+            if (this.logWriter != null) {
+                this.logWriter.close();
+                if (lastGameLog == this.logWriter) {
+                    lastGameLog = null;
                 }
+                this.logWriter = null;
             }
-        } catch (IOException e) {
-            this.gui.displayException("An Error occured while trying to create the log File.\n" + e.getMessage() + "Try again later.");
         }
     }
 
@@ -693,7 +792,7 @@ public class GameLogicDizzle {
                         toReturn += " - rocket used.";
                         break;
                     case ROLLED_DICE:
-                        toReturn = toReturn.substring(0, 7) + "rolled dice again. New dice cup: " + Arrays.toString(this.dice);
+                        toReturn = toReturn.substring(0, 7) + "rolled dice again. New dice cup: " + this.dice;
                         break;
                     case SKIPPED:
                         toReturn = toReturn.substring(0, 7) + "skips.";
@@ -717,18 +816,72 @@ public class GameLogicDizzle {
      * Writes the Log to the Log file
      */
     private void writeLogToFile() {
-        try {
-            FileWriter myWriter;
-            //true flag -> appends text to the text in the file
-            myWriter = new FileWriter("LastGame.log", true);
-            myWriter.write(createLogText());
-            myWriter.close();
+        //the writer only queues the text, the file is written in the background
+        if (this.logWriter != null) {
+            this.logWriter.log(createLogText());
+        }
+        //headless games have no gui to write the log to
+        if (!this.headless) {
             //pass infomation to gui, to write log to gui
             this.gui.writeLogToGUI(this.turnOf, this.currLogEvent,
                     this.lastPlayedPos, this.lastPlayedDie, this.levelNo,
-                    this.currFlagpoints.getValue(), this.dice);
-        } catch (IOException e) {
-            this.gui.displayException("An Error occured while trying to write to the log File.\n" + e.getMessage() + "Try again later.");
+                    this.currFlagpoints.getValue(), this.dice.toArray());
+        }
+    }
+
+    /**
+     * Tells the log writer that a turn or the game is over and displays
+     * errors that occured while writing the log file
+     *
+     * @param gameOver true if the game is over -> the log file is flushed
+     */
+    private void endOfTurnLog(boolean gameOver) {
+        if (this.logWriter != null) {
+            if (gameOver) {
+                this.logWriter.flush();
+            } else {
+                this.logWriter.endOfTurn();
+            }
+            IOException error = this.logWriter.pollError();
+            if (error != null) {
+                this.gui.displayException("An Error occured while trying to write to the log File.\n" + error.getMessage() + "Try again later.");
+            }
+        }
+    }
+
+    /**
+     * Tells the listeners that a turn or the game is over and displays errors
+     * that occured while writing the journal
+     *
+     * @param gameOver true if the game is over
+     */
+    private void endOfTurnListeners(boolean gameOver) {
+        for (GameListener listener : this.listeners) {
+            if (gameOver) {
+                listener.gameOver(this);
+            } else {
+                listener.turnOver(this, isGameOver());
+            }
+        }
+        if (this.journal != null) {
+            IOException error = this.journal.pollError();
+            if (error != null) {
+                this.gui.displayException("An Error occured while trying to write the journal of the game.\n" + error.getMessage() + "\nThe game might not be resumable after a crash.");
+            }
+        }
+    }
+
+    /**
+     * Turns the logging to the log file on or off. The log of the gui isn't
+     * affected
+     *
+     * @param logging true -> log to the file, false -> no logging
+     */
+    public void setLogging(boolean logging) {
+        if (!logging) {
+            closeFile();
+        } else if (this.logWriter == null && !this.headless) {
+            createFile();
         }
     }
 
@@ -764,12 +917,13 @@ public class GameLogicDizzle {
      * @return Player[]
      */
     private Player[] createPlayers() throws FileNotFoundException, LevelParsingException {
+        LevelTemplate template = LevelTemplate.get(this.levelNo);
         Player[] toReturn = new Player[this.amountComputers + 1];
         for (int i = 0; i <= this.amountComputers; i++) {
             toReturn[i] = new Player(true,
                     new HashSet<>(this.originalBoard.getStartingPos()),
                     new HashSet<>(), new HashSet<>(), 0,
-                    new Board(createLevelDataJSON(this.levelNo)));
+                    template.createBoard());
         }
         return toReturn;
     }
@@ -823,6 +977,7 @@ public class GameLogicDizzle {
         if (newPlayers.length > MAX_AMOUNT_PLAYERS || newPlayers.length < MIN_AMOUNT_PLAYERS) {
             throw new IllegalPlayerDataException("Illegal amount of players in save file.\nTry another file.");
         } else {
+            LevelTemplate template = LevelTemplate.get(this.levelNo);
             Player[] toReturn = new Player[newPlayers.length];
             for (int i = 0; i < toReturn.length; i++) {
                 try {
@@ -832,7 +987,7 @@ public class GameLogicDizzle {
                                 newPlayers[i].getDiceOn(),
                                 newPlayers[i].getExploded(),
                                 newPlayers[i].getFlagReachedAs(),
-                                new Board(createLevelDataJSON(this.levelNo)));
+                                template.createBoard());
                     }
                 } catch (IllegalCoordinatesException e) {
                     throw new IllegalPlayerDataException("Illegal Player Data:\n" + e.getMessage() + "Try another file.");
@@ -843,32 +998,49 @@ public class GameLogicDizzle {
     }
 
     /**
-     * Creates a new Dice pool according to the amount of players Amount is
-     * determined the real board game game rules
+     * Returns the amount of dice in a dice pool according to the amount of
+     * players. Amount is determined the real board game game rules
      *
      * @param amountComputerPlayer
-     * @return dice pool
+     * @return amount of dice
      */
-    public Die[] createNewDicePool(int amountComputerPlayer) {
+    private static int getAmountDice(int amountComputerPlayer) {
         switch (amountComputerPlayer) {
             case 1:
-                return Die.rollDice(7);
+                return 7;
             case 2:
-                return Die.rollDice(10);
+                return 10;
             default:
-                return Die.rollDice(13);
+                return 13;
         }
     }
 
+    /**
+     * Creates a new Dice pool according to the amount of players Amount is
+     * determined the real board game game rules
+     *
+     * @param amountComputerPlayer
+     * @return dice pool
+     */
+    public DicePool createNewDicePool(int amountComputerPlayer) {
+        DicePool toReturn = new DicePool();
+        Die.rollDice(toReturn, getAmountDice(amountComputerPlayer), this.diceSource);
+        return toReturn;
+    }
+
     /**
      * Creates a Dice-Pool according to how many Computers are playing
      *
      * @param amountComputerPlayer
      */
     private void createDicePool(int amountComputerPlayer) {
-        this.dice = createNewDicePool(amountComputerPlayer);
-        this.gui.displayDicePool(this.dice);
-        highlightPlaceableCells(sortSetToArray(getAllPlaceableNeighbours(players[0].getBoard().getField(), Property.CROSSED)));
+        Die.rollDice(this.dice, getAmountDice(amountComputerPlayer), this.diceSource);
+        displayDicePool();
+        if (!this.headless) {
+            Board player0Board = this.players[0].getBoard();
+            highlightPlaceableCells(player0Board.getBitBoard().toPositionArray(
+                    getPlaceableNeighbourMask(player0Board, Property.CROSSED)));
+        }
 
         this.players[this.startingPlayer].nextRound();
         if (this.turnOf == 0) {
@@ -883,34 +1055,56 @@ public class GameLogicDizzle {
      * @param amountDice Amount of dice the new dice cup should have
      */
     public final void createDicePoolByAmount(int amountDice) {
-        this.dice = Die.rollDice(amountDice);
-        this.gui.displayDicePool(this.dice);
+        Die.rollDice(this.dice, amountDice, this.diceSource);
+        displayDicePool();
         this.gui.enablePlayerGridPane(true);
     }
 
     /**
-     * Saves the current game to a file
+     * Displays the current dice pool (headless games have nothing to display)
+     */
+    private void displayDicePool() {
+        if (!this.headless) {
+            this.gui.displayDicePool(this.dice.toArray());
+        }
+    }
+
+    /**
+     * Saves the current game to a file, in the binary format if the name ends
+     * with SaveGame.BINARY_EXTENSION, otherwise as JSON
      *
      * @param name Name of the file
      * @throws LevelSavingException gets thrown if any Error occurs while trying
      * to save the game
      */
     public void saveGame(String name) throws LevelSavingException {
+        if (name.endsWith(SaveGame.BINARY_EXTENSION)) {
+            createSaveGame().saveToBinary(name);
+        } else {
+            createSaveGame().saveToJSON(name);
+        }
+    }
+
+    /**
+     * Creates a snapshot of the current game, that can be saved as JSON or in
+     * the binary format
+     *
+     * @return save game of the current state
+     */
+    public SaveGame createSaveGame() {
         Player[] allPlayers = new Player[this.amountComputers + 1];
-        //Create new Players with only necessary information for a save file
+        //Create new Players with only necessary information for a save file,
+        //the sets of the cells are only created for JSON
         for (int i = 0; i <= this.amountComputers; i++) {
             Player currPlayer = this.players[i];
             allPlayers[i] = new Player(currPlayer.isActive(),
-                    currPlayer.getChecked(), currPlayer.getDiceOn(),
-                    currPlayer.getExploded(), currPlayer.getFlagReachedAs());
-        }
-        int[] newDice = new int[this.dice.length];
-        for (int i = 0; i < this.dice.length; i++) {
-            newDice[i] = this.dice[i].getfaceValue();
+                    currPlayer.getCheckedMask(), currPlayer.getDiceOnMask(),
+                    currPlayer.getExplodedMask(), currPlayer.getFlagReachedAs(),
+                    currPlayer.getBoard().getBitBoard());
         }
-        SaveGame currGameToSave = new SaveGame(this.levelNo,
+        int[] newDice = this.dice.toFaceValues();
+        return new SaveGame(this.levelNo,
                 this.players[0].getCurrRound(), this.startingPlayer, newDice, allPlayers);
-        currGameToSave.saveToJSON(name);
     }
 
     /**
@@ -960,8 +1154,7 @@ public class GameLogicDizzle {
      * @return boolean
      */
     public boolean isOneOfTheDicePlacable(Position pos, Field[][] field) {
-        return Arrays.asList(this.dice).contains(
-                field[pos.getY()][pos.getX()].getDieValue());
+        return this.dice.contains(field[pos.getY()][pos.getX()].getDieValue());
     }
 
     /**
@@ -971,13 +1164,7 @@ public class GameLogicDizzle {
      * @return boolean
      */
     public boolean dieIsInDicePool(Die check) {
-        boolean isIn = false;
-        for (Die die : this.dice) {
-            if (die.equals(check)) {
-                isIn = true;
-            }
-        }
-        return isIn;
+        return this.dice.contains(check);
     }
 
     /**
@@ -986,17 +1173,7 @@ public class GameLogicDizzle {
      * @param toBeRemoved
      */
     public void removeDieFromDicePool(Die toBeRemoved) {
-        int i = 0;
-        if (dieIsInDicePool(toBeRemoved)) {
-            Die[] toReturn = new Die[this.dice.length - 1];
-            while (!this.dice[i].equals(toBeRemoved)) {
-                i++;
-            }
-            int remainingElements = this.dice.length - (i + 1);
-            System.arraycopy(this.dice, 0, toReturn, 0, i);
-            System.arraycopy(this.dice, i + 1, toReturn, i, remainingElements);
-            this.dice = toReturn;
-        }
+        this.dice.remove(toBeRemoved);
     }
 
     /**
@@ -1005,15 +1182,7 @@ public class GameLogicDizzle {
      * @param toBeAdded
      */
     private void addDieToDicePool(Die toBeAdded) {
-        Die[] toReturn = new Die[this.dice.length + 1];
-        System.arraycopy(this.dice, 0, toReturn, 0, this.dice.length);
-        toReturn[this.dice.length] = toBeAdded;
-
-        /*
-        Sort the Array via given Comparator ascending
-         */
-        Arrays.sort(toReturn, (Die Die1, Die Die2) -> Die1.getfaceValue() - Die2.getfaceValue());
-        this.dice = toReturn;
+        this.dice.add(toBeAdded);
     }
 
     /**
@@ -1040,92 +1209,33 @@ public class GameLogicDizzle {
     }
 
     /**
-     * Returns all the placeable Neighbours of the passed Position, when
+     * Returns all cells of a playing board that one of the dice in the dice
+     * pool can be placed on (ignoring if the cells are placeable or not)
      *
-     * @param cell Position from where the neighbours are to be found
-     * @param field playing board of the current player
-     * @return all placeable neighbours of the passed cell
-     */
-    private Set<Position> getNeighbours(Position cell, Field[][] field) {
-        Set<Position> neighbours = new HashSet<>();
-        int currCellX = cell.getX();
-        int currCellY = cell.getY();
-
-        // Left Neighbour
-        if (currCellX > 0) {
-            if (isPlaceable(field[currCellY][currCellX - 1])) {
-                neighbours.add(new Position(currCellX - 1, currCellY));
-            }
-        }
-        // Right Neighbour
-        if (currCellX < (field[0].length - 1)) {
-            if (isPlaceable(field[currCellY][currCellX + 1])) {
-                neighbours.add(new Position(currCellX + 1, currCellY));
-            }
-        }
-
-        // Upper Neighbour
-        if (currCellY > 0) {
-            if (isPlaceable(field[currCellY - 1][currCellX])) {
-                neighbours.add(new Position(currCellX, currCellY - 1));
-            }
-        }
-
-        // Lower Neighbour
-        if (currCellY < (field.length - 1)) {
-            if (isPlaceable(field[currCellY + 1][currCellX])) {
-                neighbours.add(new Position(currCellX, currCellY + 1));
-            }
+     * @param board playing board
+     * @return mask of the cells
+     */
+    private long getDicePoolMask(Board board) {
+        long toReturn = 0L;
+        int faces = this.dice.getFaceMask();
+        while (faces != 0) {
+            toReturn |= board.getFaceMask(Integer.numberOfTrailingZeros(faces));
+            faces &= faces - 1;
         }
-
-        return neighbours;
-    }
-
-    /**
-     * Gets a Set of Position, sorts it lowest y-Position and then lowest
-     * x-Position and returns an Array
-     *
-     * @param positions position that will be sorted
-     * @return sorted Array
-     */
-    private Position[] sortSetToArray(Set<Position> positions) {
-        List<Position> sortedList = new ArrayList<>(positions);
-
-        sortedList.sort(new Comparator<Position>() {
-            @Override
-            public int compare(Position p1, Position p2) {
-                int result = Integer.compare(p1.getY(), p2.getY());
-                if (result == 0) {
-                    // Same Height -> Check which one is further left
-                    result = Integer.compare(p1.getX(), p2.getX());
-                }
-                return result;
-            }
-        });
-
-        return sortedList.toArray(new Position[sortedList.size()]);
+        return toReturn;
     }
 
     /**
-     * Gets all placeable Neighbours in a playing board
+     * Gets all placeable neighbours in a playing board if a one of the dice is
+     * placeable on these cells
      *
-     * @param field curr field
+     * @param board curr playing board
      * @param prop CROSSED | PLACED_DIE - Gets neighbours of either crossed or
      * placed cells
-     * @return neighbours of either crossed or placed cells
+     * @return mask of the neighbours of either crossed or placed cells
      */
-    private Set<Position> getAllNeighbours(Field[][] field, Property prop) {
-        Set<Position> allPlaceableNeighbours = new HashSet<>();
-
-        for (int y = 0; y < field.length; y++) {
-            for (int x = 0; x < field[0].length; x++) {
-                if (field[y][x].getProperty() == prop) {
-                    allPlaceableNeighbours.addAll(getNeighbours(new Position(x, y), field));
-                }
-            }
-        }
-
-        return allPlaceableNeighbours;
+    private long getPlaceableNeighbourMask(Board board, Property prop) {
+        return board.getPlaceableNeighbourMask(prop) & getDicePoolMask(board);
     }
 
     /**
@@ -1138,19 +1248,8 @@ public class GameLogicDizzle {
      * @return neighbours of either crossed or placed cells
      */
     public Set<Position> getAllPlaceableNeighbours(Field[][] field, Property prop) {
-        Set<Position> neighbours = getAllNeighbours(field, prop);
-        Set<Position> toReturn = new HashSet<>();
-        if (!neighbours.isEmpty()) {
-            Iterator<Position> it = neighbours.iterator();
-            while (it.hasNext()) {
-                Position currPos = it.next();
-                if (isOneOfTheDicePlacable(currPos, field)) {
-                    toReturn.add(currPos);
-                }
-            }
-        }
-        return toReturn;
-
+        Board board = new Board(field);
+        return board.getBitBoard().toPositions(getPlaceableNeighbourMask(board, prop));
     }
 
     /**
@@ -1198,40 +1297,46 @@ public class GameLogicDizzle {
      * @return true or false if he can jump in the next
      */
     private boolean isPlayerCaged() {
-        Set<Position> diceOn = this.players[0].getDiceOn();
-        boolean isCaged = true;
-
-        for (Position position : diceOn) {
-            if (!getNeighbours(position, this.players[0].getBoard().getField()).isEmpty()) {
-                isCaged = false;
-            }
-        }
-        return isCaged;
+        Board board = this.players[0].getBoard();
+        long neighbours = board.getBitBoard().neighbours(this.players[0].getDiceOnMask());
+        return (neighbours & board.getPlaceableMask()) == 0L;
     }
 
     /**
      * Checks if the player has to place his dice next to crossed or placed
      * cells and returns the placeable neighbours accordingly
      *
-     * @param currPlayerField current playing board
-     * @return placeable neighbours
+     * @return mask of the placeable neighbours
      */
-    public Set<Position> getCurrPlaceableNeighbours(Field[][] currPlayerField) {
+    private long getCurrPlaceableNeighbours() {
+        return getCurrFrontier() & getDicePoolMask(this.players[this.turnOf].getBoard());
+    }
+
+    /**
+     * Returns the cells the current player could place a die on, if the dice
+     * cup had every face value (package-private for the reroll policies)
+     *
+     * @return mask of the placeable neighbours of either crossed or placed
+     * cells
+     */
+    long getCurrFrontier() {
+        Board currBoard = this.players[this.turnOf].getBoard();
+        boolean noDiceOn = this.players[this.turnOf].getDiceOnMask() == 0L;
         if (this.turnOf == 0) {
             //Player can place dice next to crossed cells, if he hasn't placed
             //a die yet or is caged
-            if (this.players[this.turnOf].getDiceOn().isEmpty() || isPlayerCaged()) {
-                return getAllPlaceableNeighbours(currPlayerField, Property.CROSSED);
+            if (noDiceOn || isPlayerCaged()) {
+                return currBoard.getPlaceableNeighbourMask(Property.CROSSED);
             } else {
-                return getAllPlaceableNeighbours(currPlayerField, Property.DICE_PLACED);
+                return currBoard.getPlaceableNeighbourMask(Property.DICE_PLACED);
             }
         } else {
             //Computer can place dic next to crossed cells, if he hasn't placed
             //a die yet
-            if (this.players[this.turnOf].getDiceOn().isEmpty()) {
-                return getAllPlaceableNeighbours(currPlayerField, Property.CROSSED);
+            if (noDiceOn) {
+                return currBoard.getPlaceableNeighbourMask(Property.CROSSED);
             } else {
-                return getAllPlaceableNeighbours(currPlayerField, Property.DICE_PLACED);
+                return currBoard.getPlaceableNeighbourMask(Property.DICE_PLACED);
             }
         }
     }
@@ -1270,7 +1375,7 @@ public class GameLogicDizzle {
                 amountActivePlayer++;
             }
         }
-        return amountActivePlayer == 0 || this.dice.length == 0;
+        return amountActivePlayer == 0 || this.dice.isEmpty();
     }
 
     /**
@@ -1282,13 +1387,14 @@ public class GameLogicDizzle {
      * @return true or false if the move was succesfull
      */
     private boolean placeDie(Position pos) {
-        Field[][] currPlayerField = this.players[this.turnOf].getBoard().getField();
-        Set<Position> placeableNeighbours = getCurrPlaceableNeighbours(currPlayerField);
+        Board currBoard = this.players[this.turnOf].getBoard();
+        Field[][] currPlayerField = currBoard.getField();
+        long placeableNeighbours = getCurrPlaceableNeighbours();
         Die dieOnClickedCell = currPlayerField[pos.getY()][pos.getX()].getDieValue();
-        Property currProperty = this.players[this.turnOf].getBoard().getField()[pos.getY()][pos.getX()].getProperty();
+        Property currProperty = currPlayerField[pos.getY()][pos.getX()].getProperty();
 
         //Get more information about the last move to adjust logging
-        if (placeableNeighbours.contains(pos) && dieIsInDicePool(dieOnClickedCell)) {
+        if ((placeableNeighbours & currBoard.getBitBoard().bit(pos)) != 0L && dieIsInDicePool(dieOnClickedCell)) {
             if (currProperty != null) {
                 switch (currProperty) {
                     case FLAG_BLUE:
@@ -1326,14 +1432,18 @@ public class GameLogicDizzle {
             this.lastPlayedDie = dieOnClickedCell;
             writeLogToFile();
 
+            for (GameListener listener : this.listeners) {
+                listener.diePlaced(this.turnOf, pos);
+            }
+
             //Played Move updated in Logic
-            this.players[this.turnOf].addToDiceOn(new Position(pos.getX(), pos.getY()));
+            this.players[this.turnOf].addToDiceOn(pos);
             this.players[this.turnOf].updateBoardAdd(pos, Property.DICE_PLACED);
             removeDieFromDicePool(dieOnClickedCell);
 
             //Played Move updated on GUI
             this.gui.displayPlacedDie(pos, dieOnClickedCell, this.turnOf);
-            this.gui.displayDicePool(this.dice);
+            displayDicePool();
 
             if (checkIfLastMove()) {
                 setPlayerSkipped();
@@ -1350,27 +1460,31 @@ public class GameLogicDizzle {
      * @return true or false wether the move was succesful
      */
     private boolean putDieBack(Position pos) {
-        Set<Position> placedCells = this.players[this.turnOf].getDiceOn();
+        long placedCells = this.players[this.turnOf].getDiceOnMask();
         Field originalCell = originalBoard.getField()[pos.getY()][pos.getX()];
         Die dieOnClickedCell = originalCell.getDieValue();
+        Property putBackProperty = getPutBackProperty(originalCell);
+
+        if ((placedCells & this.originalBoard.getBitBoard().bit(pos)) != 0L) {
+            for (GameListener listener : this.listeners) {
+                listener.diePutBack(this.turnOf, pos);
+            }
 
-        if (placedCells.contains(pos)) {
             //Played Move updated in Logic
             this.players[this.turnOf].removeFromDiceOn(pos);
-            this.players[this.turnOf].updateBoardPutBack(pos, originalCell.getProperty(), dieOnClickedCell, originalCell.getPoints());
+            this.players[this.turnOf].updateBoardPutBack(pos, putBackProperty, dieOnClickedCell, originalCell.getPoints());
             addDieToDicePool(dieOnClickedCell);
 
             //Played Move updated in GUI
-            this.gui.displayDicePool(this.dice);
+            displayDicePool();
             this.gui.unhighlightAllCells();
-            this.gui.setCellImages(pos, originalCell.getProperty(), dieOnClickedCell);
+            this.gui.setCellImages(pos, putBackProperty, dieOnClickedCell);
 
             //Show new possible Cells to click
-            Field[][] currPlayerField = this.players[this.turnOf].getBoard().getField();
-            Set<Position> neighboursAfterMove = getCurrPlaceableNeighbours(currPlayerField);
-            if (!neighboursAfterMove.isEmpty()) {
+            long neighboursAfterMove = getCurrPlaceableNeighbours();
+            if (neighboursAfterMove != 0L) {
                 this.players[this.turnOf].setPlayerState(PlayerState.canPlace);
-                highlightPlaceableCells(sortSetToArray(neighboursAfterMove));
+                highlightPlaceableCells(this.originalBoard.getBitBoard().toPositionArray(neighboursAfterMove));
                 this.currLogEvent = LogEvent.PUT_DIE_BACK;
             }
 
@@ -1388,10 +1502,59 @@ public class GameLogicDizzle {
         return false;
     }
 
+    /**
+     * Returns the property a cell gets again when the die on it is put back.
+     * A die can only be placed on an unlocked padlock, so the padlock stays
+     * unlocked
+     *
+     * @param originalCell cell of the original board
+     * @return property of the cell without the die
+     */
+    private static Property getPutBackProperty(Field originalCell) {
+        Property toReturn = originalCell.getProperty();
+        if (toReturn == Property.KEYHOLE_BLUE) {
+            toReturn = Property.UNLOCKED_KEYHOLE_BLUE;
+        } else if (toReturn == Property.KEYHOLE_YELLOW) {
+            toReturn = Property.UNLOCKED_KEYHOLE_YELLOW;
+        }
+        return toReturn;
+    }
+
+    /**
+     * Puts the die of a computer back in the dice cup. The computer is out of
+     * the turn afterwards
+     *
+     * @param pos Position of the die
+     */
+    private void computerPutDieBack(Position pos) {
+        Field originalCell = this.originalBoard.getField()[pos.getY()][pos.getX()];
+        Die dieOnClickedCell = originalCell.getDieValue();
+        Property putBackProperty = getPutBackProperty(originalCell);
+
+        for (GameListener listener : this.listeners) {
+            listener.diePutBack(this.turnOf, pos);
+        }
+        this.players[this.turnOf].removeFromDiceOn(pos);
+        this.players[this.turnOf].updateBoardPutBack(pos, putBackProperty, dieOnClickedCell, originalCell.getPoints());
+        addDieToDicePool(dieOnClickedCell);
+
+        this.gui.displayPutBackDie(pos, putBackProperty, dieOnClickedCell, this.turnOf);
+        displayDicePool();
+
+        this.lastPlayedPos = pos;
+        this.lastPlayedDie = dieOnClickedCell;
+        this.currLogEvent = LogEvent.PUT_DIE_BACK;
+        writeLogToFile();
+        setPlayerSkipped();
+    }
+
     /**
      * Sets the current player skipped
      */
     private void setPlayerSkipped() {
+        for (GameListener listener : this.listeners) {
+            listener.playerSkipped(this.turnOf);
+        }
         this.players[this.turnOf].setActive(false);
         this.players[this.turnOf].setPlayerState(PlayerState.skipped);
         this.gui.setSkippedPlayer(this.turnOf);
@@ -1405,30 +1568,48 @@ public class GameLogicDizzle {
     private void updatePlayerBoard() {
         //Show new possible Cells to click
         this.gui.unhighlightAllCells();
-        Field[][] currPlayer0Field = this.players[0].getBoard().getField();
-        Set<Position> neighboursAfterMove = getCurrPlaceableNeighbours(currPlayer0Field);
-        if (neighboursAfterMove.isEmpty()) {
+        long neighboursAfterMove = getCurrPlaceableNeighbours();
+        if (neighboursAfterMove == 0L) {
             //if no possible move -> enable option to skip or roll the dice pool
             noPlaceableNeighbours();
         } else {
-            highlightPlaceableCells(sortSetToArray(neighboursAfterMove));
+            highlightPlaceableCells(this.originalBoard.getBitBoard().toPositionArray(neighboursAfterMove));
             this.players[0].setPlayerState(PlayerState.canPlace);
             this.players[0].setActive(true);
         }
     }
 
     /**
-     * Handles the move of the current Computer If the computer can't place a
-     * die, he will skip
+     * Handles the move of the current Computer. If the computer can't place a
+     * die, his reroll policy decides if he rolls the dice cup again or skips.
+     * If none of the rolled dice is placeable either, he puts one of his
+     * placed dice back and is out of the turn
      */
     private void computerMove() {
-        Field[][] currPlayerField = this.players[this.turnOf].getBoard().getField();
-        Set<Position> placeableNeighbours = getCurrPlaceableNeighbours(currPlayerField);
+        long placeableNeighbours = getCurrPlaceableNeighbours();
+        long diceOn = this.players[this.turnOf].getDiceOnMask();
+        boolean putBack = false;
+
+        if (placeableNeighbours == 0L && this.rerollPolicies[this.turnOf].shouldReroll(this)) {
+            Die.rollDice(this.dice, this.dice.size(), this.diceSource);
+            for (GameListener listener : this.listeners) {
+                listener.diceRolled(this.turnOf);
+            }
+            displayDicePool();
+            this.currLogEvent = LogEvent.ROLLED_DICE;
+            writeLogToFile();
+            placeableNeighbours = getCurrPlaceableNeighbours();
+            putBack = placeableNeighbours == 0L && diceOn != 0L;
+        }
 
-        if (placeableNeighbours.isEmpty()) {
+        if (putBack) {
+            computerPutDieBack(this.rerollPolicies[this.turnOf].dieToPutBack(this,
+                    this.originalBoard.getBitBoard().toPositionArray(diceOn)));
+        } else if (placeableNeighbours == 0L) {
             setPlayerSkipped();
         } else {
-            Position nextMove = this.players[this.turnOf].evaluateNextMove(sortSetToArray(placeableNeighbours));
+            Position nextMove = this.strategies[this.turnOf].nextMove(this,
+                    this.originalBoard.getBitBoard().toPositionArray(placeableNeighbours));
             placeDie(nextMove);
         }
     }
@@ -1454,20 +1635,6 @@ public class GameLogicDizzle {
         }
     }
 
-    /**
-     * Turns all placed cells to crossed cells after a turn is over
-     */
-    private void turnPlacedCellsToCrossedCells() {
-        for (int i = 0; i <= this.amountComputers; i++) {
-            for (Position currPos : this.players[i].getDiceOn()) {
-                this.players[i].updateBoardAdd(currPos, Property.CROSSED);
-                this.players[i].addToChecked(new Position(currPos.getX(), currPos.getY()));
-                this.gui.displayCrossedCell(currPos, i);
-            }
-            this.players[i].clearDiceOn();
-        }
-    }
-
     /**
      * Checks if the current game is over. A game is over when all players
      * played the maximum amount of rounds
@@ -1478,118 +1645,20 @@ public class GameLogicDizzle {
         return (this.players[0].getCurrRound() == (this.maxRound + 1)) || isEveryCellPlayed();
     }
 
-    /**
-     * Explodes the bomb cells on all playing boards, when a die is placed on
-     * one cell. When more players have a die on the same bomb at the end of the
-     * turn, both will cross out their bomb. On all other boards the bomb will
-     * explode
-     */
-    private void updateBombCells() {
-        Set<Integer> playersThatPlacedBomb = new HashSet<>();
-        for (Position bombPos : this.positionBombs) {
-            //Check which players placed a die on this bomb
-            for (int i = 0; i <= this.amountComputers; i++) {
-                if (this.players[i].getBoard().getField()[bombPos.getY()][bombPos.getX()].getProperty() == Property.DICE_PLACED) {
-                    playersThatPlacedBomb.add(i);
-                }
-            }
-            for (int i = 0; i <= this.amountComputers; i++) {
-                Position currBombPos = new Position(bombPos.getX(), bombPos.getY());
-                if (!playersThatPlacedBomb.isEmpty()) {
-                    if (playersThatPlacedBomb.contains(i)) {
-                        //Cross bomb out for these players
-                        this.players[i].updateBoardAdd(currBombPos, Property.CROSSED);
-                        this.gui.displayCrossedCell(currBombPos, i);
-                        this.players[i].addToChecked(new Position(bombPos.getX(), bombPos.getY()));
-                        this.players[i].removeFromDiceOn(new Position(bombPos.getX(), bombPos.getY()));
-                    } else {
-                        //Explode the bomb for all other players
-                        this.players[i].updateBoardAdd(currBombPos, Property.EXPLODED);
-                        this.players[i].addToExploded(new Position(bombPos.getX(), bombPos.getY()));
-                        this.gui.displayExplodedCell(currBombPos, i);
-                    }
-                }
-            }
-            playersThatPlacedBomb.clear();
-        }
-    }
-
-    /**
-     * If a player places a die on a key, the matching padlock will be opened at
-     * the end of the turn
-     */
-    private void updatePadLocks() {
-        Set<Position> bluePadLock = new HashSet<>();
-        Set<Position> yellowPadLock = new HashSet<>();
-        //Get positions of padlocks
-        for (int k = 0; k < this.originalBoard.getField().length; k++) {
-            for (int m = 0; m < this.originalBoard.getField()[0].length; m++) {
-                Property currProp = this.originalBoard.getField()[k][m].getProperty();
-                if (currProp == Property.KEYHOLE_BLUE || currProp == Property.UNLOCKED_KEYHOLE_BLUE) {
-                    bluePadLock.add(new Position(m, k));
-                }
-                if (currProp == Property.KEYHOLE_YELLOW || currProp == Property.UNLOCKED_KEYHOLE_YELLOW) {
-                    yellowPadLock.add(new Position(m, k));
-                }
-            }
-        }
-        //Unlock padlock if player has die on key at the end of the turn
-        for (int i = 0; i <= this.amountComputers; i++) {
-            for (Position currPos : this.players[i].getDiceOn()) {
-                Property currProp = this.originalBoard.getField()[currPos.getY()][currPos.getX()].getProperty();
-                if (currProp == Property.KEY_BLUE) {
-                    if (!bluePadLock.isEmpty()) {
-                        for (Position position : bluePadLock) {
-                            Die oldDie = this.originalBoard.getField()[position.getY()][position.getX()].getDieValue();
-                            this.players[i].updateBoardPutBack(new Position(position.getX(),
-                                    position.getY()), Property.UNLOCKED_KEYHOLE_BLUE, oldDie, new Stack<>());
-                        }
-                    }
-                }
-                if (currProp == Property.KEY_YELLOW) {
-                    if (!yellowPadLock.isEmpty()) {
-                        for (Position position : yellowPadLock) {
-                            Die oldDie = this.originalBoard.getField()[position.getY()][position.getX()].getDieValue();
-                            this.players[i].updateBoardPutBack(new Position(position.getX(),
-                                    position.getY()), Property.UNLOCKED_KEYHOLE_YELLOW, oldDie, new Stack<>());
-                        }
-                    }
-                }
-            }
-        }
-    }
-
-    /**
-     * If a player places a die on the rocket, the planet will also be crossed
-     * at the end of the turn
-     */
-    private void updateRocket() {
-        for (int i = 0; i <= this.amountComputers; i++) {
-            for (Position currPos : this.players[i].getDiceOn()) {
-                Property currProp = this.originalBoard.getField()[currPos.getY()][currPos.getX()].getProperty();
-                if (currProp == Property.ROCKET) {
-                    this.players[i].updateBoardAdd(new Position(this.planetPos.getX(), this.planetPos.getY()), Property.CROSSED);
-                    this.players[i].addToChecked(new Position(this.planetPos.getX(), this.planetPos.getY()));
-                    this.gui.displayCrossedCell(new Position(this.planetPos.getX(), this.planetPos.getY()), i);
-                }
-            }
-        }
-    }
-
     /**
      * Initiates a new Turn when the last turn is over Update of all playing
-     * boards logically and on the gui unskipping all players and creating a new
-     * dice cup
+     * boards logically and on the gui (bombs, padlocks, rocket and placed dice
+     * are resolved at once) unskipping all players and creating a new dice cup
      */
     private void initiateNewTurn() {
-        updateBombCells();
-        updatePadLocks();
-        updateRocket();
+        if (this.endOfTurn == null) {
+            this.endOfTurn = new EndOfTurnResolver(this.originalBoard, this.amountComputers + 1);
+        }
+        this.gui.displayChangedCells(this.endOfTurn.resolve(this.players, this.amountComputers + 1));
         for (int i = 0; i < this.flagUpdated; i++) {
             updateFlagPoints();
         }
         this.flagUpdated = 0;
-        turnPlacedCellsToCrossedCells();
         createDicePool(this.amountComputers);
         for (int i = 0; i <= this.amountComputers; i++) {
             this.players[i].setActive(true);
@@ -1612,69 +1681,13 @@ public class GameLogicDizzle {
 
     /**
      * Handles the end of the game. Counts the points of all players and passes
-     * the information to the gui to announce the winner
+     * the information to the gui to announce the winner (package-private for
+     * the benchmarks)
      */
-    private void handleEndOfGame() {
+    void handleEndOfGame() {
         Integer[] points = new Integer[this.amountComputers + 1];
         for (int i = 0; i < points.length; i++) {
-            points[i] = 0;
-        }
-        FieldProperty[] puzzles = this.originalBoard.getPuzzles();
-        FieldProperty[] jewels = this.originalBoard.getJewels();
-        FieldProperty[] verticals = this.originalBoard.getVerticals();
-        FieldProperty[] horizontals = this.originalBoard.getHorizontals();
-        for (int i = 0; i <= this.amountComputers; i++) {
-            //Puzzle auswerten
-            for (FieldProperty puzzle : puzzles) {
-                if (this.players[i].getChecked().containsAll(new HashSet<>(Arrays.asList(puzzle.getPositions())))) {
-                    points[i] += Integer.valueOf(puzzle.getPoints());
-                }
-            }
-
-            //substract exploded bombs
-            points[i] -= this.players[i].getExploded().size() * 2;
-
-            //add flag points
-            if (this.players[i].getFlagReachedAs() >= 0) {
-                points[i] += flagPoints.getValueByIdx(this.players[i].getFlagReachedAs());
-            }
-
-            //add jewel points
-            for (FieldProperty jewel : jewels) {
-                int amountCrossedJewels = 0;
-                for (Position position : jewel.getPositions()) {
-                    if (this.players[i].getChecked().contains(position)) {
-                        {
-                            amountCrossedJewels++;
-                        }
-                    }
-                }
-                points[i] += amountCrossedJewels * jewel.getPoints();
-            }
-
-            //add points from verticals
-            for (FieldProperty vertical : verticals) {
-                Set<Position> oneLine = new HashSet<>();
-                for (int k = vertical.getPositions()[0].getY(); k <= vertical.getPositions()[1].getY(); k++) {
-                    oneLine.add(new Position(vertical.getPositions()[0].getX(), k));
-                }
-
-                if (this.players[i].getChecked().containsAll(oneLine)) {
-                    points[i] += vertical.getPoints();
-                }
-            }
-
-            //add points from horizontals
-            for (FieldProperty horizontal : horizontals) {
-                Set<Position> oneLine = new HashSet<>();
-                for (int k = horizontal.getPositions()[0].getX(); k <= horizontal.getPositions()[1].getX(); k++) {
-                    oneLine.add(new Position(k, horizontal.getPositions()[0].getY()));
-                }
-
-                if (this.players[i].getChecked().containsAll(oneLine)) {
-                    points[i] += horizontal.getPoints();
-                }
-            }
+            points[i] = getCurrentPoints(i);
         }
 
         int winner = -1;
@@ -1703,7 +1716,7 @@ public class GameLogicDizzle {
                 }
             }
             for (Integer allWinner : allWinners) {
-                int temp = this.players[allWinner].getChecked().size();
+                int temp = Long.bitCount(this.players[allWinner].getCheckedMask());
                 amountCrossed.add(temp);
                 if (temp < leastAmountCrossed) {
                     leastAmountCrossed = temp;
@@ -1718,9 +1731,144 @@ public class GameLogicDizzle {
             }
         }
 
+        int[] finalPoints = new int[points.length];
+        int[] finalAmountCrossed = new int[points.length];
+        for (int i = 0; i < points.length; i++) {
+            finalPoints[i] = points[i];
+            finalAmountCrossed[i] = Long.bitCount(this.players[i].getCheckedMask());
+        }
+        this.result = new GameResult(this.levelNo, this.diceSource.getSeed(), finalPoints, finalAmountCrossed, winner);
+
         this.gui.announceWinner(pointsList, winner);
     }
 
+    /**
+     * Creates a game without a gui that continues from the given state, e.g.
+     * to play out a state of a search. All players of the game are computers
+     * that use the default strategy
+     *
+     * @param state state the game continues from
+     * @param diceSource source the dice of the game are rolled with
+     * @return game in the state
+     */
+    public static GameLogicDizzle fromState(GameState state, DiceSource diceSource) {
+        return new GameLogicDizzle(state, diceSource);
+    }
+
+    /**
+     * Takes an immutable snapshot of the current state of the game. Only the
+     * cells of the players as bits and a few counters are copied
+     *
+     * @return state of the game
+     */
+    public GameState getState() {
+        return GameState.of(this.originalBoard, this.levelNo, this.maxRound, this.players,
+                this.dice, this.round, this.turnOf, this.indexCounter, this.startingPlayer,
+                this.currFlagpoints.ordinal(), this.flagUpdated);
+    }
+
+    /**
+     * Plays a headless game until it is over or the time is up. The time is
+     * checked before every turn, so the game stops at most one turn after the
+     * deadline
+     *
+     * @param deadline point in time (System.nanoTime) when no new turn is
+     * started anymore
+     * @return the outcome of the game, null if the time was up before the
+     * game was over
+     * @throws IllegalStateException if the game isn't headless
+     */
+    GameResult playHeadless(long deadline) {
+        this.deadline = deadline;
+        try {
+            return playHeadless();
+        } finally {
+            this.deadline = Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Checks if a headless game was played until its deadline
+     *
+     * @return true if no new turn should be started
+     */
+    private boolean isTimeUp() {
+        return this.deadline != Long.MAX_VALUE && System.nanoTime() >= this.deadline;
+    }
+
+    /**
+     * Returns the points a player would have if the game ended now. The points
+     * of the cells are kept up to date by the score ledger of the player, so
+     * nothing has to be counted
+     *
+     * @param player index of the player
+     * @return current points of the player
+     */
+    public int getCurrentPoints(int player) {
+        int toReturn = this.players[player].getCellPoints();
+        //the order in which the flag was reached starts at 1, 0 if it wasn't
+        if (this.players[player].getFlagReachedAs() > 0) {
+            toReturn += flagPoints.getValueByIdx(this.players[player].getFlagReachedAs() - 1);
+        }
+        return toReturn;
+    }
+
+    /**
+     * Returns the Zobrist hash of the current state of the game. The players
+     * and the dice cup keep their parts of the hash up to date with every
+     * placed, put back, crossed out or exploded cell, so only the parts of
+     * the few counters of the game are added here. Equal states have equal
+     * hashes, no matter in which order the dice were played
+     *
+     * @return hash of the current state
+     */
+    public long getStateHash() {
+        long toReturn = this.dice.getStateHash()
+                ^ ZobristKeys.round(this.players[0].getCurrRound())
+                ^ ZobristKeys.turnOf(this.turnOf)
+                ^ ZobristKeys.startingPlayer(this.startingPlayer)
+                ^ ZobristKeys.flagTier(this.currFlagpoints.ordinal());
+        for (int i = 0; i <= this.amountComputers; i++) {
+            toReturn ^= ZobristKeys.seat(this.players[i].getStateHash(), i);
+        }
+        return toReturn;
+    }
+
+    /**
+     * Calculates the Zobrist hash of the current state from scratch (for
+     * testing the incremental hash)
+     *
+     * @return hash of the current state
+     */
+    long computeStateHash() {
+        long toReturn = ZobristKeys.round(this.players[0].getCurrRound())
+                ^ ZobristKeys.turnOf(this.turnOf)
+                ^ ZobristKeys.startingPlayer(this.startingPlayer)
+                ^ ZobristKeys.flagTier(this.currFlagpoints.ordinal());
+        for (int faceValue = 1; faceValue <= Die.MAX_FACE_VALUE; faceValue++) {
+            toReturn ^= ZobristKeys.die(faceValue, this.dice.count(faceValue));
+        }
+        for (int i = 0; i <= this.amountComputers; i++) {
+            toReturn ^= ZobristKeys.seat(this.players[i].computeStateHash(), i);
+        }
+        return toReturn;
+    }
+
+    /**
+     * Plays a headless game from start to end
+     *
+     * @return the outcome of the game
+     * @throws IllegalStateException if the game isn't headless (the human
+     * player has to make his moves through the gui)
+     */
+    public GameResult playHeadless() {
+        if (!this.headless) {
+            throw new IllegalStateException("Only headless games can be played without a gui");
+        }
+        startGame();
+        return this.result;
+    }
+
     /**
      * Checks if a playing board has crossed out every cell (or exploded bombs)
      * In a very unlikely event of that happening the game is over after the
@@ -1730,21 +1878,14 @@ public class GameLogicDizzle {
      */
     private boolean isEveryCellPlayed() {
         boolean toReturn = false;
-        int counter = 0;
         int amountPlaceableCells = this.players[0].getBoard().getAmountPlaceableCells();
         for (int i = 0; i <= this.amountComputers; i++) {
-            for (Field[] row : this.players[i].getBoard().getField()) {
-                for (Field cell : row) {
-                    Property currProp = cell.getProperty();
-                    if (currProp == Property.EXPLODED || currProp == Property.CROSSED) {
-                        counter++;
-                    }
-                }
-            }
-            if (counter == amountPlaceableCells) {
+            Board currBoard = this.players[i].getBoard();
+            long played = currBoard.getPropertyMask(Property.EXPLODED)
+                    | currBoard.getPropertyMask(Property.CROSSED);
+            if (Long.bitCount(played) == amountPlaceableCells) {
                 toReturn = true;
             }
-            counter = 0;
         }
         return toReturn;
     }
@@ -1753,17 +1894,18 @@ public class GameLogicDizzle {
      * Main Loop of the game. Starts the game and manages the correct order of
      * moves. Loops while the game is still running and breaks out of it when
      * it's the humans turn. Only if the players move was valid the loop
-     * continues where it left off
+     * continues where it left off. A headless game has no human player and
+     * runs until the game is over
      */
     public void startGame() {
         boolean exit = false;
         //main Game loop -> loops until game is over
-        while (!isGameOver() && !exit) {
+        while (!isGameOver() && !exit && !isTimeUp()) {
             //turn loop -> loops until turn is over and breaks if it's 
             //the turn of the human player
             while (!isTurnOver() && !exit) {
                 this.turnOf = this.index[this.indexCounter];
-                if (this.turnOf != 0) {
+                if (this.turnOf != 0 || this.headless) {
                     computerMove();
                 } else {
                     updatePlayerBoard();
@@ -1781,11 +1923,15 @@ public class GameLogicDizzle {
                 initIndexArray();
                 this.indexCounter = 0;
                 initiateNewTurn();
+                endOfTurnLog(false);
+                endOfTurnListeners(false);
             }
         }
         //handle end of game
         if (isGameOver()) {
+            endOfTurnLog(true);
             handleEndOfGame();
+            endOfTurnListeners(true);
         }
     }
 
@@ -1796,6 +1942,9 @@ public class GameLogicDizzle {
      * @param pos
      */
     public void handleClickedCell(Position pos) {
+        if (this.journal != null) {
+            this.journal.click(pos);
+        }
         playerMove(pos);
     }
 
@@ -1804,6 +1953,12 @@ public class GameLogicDizzle {
      * button
      */
     public void handleClickedSkippedButton() {
+        if (this.journal != null) {
+            this.journal.skipClick();
+        }
+        for (GameListener listener : this.listeners) {
+            listener.playerSkipped(this.turnOf);
+        }
         this.players[this.turnOf].setPlayerState(PlayerState.skipped);
         this.players[this.turnOf].setActive(false);
         this.gui.enablePlayerGridPane(false);
@@ -1819,17 +1974,25 @@ public class GameLogicDizzle {
      * dice button
      */
     public void handleRollDiceClicked() {
-        createDicePoolByAmount(this.dice.length);
-        this.gui.displayDicePool(this.dice);
+        if (this.journal != null) {
+            this.journal.rollClick();
+        }
+        createDicePoolByAmount(this.dice.size());
+        for (GameListener listener : this.listeners) {
+            listener.diceRolled(this.turnOf);
+        }
 
-        Field[][] currPlayerField = this.players[this.turnOf].getBoard().getField();
-        Set<Position> placeableNeighbours = getCurrPlaceableNeighbours(currPlayerField);
-        highlightPlaceableCells(sortSetToArray(placeableNeighbours));
+        BitBoard bitBoard = this.originalBoard.getBitBoard();
+        long placeableNeighbours = getCurrPlaceableNeighbours();
+        highlightPlaceableCells(bitBoard.toPositionArray(placeableNeighbours));
 
         //special case if there is no possible move but free cells
         //e.g. No placed die and even after rolling the dice cup 
         //still no placeable die -> sets player skipped for the turn
-        if (placeableNeighbours.isEmpty() && this.players[this.turnOf].getDiceOn().isEmpty()) {
+        if (placeableNeighbours == 0L && this.players[this.turnOf].getDiceOnMask() == 0L) {
+            for (GameListener listener : this.listeners) {
+                listener.playerSkipped(this.turnOf);
+            }
             this.players[this.turnOf].setPlayerState(PlayerState.skipped);
             this.players[this.turnOf].setActive(false);
             this.gui.enablePlayerGridPane(false);
@@ -1838,13 +2001,13 @@ public class GameLogicDizzle {
             this.currLogEvent = LogEvent.SKIPPED;
             writeLogToFile();
             this.startGame();
-        } else if (placeableNeighbours.isEmpty()) {
+        } else if (placeableNeighbours == 0L) {
             this.players[this.turnOf].setPlayerState(PlayerState.cantPlace);
             this.players[0].setActive(false);
         } else {
             this.players[this.turnOf].setPlayerState(PlayerState.canPlace);
             this.gui.unhighlightAllCells();
-            highlightPlaceableCells(sortSetToArray(placeableNeighbours));
+            highlightPlaceableCells(bitBoard.toPositionArray(placeableNeighbours));
         }
         this.gui.enablePlayerGridPane(true);
         this.gui.enableRollButton(false);
@@ -1863,6 +2026,155 @@ public class GameLogicDizzle {
         this.players[currPlayer].setPlayerState(state);
     }
 
+    /**
+     * @return strategies of all players, every one is the default strategy
+     */
+    private static MoveStrategy[] createDefaultStrategies() {
+        MoveStrategy[] toReturn = new MoveStrategy[MAX_AMOUNT_PLAYERS];
+        Arrays.fill(toReturn, HeuristicStrategy.INSTANCE);
+        return toReturn;
+    }
+
+    /**
+     * Sets the strategy a computer player chooses its moves with. The human
+     * player only uses it in headless games
+     *
+     * @param player index of the player
+     * @param strategy strategy of the player
+     */
+    public void setStrategy(int player, MoveStrategy strategy) {
+        if (strategy == null) {
+            throw new IllegalArgumentException("A player needs a strategy");
+        }
+        this.strategies[player] = strategy;
+    }
+
+    /**
+     * @param player index of the player
+     * @return strategy the player chooses its moves with
+     */
+    public MoveStrategy getStrategy(int player) {
+        return this.strategies[player];
+    }
+
+    /**
+     * @return reroll policies of all players, every one is the shared
+     * expectimax policy
+     */
+    private static RerollPolicy[] createDefaultRerollPolicies() {
+        RerollPolicy[] toReturn = new RerollPolicy[MAX_AMOUNT_PLAYERS];
+        Arrays.fill(toReturn, ExpectimaxRerollPolicy.SHARED);
+        return toReturn;
+    }
+
+    /**
+     * Sets the policy a computer player decides with if he rolls the dice cup
+     * again when he can't place a die. The human player only uses it in
+     * headless games
+     *
+     * @param player index of the player
+     * @param policy reroll policy of the player
+     */
+    public void setRerollPolicy(int player, RerollPolicy policy) {
+        if (policy == null) {
+            throw new IllegalArgumentException("A player needs a reroll policy");
+        }
+        this.rerollPolicies[player] = policy;
+    }
+
+    /**
+     * @param player index of the player
+     * @return policy the player decides with if he rolls the dice cup again
+     */
+    public RerollPolicy getRerollPolicy(int player) {
+        return this.rerollPolicies[player];
+    }
+
+    /**
+     * Writes the game to a journal, it can be resumed from it after a crash
+     * (see JournalRecovery). The dice are rolled through the journal from now
+     * on. The journal starts with a snapshot of the game if it's at the start
+     * of a turn, otherwise at the end of the current turn. Only games whose
+     * computers use the default strategies can be replayed exactly
+     *
+     * @param journal journal of the game
+     */
+    public void setJournal(GameJournal journal) {
+        this.diceSource = journal.record(this.diceSource);
+        attachJournal(journal);
+        journal.attached(this, isAtTurnStart());
+    }
+
+    /**
+     * Writes everything that happens in the game to the journal from now on,
+     * without changing how the dice are rolled (package-private for the
+     * recovery)
+     *
+     * @param journal journal of the game
+     */
+    void attachJournal(GameJournal journal) {
+        this.journal = journal;
+        addListener(journal);
+    }
+
+    /**
+     * Adds a listener that follows the actions of all players from now on
+     *
+     * @param listener listener to add
+     */
+    public void addListener(GameListener listener) {
+        GameListener[] newListeners = Arrays.copyOf(this.listeners, this.listeners.length + 1);
+        newListeners[this.listeners.length] = listener;
+        this.listeners = newListeners;
+    }
+
+    /**
+     * Checks if the game is at the start of a turn: nobody placed a die or
+     * skipped yet and the starting player has the next move
+     *
+     * @return true if the game is at the start of a turn
+     */
+    private boolean isAtTurnStart() {
+        boolean toReturn = this.indexCounter == 0 && this.turnOf == this.startingPlayer;
+        for (int i = 0; i <= this.amountComputers && toReturn; i++) {
+            toReturn = this.players[i].isActive() && this.players[i].getDiceOnMask() == 0L;
+        }
+        return toReturn;
+    }
+
+    /**
+     * Continues a game that was loaded from a snapshot at the start of a turn
+     * (package-private for the recovery). A loaded game usually continues
+     * with the move of the human player, because games are saved during his
+     * move
+     *
+     * @param diceSource source the dice are rolled with
+     * @param headless true if every player is a computer, nothing is logged
+     */
+    void resumeAtTurnStart(DiceSource diceSource, boolean headless) {
+        this.indexCounter = 0;
+        this.turnOf = this.startingPlayer;
+        this.diceSource = diceSource;
+        this.headless = headless;
+        if (headless) {
+            closeFile();
+        }
+    }
+
+    /**
+     * @return the journal of the game, null if the game isn't journaled
+     */
+    public GameJournal getJournal() {
+        return this.journal;
+    }
+
+    /**
+     * @return source the dice of this game are rolled with
+     */
+    DiceSource getDiceSource() {
+        return this.diceSource;
+    }
+
     /**
      * @return the levelNo
      */
@@ -1885,10 +2197,10 @@ public class GameLogicDizzle {
     }
 
     /**
-     * @return the dice
+     * @return the dice in ascending order
      */
     public Die[] getDice() {
-        return dice;
+        return this.dice.toArray();
     }
 
     /**
@@ -1898,6 +2210,13 @@ public class GameLogicDizzle {
         return players;
     }
 
+    /**
+     * @return the outcome of the game, null if the game isn't over yet
+     */
+    public GameResult getResult() {
+        return result;
+    }
+
     /**
      * @return the maxRound
      */
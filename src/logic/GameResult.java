@@ -0,0 +1,113 @@
+package logic;
+
+import java.util.Arrays;
+
+/**
+ * Class that holds the outcome of a finished game
+ *
+ * @author Mario da Graca (cgt103579)
+ */
+public class GameResult {
+
+    /**
+     * Level number of the game
+     */
+    private final int levelNo;
+    /**
+     * Seed the dice of the game were rolled with
+     */
+    private final long seed;
+    /**
+     * Final points of all players, index 0 is the first player
+     */
+    private final int[] points;
+    /**
+     * Amount of crossed out cells of all players (relevant for a tie)
+     */
+    private final int[] amountCrossed;
+    /**
+     * Index of the winner or -1 if the game ended in a tie
+     */
+    private final int winner;
+
+    /**
+     * Constructor
+     *
+     * @param levelNo
+     * @param seed
+     * @param points
+     * @param amountCrossed
+     * @param winner
+     */
+    public GameResult(int levelNo, long seed, int[] points, int[] amountCrossed, int winner) {
+        this.levelNo = levelNo;
+        this.seed = seed;
+        this.points = points;
+        this.amountCrossed = amountCrossed;
+        this.winner = winner;
+    }
+
+    /**
+     * @return the levelNo
+     */
+    public int getLevelNo() {
+        return this.levelNo;
+    }
+
+    /**
+     * @return the seed
+     */
+    public long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * @return the amount of players in the game
+     */
+    public int getAmountPlayers() {
+        return this.points.length;
+    }
+
+    /**
+     * @param player index of the player
+     * @return the final points of the player
+     */
+    public int getPoints(int player) {
+        return this.points[player];
+    }
+
+    /**
+     * @return the final points of all players
+     */
+    public int[] getPoints() {
+        return this.points.clone();
+    }
+
+    /**
+     * @param player index of the player
+     * @return the amount of crossed out cells of the player
+     */
+    public int getAmountCrossed(int player) {
+        return this.amountCrossed[player];
+    }
+
+    /**
+     * @return the winner, -1 if the game ended in a tie
+     */
+    public int getWinner() {
+        return this.winner;
+    }
+
+    /**
+     * @return true or false wether the game ended in a tie
+     */
+    public boolean isTie() {
+        return this.winner == -1;
+    }
+
+    @Override
+    public String toString() {
+        return "Level " + this.levelNo + " (seed " + this.seed + "): "
+                + Arrays.toString(this.points) + " winner: " + this.winner;
+    }
+}
@@ -0,0 +1,559 @@
+package logic;
+
+import logic.boards.BitBoard;
+import logic.boards.Board;
+import logic.boards.SpecialCellIndex;
+
+/**
+ * Immutable snapshot of everything that changes during a game: the cells of
+ * every player as bits, the dice cup, the round, whose turn it is and the
+ * points the flag gives. A state only consists of a few longs per player, the
+ * playing boards are not part of it.
+ * <p>
+ * Every move returns a new state that shares all players the move didn't
+ * change with the state it was applied to, so a search can fork a state as
+ * often as it likes without copying anything else. Undo returns the state the
+ * last move was applied to. A state can be continued as a game with
+ * GameLogicDizzle.fromState, e.g. to play it out. Equal states have the same
+ * hash as the game they were taken from
+ *
+ * @author Mario da Graca (cgt103579)
+ */
+public final class GameState {
+
+    //Bits of the amount of dice of a single face value in the packed dice cup
+    private final static int BITS_PER_FACE = 8;
+
+    //Board of the level, never changed
+    private final Board level;
+    //Number of the level
+    private final int levelNo;
+    //Maximum amount of rounds of the game
+    private final int maxRound;
+    //Every player, shared with the states the players were not changed in
+    private final Seat[] seats;
+    //Amount of dice of every face value, BITS_PER_FACE bits per face value
+    private final long dice;
+    //Current round of the game
+    private final int round;
+    //Player whose turn it is
+    private final int turnOf;
+    //Position of the current player in the order of the turn
+    private final int indexCounter;
+    //Player who started the current turn
+    private final int startingPlayer;
+    //Ordinal of the points the flag gives next
+    private final int flagTier;
+    //Amount of players that reached the flag during the current turn
+    private final int flagUpdated;
+    //State the last move was applied to, null for a snapshot of a game
+    private final GameState parent;
+    //Zobrist hash of the state, same as the hash of the game
+    private final long stateHash;
+
+    /**
+     * Part of a state that belongs to a single player
+     */
+    static final class Seat {
+
+        //Wether the player is still in the current turn
+        final boolean active;
+        //State of the player in the current turn
+        final PlayerState playerState;
+        //Current round of the player
+        final int currRound;
+        //Order in which the player reached the flag, 0 if he didn't
+        final int flagReachedAs;
+        //Crossed out cells
+        final long checked;
+        //Cells with a die on them
+        final long diceOn;
+        //Exploded cells
+        final long exploded;
+        //Zobrist hash of the player
+        final long hash;
+
+        /**
+         * Constructor
+         *
+         * @param active wether the player is still in the current turn
+         * @param playerState state of the player in the current turn
+         * @param currRound current round of the player
+         * @param flagReachedAs order in which the player reached the flag
+         * @param checked crossed out cells
+         * @param diceOn cells with a die on them
+         * @param exploded exploded cells
+         */
+        Seat(boolean active, PlayerState playerState, int currRound, int flagReachedAs,
+                long checked, long diceOn, long exploded) {
+            this.active = active;
+            this.playerState = playerState;
+            this.currRound = currRound;
+            this.flagReachedAs = flagReachedAs;
+            this.checked = checked;
+            this.diceOn = diceOn;
+            this.exploded = exploded;
+            this.hash = ZobristKeys.player(checked, diceOn, exploded, flagReachedAs, active);
+        }
+
+        /**
+         * Creates the seat of a player of a running game
+         *
+         * @param player player of the game
+         * @return seat with the cells and states of the player
+         */
+        static Seat of(Player player) {
+            return new Seat(player.isActive(), player.getPlayerState(), player.getCurrRound(),
+                    player.getFlagReachedAs(), player.getCheckedMask(), player.getDiceOnMask(),
+                    player.getExplodedMask());
+        }
+    }
+
+    /**
+     * Constructor
+     *
+     * @param level board of the level
+     * @param levelNo number of the level
+     * @param maxRound maximum amount of rounds
+     * @param seats every player
+     * @param dice packed dice cup
+     * @param round current round
+     * @param turnOf player whose turn it is
+     * @param indexCounter position of the current player in the turn
+     * @param startingPlayer player who started the current turn
+     * @param flagTier ordinal of the points the flag gives next
+     * @param flagUpdated amount of players that reached the flag this turn
+     * @param parent state the last move was applied to
+     */
+    private GameState(Board level, int levelNo, int maxRound, Seat[] seats, long dice,
+            int round, int turnOf, int indexCounter, int startingPlayer, int flagTier,
+            int flagUpdated, GameState parent) {
+        this.level = level;
+        this.levelNo = levelNo;
+        this.maxRound = maxRound;
+        this.seats = seats;
+        this.dice = dice;
+        this.round = round;
+        this.turnOf = turnOf;
+        this.indexCounter = indexCounter;
+        this.startingPlayer = startingPlayer;
+        this.flagTier = flagTier;
+        this.flagUpdated = flagUpdated;
+        this.parent = parent;
+        this.stateHash = computeStateHash();
+    }
+
+    /**
+     * Creates the snapshot of a running game
+     *
+     * @param level board of the level
+     * @param levelNo number of the level
+     * @param maxRound maximum amount of rounds
+     * @param players every player of the game
+     * @param dice current dice cup
+     * @param round current round
+     * @param turnOf player whose turn it is
+     * @param indexCounter position of the current player in the turn
+     * @param startingPlayer player who started the current turn
+     * @param flagTier ordinal of the points the flag gives next
+     * @param flagUpdated amount of players that reached the flag this turn
+     * @return snapshot of the game
+     */
+    static GameState of(Board level, int levelNo, int maxRound, Player[] players, DicePool dice,
+            int round, int turnOf, int indexCounter, int startingPlayer, int flagTier, int flagUpdated) {
+        Seat[] seats = new Seat[players.length];
+        for (int i = 0; i < seats.length; i++) {
+            seats[i] = Seat.of(players[i]);
+        }
+        long packedDice = 0L;
+        for (int faceValue = 1; faceValue <= Die.MAX_FACE_VALUE; faceValue++) {
+            packedDice = withCount(packedDice, faceValue, dice.count(faceValue));
+        }
+        return new GameState(level, levelNo, maxRound, seats, packedDice, round, turnOf,
+                indexCounter, startingPlayer, flagTier, flagUpdated, null);
+    }
+
+    /**
+     * Calculates the hash of the state the same way the game does
+     *
+     * @return hash of the state
+     */
+    private long computeStateHash() {
+        long toReturn = ZobristKeys.round(this.seats[0].currRound)
+                ^ ZobristKeys.turnOf(this.turnOf)
+                ^ ZobristKeys.startingPlayer(this.startingPlayer)
+                ^ ZobristKeys.flagTier(this.flagTier);
+        for (int faceValue = 1; faceValue <= Die.MAX_FACE_VALUE; faceValue++) {
+            toReturn ^= ZobristKeys.die(faceValue, getDiceCount(faceValue));
+        }
+        for (int i = 0; i < this.seats.length; i++) {
+            toReturn ^= ZobristKeys.seat(this.seats[i].hash, i);
+        }
+        return toReturn;
+    }
+
+    /**
+     * Replaces the amount of dice of a face value in a packed dice cup
+     *
+     * @param dice packed dice cup
+     * @param faceValue value of the dice
+     * @param count new amount of dice
+     * @return packed dice cup
+     */
+    private static long withCount(long dice, int faceValue, int count) {
+        int shift = faceValue * BITS_PER_FACE;
+        long mask = ((1L << BITS_PER_FACE) - 1) << shift;
+        return (dice & ~mask) | ((long) count << shift);
+    }
+
+    /**
+     * Creates the state after the current player changed
+     *
+     * @param seat new seat of the current player
+     * @param newDice new packed dice cup
+     * @param newFlagUpdated new amount of players that reached the flag
+     * @return new state that shares all other players with this state
+     */
+    private GameState withCurrentSeat(Seat seat, long newDice, int newFlagUpdated) {
+        Seat[] newSeats = this.seats.clone();
+        newSeats[this.turnOf] = seat;
+        return new GameState(this.level, this.levelNo, this.maxRound, newSeats, newDice,
+                this.round, this.turnOf, this.indexCounter, this.startingPlayer, this.flagTier,
+                newFlagUpdated, this);
+    }
+
+    /**
+     * Checks if the current player is the only one left in the turn, he is
+     * out of the turn after his move then
+     *
+     * @return true or false
+     */
+    private boolean isLastMove() {
+        boolean toReturn = true;
+        for (int i = 0; i < this.seats.length && toReturn; i++) {
+            toReturn = i == this.turnOf || !this.seats[i].active;
+        }
+        return toReturn;
+    }
+
+    /**
+     * Returns the face value of a cell of the level
+     *
+     * @param cellIdx index of the cell
+     * @return face value of the cell
+     */
+    private int getFaceValue(int cellIdx) {
+        BitBoard bitBoard = this.level.getBitBoard();
+        return this.level.getField()[bitBoard.getY(cellIdx)][bitBoard.getX(cellIdx)]
+                .getDieValue().getfaceValue();
+    }
+
+    /**
+     * Places a die of the current player on a cell. The cell has to be one of
+     * the placeable cells
+     *
+     * @param pos Position of the cell
+     * @return state after the move
+     * @throws IllegalArgumentException if a die can't be placed on the cell
+     */
+    public GameState place(Position pos) {
+        BitBoard bitBoard = this.level.getBitBoard();
+        if (!bitBoard.contains(pos) || (getPlaceableCells() & bitBoard.bit(pos)) == 0L) {
+            throw new IllegalArgumentException("No die can be placed on " + pos);
+        }
+        int cellIdx = bitBoard.index(pos);
+        int faceValue = getFaceValue(cellIdx);
+        Seat seat = this.seats[this.turnOf];
+        int flagReachedAs = seat.flagReachedAs;
+        int newFlagUpdated = this.flagUpdated;
+        if ((this.level.getSpecialCells().getFlagMask() & bitBoard.bit(pos)) != 0L) {
+            flagReachedAs = this.flagTier + 1;
+            newFlagUpdated++;
+        }
+        boolean lastMove = isLastMove();
+        Seat newSeat = new Seat(seat.active && !lastMove,
+                lastMove ? PlayerState.skipped : seat.playerState, seat.currRound, flagReachedAs,
+                seat.checked, seat.diceOn | bitBoard.bit(pos), seat.exploded);
+        return withCurrentSeat(newSeat,
+                withCount(this.dice, faceValue, getDiceCount(faceValue) - 1), newFlagUpdated);
+    }
+
+    /**
+     * Puts a die of the current player back in the dice cup. Wether the
+     * player stays in the turn afterwards is decided by the caller (see skip)
+     *
+     * @param pos Position of the die
+     * @return state after the move
+     * @throws IllegalArgumentException if the player has no die on the cell
+     */
+    public GameState putBack(Position pos) {
+        BitBoard bitBoard = this.level.getBitBoard();
+        Seat seat = this.seats[this.turnOf];
+        if (!bitBoard.contains(pos) || (seat.diceOn & bitBoard.bit(pos)) == 0L) {
+            throw new IllegalArgumentException("There is no die on " + pos);
+        }
+        int faceValue = getFaceValue(bitBoard.index(pos));
+        boolean lastMove = isLastMove();
+        Seat newSeat = new Seat(seat.active && !lastMove,
+                lastMove ? PlayerState.skipped : seat.playerState, seat.currRound,
+                seat.flagReachedAs, seat.checked, seat.diceOn & ~bitBoard.bit(pos), seat.exploded);
+        return withCurrentSeat(newSeat,
+                withCount(this.dice, faceValue, getDiceCount(faceValue) + 1), this.flagUpdated);
+    }
+
+    /**
+     * The current player leaves the turn
+     *
+     * @return state after the move
+     */
+    public GameState skip() {
+        Seat seat = this.seats[this.turnOf];
+        return withCurrentSeat(new Seat(false, PlayerState.skipped, seat.currRound,
+                seat.flagReachedAs, seat.checked, seat.diceOn, seat.exploded),
+                this.dice, this.flagUpdated);
+    }
+
+    /**
+     * The current player finished his move, the next player of the turn has
+     * to move. Ending the turn (crossing out the placed dice, rolling the next
+     * dice cup) is left to the game, see isTurnOver
+     *
+     * @return state after the move
+     */
+    public GameState nextPlayer() {
+        int newIndexCounter = (this.indexCounter + 1) % this.seats.length;
+        return new GameState(this.level, this.levelNo, this.maxRound, this.seats, this.dice,
+                this.round, (this.startingPlayer + newIndexCounter) % this.seats.length,
+                newIndexCounter, this.startingPlayer, this.flagTier, this.flagUpdated, this);
+    }
+
+    /**
+     * Checks if the turn is over. A turn is over when all players skipped or
+     * all dice are placed
+     *
+     * @return true or false
+     */
+    public boolean isTurnOver() {
+        boolean toReturn = true;
+        for (int i = 0; i < this.seats.length && toReturn; i++) {
+            toReturn = !this.seats[i].active;
+        }
+        return toReturn || this.dice == 0L;
+    }
+
+    /**
+     * Returns the state the last move was applied to. Nothing has to be
+     * restored, the states before a move are never changed
+     *
+     * @return previous state, null if this is the snapshot of a game
+     */
+    public GameState undo() {
+        return this.parent;
+    }
+
+    /**
+     * Returns the cells a player could place a die on if he was allowed to
+     * place it anywhere: cells that are still free and padlocks of crossed
+     * out keys
+     *
+     * @param player index of the player
+     * @return mask of the cells
+     */
+    public long getPlaceableMask(int player) {
+        Seat seat = this.seats[player];
+        SpecialCellIndex specialCells = this.level.getSpecialCells();
+        long placeable = this.level.getPlaceableMask();
+        long crossedKeys = seat.checked & specialCells.getAllKeysMask();
+        for (int key = 0; crossedKeys != 0L && key < specialCells.getAmountKeys(); key++) {
+            if ((crossedKeys & specialCells.getKeyMask(key)) != 0L) {
+                placeable |= specialCells.getPadlockMask(key);
+            }
+        }
+        return placeable & ~(seat.checked | seat.diceOn | seat.exploded);
+    }
+
+    /**
+     * Returns the cells the current player could place a die on, if the dice
+     * cup had every face value. The same rules as in the game apply: the
+     * first die of a turn is placed next to a crossed out cell, all others
+     * next to a placed die. The first player may go back to his crossed out
+     * cells when his placed dice are caged
+     *
+     * @return mask of the cells
+     */
+    public long getFrontier() {
+        BitBoard bitBoard = this.level.getBitBoard();
+        Seat seat = this.seats[this.turnOf];
+        long placeable = getPlaceableMask(this.turnOf);
+        long nextToDice = bitBoard.neighbours(seat.diceOn) & placeable;
+        if (seat.diceOn == 0L || (this.turnOf == 0 && nextToDice == 0L)) {
+            return bitBoard.neighbours(seat.checked) & placeable;
+        }
+        return nextToDice;
+    }
+
+    /**
+     * Returns the cells the current player can place one of the dice of the
+     * dice cup on
+     *
+     * @return mask of the cells
+     */
+    public long getPlaceableCells() {
+        long toReturn = 0L;
+        for (int faceValue = 1; faceValue <= Die.MAX_FACE_VALUE; faceValue++) {
+            if (getDiceCount(faceValue) > 0) {
+                toReturn |= this.level.getFaceMask(faceValue);
+            }
+        }
+        return toReturn & getFrontier();
+    }
+
+    /**
+     * @param faceValue value of the dice
+     * @return amount of dice with this value in the dice cup
+     */
+    public int getDiceCount(int faceValue) {
+        return (int) (this.dice >>> (faceValue * BITS_PER_FACE)) & ((1 << BITS_PER_FACE) - 1);
+    }
+
+    /**
+     * @return a new dice pool with the dice of the dice cup
+     */
+    public DicePool getDice() {
+        DicePool toReturn = new DicePool();
+        for (int faceValue = 1; faceValue <= Die.MAX_FACE_VALUE; faceValue++) {
+            for (int i = 0; i < getDiceCount(faceValue); i++) {
+                toReturn.add(faceValue);
+            }
+        }
+        return toReturn;
+    }
+
+    /**
+     * @return amount of players
+     */
+    public int getAmountPlayers() {
+        return this.seats.length;
+    }
+
+    /**
+     * @param player index of the player
+     * @return crossed out cells of the player
+     */
+    public long getCheckedMask(int player) {
+        return this.seats[player].checked;
+    }
+
+    /**
+     * @param player index of the player
+     * @return cells the player has a die on
+     */
+    public long getDiceOnMask(int player) {
+        return this.seats[player].diceOn;
+    }
+
+    /**
+     * @param player index of the player
+     * @return exploded cells of the player
+     */
+    public long getExplodedMask(int player) {
+        return this.seats[player].exploded;
+    }
+
+    /**
+     * @param player index of the player
+     * @return order in which the player reached the flag, 0 if he didn't
+     */
+    public int getFlagReachedAs(int player) {
+        return this.seats[player].flagReachedAs;
+    }
+
+    /**
+     * @param player index of the player
+     * @return true if the player is still in the current turn
+     */
+    public boolean isActive(int player) {
+        return this.seats[player].active;
+    }
+
+    /**
+     * @param player index of the player
+     * @return the part of the state that belongs to the player
+     */
+    Seat getSeat(int player) {
+        return this.seats[player];
+    }
+
+    /**
+     * @return board of the level
+     */
+    Board getLevel() {
+        return this.level;
+    }
+
+    /**
+     * @return number of the level
+     */
+    public int getLevelNo() {
+        return this.levelNo;
+    }
+
+    /**
+     * @return maximum amount of rounds
+     */
+    public int getMaxRound() {
+        return this.maxRound;
+    }
+
+    /**
+     * @return current round
+     */
+    public int getRound() {
+        return this.round;
+    }
+
+    /**
+     * @return player whose turn it is
+     */
+    public int getTurnOf() {
+        return this.turnOf;
+    }
+
+    /**
+     * @return position of the current player in the order of the turn
+     */
+    int getIndexCounter() {
+        return this.indexCounter;
+    }
+
+    /**
+     * @return player who started the current turn
+     */
+    public int getStartingPlayer() {
+        return this.startingPlayer;
+    }
+
+    /**
+     * @return ordinal of the points the flag gives next
+     */
+    int getFlagTier() {
+        return this.flagTier;
+    }
+
+    /**
+     * @return amount of players that reached the flag during this turn
+     */
+    int getFlagUpdated() {
+        return this.flagUpdated;
+    }
+
+    /**
+     * Returns the Zobrist hash of the state, equal to the hash of the game in
+     * the same state
+     *
+     * @return hash of the state
+     */
+    public long getStateHash() {
+        return this.stateHash;
+    }
+}
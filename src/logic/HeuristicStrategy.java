@@ -0,0 +1,31 @@
+package logic;
+
+/**
+ * Default strategy of the computer players. Chooses the move by the fixed
+ * priorities of Player.evaluateNextMove
+ *
+ * @author Mario da Graca (cgt103579)
+ */
+public final class HeuristicStrategy implements MoveStrategy {
+
+    /**
+     * The only instance, the strategy has no state
+     */
+    public static final HeuristicStrategy INSTANCE = new HeuristicStrategy();
+
+    /**
+     * Constructor
+     */
+    private HeuristicStrategy() {
+    }
+
+    @Override
+    public Position nextMove(GameLogicDizzle game, Position[] placeable) {
+        return game.getPlayers()[game.getTurnOf()].evaluateNextMove(placeable);
+    }
+
+    @Override
+    public String getName() {
+        return "Heuristic";
+    }
+}
@@ -0,0 +1,271 @@
+package logic;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import logic.exceptions.LevelParsingException;
+
+/**
+ * Class that resumes a crashed or killed game from its journal (see
+ * GameJournal). The game is loaded from the last snapshot in the journal and
+ * everything that happened after it is replayed through the rules of the game:
+ * the dice are rolled with the journaled face values and the journaled inputs
+ * of the human player are passed to the game again. The computer players make
+ * the same moves again, because their default strategies only depend on the
+ * game. If the face values run out, the dice are rolled randomly
+ * <p>
+ * The resumed game continues writing the same journal, a partly written
+ * record at its end is cut off
+ *
+ * @author Mario da Graca (cgt103579)
+ */
+public class JournalRecovery {
+
+    /**
+     * Path to the journal
+     */
+    private final Path path;
+    /**
+     * GUI to create a correct game instance, null for a headless game
+     */
+    private GUIConnector gui;
+    /**
+     * Last snapshot in the journal
+     */
+    private SaveGame snapshot;
+    /**
+     * Face values that were rolled after the last snapshot
+     */
+    private byte[] faces;
+    /**
+     * Inputs of the human player after the last snapshot, every input is its
+     * record type followed by its payload
+     */
+    private List<byte[]> inputs;
+    /**
+     * Snapshot interval of the journal
+     */
+    private int snapshotInterval;
+    /**
+     * Length of the valid part of the journal
+     */
+    private int validLength;
+
+    /**
+     * Constructor
+     *
+     * @param path path to the journal
+     * @param gui gui of the resumed game, null for a headless game
+     */
+    public JournalRecovery(Path path, GUIConnector gui) {
+        this.path = path;
+        this.gui = gui;
+    }
+
+    /**
+     * Reads the journal
+     *
+     * @throws FileNotFoundException gets thrown when the journal is not found
+     * @throws LevelParsingException gets thrown when the journal has no valid
+     * snapshot
+     */
+    public void read() throws FileNotFoundException, LevelParsingException {
+        try {
+            read(Files.readAllBytes(this.path));
+        } catch (NoSuchFileException e) {
+            throw new FileNotFoundException(this.path.toString());
+        } catch (IOException e) {
+            throw new LevelParsingException("There was an error while reading the journal.\n" + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the records of a journal up to the first invalid one
+     *
+     * @param data content of the journal
+     * @throws LevelParsingException gets thrown when the journal has no valid
+     * snapshot
+     */
+    void read(byte[] data) throws LevelParsingException {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        if (data.length < GameJournal.HEADER_SIZE || buffer.getInt() != GameJournal.MAGIC) {
+            throw new LevelParsingException("The file is no journal of a game.");
+        }
+        if (buffer.get() != GameJournal.VERSION) {
+            throw new LevelParsingException("The journal was written by another version of the game.");
+        }
+        this.snapshotInterval = buffer.get();
+        this.validLength = GameJournal.HEADER_SIZE;
+
+        byte[] snapshotData = null;
+        byte[] newFaces = new byte[32];
+        int amountFaces = 0;
+        List<byte[]> newInputs = new ArrayList<>();
+        boolean valid = true;
+        while (valid && buffer.remaining() >= GameJournal.RECORD_OVERHEAD) {
+            int start = buffer.position();
+            int length = buffer.getInt();
+            //the type, the payload and the checksum have to be complete, a
+            //garbage length mustn't overflow the check
+            valid = length >= 0 && length <= buffer.remaining() - (GameJournal.RECORD_OVERHEAD - 4)
+                    && GameJournal.checksum(data, start + 4, length + 1)
+                    == buffer.getInt(start + 4 + 1 + length);
+            if (valid) {
+                byte type = buffer.get();
+                byte[] payload = new byte[length];
+                buffer.get(payload);
+                buffer.getInt();
+                switch (type) {
+                    case GameJournal.SNAPSHOT:
+                        //everything before the snapshot is part of it
+                        snapshotData = payload;
+                        amountFaces = 0;
+                        newInputs.clear();
+                        break;
+                    case GameJournal.DICE:
+                        if (amountFaces + length > newFaces.length) {
+                            newFaces = Arrays.copyOf(newFaces, Math.max(newFaces.length * 2, amountFaces + length));
+                        }
+                        System.arraycopy(payload, 0, newFaces, amountFaces, length);
+                        amountFaces += length;
+                        break;
+                    case GameJournal.CLICK:
+                    case GameJournal.ROLL_CLICK:
+                    case GameJournal.SKIP_CLICK:
+                        byte[] input = new byte[length + 1];
+                        input[0] = type;
+                        System.arraycopy(payload, 0, input, 1, length);
+                        newInputs.add(input);
+                        break;
+                    default:
+                        //actions of the players are only written to follow the game
+                        break;
+                }
+                this.validLength = buffer.position();
+            }
+        }
+
+        if (snapshotData == null) {
+            throw new LevelParsingException("The journal contains no snapshot of the game.");
+        }
+        this.snapshot = SaveGame.fromBinary(snapshotData);
+        this.faces = Arrays.copyOf(newFaces, amountFaces);
+        this.inputs = newInputs;
+    }
+
+    /**
+     * Resumes the game: loads the last snapshot, replays everything after it
+     * and attaches the journal to the game again. A game with a gui is started
+     * and waits for the next move of the human player afterwards, a headless
+     * game still has to be played (see GameLogicDizzle.playHeadless)
+     *
+     * @return resumed game
+     * @throws LevelParsingException gets thrown when the snapshot is invalid
+     * @throws FileNotFoundException gets thrown when the level file is not
+     * found
+     * @throws IOException gets thrown when the journal can't be continued
+     */
+    public GameLogicDizzle recover() throws LevelParsingException, FileNotFoundException, IOException {
+        Die[] dice = new Die[this.snapshot.getDice().length];
+        for (int i = 0; i < dice.length; i++) {
+            dice[i] = Die.of(this.snapshot.getDice()[i]);
+        }
+        boolean headless = this.gui == null;
+        GameLogicDizzle game = new GameLogicDizzle(this.snapshot.getLevelNo(),
+                this.snapshot.getRound(), this.snapshot.getTurnOf(), dice,
+                this.snapshot.getPlayers(), headless ? HeadlessGUI.INSTANCE : this.gui);
+
+        GameJournal journal = new GameJournal(this.path, this.validLength, this.snapshotInterval);
+        //new face values are journaled, the replayed ones are already in it
+        game.resumeAtTurnStart(new ReplayDiceSource(this.faces,
+                journal.record(new SplittableDiceSource())), headless);
+        if (!headless) {
+            game.startGame();
+            for (byte[] input : this.inputs) {
+                switch (input[0]) {
+                    case GameJournal.CLICK:
+                        game.handleClickedCell(Position.of(input[1], input[2]));
+                        break;
+                    case GameJournal.ROLL_CLICK:
+                        game.handleRollDiceClicked();
+                        break;
+                    default:
+                        game.handleClickedSkippedButton();
+                        break;
+                }
+            }
+        }
+        game.attachJournal(journal);
+        return game;
+    }
+
+    /**
+     * @return the amount of computers of the journaled game
+     */
+    public int getAmountComputers() {
+        return this.snapshot.getPlayers().length - 1;
+    }
+
+    /**
+     * @return the amount of journaled inputs of the human player that are
+     * replayed
+     */
+    public int getAmountInputs() {
+        return this.inputs.size();
+    }
+
+    /**
+     * Sets the gui for the game
+     *
+     * @param gui gui of the resumed game, null for a headless game
+     */
+    public void setGUI(GUIConnector gui) {
+        this.gui = gui;
+    }
+
+    /**
+     * Source of the dice that returns the journaled face values first
+     */
+    private static final class ReplayDiceSource implements DiceSource {
+
+        //Journaled face values
+        private final byte[] faces;
+        //Source the dice are rolled with after the journaled face values
+        private final DiceSource source;
+        //Index of the next journaled face value
+        private int next;
+
+        /**
+         * Constructor
+         *
+         * @param faces journaled face values
+         * @param source source the dice are rolled with afterwards
+         */
+        private ReplayDiceSource(byte[] faces, DiceSource source) {
+            this.faces = faces;
+            this.source = source;
+            this.next = 0;
+        }
+
+        @Override
+        public int nextFaceValue() {
+            return this.next < this.faces.length ? this.faces[this.next++] : this.source.nextFaceValue();
+        }
+
+        @Override
+        public long getSeed() {
+            return this.source.getSeed();
+        }
+
+        @Override
+        public DiceSource split() {
+            return this.source.split();
+        }
+    }
+}
@@ -4,6 +4,11 @@ import com.google.gson.Gson;
 import com.google.gson.JsonParseException;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
 import logic.exceptions.LevelParsingException;
 
 /**
@@ -62,6 +67,42 @@ public class LoadGame {
         }
     }
 
+    /**
+     * Loads a save game file that is either in the binary format or JSON. The
+     * format is detected by the first bytes of the file
+     *
+     * @throws FileNotFoundException gets thrown when the file is not found
+     * @throws LevelParsingException gets thrown when the file is invalid save
+     * game file
+     */
+    public void load() throws FileNotFoundException, LevelParsingException {
+        byte[] data;
+        try {
+            data = Files.readAllBytes(Paths.get(this.path));
+        } catch (NoSuchFileException e) {
+            throw new FileNotFoundException(this.path);
+        } catch (IOException e) {
+            throw new LevelParsingException("There was an error while loading the save game file.\n" + e.getMessage());
+        }
+        load(data);
+    }
+
+    /**
+     * Creates an Instance of a SaveGame Class from the content of a save game
+     * file, that is either in the binary format or JSON
+     *
+     * @param data content of the file
+     * @throws LevelParsingException gets thrown when the data is no valid save
+     * game
+     */
+    public void load(byte[] data) throws LevelParsingException {
+        if (SaveGame.isBinary(data)) {
+            this.loadedGame = SaveGame.fromBinary(data);
+        } else {
+            loadJSON(new String(data, StandardCharsets.UTF_8));
+        }
+    }
+
     /**
      * Creates an Instance of a SaveGame Class from a JSON String (Testing)
      *
@@ -70,8 +111,12 @@ public class LoadGame {
      */
     public void loadJSON(String json) throws LevelParsingException {
         Gson gson = new Gson();
-        this.loadedGame = gson.fromJson(json, SaveGame.class);
-        if (this.loadedGame.getPlayers() == null) {
+        try {
+            this.loadedGame = gson.fromJson(json, SaveGame.class);
+        } catch (JsonParseException e) {
+            throw new LevelParsingException("There was an error while loading the save game file.\n" + e.getMessage());
+        }
+        if (this.loadedGame == null || this.loadedGame.getPlayers() == null) {
             throw new LevelParsingException("The JSON format you're trying to load for a saved game is invalid.\nTry another file.");
         }
     }
@@ -86,7 +131,7 @@ public class LoadGame {
     public GameLogicDizzle loadGame() throws LevelParsingException, FileNotFoundException {
         Die[] dice = new Die[loadedGame.getDice().length];
         for (int i = 0; i < dice.length; i++) {
-            dice[i] = new Die(loadedGame.getDice()[i]);
+            dice[i] = Die.of(loadedGame.getDice()[i]);
         }
 
         GameLogicDizzle newGame = new GameLogicDizzle(loadedGame.getLevelNo(),
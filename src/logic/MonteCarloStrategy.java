@@ -0,0 +1,191 @@
+package logic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Strategy that plays out the rest of the game for every possible move
+ * (rollouts) and chooses the move with the highest average final points of
+ * the player. Every rollout starts with the current dice cup and rolls all
+ * later dice cups randomly, all players play the rest of the game with the
+ * default strategy. The rollouts are split over all threads of a pool and
+ * stop when either the amount of rollouts or the time budget is reached, a
+ * rollout that is still running when the time is up is dropped. If the time
+ * wasn't enough for a rollout of every possible move, the move is chosen by
+ * the default strategy
+ *
+ * @author Mario da Graca (cgt103579)
+ */
+public class MonteCarloStrategy implements MoveStrategy {
+
+    /**
+     * Default time budget of a single move in milliseconds
+     */
+    public final static long DEFAULT_TIME_BUDGET = 200;
+
+    /**
+     * Default amount of rollouts of every possible move
+     */
+    public final static int DEFAULT_ROLLOUTS = 64;
+
+    //Pool the rollouts are played in
+    private final ForkJoinPool pool;
+    //Maximum time of a single move in nanoseconds
+    private final long timeBudgetNanos;
+    //Maximum amount of rollouts of every possible move
+    private final int rolloutsPerMove;
+
+    /**
+     * Constructor for a strategy with the default budget, that plays its
+     * rollouts on all cores
+     */
+    public MonteCarloStrategy() {
+        this(ForkJoinPool.commonPool(), DEFAULT_TIME_BUDGET, DEFAULT_ROLLOUTS);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param pool pool the rollouts are played in
+     * @param timeBudget maximum time of a single move in milliseconds, a
+     * move that runs out of time is chosen by the default strategy
+     * @param rolloutsPerMove maximum amount of rollouts of every possible move
+     */
+    public MonteCarloStrategy(ForkJoinPool pool, long timeBudget, int rolloutsPerMove) {
+        if (timeBudget <= 0) {
+            throw new IllegalArgumentException("Illegal time budget: " + timeBudget);
+        }
+        if (rolloutsPerMove <= 0) {
+            throw new IllegalArgumentException("Illegal amount of rollouts: " + rolloutsPerMove);
+        }
+        this.pool = pool;
+        this.timeBudgetNanos = TimeUnit.MILLISECONDS.toNanos(timeBudget);
+        this.rolloutsPerMove = rolloutsPerMove;
+    }
+
+    @Override
+    public Position nextMove(GameLogicDizzle game, Position[] placeable) {
+        if (placeable.length == 1) {
+            return placeable[0];
+        }
+        long deadline = System.nanoTime() + this.timeBudgetNanos;
+        //all rollouts of this move are seeded by the dice source of the game,
+        //so a game with enough time is replayable by its seed
+        long seed = game.getDiceSource().split().getSeed();
+        //every move is applied once, all rollouts of the move and all threads
+        //share the immutable state after it
+        GameState state = game.getState();
+        GameState[] afterMove = new GameState[placeable.length];
+        for (int i = 0; i < placeable.length; i++) {
+            afterMove[i] = state.place(placeable[i]).nextPlayer();
+        }
+        AtomicInteger nextRollout = new AtomicInteger();
+
+        List<RolloutWorker> workers = new ArrayList<>();
+        for (int i = 0; i < this.pool.getParallelism(); i++) {
+            workers.add(new RolloutWorker(afterMove, game.getTurnOf(), seed, deadline, nextRollout));
+        }
+        this.pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(workers);
+            }
+        });
+
+        long[] pointsSum = new long[placeable.length];
+        int[] amountRollouts = new int[placeable.length];
+        for (RolloutWorker worker : workers) {
+            for (int i = 0; i < placeable.length; i++) {
+                pointsSum[i] += worker.pointsSum[i];
+                amountRollouts[i] += worker.amountRollouts[i];
+            }
+        }
+        //without a rollout of every move the averages can't be compared
+        for (int i = 0; i < placeable.length; i++) {
+            if (amountRollouts[i] == 0) {
+                return HeuristicStrategy.INSTANCE.nextMove(game, placeable);
+            }
+        }
+
+        //highest average points, the first cell wins if they are equal
+        int best = 0;
+        for (int i = 1; i < placeable.length; i++) {
+            if (pointsSum[i] * amountRollouts[best] > pointsSum[best] * amountRollouts[i]) {
+                best = i;
+            }
+        }
+        return placeable[best];
+    }
+
+    @Override
+    public String getName() {
+        return "Monte Carlo";
+    }
+
+    /**
+     * Task that keeps playing rollouts until all rollouts are played or the
+     * time is up. The rollouts are distributed over the possible moves in
+     * turn, a rollout that didn't end before the time was up isn't counted
+     */
+    private class RolloutWorker extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        //State after every possible move, the rollouts start from them
+        private final GameState[] afterMove;
+        //Player that has to move
+        private final int player;
+        //Seed of the first rollout
+        private final long seed;
+        //Point in time when the rollouts stop
+        private final long deadline;
+        //Number of the next rollout, shared by all workers
+        private final AtomicInteger nextRollout;
+        //Sum of the final points of the player for every move
+        private final long[] pointsSum;
+        //Amount of rollouts of every move
+        private final int[] amountRollouts;
+
+        /**
+         * Constructor
+         *
+         * @param afterMove state after every possible move
+         * @param player player that has to move
+         * @param seed seed of the first rollout
+         * @param deadline point in time when the rollouts stop
+         * @param nextRollout number of the next rollout, shared by all workers
+         */
+        RolloutWorker(GameState[] afterMove, int player, long seed, long deadline,
+                AtomicInteger nextRollout) {
+            this.afterMove = afterMove;
+            this.player = player;
+            this.seed = seed;
+            this.deadline = deadline;
+            this.nextRollout = nextRollout;
+            this.pointsSum = new long[afterMove.length];
+            this.amountRollouts = new int[afterMove.length];
+        }
+
+        @Override
+        protected void compute() {
+            int amountMoves = this.afterMove.length;
+            long lastRollout = (long) amountMoves * rolloutsPerMove;
+            int rollout = this.nextRollout.getAndIncrement();
+            while (rollout < lastRollout && System.nanoTime() < this.deadline) {
+                int move = rollout % amountMoves;
+                GameLogicDizzle game = GameLogicDizzle.fromState(this.afterMove[move],
+                        new SplittableDiceSource(this.seed + rollout));
+                GameResult result = game.playHeadless(this.deadline);
+                if (result != null) {
+                    this.pointsSum[move] += result.getPoints(this.player);
+                    this.amountRollouts[move]++;
+                }
+                rollout = this.nextRollout.getAndIncrement();
+            }
+        }
+    }
+}
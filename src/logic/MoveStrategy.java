@@ -0,0 +1,30 @@
+package logic;
+
+/**
+ * Interface for the way a computer player chooses its next move. A strategy
+ * can be used by several games at the same time, so it mustn't keep any state
+ * of a single game
+ *
+ * Is implemented by
+ * HeuristicStrategy - fixed priorities of the types of cells
+ * MonteCarloStrategy - plays out the rest of the game for every possible move
+ *
+ * @author Mario da Graca (cgt103579)
+ */
+public interface MoveStrategy {
+
+    /**
+     * Chooses the next move of the player whose turn it is
+     *
+     * @param game current game, the player is game.getTurnOf()
+     * @param placeable all cells the player can place a die on, ordered from
+     * the top left to the bottom right (at least one)
+     * @return one of the placeable cells
+     */
+    public Position nextMove(GameLogicDizzle game, Position[] placeable);
+
+    /**
+     * @return name of the strategy (relevant for tournaments)
+     */
+    public String getName();
+}
@@ -1,13 +1,10 @@
 package logic;
 
 import com.google.gson.annotations.Expose;
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashSet;
-import java.util.LinkedList;
-import java.util.List;
 import java.util.Set;
 import java.util.Stack;
+import logic.boards.BitBoard;
 import logic.boards.Board;
 import logic.boards.Field;
 import logic.boards.fieldTypes.FieldProperty;
@@ -46,6 +43,20 @@ public class Player {
      */
     @Expose
     private int flagReachedAs;
+    /**
+     * Order in which the computer prioritises the types of cells
+     */
+    private final static Property[][] PRIORITIES = {
+        {Property.PUZZLE_BLUE, Property.PUZZLE_GREEN},
+        {Property.FLAG_BLUE},
+        {Property.JEWEL_RED},
+        {Property.JEWEL_YELLOW},
+        {Property.JEWEL_BLUE},
+        {Property.ROCKET},
+        {Property.BOMB},
+        {Property.KEY_BLUE, Property.KEY_YELLOW},
+        {Property.KEYHOLE_BLUE, Property.KEYHOLE_YELLOW}
+    };
     /**
      * Current round of this player
      */
@@ -58,6 +69,34 @@ public class Player {
      * State that the player currently is in
      */
     private PlayerState playerState;
+    /**
+     * Cells that are crossed out by this player, as bits of the playing board
+     * (only used when the player has a playing board)
+     */
+    private long checkedMask;
+    /**
+     * Cells that the player has a die on, as bits of the playing board
+     */
+    private long diceOnMask;
+    /**
+     * Cells that are exploded, as bits of the playing board
+     */
+    private long explodedMask;
+    /**
+     * Points of the crossed out and exploded cells, kept up to date with
+     * every change (only used when the player has a playing board)
+     */
+    private ScoreLedger ledger;
+    /**
+     * Zobrist hash of the masks, the flag and the active state of this
+     * player, kept up to date with every change
+     */
+    private long stateHash;
+    /**
+     * Bits of the playing board of a player of a save game, whose cells are
+     * given as bits (null for all other players)
+     */
+    private BitBoard bitBoard;
 
     /**
      * Constructor for testing
@@ -66,6 +105,7 @@ public class Player {
      */
     public Player(Field[][] field) {
         this.board = new Board(field);
+        initLedger();
     }
 
     /**
@@ -81,13 +121,38 @@ public class Player {
     public Player(boolean active, Set<Position> checked, Set<Position> diceOn,
             Set<Position> exploded, int flagReachedAs, Board board) {
         this.active = active;
-        this.checked = checked;
-        this.diceOn = diceOn;
-        this.exploded = exploded;
         this.flagReachedAs = flagReachedAs;
         this.board = board;
+        this.checkedMask = board.getBitBoard().toMask(checked);
+        this.diceOnMask = board.getBitBoard().toMask(diceOn);
+        this.explodedMask = board.getBitBoard().toMask(exploded);
+        this.currRound = 0;
+        this.playerState = PlayerState.canPlace;
+        initLedger();
+    }
+
+    /**
+     * Constructor for a player whose cells are given as bits of the playing
+     * board, e.g. when a game is continued from a GameState. The board has to
+     * show the cells already
+     *
+     * @param active
+     * @param checked bits of the crossed out cells
+     * @param diceOn bits of the cells with a die on them
+     * @param exploded bits of the exploded cells
+     * @param flagReachedAs
+     * @param board
+     */
+    Player(boolean active, long checked, long diceOn, long exploded, int flagReachedAs, Board board) {
+        this.active = active;
+        this.flagReachedAs = flagReachedAs;
+        this.board = board;
+        this.checkedMask = checked;
+        this.diceOnMask = diceOn;
+        this.explodedMask = exploded;
         this.currRound = 0;
         this.playerState = PlayerState.canPlace;
+        initLedger();
     }
 
     /**
@@ -111,42 +176,76 @@ public class Player {
     }
 
     /**
-     * Returns the position of the missing cell of a line
+     * Constructor for a player of a save game whose cells are given as bits
+     * of the playing board. The sets of the cells are only created when they
+     * are needed, e.g. to save the game as JSON
      *
-     * @param vert vertical line
-     * @param placedCrossed All the cells the player has crossed out or placed a
-     * die on
-     * @param neighbours the neighbouring and placeable cells of this player
-     * @return null if the missing cell is not a neighbour of this player or the
-     * Position of the missing cell
-     */
-    private Position getMissingPosFromVert(FieldProperty vert, Set<Position> placedCrossed, Set<Position> neighbours) {
-        Position toReturn = null;
-        for (int k = vert.getPositions()[0].getY(); k <= vert.getPositions()[1].getY() && toReturn == null; k++) {
-            Position currPos = new Position(vert.getPositions()[0].getX(), k);
-            if (!placedCrossed.contains(currPos) && neighbours.contains(currPos)) {
-                toReturn = currPos;
-            }
-        }
-        return toReturn;
+     * @param active
+     * @param checked bits of the crossed out cells
+     * @param diceOn bits of the cells with a die on them
+     * @param exploded bits of the exploded cells
+     * @param flagReachedAs
+     * @param bitBoard bits of the playing board
+     */
+    Player(boolean active, long checked, long diceOn, long exploded, int flagReachedAs, BitBoard bitBoard) {
+        this.active = active;
+        this.checkedMask = checked;
+        this.diceOnMask = diceOn;
+        this.explodedMask = exploded;
+        this.flagReachedAs = flagReachedAs;
+        this.bitBoard = bitBoard;
+        this.currRound = 0;
+        this.board = null;
+        this.playerState = null;
+    }
+
+    /**
+     * Creates the score ledger for the playing board and adds the points of
+     * the cells that are already crossed out or exploded
+     */
+    private void initLedger() {
+        this.ledger = new ScoreLedger(this.board);
+        this.ledger.cross(this.checkedMask);
+        this.ledger.explode(this.explodedMask);
+        this.stateHash = computeStateHash();
+    }
+
+    /**
+     * Calculates the Zobrist hash of this player from scratch
+     *
+     * @return hash of the masks, the flag and the active state
+     */
+    long computeStateHash() {
+        return ZobristKeys.player(this.checkedMask, this.diceOnMask, this.explodedMask,
+                this.flagReachedAs, this.active);
+    }
+
+    /**
+     * Returns the Zobrist hash of the masks, the flag and the active state of
+     * this player
+     *
+     * @return hash of the player
+     */
+    public long getStateHash() {
+        return this.stateHash;
     }
 
     /**
-     * Returns the position of the missing cell of a line
+     * Returns the line that only misses one cell. If multiple lines miss only
+     * one cell, the one with the least points is chosen
      *
-     * @param hori horizontal line
+     * @param lines all horizontal or vertical lines of the level
+     * @param lineMasks cells of all lines
      * @param placedCrossed All the cells the player has crossed out or placed a
      * die on
-     * @param neighbours the neighbouring and placeable cells of this player
-     * @return null if the missing cell is not a neighbour of this player or the
-     * Position of the missing cell
-     */
-    private Position getMissingPosFromHori(FieldProperty hori, Set<Position> placedCrossed, Set<Position> neighbours) {
-        Position toReturn = null;
-        for (int k = hori.getPositions()[0].getX(); k <= hori.getPositions()[1].getX() && toReturn == null; k++) {
-            Position currPos = new Position(k, hori.getPositions()[0].getY());
-            if (!placedCrossed.contains(currPos) && neighbours.contains(currPos)) {
-                toReturn = currPos;
+     * @return index of the line or -1 if no line misses only one cell
+     */
+    private int getLineMissingOneCell(FieldProperty[] lines, long[] lineMasks, long placedCrossed) {
+        int toReturn = -1;
+        for (int i = 0; i < lineMasks.length; i++) {
+            if (Long.bitCount(lineMasks[i] & ~placedCrossed) == 1
+                    && (toReturn == -1 || lines[i].getPoints() < lines[toReturn].getPoints())) {
+                toReturn = i;
             }
         }
         return toReturn;
@@ -155,98 +254,35 @@ public class Player {
     /**
      * Checks if the Player can complete a line with the next move
      *
-     * @param positions the neighbouring and placeable cells of this player
-     * @return null if cant complete a line in the next move or a Position of
-     * the next Move, that completes a line Priotitises the lines with the most
-     * points
-     */
-    private Position checkCompleteLines(Position[] positions) {
-        //Sort by points, makes it easier later to determine which line gives
-        //the most points
-        List<FieldProperty> verticals = new LinkedList<>(Arrays.asList(this.board.getVerticals()));
-        verticals.sort((FieldProperty p1, FieldProperty p2) -> p1.getPoints() - p2.getPoints());
-        List<FieldProperty> horizontals = new LinkedList<>(Arrays.asList(this.board.getHorizontals()));
-        horizontals.sort((FieldProperty p1, FieldProperty p2) -> p1.getPoints() - p2.getPoints());
-        Set<Position> neighbours = new HashSet<>(Arrays.asList(positions));
-        List<Integer> amountMissingVerts = new LinkedList<>();
-        List<Integer> amountMissingHori = new LinkedList<>();
-        Set<Position> placedCrossed = new HashSet<>(this.diceOn);
-        placedCrossed.addAll(this.checked);
-        Position toReturn = null;
-        int counter = 0;
-        int idxVert;
-        int idxHori;
-
-        //Count the amounts of not placed or not crossed out cells for each line
-        for (FieldProperty vertical : verticals) {
-            for (int k = vertical.getPositions()[0].getY(); k <= vertical.getPositions()[1].getY(); k++) {
-                Position currPos = new Position(vertical.getPositions()[0].getX(), k);
-                if (!placedCrossed.contains(currPos)) {
-                    counter++;
-                }
-            }
-            amountMissingVerts.add(counter);
-            counter = 0;
-        }
-
-        for (FieldProperty horizontal : horizontals) {
-            for (int k = horizontal.getPositions()[0].getX(); k <= horizontal.getPositions()[1].getX(); k++) {
-                Position currPos = new Position(k, horizontal.getPositions()[0].getY());
-                if (!placedCrossed.contains(currPos)) {
-                    counter++;
-                }
-            }
-            amountMissingHori.add(counter);
-            counter = 0;
-        }
+     * @param neighbours the neighbouring and placeable cells of this player
+     * @return 0 if cant complete a line in the next move or the cell of the
+     * next Move, that completes a line
+     */
+    private long checkCompleteLines(long neighbours) {
+        long placedCrossed = this.diceOnMask | this.checkedMask;
+        int idxVert = getLineMissingOneCell(this.board.getVerticals(),
+                this.board.getVerticalMasks(), placedCrossed);
+        int idxHori = getLineMissingOneCell(this.board.getHorizontals(),
+                this.board.getHorizontalMasks(), placedCrossed);
+        long missingCell = 0L;
 
         //If a horizontal and a vertical line only need one more cell, determine
         //which one gives more points
-        if (amountMissingHori.contains(1) && amountMissingVerts.contains(1)) {
-            idxVert = amountMissingVerts.indexOf(1);
-            idxHori = amountMissingHori.indexOf(1);
-            if (verticals.get(idxVert).getPoints() >= horizontals.get(idxHori).getPoints()) {
-                //find the missing cell in the vertical line
-                FieldProperty currVert = verticals.get(idxVert);
-                toReturn = getMissingPosFromVert(currVert, placedCrossed, neighbours);
+        if (idxVert != -1 && idxHori != -1) {
+            if (this.board.getVerticals()[idxVert].getPoints() >= this.board.getHorizontals()[idxHori].getPoints()) {
+                missingCell = this.board.getVerticalMasks()[idxVert] & ~placedCrossed;
             } else {
-                //find the missing cell in the horizontal line
-                FieldProperty currHori = horizontals.get(idxHori);
-                toReturn = getMissingPosFromHori(currHori, placedCrossed, neighbours);
+                missingCell = this.board.getHorizontalMasks()[idxHori] & ~placedCrossed;
             }
-        } else if (amountMissingVerts.contains(1)) {
+        } else if (idxVert != -1) {
             //Only a vertical line is missing one cell
-            idxVert = amountMissingVerts.indexOf(1);
-            FieldProperty currVert = verticals.get(idxVert);
-            toReturn = getMissingPosFromVert(currVert, placedCrossed, neighbours);
-
-        } else if (amountMissingHori.contains(1)) {
+            missingCell = this.board.getVerticalMasks()[idxVert] & ~placedCrossed;
+        } else if (idxHori != -1) {
             //Only a horizontal line is mising one cell
-            idxHori = amountMissingHori.indexOf(1);
-            FieldProperty currHori = horizontals.get(idxHori);
-            toReturn = getMissingPosFromHori(currHori, placedCrossed, neighbours);
+            missingCell = this.board.getHorizontalMasks()[idxHori] & ~placedCrossed;
         }
-        return toReturn;
-    }
-
-    /**
-     * Returns the positions of the passed positions that match the passed
-     * property
-     *
-     * @param positions placeable neighbours
-     * @param prop property of the cell that is needed
-     * @return matching positions
-     */
-    private Set<Position> getPositionsAccordingToProperty(Position[] positions, Property prop) {
-        Set<Position> toReturn = new HashSet<>();
-
-        for (Position p : positions) {
-            if (this.board.getField()[p.getY()][p.getX()].getProperty() == prop) {
-                toReturn.add(p);
-            }
-        }
-
-        return toReturn;
+        //the missing cell is only reachable if it is a neighbour
+        return missingCell & neighbours;
     }
 
     /**
@@ -257,91 +293,33 @@ public class Player {
      * @return the next move of this player. If null -> no possible move
      */
     public Position evaluateNextMove(Position[] positions) {
-        List<Position> toReturn = new ArrayList<>();
+        BitBoard bitBoard = this.board.getBitBoard();
+        long neighbours = bitBoard.toMask(positions);
+        long toReturn = 0L;
 
         //"AI" for the computer players. Prioritises certain cells if the 
         //neighbouring cells have certain types
-        Set<Position> temp = new HashSet<>();
-        temp.addAll(getPositionsAccordingToProperty(positions, Property.PUZZLE_BLUE));
-        temp.addAll(getPositionsAccordingToProperty(positions, Property.PUZZLE_GREEN));
-        if (temp.isEmpty()) {
-            temp.clear();
-            temp.addAll(getPositionsAccordingToProperty(positions, Property.FLAG_BLUE));
-            if (temp.isEmpty()) {
-                temp.clear();
-                temp.addAll(getPositionsAccordingToProperty(positions, Property.JEWEL_RED));
-                if (temp.isEmpty()) {
-                    temp.clear();
-                    temp.addAll(getPositionsAccordingToProperty(positions, Property.JEWEL_YELLOW));
-                    if (temp.isEmpty()) {
-                        temp.clear();
-                        temp.addAll(getPositionsAccordingToProperty(positions, Property.JEWEL_BLUE));
-                        if (temp.isEmpty()) {
-                            temp.clear();
-                            temp.addAll(getPositionsAccordingToProperty(positions, Property.ROCKET));
-                            if (temp.isEmpty()) {
-                                temp.clear();
-                                temp.addAll(getPositionsAccordingToProperty(positions, Property.BOMB));
-                                if (temp.isEmpty()) {
-                                    temp.clear();
-                                    temp.addAll(getPositionsAccordingToProperty(positions, Property.KEY_BLUE));
-                                    temp.addAll(getPositionsAccordingToProperty(positions, Property.KEY_YELLOW));
-                                    if (temp.isEmpty()) {
-                                        temp.clear();
-                                        temp.addAll(getPositionsAccordingToProperty(positions, Property.KEYHOLE_BLUE));
-                                        temp.addAll(getPositionsAccordingToProperty(positions, Property.KEYHOLE_YELLOW));
-                                        if (temp.isEmpty()) {
-                                            temp.clear();
-                                            Position currPos = checkCompleteLines(positions);
-                                            if (currPos != null) {
-                                                toReturn.add(currPos);
-                                            } else {
-                                                temp.clear();
-                                                //No cell matched with the AI Criteria
-                                                //random cell is chosen -> highest and most left prioritised
-                                                toReturn.addAll(Arrays.asList(positions));
-                                            }
-                                        } else {
-                                            toReturn.addAll(temp);
-                                        }
-                                    } else {
-                                        toReturn.addAll(temp);
-                                    }
-                                } else {
-                                    toReturn.addAll(temp);
-                                }
-                            } else {
-                                toReturn.addAll(temp);
-                            }
-                        } else {
-                            toReturn.addAll(temp);
-                        }
-                    } else {
-                        toReturn.addAll(temp);
-                    }
-                } else {
-                    toReturn.addAll(temp);
-                }
-            } else {
-                toReturn.addAll(temp);
+        for (int i = 0; i < PRIORITIES.length && toReturn == 0L; i++) {
+            for (Property prop : PRIORITIES[i]) {
+                toReturn |= neighbours & this.board.getPropertyMask(prop);
             }
-        } else {
-            toReturn.addAll(temp);
+        }
+        if (toReturn == 0L) {
+            toReturn = checkCompleteLines(neighbours);
+        }
+        if (toReturn == 0L) {
+            //No cell matched with the AI Criteria
+            //random cell is chosen -> highest and most left prioritised
+            toReturn = neighbours;
+        }
+        if (toReturn == 0L) {
+            return null;
         }
 
         //if multiple cells with the same priority are placeable
         //choose the one that is furthest to the top and furthest to the left
-        toReturn.sort((Position p1, Position p2) -> {
-            int result = Integer.compare(p1.getY(), p2.getY());
-            if (result == 0) {
-                // Same Height -> Check which one is further left
-                result = Integer.compare(p1.getX(), p2.getX());
-            }
-            return result;
-        });
-
-        return toReturn.get(0);
-
+        //(lowest bit)
+        return bitBoard.toPosition(Long.numberOfTrailingZeros(toReturn));
     }
 
     /**
@@ -364,7 +342,10 @@ public class Player {
      * @return getChecked
      */
     public Set<Position> getChecked() {
-        return checked;
+        if (this.board == null) {
+            return this.bitBoard == null ? checked : this.bitBoard.toPositions(this.checkedMask);
+        }
+        return this.board.getBitBoard().toPositions(this.checkedMask);
     }
 
     /**
@@ -372,7 +353,10 @@ public class Player {
      * @return getDiceOn
      */
     public Set<Position> getDiceOn() {
-        return new HashSet<>(this.diceOn);
+        if (this.board == null) {
+            return this.bitBoard == null ? new HashSet<>(this.diceOn) : this.bitBoard.toPositions(this.diceOnMask);
+        }
+        return this.board.getBitBoard().toPositions(this.diceOnMask);
     }
 
     /**
@@ -380,7 +364,84 @@ public class Player {
      * @return getExploded
      */
     public Set<Position> getExploded() {
-        return exploded;
+        if (this.board == null) {
+            return this.bitBoard == null ? exploded : this.bitBoard.toPositions(this.explodedMask);
+        }
+        return this.board.getBitBoard().toPositions(this.explodedMask);
+    }
+
+    /**
+     * @return cells that are crossed out by this player
+     */
+    public long getCheckedMask() {
+        return this.checkedMask;
+    }
+
+    /**
+     * Returns the cells that are crossed out by this player as bits, also
+     * for a player of a save game that only has the set of the cells
+     *
+     * @param levelBits bits of the playing board
+     * @return cells that are crossed out by this player
+     */
+    long getCheckedMask(BitBoard levelBits) {
+        return hasOnlySets() ? levelBits.toMask(this.checked) : this.checkedMask;
+    }
+
+    /**
+     * Returns the cells that the player has a die on as bits, also for a
+     * player of a save game that only has the set of the cells
+     *
+     * @param levelBits bits of the playing board
+     * @return cells that the player has a die on
+     */
+    long getDiceOnMask(BitBoard levelBits) {
+        return hasOnlySets() ? levelBits.toMask(this.diceOn) : this.diceOnMask;
+    }
+
+    /**
+     * Returns the exploded cells as bits, also for a player of a save game
+     * that only has the set of the cells
+     *
+     * @param levelBits bits of the playing board
+     * @return cells that are exploded
+     */
+    long getExplodedMask(BitBoard levelBits) {
+        return hasOnlySets() ? levelBits.toMask(this.exploded) : this.explodedMask;
+    }
+
+    /**
+     * @return true if the player only has the sets of its cells and no bits,
+     * e.g. a player of a save game that was read from JSON
+     */
+    private boolean hasOnlySets() {
+        return this.board == null && this.bitBoard == null;
+    }
+
+    /**
+     * Creates the sets of the cells of a player of a save game whose cells
+     * are given as bits, so they can be written as JSON
+     */
+    void createCellSets() {
+        if (this.bitBoard != null && this.checked == null) {
+            this.checked = this.bitBoard.toPositions(this.checkedMask);
+            this.diceOn = this.bitBoard.toPositions(this.diceOnMask);
+            this.exploded = this.bitBoard.toPositions(this.explodedMask);
+        }
+    }
+
+    /**
+     * @return cells that the player has a die on
+     */
+    public long getDiceOnMask() {
+        return this.diceOnMask;
+    }
+
+    /**
+     * @return cells that are exploded
+     */
+    public long getExplodedMask() {
+        return this.explodedMask;
     }
 
     /**
@@ -396,6 +457,7 @@ public class Player {
      * @param active
      */
     public void setActive(boolean active) {
+        this.stateHash ^= ZobristKeys.active(this.active) ^ ZobristKeys.active(active);
         this.active = active;
     }
 
@@ -404,6 +466,7 @@ public class Player {
      * @param flagReachedAs
      */
     public void setFlagReachedAs(int flagReachedAs) {
+        this.stateHash ^= ZobristKeys.flagReached(this.flagReachedAs) ^ ZobristKeys.flagReached(flagReachedAs);
         this.flagReachedAs = flagReachedAs;
     }
 
@@ -412,7 +475,7 @@ public class Player {
      * @param pos
      */
     public void addToDiceOn(Position pos) {
-        this.diceOn.add(pos);
+        addCellsToDiceOn(this.board.getBitBoard().bit(pos));
     }
 
     /**
@@ -420,7 +483,7 @@ public class Player {
      * @param pos
      */
     public void addToChecked(Position pos) {
-        this.checked.add(pos);
+        addCellsToChecked(this.board.getBitBoard().bit(pos));
     }
 
     /**
@@ -428,7 +491,7 @@ public class Player {
      * @param pos
      */
     public void addToExploded(Position pos) {
-        this.exploded.add(pos);
+        addCellsToExploded(this.board.getBitBoard().bit(pos));
     }
 
     /**
@@ -436,14 +499,53 @@ public class Player {
      * @param pos
      */
     public void removeFromDiceOn(Position pos) {
-        this.diceOn.remove(new Position(pos.getX(), pos.getY()));
+        removeCellsFromDiceOn(this.board.getBitBoard().bit(pos));
+    }
+
+    /**
+     *
+     * @param cells mask of the cells
+     */
+    public void addCellsToDiceOn(long cells) {
+        this.stateHash ^= ZobristKeys.cells(ZobristKeys.DICE_ON, cells & ~this.diceOnMask);
+        this.diceOnMask |= cells;
+    }
+
+    /**
+     *
+     * @param cells mask of the cells
+     */
+    public void addCellsToChecked(long cells) {
+        this.ledger.cross(cells);
+        this.stateHash ^= ZobristKeys.cells(ZobristKeys.CHECKED, cells & ~this.checkedMask);
+        this.checkedMask |= cells;
+    }
+
+    /**
+     *
+     * @param cells mask of the cells
+     */
+    public void addCellsToExploded(long cells) {
+        this.ledger.explode(cells);
+        this.stateHash ^= ZobristKeys.cells(ZobristKeys.EXPLODED, cells & ~this.explodedMask);
+        this.explodedMask |= cells;
+    }
+
+    /**
+     *
+     * @param cells mask of the cells
+     */
+    public void removeCellsFromDiceOn(long cells) {
+        this.stateHash ^= ZobristKeys.cells(ZobristKeys.DICE_ON, cells & this.diceOnMask);
+        this.diceOnMask &= ~cells;
     }
 
     /**
      *
      */
     public void clearDiceOn() {
-        this.diceOn = new HashSet<>();
+        this.stateHash ^= ZobristKeys.cells(ZobristKeys.DICE_ON, this.diceOnMask);
+        this.diceOnMask = 0L;
     }
 
     /**
@@ -457,7 +559,24 @@ public class Player {
      * @param board the board to set
      */
     public void setBoard(Board board) {
+        if (this.board == null) {
+            //switch from the sets of a saved player to the bits of the board
+            this.checkedMask = board.getBitBoard().toMask(this.checked);
+            this.diceOnMask = board.getBitBoard().toMask(this.diceOn);
+            this.explodedMask = board.getBitBoard().toMask(this.exploded);
+        }
         this.board = board;
+        initLedger();
+    }
+
+    /**
+     * Returns the points of the crossed out and exploded cells of this player
+     * at this moment (without the points of the flag)
+     *
+     * @return points of the cells
+     */
+    public int getCellPoints() {
+        return this.ledger.getPoints();
     }
 
     /**
@@ -484,7 +603,9 @@ public class Player {
      * @param diceOn the diceOn to set
      */
     public void setDiceOn(Set<Position> diceOn) {
-        this.diceOn = diceOn;
+        long newMask = this.board.getBitBoard().toMask(diceOn);
+        this.stateHash ^= ZobristKeys.cells(ZobristKeys.DICE_ON, this.diceOnMask ^ newMask);
+        this.diceOnMask = newMask;
     }
 
     /**
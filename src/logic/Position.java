@@ -1,25 +1,42 @@
 package logic;
 
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.Expose;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
 
 /**
- * Class to represent the Coordinates of cells in the playing Board
+ * Class to represent the Coordinates of cells in the playing Board. Positions
+ * are immutable, so they can be shared and used as keys without copying them.
+ * Positions of small coordinates are cached, use Position.of to get one
  *
  * @author Mario da Graca (cgt103579)
  */
-public class Position {
+@JsonAdapter(Position.Adapter.class)
+public final class Position {
+
+    //Amount of cached coordinates in every direction, covers every level
+    private final static int CACHE_SIZE = 16;
+    //Cached positions, index is y * CACHE_SIZE + x
+    private final static Position[] CACHE = createCache();
 
     /**
      * x coordinate
      */
     @Expose
-    private int x;
+    private final int x;
 
     /**
      * y coordinate
      */
     @Expose
-    private int y;
+    private final int y;
+
+    //Hash of the coordinates, computed once
+    private final transient int hash;
 
     /**
      * Constructor with 2 parameter
@@ -27,23 +44,43 @@ public class Position {
      * @param x coordinate
      * @param y coordinate
      */
-    public Position(int x, int y) {
+    private Position(int x, int y) {
         this.x = x;
         this.y = y;
+        int toHash = 7;
+        toHash = 11 * toHash + x;
+        toHash = 11 * toHash + y;
+        this.hash = toHash;
     }
 
     /**
-     * @param x the x to set
+     * Returns the Position of the coordinates. Positions inside of the cache
+     * are shared, all others are created
+     *
+     * @param x coordinate
+     * @param y coordinate
+     * @return Position of the coordinates
      */
-    public void setX(int x) {
-        this.x = x;
+    public static Position of(int x, int y) {
+        if (x >= 0 && y >= 0 && x < CACHE_SIZE && y < CACHE_SIZE) {
+            return CACHE[y * CACHE_SIZE + x];
+        }
+        return new Position(x, y);
     }
 
     /**
-     * @param y the y to set
+     * Creates the cached positions
+     *
+     * @return positions of all cached coordinates
      */
-    public void setY(int y) {
-        this.y = y;
+    private static Position[] createCache() {
+        Position[] toReturn = new Position[CACHE_SIZE * CACHE_SIZE];
+        for (int y = 0; y < CACHE_SIZE; y++) {
+            for (int x = 0; x < CACHE_SIZE; x++) {
+                toReturn[y * CACHE_SIZE + x] = new Position(x, y);
+            }
+        }
+        return toReturn;
     }
 
     /**
@@ -93,9 +130,52 @@ public class Position {
 
     @Override
     public int hashCode() {
-        int hash = 7;
-        hash = 11 * hash + this.x;
-        hash = 11 * hash + this.y;
-        return hash;
+        return this.hash;
+    }
+
+    /**
+     * Reads and writes Positions in the same format as the fields of the
+     * class ({"x":..,"y":..}). Gson would otherwise create Positions without
+     * the constructor, so their hash would be missing and they wouldn't come
+     * from the cache
+     */
+    static final class Adapter extends TypeAdapter<Position> {
+
+        @Override
+        public void write(JsonWriter out, Position pos) throws IOException {
+            if (pos == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("x").value(pos.x);
+            out.name("y").value(pos.y);
+            out.endObject();
+        }
+
+        @Override
+        public Position read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            int x = 0;
+            int y = 0;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "x":
+                        x = in.nextInt();
+                        break;
+                    case "y":
+                        y = in.nextInt();
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return Position.of(x, y);
+        }
     }
 }
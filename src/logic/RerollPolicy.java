@@ -0,0 +1,52 @@
+package logic;
+
+/**
+ * Interface for the decisions of a computer player that can't place any of the
+ * dice of the dice cup: roll the dice cup again or skip, and which die to put
+ * back if the rolled dice can't be placed either. A policy can be used by
+ * several games at the same time, so it mustn't keep any state of a single
+ * game
+ *
+ * Is implemented by
+ * ExpectimaxRerollPolicy - weighs all outcomes of the roll by their probability
+ * RerollPolicy.NEVER - always skips
+ *
+ * @author Mario da Graca (cgt103579)
+ */
+public interface RerollPolicy {
+
+    /**
+     * Policy that never rolls the dice cup again and always skips
+     */
+    public final static RerollPolicy NEVER = new RerollPolicy() {
+        @Override
+        public boolean shouldReroll(GameLogicDizzle game) {
+            return false;
+        }
+
+        @Override
+        public Position dieToPutBack(GameLogicDizzle game, Position[] placed) {
+            return placed[0];
+        }
+    };
+
+    /**
+     * Decides if the player whose turn it is rolls the dice cup again instead
+     * of skipping. Only called if none of the dice is placeable for him
+     *
+     * @param game current game, the player is game.getTurnOf()
+     * @return true to roll the dice cup again, false to skip
+     */
+    public boolean shouldReroll(GameLogicDizzle game);
+
+    /**
+     * Chooses the die that the player puts back in the dice cup, because none
+     * of the rolled dice is placeable for him
+     *
+     * @param game current game, the player is game.getTurnOf()
+     * @param placed all cells the player placed a die on in this turn,
+     * ordered from the top left to the bottom right (at least one)
+     * @return one of the placed cells
+     */
+    public Position dieToPutBack(GameLogicDizzle game, Position[] placed);
+}
@@ -6,17 +6,66 @@ import com.google.gson.JsonIOException;
 import com.google.gson.annotations.Expose;
 import java.io.IOException;
 import java.io.Writer;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.zip.CRC32;
+import logic.boards.BitBoard;
+import logic.boards.LevelTemplate;
+import logic.exceptions.LevelParsingException;
 import logic.exceptions.LevelSavingException;
 
 /**
- * Class that handles the saving of a game
+ * Class that handles the saving of a game. A game can be saved as JSON or in
+ * a compact binary format. The binary format (big endian) is
+ * <pre>
+ * int    magic number "DZLS"
+ * byte   version
+ * byte   levelNo, round, turnOf, amount of players
+ * byte   amount of dice of every face value (1 to 6)
+ * per player:
+ *   byte flags (bit 0: active), flagReachedAs
+ *   long checked, diceOn and exploded cells as bits of the board
+ * int    CRC32 of all previous bytes
+ * </pre>
  *
  * @author Mario da Graca (cgt103579)
  */
 public class SaveGame {
 
+    /**
+     * First bytes of every binary save game ("DZLS")
+     */
+    public final static int BINARY_MAGIC = 0x445A4C53;
+
+    /**
+     * Version of the binary format that is written
+     */
+    public final static int BINARY_VERSION = 1;
+
+    /**
+     * File extension of binary save games
+     */
+    public final static String BINARY_EXTENSION = ".dzl";
+
+    //Bytes of the header (magic, version, levelNo, round, turnOf, players)
+    private final static int HEADER_SIZE = 9;
+    //Bytes of the amounts of dice
+    private final static int DICE_SIZE = Die.MAX_FACE_VALUE;
+    //Bytes of every player
+    private final static int PLAYER_SIZE = 2 + 3 * Long.BYTES;
+    //Bytes of the checksum
+    private final static int CHECKSUM_SIZE = Integer.BYTES;
+    //Bit of the flags of a player, that is set if the player is active
+    private final static int FLAG_ACTIVE = 1;
+    //Largest value that is stored in a byte
+    private final static int MAX_BYTE_VALUE = 0xFF;
+
+    /**
+     * Gson instance for all save games, only the exposed fields are saved
+     */
+    private final static Gson GSON = new GsonBuilder().excludeFieldsWithoutExposeAnnotation().setPrettyPrinting().create();
+
     /**
      * Level number of the saved game
      */
@@ -69,16 +118,17 @@ public class SaveGame {
      */
     public void saveToJSON(String name) throws LevelSavingException {
         try {
-            // create Gson instance with pretty-print
-            Gson gson = new GsonBuilder().excludeFieldsWithoutExposeAnnotation().setPrettyPrinting().create();
-
             // create a writer
             Writer writer;
             writer = Files.newBufferedWriter(Paths.get(name));
 
             if (this.players != null) {
+                // only the sets of the cells are written
+                for (Player player : this.players) {
+                    player.createCellSets();
+                }
                 // convert save game object to JSON file
-                gson.toJson(this, writer);
+                GSON.toJson(this, writer);
             } else {
                 throw new LevelSavingException("There was an error in the save game.\nNo players were created.\nTry again later.");
             }
@@ -92,6 +142,177 @@ public class SaveGame {
         }
     }
 
+    /**
+     * Saves the current Game to a file in the binary format
+     *
+     * @param name of the file
+     * @throws LevelSavingException gets thrown if any type of error occurs
+     * while trying to save
+     */
+    public void saveToBinary(String name) throws LevelSavingException {
+        byte[] data = toBinary();
+        try {
+            Files.write(Paths.get(name), data);
+        } catch (IOException | RuntimeException e) {
+            throw new LevelSavingException("There was an error writing to the save file.\nTry another filename.\n" + e.getMessage());
+        }
+    }
+
+    /**
+     * Converts the game to the binary format
+     *
+     * @return bytes of the saved game
+     * @throws LevelSavingException gets thrown if the game can't be stored in
+     * the binary format
+     */
+    public byte[] toBinary() throws LevelSavingException {
+        if (this.players == null) {
+            throw new LevelSavingException("There was an error in the save game.\nNo players were created.\nTry again later.");
+        }
+        if (!fitsInByte(this.levelNo) || !fitsInByte(this.round) || !fitsInByte(this.turnOf)
+                || !fitsInByte(this.players.length)) {
+            throw new LevelSavingException("There was an error in the save game.\nThe game is too big for the binary format.");
+        }
+        BitBoard bitBoard;
+        try {
+            bitBoard = LevelTemplate.get(this.levelNo).getBitBoard();
+        } catch (LevelParsingException e) {
+            throw new LevelSavingException("There was an error in the save game.\n" + e.getMessage());
+        }
+
+        int[] counts = new int[Die.MAX_FACE_VALUE + 1];
+        for (int faceValue : this.dice) {
+            if (faceValue < 1 || faceValue > Die.MAX_FACE_VALUE || ++counts[faceValue] > MAX_BYTE_VALUE) {
+                throw new LevelSavingException("There was an error in the save game.\nIllegal dice cup.");
+            }
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(getBinarySize(this.players.length));
+        buffer.putInt(BINARY_MAGIC);
+        buffer.put((byte) BINARY_VERSION);
+        buffer.put((byte) this.levelNo);
+        buffer.put((byte) this.round);
+        buffer.put((byte) this.turnOf);
+        buffer.put((byte) this.players.length);
+        for (int faceValue = 1; faceValue <= Die.MAX_FACE_VALUE; faceValue++) {
+            buffer.put((byte) counts[faceValue]);
+        }
+        for (Player player : this.players) {
+            if (player.getFlagReachedAs() < Byte.MIN_VALUE || player.getFlagReachedAs() > Byte.MAX_VALUE) {
+                throw new LevelSavingException("There was an error in the save game.\nIllegal player data.");
+            }
+            buffer.put((byte) (player.isActive() ? FLAG_ACTIVE : 0));
+            buffer.put((byte) player.getFlagReachedAs());
+            buffer.putLong(player.getCheckedMask(bitBoard));
+            buffer.putLong(player.getDiceOnMask(bitBoard));
+            buffer.putLong(player.getExplodedMask(bitBoard));
+        }
+        buffer.putInt(checksum(buffer.array(), buffer.position()));
+        return buffer.array();
+    }
+
+    /**
+     * Checks if the bytes start like a binary save game
+     *
+     * @param data content of a file
+     * @return true if the data starts with the magic number
+     */
+    public static boolean isBinary(byte[] data) {
+        return data.length >= Integer.BYTES && ByteBuffer.wrap(data).getInt() == BINARY_MAGIC;
+    }
+
+    /**
+     * Reads a game that was saved in the binary format
+     *
+     * @param data bytes of the saved game
+     * @return the saved game, the players only have their sets of cells
+     * @throws LevelParsingException gets thrown if the data isn't a valid
+     * binary save game
+     */
+    public static SaveGame fromBinary(byte[] data) throws LevelParsingException {
+        if (!isBinary(data) || data.length < HEADER_SIZE + DICE_SIZE + CHECKSUM_SIZE) {
+            throw new LevelParsingException("The file you're trying to load is no binary save game.\nTry another file.");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        buffer.getInt();
+        int version = buffer.get() & MAX_BYTE_VALUE;
+        if (version != BINARY_VERSION) {
+            throw new LevelParsingException("The save game has the unknown version " + version + ".\nTry another file.");
+        }
+        int storedChecksum = ByteBuffer.wrap(data, data.length - CHECKSUM_SIZE, CHECKSUM_SIZE).getInt();
+        if (storedChecksum != checksum(data, data.length - CHECKSUM_SIZE)) {
+            throw new LevelParsingException("The save game file is damaged.\nTry another file.");
+        }
+        int levelNo = buffer.get() & MAX_BYTE_VALUE;
+        int round = buffer.get() & MAX_BYTE_VALUE;
+        int turnOf = buffer.get() & MAX_BYTE_VALUE;
+        int amountPlayers = buffer.get() & MAX_BYTE_VALUE;
+        if (data.length != getBinarySize(amountPlayers)) {
+            throw new LevelParsingException("The save game file has the wrong size.\nTry another file.");
+        }
+
+        int[] counts = new int[Die.MAX_FACE_VALUE + 1];
+        int amountDice = 0;
+        for (int faceValue = 1; faceValue <= Die.MAX_FACE_VALUE; faceValue++) {
+            counts[faceValue] = buffer.get() & MAX_BYTE_VALUE;
+            amountDice += counts[faceValue];
+        }
+        int[] dice = new int[amountDice];
+        int i = 0;
+        for (int faceValue = 1; faceValue <= Die.MAX_FACE_VALUE; faceValue++) {
+            for (int k = 0; k < counts[faceValue]; k++) {
+                dice[i++] = faceValue;
+            }
+        }
+
+        BitBoard bitBoard = LevelTemplate.get(levelNo).getBitBoard();
+        Player[] players = new Player[amountPlayers];
+        for (int p = 0; p < amountPlayers; p++) {
+            int flags = buffer.get() & MAX_BYTE_VALUE;
+            int flagReachedAs = buffer.get();
+            long checked = buffer.getLong();
+            long diceOn = buffer.getLong();
+            long exploded = buffer.getLong();
+            if (((checked | diceOn | exploded) & ~bitBoard.getAllCells()) != 0L) {
+                throw new LevelParsingException("The save game has cells outside of the board.\nTry another file.");
+            }
+            players[p] = new Player((flags & FLAG_ACTIVE) != 0, checked, diceOn, exploded,
+                    flagReachedAs, bitBoard);
+        }
+        return new SaveGame(levelNo, round, turnOf, dice, players);
+    }
+
+    /**
+     * Returns the size of a binary save game
+     *
+     * @param amountPlayers amount of players in the game
+     * @return amount of bytes
+     */
+    private static int getBinarySize(int amountPlayers) {
+        return HEADER_SIZE + DICE_SIZE + amountPlayers * PLAYER_SIZE + CHECKSUM_SIZE;
+    }
+
+    /**
+     * @param value value to be stored
+     * @return true if the value can be stored in an unsigned byte
+     */
+    private static boolean fitsInByte(int value) {
+        return value >= 0 && value <= MAX_BYTE_VALUE;
+    }
+
+    /**
+     * Calculates the CRC32 of the first bytes of the data
+     *
+     * @param data bytes
+     * @param length amount of bytes that are checked
+     * @return checksum
+     */
+    private static int checksum(byte[] data, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, length);
+        return (int) crc.getValue();
+    }
+
     /**
      *
      * @return levelNo
@@ -0,0 +1,132 @@
+package logic;
+
+import logic.boards.Board;
+import logic.boards.SpecialCellIndex;
+import logic.boards.fieldTypes.FieldProperty;
+
+/**
+ * Class that keeps the points a player gets for his crossed out and exploded
+ * cells up to date while the game is played. Every puzzle, vertical and
+ * horizontal line counts how many of its cells are still missing and gives
+ * its points as soon as none is missing, every crossed out jewel gives its
+ * points right away. Only the groups of the newly crossed out cells are looked
+ * at, they are taken from the special cell index of the board. The points of
+ * the flag are not part of the ledger, they depend on the order in which the
+ * players reached it
+ *
+ * @author Mario da Graca (cgt103579)
+ */
+public class ScoreLedger {
+
+    /**
+     * Points a player loses for every exploded bomb
+     */
+    public final static int POINTS_PER_EXPLODED = -2;
+
+    //Special cells of the level with the groups of every cell
+    private final SpecialCellIndex specialCells;
+    //Cells of all puzzles, verticals and horizontals
+    private final long[] groupMasks;
+    //Points of all puzzles, verticals and horizontals
+    private final int[] groupPoints;
+    //Cells of every jewel type
+    private final long[] jewelMasks;
+    //Points of every jewel type
+    private final int[] jewelPoints;
+    //Amount of cells of every group that aren't crossed out yet
+    private final int[] missingCells;
+    //Cells that were already crossed out
+    private long crossed;
+    //Cells that already exploded
+    private long exploded;
+    //Current points
+    private int points;
+
+    /**
+     * Constructor for a player that hasn't crossed out any cell yet
+     *
+     * @param board playing board of the player
+     */
+    public ScoreLedger(Board board) {
+        FieldProperty[] puzzles = board.getPuzzles();
+        FieldProperty[] verticals = board.getVerticals();
+        FieldProperty[] horizontals = board.getHorizontals();
+        this.specialCells = board.getSpecialCells();
+        //boards for testing have no level data and no groups
+        int amountGroups = this.specialCells.getAmountGroups();
+        this.groupMasks = new long[amountGroups];
+        this.groupPoints = new int[amountGroups];
+        this.missingCells = new int[amountGroups];
+        int group = 0;
+        for (int i = 0; group < amountGroups && i < puzzles.length; i++, group++) {
+            this.groupPoints[group] = puzzles[i].getPoints();
+        }
+        for (int i = 0; group < amountGroups && i < verticals.length; i++, group++) {
+            this.groupPoints[group] = verticals[i].getPoints();
+        }
+        for (int i = 0; group < amountGroups && i < horizontals.length; i++, group++) {
+            this.groupPoints[group] = horizontals[i].getPoints();
+        }
+        for (int i = 0; i < amountGroups; i++) {
+            this.groupMasks[i] = this.specialCells.getGroupMask(i);
+            this.missingCells[i] = Long.bitCount(this.groupMasks[i]);
+        }
+
+        FieldProperty[] jewels = board.getJewels();
+        int amountJewels = jewels == null ? 0 : board.getJewelMasks().length;
+        this.jewelMasks = new long[amountJewels];
+        this.jewelPoints = new int[amountJewels];
+        for (int i = 0; i < amountJewels; i++) {
+            this.jewelMasks[i] = board.getJewelMasks()[i];
+            this.jewelPoints[i] = jewels[i].getPoints();
+        }
+        this.crossed = 0L;
+        this.exploded = 0L;
+        this.points = 0;
+    }
+
+    /**
+     * Adds the points of newly crossed out cells. Cells that were already
+     * crossed out are ignored
+     *
+     * @param cells mask of the crossed out cells
+     */
+    public void cross(long cells) {
+        long newCells = cells & ~this.crossed;
+        if (newCells == 0L) {
+            return;
+        }
+        this.crossed |= newCells;
+        long groups = this.specialCells.getGroupsOfCells(newCells);
+        while (groups != 0L) {
+            int i = Long.numberOfTrailingZeros(groups);
+            groups &= groups - 1;
+            this.missingCells[i] -= Long.bitCount(this.groupMasks[i] & newCells);
+            if (this.missingCells[i] == 0) {
+                this.points += this.groupPoints[i];
+            }
+        }
+        for (int i = 0; i < this.jewelMasks.length; i++) {
+            this.points += Long.bitCount(this.jewelMasks[i] & newCells) * this.jewelPoints[i];
+        }
+    }
+
+    /**
+     * Subtracts the points of newly exploded bombs. Bombs that already
+     * exploded are ignored
+     *
+     * @param cells mask of the exploded cells
+     */
+    public void explode(long cells) {
+        long newCells = cells & ~this.exploded;
+        this.exploded |= newCells;
+        this.points += Long.bitCount(newCells) * POINTS_PER_EXPLODED;
+    }
+
+    /**
+     * @return current points of the crossed out and exploded cells
+     */
+    public int getPoints() {
+        return this.points;
+    }
+}
@@ -0,0 +1,57 @@
+package logic;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Seeded source for dice that is based on a SplittableRandom. A source is not
+ * thread safe and belongs to one game, a source for another game is created
+ * via split()
+ *
+ * @author Mario da Graca (cgt103579)
+ */
+public final class SplittableDiceSource implements DiceSource {
+
+    //Seed this source was created with
+    private final long seed;
+    //Random number generator the dice are rolled with
+    private final SplittableRandom random;
+
+    /**
+     * Constructor for a source with a random seed
+     */
+    public SplittableDiceSource() {
+        this(ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Constructor
+     *
+     * @param seed seed the dice are rolled with
+     */
+    public SplittableDiceSource(long seed) {
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public int nextFaceValue() {
+        return this.random.nextInt(1, Die.MAX_FACE_VALUE + 1);
+    }
+
+    @Override
+    public long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * Creates a new source whose seed is the next value of this source, so the
+     * new source can be replayed by its own seed
+     *
+     * @return new source
+     */
+    @Override
+    public DiceSource split() {
+        return new SplittableDiceSource(this.random.nextLong());
+    }
+}
@@ -0,0 +1,183 @@
+package logic;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Table of fixed size that stores the results of searched game states by
+ * their Zobrist hash, so a search doesn't have to search the same state twice
+ * (e.g. the same dice played in a different order). The table can be shared
+ * by all threads of a search without locks: every entry is stored as two
+ * longs, the data and the hash xor the data. An entry that was torn by two
+ * threads writing at the same time doesn't match its hash anymore and is
+ * treated as missing.
+ * <p>
+ * Every hash has a bucket of two entries. The first entry keeps the result of
+ * the deepest search and is only replaced by a search of at least the same
+ * depth, the second entry is always replaced
+ *
+ * @author Mario da Graca (cgt103579)
+ */
+public final class TranspositionTable {
+
+    /**
+     * Returned by probe if the table has no entry for the hash
+     */
+    public final static long NO_ENTRY = 0L;
+
+    /**
+     * Stored instead of a move if the entry has no best move
+     */
+    public final static int NO_MOVE = 0xFFFF;
+
+    /**
+     * Maximum depth of an entry
+     */
+    public final static int MAX_DEPTH = 0x7FFF;
+
+    //Bit that marks a used entry, so no valid data is 0
+    private final static long VALID = 1L << 63;
+    //Longs per entry (hash xor data, data)
+    private final static int ENTRY_SIZE = 2;
+    //Entries per bucket (depth preferred, always replaced)
+    private final static int BUCKET_SIZE = 2;
+
+    //Entries of all buckets
+    private final AtomicLongArray entries;
+    //Bits of the hash that select the bucket
+    private final int bucketMask;
+
+    /**
+     * Constructor
+     *
+     * @param minEntries minimum amount of entries, rounded up to the next
+     * power of two
+     */
+    public TranspositionTable(int minEntries) {
+        if (minEntries <= 0 || minEntries > (1 << 28)) {
+            throw new IllegalArgumentException("Illegal amount of entries: " + minEntries);
+        }
+        int amountBuckets = Math.max(1, Integer.highestOneBit(minEntries * 2 - 1) / BUCKET_SIZE);
+        this.entries = new AtomicLongArray(amountBuckets * BUCKET_SIZE * ENTRY_SIZE);
+        this.bucketMask = amountBuckets - 1;
+    }
+
+    /**
+     * @return amount of entries of the table
+     */
+    public int capacity() {
+        return this.entries.length() / ENTRY_SIZE;
+    }
+
+    /**
+     * Returns the index of the first entry of the bucket of a hash
+     *
+     * @param hash hash of the game state
+     * @return index in the entries
+     */
+    private int bucketOf(long hash) {
+        //the lower bits of a zobrist hash are as random as the higher ones
+        return ((int) (hash ^ (hash >>> 32)) & this.bucketMask) * BUCKET_SIZE * ENTRY_SIZE;
+    }
+
+    /**
+     * Returns the data of an entry, if it belongs to the hash
+     *
+     * @param index index of the entry
+     * @param hash hash of the game state
+     * @return data or NO_ENTRY
+     */
+    private long read(int index, long hash) {
+        long data = this.entries.get(index + 1);
+        long check = this.entries.get(index);
+        return (data & VALID) != 0L && (check ^ data) == hash ? data : NO_ENTRY;
+    }
+
+    /**
+     * Writes an entry
+     *
+     * @param index index of the entry
+     * @param hash hash of the game state
+     * @param data data of the entry
+     */
+    private void write(int index, long hash, long data) {
+        this.entries.set(index + 1, data);
+        this.entries.set(index, hash ^ data);
+    }
+
+    /**
+     * Looks up the stored result of a game state
+     *
+     * @param hash hash of the game state
+     * @return data of the entry, that can be read with getValue, getDepth and
+     * getMove, or NO_ENTRY
+     */
+    public long probe(long hash) {
+        int bucket = bucketOf(hash);
+        long toReturn = read(bucket, hash);
+        if (toReturn == NO_ENTRY) {
+            toReturn = read(bucket + ENTRY_SIZE, hash);
+        }
+        return toReturn;
+    }
+
+    /**
+     * Stores the result of a searched game state
+     *
+     * @param hash hash of the game state
+     * @param value result of the search
+     * @param depth depth of the search, between 0 and MAX_DEPTH
+     * @param move index of the best move, between 0 and NO_MOVE
+     */
+    public void store(long hash, int value, int depth, int move) {
+        if (depth < 0 || depth > MAX_DEPTH) {
+            throw new IllegalArgumentException("Illegal depth: " + depth);
+        }
+        if (move < 0 || move > NO_MOVE) {
+            throw new IllegalArgumentException("Illegal move: " + move);
+        }
+        long data = VALID | ((long) depth << 48) | ((long) move << 32) | (value & 0xFFFFFFFFL);
+        int bucket = bucketOf(hash);
+        long deepest = this.entries.get(bucket + 1);
+        //an unused or outdated first entry is replaced by the deeper search
+        if ((deepest & VALID) == 0L
+                || read(bucket, hash) != NO_ENTRY
+                || depth >= getDepth(deepest)) {
+            write(bucket, hash, data);
+        } else {
+            write(bucket + ENTRY_SIZE, hash, data);
+        }
+    }
+
+    /**
+     * Removes all entries
+     */
+    public void clear() {
+        for (int i = 0; i < this.entries.length(); i++) {
+            this.entries.set(i, 0L);
+        }
+    }
+
+    /**
+     * @param entry data of an entry
+     * @return stored result of the search
+     */
+    public static int getValue(long entry) {
+        return (int) entry;
+    }
+
+    /**
+     * @param entry data of an entry
+     * @return depth of the search
+     */
+    public static int getDepth(long entry) {
+        return (int) (entry >>> 48) & MAX_DEPTH;
+    }
+
+    /**
+     * @param entry data of an entry
+     * @return index of the best move or NO_MOVE
+     */
+    public static int getMove(long entry) {
+        return (int) (entry >>> 32) & 0xFFFF;
+    }
+}
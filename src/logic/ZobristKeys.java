@@ -0,0 +1,192 @@
+package logic;
+
+/**
+ * Random keys for the Zobrist hash of a game state. Every part of the state
+ * (a cell in one of the masks of a player, a count of a face value in the dice
+ * cup, the round, ...) has its own key and the hash of a state is the xor of
+ * the keys of all its parts. Changing one part only needs two xors, the key of
+ * the old and of the new part. The keys are the same in every run, so hashes
+ * can be compared between games
+ *
+ * @author Mario da Graca (cgt103579)
+ */
+final class ZobristKeys {
+
+    /**
+     * Cells that the player crossed out
+     */
+    final static int CHECKED = 0;
+
+    /**
+     * Cells that the player has a die on
+     */
+    final static int DICE_ON = 1;
+
+    /**
+     * Cells that exploded on the board of the player
+     */
+    final static int EXPLODED = 2;
+
+    //Seed all keys are derived from
+    private final static long SEED = 0x5DEECE66DL;
+    //Amount of cells of the biggest board
+    private final static int AMOUNT_CELLS = Long.SIZE;
+    //Keys of every cell of every mask of a player
+    private final static long[][] CELLS = createCellKeys();
+    //Kinds of keys that don't belong to a cell
+    private final static int ACTIVE = 0;
+    private final static int FLAG_REACHED = 1;
+    private final static int DIE = 2;
+    private final static int ROUND = 3;
+    private final static int TURN_OF = 4;
+    private final static int STARTING_PLAYER = 5;
+    private final static int FLAG_TIER = 6;
+    private final static int AMOUNT_KINDS = 7;
+
+    /**
+     * Constructor
+     */
+    private ZobristKeys() {
+    }
+
+    /**
+     * Creates the keys of all cells of all masks
+     *
+     * @return keys by mask and index of the cell
+     */
+    private static long[][] createCellKeys() {
+        long[][] toReturn = new long[EXPLODED + 1][AMOUNT_CELLS];
+        for (int mask = 0; mask < toReturn.length; mask++) {
+            for (int cell = 0; cell < AMOUNT_CELLS; cell++) {
+                toReturn[mask][cell] = mix(-(mask * AMOUNT_CELLS + cell + 1));
+            }
+        }
+        return toReturn;
+    }
+
+    /**
+     * Turns a number into a random looking key (finalizer of SplitMix64)
+     *
+     * @param index number of the key
+     * @return key
+     */
+    private static long mix(long index) {
+        long z = SEED + index * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Returns the key of a value of one kind of the state
+     *
+     * @param kind kind of the value
+     * @param value value
+     * @return key
+     */
+    private static long key(int kind, long value) {
+        return mix(value * AMOUNT_KINDS + kind);
+    }
+
+    /**
+     * Returns the xor of the keys of all cells in the mask
+     *
+     * @param mask CHECKED, DICE_ON or EXPLODED
+     * @param cells bits of the cells
+     * @return xor of the keys
+     */
+    static long cells(int mask, long cells) {
+        long[] keys = CELLS[mask];
+        long toReturn = 0L;
+        while (cells != 0L) {
+            toReturn ^= keys[Long.numberOfTrailingZeros(cells)];
+            cells &= cells - 1;
+        }
+        return toReturn;
+    }
+
+    /**
+     * Calculates the hash of a player from scratch
+     *
+     * @param checked bits of the crossed out cells
+     * @param diceOn bits of the cells with a die on them
+     * @param exploded bits of the exploded cells
+     * @param flagReachedAs order in which the player reached the flag
+     * @param active wether the player is active
+     * @return hash of the player
+     */
+    static long player(long checked, long diceOn, long exploded, int flagReachedAs, boolean active) {
+        return cells(CHECKED, checked) ^ cells(DICE_ON, diceOn) ^ cells(EXPLODED, exploded)
+                ^ flagReached(flagReachedAs) ^ active(active);
+    }
+
+    /**
+     * @param active wether the player is active
+     * @return key of the active state of a player
+     */
+    static long active(boolean active) {
+        return active ? key(ACTIVE, 1) : 0L;
+    }
+
+    /**
+     * @param flagReachedAs order in which the player reached the flag
+     * @return key of the order
+     */
+    static long flagReached(int flagReachedAs) {
+        return key(FLAG_REACHED, flagReachedAs);
+    }
+
+    /**
+     * @param faceValue face value of the dice
+     * @param count amount of dice with this face value in the dice cup
+     * @return key of the amount
+     */
+    static long die(int faceValue, int count) {
+        return count == 0 ? 0L : key(DIE, ((long) count << 3) | faceValue);
+    }
+
+    /**
+     * @param round current round
+     * @return key of the round
+     */
+    static long round(int round) {
+        return key(ROUND, round);
+    }
+
+    /**
+     * @param turnOf player whose turn it is
+     * @return key of the player
+     */
+    static long turnOf(int turnOf) {
+        return key(TURN_OF, turnOf);
+    }
+
+    /**
+     * @param startingPlayer player who started the current turn
+     * @return key of the player
+     */
+    static long startingPlayer(int startingPlayer) {
+        return key(STARTING_PLAYER, startingPlayer);
+    }
+
+    /**
+     * @param flagTier ordinal of the points of the flag that are left
+     * @return key of the points
+     */
+    static long flagTier(int flagTier) {
+        return key(FLAG_TIER, flagTier);
+    }
+
+    /**
+     * Moves the hash of a player to his seat. Rotating the hash is the same as
+     * rotating all his keys, so every seat has its own keys and equal players
+     * on different seats don't cancel each other out
+     *
+     * @param playerHash hash of the player
+     * @param seat index of the player
+     * @return hash of the player on this seat
+     */
+    static long seat(long playerHash, int seat) {
+        return Long.rotateLeft(playerHash, seat * 17);
+    }
+}
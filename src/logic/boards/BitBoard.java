@@ -0,0 +1,304 @@
+package logic.boards;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import logic.Position;
+
+/**
+ * Class that describes the geometry of a playing board for the bit based
+ * representation of cells. Every level fits into 64 cells, so any set of cells
+ * can be stored in a single long. The cell at (x, y) is represented by the bit
+ * at index y * width + x, which means iterating the set bits from lowest to
+ * highest visits the cells from the top left to the bottom right
+ *
+ * @author Mario da Graca (cgt103579)
+ */
+public class BitBoard {
+
+    /**
+     * Maximum amount of cells a board can have
+     */
+    public final static int MAX_CELLS = Long.SIZE;
+
+    //Dimension of the board
+    private final int height;
+    private final int width;
+    //Mask with a bit for every cell of the board
+    private final long allCells;
+    //Mask of all cells except the ones in the first column
+    private final long notFirstColumn;
+    //Mask of all cells except the ones in the last column
+    private final long notLastColumn;
+    //Direct neighbours of every single cell
+    private final long[] neighbourMasks;
+    //Position of every single cell, the same instance is returned for a cell
+    private final Position[] positions;
+
+    /**
+     * Constructor
+     *
+     * @param height amount of rows
+     * @param width amount of columns
+     */
+    public BitBoard(int height, int width) {
+        if (height <= 0 || width <= 0 || height * width > MAX_CELLS) {
+            throw new IllegalArgumentException("A playing board needs between 1 and "
+                    + MAX_CELLS + " cells, but has " + height + "x" + width);
+        }
+        this.height = height;
+        this.width = width;
+        int amountCells = height * width;
+        this.allCells = amountCells == MAX_CELLS ? -1L : (1L << amountCells) - 1;
+
+        long firstColumn = 0L;
+        long lastColumn = 0L;
+        for (int y = 0; y < height; y++) {
+            firstColumn |= bit(0, y);
+            lastColumn |= bit(width - 1, y);
+        }
+        this.notFirstColumn = this.allCells & ~firstColumn;
+        this.notLastColumn = this.allCells & ~lastColumn;
+
+        this.neighbourMasks = new long[amountCells];
+        for (int i = 0; i < amountCells; i++) {
+            this.neighbourMasks[i] = neighbours(1L << i);
+        }
+        this.positions = new Position[amountCells];
+        for (int i = 0; i < amountCells; i++) {
+            this.positions[i] = Position.of(getX(i), getY(i));
+        }
+    }
+
+    /**
+     * Checks if a board with the given dimension can be represented with bits
+     *
+     * @param height amount of rows
+     * @param width amount of columns
+     * @return true or false wether the board fits
+     */
+    public static boolean fits(int height, int width) {
+        return height > 0 && width > 0 && height * width <= MAX_CELLS;
+    }
+
+    /**
+     * Returns the index of a cell
+     *
+     * @param x coordinate
+     * @param y coordinate
+     * @return index of the cell
+     */
+    public int index(int x, int y) {
+        return y * this.width + x;
+    }
+
+    /**
+     * Returns the index of a cell
+     *
+     * @param pos Position of the cell
+     * @return index of the cell
+     */
+    public int index(Position pos) {
+        return index(pos.getX(), pos.getY());
+    }
+
+    /**
+     * Returns the mask that only contains the given cell
+     *
+     * @param x coordinate
+     * @param y coordinate
+     * @return mask of the cell
+     */
+    public long bit(int x, int y) {
+        return 1L << index(x, y);
+    }
+
+    /**
+     * Returns the mask that only contains the given cell
+     *
+     * @param pos Position of the cell
+     * @return mask of the cell
+     */
+    public long bit(Position pos) {
+        return bit(pos.getX(), pos.getY());
+    }
+
+    /**
+     * @param index of a cell
+     * @return x coordinate of the cell
+     */
+    public int getX(int index) {
+        return index % this.width;
+    }
+
+    /**
+     * @param index of a cell
+     * @return y coordinate of the cell
+     */
+    public int getY(int index) {
+        return index / this.width;
+    }
+
+    /**
+     * Returns the Position of a cell. Every cell has a single Position
+     * instance, so no Position is created
+     *
+     * @param index of the cell
+     * @return Position of the cell
+     */
+    public Position toPosition(int index) {
+        return this.positions[index];
+    }
+
+    /**
+     * Returns the Position of the cell at the coordinates. Cells of the board
+     * have a single Position instance, a new one is only created for
+     * coordinates outside of the board
+     *
+     * @param x coordinate
+     * @param y coordinate
+     * @return Position of the cell
+     */
+    public Position toPosition(int x, int y) {
+        if (x >= 0 && y >= 0 && x < this.width && y < this.height) {
+            return this.positions[index(x, y)];
+        }
+        return Position.of(x, y);
+    }
+
+    /**
+     * Gets all direct neighbours (left, right, upper and lower) of the passed
+     * cells
+     *
+     * @param cells mask of cells
+     * @return mask of all neighbouring cells
+     */
+    public long neighbours(long cells) {
+        long left = (cells & this.notFirstColumn) >>> 1;
+        long right = (cells & this.notLastColumn) << 1;
+        long upper = cells >>> this.width;
+        long lower = cells << this.width;
+        return (left | right | upper | lower) & this.allCells;
+    }
+
+    /**
+     * Gets all direct neighbours of a single cell
+     *
+     * @param index of the cell
+     * @return mask of all neighbouring cells
+     */
+    public long neighboursOf(int index) {
+        return this.neighbourMasks[index];
+    }
+
+    /**
+     * Converts a mask to Positions. The Positions are ordered from the top
+     * left to the bottom right
+     *
+     * @param cells mask of cells
+     * @return Positions of all cells in the mask
+     */
+    public Set<Position> toPositions(long cells) {
+        Set<Position> toReturn = new LinkedHashSet<>();
+        long remaining = cells;
+        while (remaining != 0) {
+            toReturn.add(toPosition(Long.numberOfTrailingZeros(remaining)));
+            remaining &= remaining - 1;
+        }
+        return toReturn;
+    }
+
+    /**
+     * Converts a mask to a sorted array of Positions (top left to the bottom
+     * right)
+     *
+     * @param cells mask of cells
+     * @return Positions of all cells in the mask
+     */
+    public Position[] toPositionArray(long cells) {
+        Position[] toReturn = new Position[Long.bitCount(cells)];
+        long remaining = cells;
+        int i = 0;
+        while (remaining != 0) {
+            toReturn[i] = toPosition(Long.numberOfTrailingZeros(remaining));
+            remaining &= remaining - 1;
+            i++;
+        }
+        return toReturn;
+    }
+
+    /**
+     * Converts Positions to a mask. Positions outside of the board are ignored
+     *
+     * @param positions Positions of cells
+     * @return mask of all cells
+     */
+    public long toMask(Collection<Position> positions) {
+        long toReturn = 0L;
+        if (positions != null) {
+            for (Position pos : positions) {
+                if (contains(pos)) {
+                    toReturn |= bit(pos);
+                }
+            }
+        }
+        return toReturn;
+    }
+
+    /**
+     * Converts Positions to a mask. Positions outside of the board are ignored
+     *
+     * @param positions Positions of cells
+     * @return mask of all cells
+     */
+    public long toMask(Position... positions) {
+        long toReturn = 0L;
+        if (positions != null) {
+            for (Position pos : positions) {
+                if (pos != null && contains(pos)) {
+                    toReturn |= bit(pos);
+                }
+            }
+        }
+        return toReturn;
+    }
+
+    /**
+     * Checks if a Position is within the boundaries of the board
+     *
+     * @param pos Position to be checked
+     * @return true or false
+     */
+    public boolean contains(Position pos) {
+        return pos.getX() >= 0 && pos.getY() >= 0
+                && pos.getX() < this.width && pos.getY() < this.height;
+    }
+
+    /**
+     * @return mask with every cell of the board
+     */
+    public long getAllCells() {
+        return this.allCells;
+    }
+
+    /**
+     * @return the height
+     */
+    public int getHeight() {
+        return this.height;
+    }
+
+    /**
+     * @return the width
+     */
+    public int getWidth() {
+        return this.width;
+    }
+
+    /**
+     * @return the amount of cells
+     */
+    public int getAmountCells() {
+        return this.height * this.width;
+    }
+}
@@ -2,7 +2,10 @@ package logic.boards;
 
 import com.google.gson.Gson;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashSet;
+import java.util.Objects;
 import java.util.Set;
 import java.util.Stack;
 import logic.Die;
@@ -20,6 +23,12 @@ import logic.exceptions.LevelParsingException;
  */
 public class Board {
 
+    //Properties of cells a die can't be placed on
+    private static final Set<Property> NOT_PLACEABLE = EnumSet.of(Property.NOT_REACHABLE,
+            Property.CROSSED, Property.DICE_PLACED, Property.EXPLODED, Property.PLANET,
+            Property.KEYHOLE_BLUE, Property.KEYHOLE_YELLOW);
+    //Properties whose neighbours are kept up to date as frontier
+    private static final Property[] FRONTIER_PROPERTIES = {Property.CROSSED, Property.DICE_PLACED};
     //2D Array that represents the playing board
     private final Field[][] field;
     //LevelData read in from JSON
@@ -50,6 +59,39 @@ public class Board {
     private Set<Position> startingPos;
     //Amount of all placeable cells, needed for early end of game check
     private int amountPlaceableCells;
+    //Geometry of the playing board for the bit representation of cells
+    private BitBoard bitBoard;
+    //Cells of every property, index is the ordinal of the property
+    private long[] propertyMasks;
+    //Cells of every die value, index is the face value
+    private long[] faceMasks;
+    //Cells of the positions of the bombs
+    private long bombMask;
+    //Cells of the starting positions
+    private long startingMask;
+    //Cells of every horizontal line (same order as the level data)
+    private long[] horizontalMasks;
+    //Cells of every vertical line (same order as the level data)
+    private long[] verticalMasks;
+    //Cells of every puzzle (same order as the level data)
+    private long[] puzzleMasks;
+    //Cells of every jewel type (same order as the level data)
+    private long[] jewelMasks;
+    //Special cells of the level, shared by all boards of the level
+    private SpecialCellIndex specialCells;
+    //Content of every cell when the level starts, index is the index of the
+    //cell. Shared by all boards of the level
+    private Field[] levelFields;
+    //Rows that are still shared with the level template, a row is copied
+    //before its first change
+    private long sharedRows;
+    //Cells a die can currently be placed on
+    private long placeableMask;
+    //Amount of neighbours of every cell that have a frontier property, first
+    //index is the index of the property in FRONTIER_PROPERTIES
+    private byte[][] frontierCounts;
+    //Cells that are next to a cell of a frontier property, same index
+    private long[] frontierMasks;
 
     /**
      * Contructor for testing
@@ -59,6 +101,9 @@ public class Board {
     public Board(Field[][] field) {
         this.field = field;
         this.levelData = null;
+        this.bitBoard = new BitBoard(field.length, field[0].length);
+        initMasks();
+        initSpecialCells();
     }
 
     /**
@@ -77,6 +122,7 @@ public class Board {
         this.field = constructBoard();
         setPositionsOfBombsAndStart();
         this.amountPlaceableCells = countPlaceableCells();
+        initBitBoard();
     }
 
     /**
@@ -95,6 +141,102 @@ public class Board {
         this.field = constructBoard();
         setPositionsOfBombsAndStart();
         this.amountPlaceableCells = countPlaceableCells();
+        initBitBoard();
+    }
+
+    /**
+     * Constructor for a compiled level. The level was already validated and
+     * constructed by the LevelCompiler, so only the bit representation is
+     * created from the finished field
+     *
+     * @param levelData level data of the compiled level
+     * @param field constructed playing board
+     * @param bombMask cells of the bombs
+     * @param startingMask cells of the starting positions
+     * @param horizontalMasks cells of every horizontal line
+     * @param verticalMasks cells of every vertical line
+     * @param puzzleMasks cells of every puzzle
+     * @param jewelMasks cells of every jewel type
+     */
+    Board(LevelDataJSON levelData, Field[][] field, long bombMask, long startingMask,
+            long[] horizontalMasks, long[] verticalMasks, long[] puzzleMasks, long[] jewelMasks) {
+        this.levelData = levelData;
+        setAllSpecialFields();
+        this.field = field;
+        this.amountPlaceableCells = countPlaceableCells();
+        this.bitBoard = new BitBoard(field.length, field[0].length);
+        initMasks();
+
+        this.bombMask = bombMask;
+        this.startingMask = startingMask;
+        this.bombOn = this.bitBoard.toPositions(bombMask);
+        this.startingPos = this.bitBoard.toPositions(startingMask);
+        this.horizontalMasks = horizontalMasks;
+        this.verticalMasks = verticalMasks;
+        this.puzzleMasks = puzzleMasks;
+        this.jewelMasks = jewelMasks;
+        initSpecialCells();
+    }
+
+    /**
+     * Constructor for a board of a level template. Everything that never
+     * changes during a game is shared with the template, the rows of the field
+     * are shared until they are changed for the first time (copy-on-write)
+     *
+     * @param template fully constructed and validated board of the level
+     */
+    Board(Board template) {
+        this.levelData = template.levelData;
+        this.dieValueBoard = template.dieValueBoard;
+        this.jewels = template.jewels;
+        this.bombs = template.bombs;
+        this.puzzles = template.puzzles;
+        this.horizontals = template.horizontals;
+        this.verticals = template.verticals;
+        this.keys = template.keys;
+        this.flag = template.flag;
+        this.rocket = template.rocket;
+        this.planet = template.planet;
+        this.bombOn = Collections.unmodifiableSet(template.bombOn);
+        this.startingPos = Collections.unmodifiableSet(template.startingPos);
+        this.amountPlaceableCells = template.amountPlaceableCells;
+        this.bitBoard = template.bitBoard;
+        this.faceMasks = template.faceMasks;
+        this.bombMask = template.bombMask;
+        this.startingMask = template.startingMask;
+        this.horizontalMasks = template.horizontalMasks;
+        this.verticalMasks = template.verticalMasks;
+        this.puzzleMasks = template.puzzleMasks;
+        this.jewelMasks = template.jewelMasks;
+        this.specialCells = template.specialCells;
+        this.levelFields = template.levelFields;
+
+        this.propertyMasks = template.propertyMasks.clone();
+        this.placeableMask = template.placeableMask;
+        this.frontierMasks = template.frontierMasks.clone();
+        this.frontierCounts = new byte[template.frontierCounts.length][];
+        for (int i = 0; i < this.frontierCounts.length; i++) {
+            this.frontierCounts[i] = template.frontierCounts[i].clone();
+        }
+        this.field = template.field.clone();
+        this.sharedRows = this.field.length == Long.SIZE ? -1L : (1L << this.field.length) - 1;
+    }
+
+    /**
+     * Creates an independent copy of this board during a game. The rows of the
+     * field are shared by both boards until one of them changes a row, so
+     * this board stops owning its rows as well. Copying a board whose rows are
+     * all shared already doesn't change it, so such a board can be copied by
+     * several threads at once
+     *
+     * @return copy of this board
+     */
+    public Board copy() {
+        long allRows = this.field.length == Long.SIZE ? -1L : (1L << this.field.length) - 1;
+        if (this.sharedRows != allRows) {
+            this.sharedRows = allRows;
+        }
+        return new Board(this);
     }
 
     /**
@@ -149,15 +291,180 @@ public class Board {
         for (int k = 0; k < this.field.length; k++) {
             for (int m = 0; m < this.field[0].length; m++) {
                 if (this.field[k][m].getProperty() == Property.BOMB) {
-                    this.bombOn.add(new Position(m, k));
+                    this.bombOn.add(Position.of(m, k));
                 }
                 if (this.field[k][m].getProperty() == Property.CROSSED) {
-                    this.startingPos.add(new Position(m, k));
+                    this.startingPos.add(Position.of(m, k));
                 }
             }
         }
     }
 
+    /**
+     * Creates the bit representation of the board from the constructed level
+     *
+     * @throws LevelParsingException Exception when the level has too many
+     * cells to be represented with bits
+     */
+    private void initBitBoard() throws LevelParsingException {
+        if (!BitBoard.fits(this.field.length, this.field[0].length)) {
+            throw new LevelParsingException("The level has too many cells.\nA level can have at most "
+                    + BitBoard.MAX_CELLS + " cells.\nTry another file or fix the level file.");
+        }
+        this.bitBoard = new BitBoard(this.field.length, this.field[0].length);
+        initMasks();
+
+        this.bombMask = this.bitBoard.toMask(this.bombOn);
+        this.startingMask = this.bitBoard.toMask(this.startingPos);
+        this.horizontalMasks = new long[this.horizontals.length];
+        for (int i = 0; i < this.horizontals.length; i++) {
+            this.horizontalMasks[i] = getLineMask(this.horizontals[i]);
+        }
+        this.verticalMasks = new long[this.verticals.length];
+        for (int i = 0; i < this.verticals.length; i++) {
+            this.verticalMasks[i] = getLineMask(this.verticals[i]);
+        }
+        this.puzzleMasks = new long[this.puzzles.length];
+        for (int i = 0; i < this.puzzles.length; i++) {
+            this.puzzleMasks[i] = this.bitBoard.toMask(this.puzzles[i].getPositions());
+        }
+        this.jewelMasks = new long[this.jewels.length];
+        for (int i = 0; i < this.jewels.length; i++) {
+            this.jewelMasks[i] = this.bitBoard.toMask(this.jewels[i].getPositions());
+        }
+        if (this.puzzles.length + this.verticals.length + this.horizontals.length > SpecialCellIndex.MAX_GROUPS) {
+            throw new LevelParsingException("The level has too many lines and puzzles.\nA level can have at most "
+                    + SpecialCellIndex.MAX_GROUPS + " lines and puzzles.\nTry another file or fix the level file.");
+        }
+        initSpecialCells();
+    }
+
+    /**
+     * Creates the index of the special cells from the constructed level and
+     * remembers the content every cell starts with
+     */
+    private void initSpecialCells() {
+        this.specialCells = new SpecialCellIndex(this.bitBoard, this.field, this.propertyMasks,
+                this.puzzleMasks, this.verticalMasks, this.horizontalMasks);
+        this.levelFields = new Field[this.bitBoard.getAmountCells()];
+        for (int i = 0; i < this.levelFields.length; i++) {
+            this.levelFields[i] = this.field[this.bitBoard.getY(i)][this.bitBoard.getX(i)];
+        }
+    }
+
+    /**
+     * Fills the property and face value masks according to the current field.
+     * Level data that isn't present (boards for testing) is left empty
+     */
+    private void initMasks() {
+        this.propertyMasks = new long[Property.values().length];
+        this.faceMasks = new long[Die.MAX_FACE_VALUE + 1];
+        this.placeableMask = 0L;
+        for (int y = 0; y < this.field.length; y++) {
+            for (int x = 0; x < this.field[y].length; x++) {
+                Field cell = this.field[y][x];
+                long currCell = this.bitBoard.bit(x, y);
+                this.propertyMasks[cell.getProperty().ordinal()] |= currCell;
+                if (!NOT_PLACEABLE.contains(cell.getProperty())) {
+                    this.placeableMask |= currCell;
+                }
+                if (cell.getDieValue() != null) {
+                    int faceValue = cell.getDieValue().getfaceValue();
+                    if (faceValue >= 0 && faceValue <= Die.MAX_FACE_VALUE) {
+                        this.faceMasks[faceValue] |= currCell;
+                    }
+                }
+            }
+        }
+        this.horizontalMasks = new long[0];
+        this.verticalMasks = new long[0];
+        this.puzzleMasks = new long[0];
+        this.jewelMasks = new long[0];
+
+        this.frontierCounts = new byte[FRONTIER_PROPERTIES.length][this.bitBoard.getAmountCells()];
+        this.frontierMasks = new long[FRONTIER_PROPERTIES.length];
+        for (int i = 0; i < FRONTIER_PROPERTIES.length; i++) {
+            long cells = getPropertyMask(FRONTIER_PROPERTIES[i]);
+            while (cells != 0L) {
+                addToFrontier(i, Long.numberOfTrailingZeros(cells));
+                cells &= cells - 1;
+            }
+        }
+    }
+
+    /**
+     * Returns the index of a property in FRONTIER_PROPERTIES
+     *
+     * @param prop property of a cell
+     * @return index or -1 if no frontier is kept for this property
+     */
+    private static int getFrontierIndex(Property prop) {
+        for (int i = 0; i < FRONTIER_PROPERTIES.length; i++) {
+            if (FRONTIER_PROPERTIES[i] == prop) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Adds the neighbours of a cell to a frontier
+     *
+     * @param frontier index of the frontier
+     * @param cellIdx index of the cell that got the property of the frontier
+     */
+    private void addToFrontier(int frontier, int cellIdx) {
+        long neighbours = this.bitBoard.neighboursOf(cellIdx);
+        while (neighbours != 0L) {
+            int currIdx = Long.numberOfTrailingZeros(neighbours);
+            this.frontierCounts[frontier][currIdx]++;
+            this.frontierMasks[frontier] |= 1L << currIdx;
+            neighbours &= neighbours - 1;
+        }
+    }
+
+    /**
+     * Removes the neighbours of a cell from a frontier, unless they are still
+     * next to another cell of the frontier
+     *
+     * @param frontier index of the frontier
+     * @param cellIdx index of the cell that lost the property of the frontier
+     */
+    private void removeFromFrontier(int frontier, int cellIdx) {
+        long neighbours = this.bitBoard.neighboursOf(cellIdx);
+        while (neighbours != 0L) {
+            int currIdx = Long.numberOfTrailingZeros(neighbours);
+            this.frontierCounts[frontier][currIdx]--;
+            if (this.frontierCounts[frontier][currIdx] == 0) {
+                this.frontierMasks[frontier] &= ~(1L << currIdx);
+            }
+            neighbours &= neighbours - 1;
+        }
+    }
+
+    /**
+     * Returns the cells of a horizontal or vertical line
+     *
+     * @param line horizontal or vertical line from the level data
+     * @return mask of all cells between the start and end of the line
+     * @throws LevelParsingException Exception when the line is out of bounds
+     */
+    private long getLineMask(FieldProperty line) throws LevelParsingException {
+        Position start = line.getPositions()[0];
+        Position end = line.getPositions()[1];
+        if (!checkPosition(start) || !checkPosition(end)) {
+            throw new LevelParsingException("While creating the level from the given level file, a coordinate out of bounds was parsed.\n"
+                    + "FieldType: line\nPosition: " + start + " - " + end + "\nTry another file or fix the level file.");
+        }
+        long toReturn = 0L;
+        for (int y = start.getY(); y <= end.getY(); y++) {
+            for (int x = start.getX(); x <= end.getX(); x++) {
+                toReturn |= this.bitBoard.bit(x, y);
+            }
+        }
+        return toReturn;
+    }
+
     /**
      * Checks if a Position is a valid Position withing the boundaries of the
      * field
@@ -192,7 +499,7 @@ public class Board {
                     int xcoord = pos.getX();
                     int dieValue = dieValues[ycoord][xcoord];
 
-                    field[ycoord][xcoord] = new Field(property, new Die(dieValue), points);
+                    field[ycoord][xcoord] = Field.of(property, Die.of(dieValue), points);
                 } else {
                     throw new IllegalCoordinatesException("While creating the level from the given level file, a coordinate out of bounds was parsed.\n"
                             + "FieldType: " + property + "\nPosition: " + pos + "\nTry another file or fix the level file.");
@@ -218,7 +525,7 @@ public class Board {
                 if (checkPosition(pos)) {
                     int ycoord = pos.getY();
                     int xcoord = pos.getX();
-                    field[ycoord][xcoord] = new Field(property, null, null);
+                    field[ycoord][xcoord] = Field.of(property, null, null);
                 } else {
                     throw new IllegalCoordinatesException("While creating the level from the given level file, a coordinate out of bounds was parsed.\n"
                             + "FieldType: " + property + "\nPosition: " + pos + "\nTry another file or fix the level file.");
@@ -241,8 +548,7 @@ public class Board {
                 if (checkPosition(pos)) {
                     int ycoord = pos.getY();
                     int xcoord = pos.getX();
-                    field[ycoord][xcoord]
-                            = new Field(Property.NOT_REACHABLE, null, null);
+                    field[ycoord][xcoord] = Field.of(Property.NOT_REACHABLE, null, null);
                 } else {
                     throw new IllegalCoordinatesException("While creating the level from the given level file, a coordinate out of bounds was parsed.\n"
                             + "FieldType: " + Property.NOT_REACHABLE + "\nPosition: " + pos + "\nTry another file or fix the level file.");
@@ -268,7 +574,7 @@ public class Board {
             //Collecting all Cells that cannot be reached
             for (int i = 0; i < this.dieValueBoard.length; i++) {
                 for (int k = 0; k < this.dieValueBoard[i].length; k++) {
-                    Position currPos = new Position(k, i);
+                    Position currPos = Position.of(k, i);
                     if (this.dieValueBoard[i][k] == null) {
                         notReachable.push(currPos);
                     }
@@ -384,7 +690,7 @@ public class Board {
             //Set normal cells
             for (int i = 0; i < propertyField.length; i++) {
                 for (int k = 0; k < propertyField[i].length; k++) {
-                    Position currPos = new Position(k, i);
+                    Position currPos = Position.of(k, i);
                     if (propertyField[i][k] == null) {
                         setSpecialField(this.dieValueBoard, propertyField,
                                 Property.NORMAL, null, currPos);
@@ -412,7 +718,15 @@ public class Board {
      * @param points Amount of points this cell gives
      */
     public void updateCellPutBack(Property property, Position pos, Die die, Stack<Integer> points) {
-        this.field[pos.getY()][pos.getX()] = new Field(property, die, points);
+        int cellIdx = this.bitBoard.index(pos);
+        Field levelField = this.levelFields[cellIdx];
+        //cells with points get the field of the level back
+        if (levelField.getProperty() == property && levelField.getPoints() == points
+                && Objects.equals(levelField.getDieValue(), die)) {
+            updateCell(cellIdx, levelField);
+        } else {
+            updateCell(cellIdx, Field.of(property, die, points));
+        }
     }
 
     /**
@@ -422,7 +736,187 @@ public class Board {
      * @param pos Position of that cell
      */
     public void updateCellAdd(Property property, Position pos) {
-        this.field[pos.getY()][pos.getX()] = new Field(property, null, null);
+        updateCell(this.bitBoard.index(pos), Field.of(property, null, null));
+    }
+
+    /**
+     * Updates several cells at once, e.g. all placed dice at the end of a turn
+     *
+     * @param property new Property of the cells
+     * @param cells mask of the cells
+     */
+    public void updateCellsAdd(Property property, long cells) {
+        Field newField = Field.of(property, null, null);
+        long remaining = cells;
+        while (remaining != 0L) {
+            updateCell(Long.numberOfTrailingZeros(remaining), newField);
+            remaining &= remaining - 1;
+        }
+    }
+
+    /**
+     * Unlocks padlocks, the cells get their die value back and can be placed
+     * on
+     *
+     * @param cells mask of the padlocks
+     */
+    public void unlockPadlocks(long cells) {
+        long remaining = cells & this.specialCells.getAllPadlocksMask();
+        while (remaining != 0L) {
+            int cellIdx = Long.numberOfTrailingZeros(remaining);
+            updateCell(cellIdx, this.specialCells.getUnlockedPadlockField(cellIdx));
+            remaining &= remaining - 1;
+        }
+    }
+
+    /**
+     * Replaces a cell and keeps the property masks, the placeable cells and
+     * the frontiers up to date
+     *
+     * @param pos Position of the cell
+     * @param newField new content of the cell
+     */
+    private void updateCell(Position pos, Field newField) {
+        updateCell(this.bitBoard.index(pos), newField);
+    }
+
+    /**
+     * Replaces a cell and keeps the property masks, the placeable cells and
+     * the frontiers up to date
+     *
+     * @param cellIdx index of the cell
+     * @param newField new content of the cell
+     */
+    private void updateCell(int cellIdx, Field newField) {
+        int x = this.bitBoard.getX(cellIdx);
+        int y = this.bitBoard.getY(cellIdx);
+        long currCell = 1L << cellIdx;
+        long currRow = 1L << y;
+        if ((this.sharedRows & currRow) != 0L) {
+            //first change of this row -> stop sharing it with the template
+            this.field[y] = this.field[y].clone();
+            this.sharedRows &= ~currRow;
+        }
+        Field oldField = this.field[y][x];
+        this.propertyMasks[oldField.getProperty().ordinal()] &= ~currCell;
+        this.propertyMasks[newField.getProperty().ordinal()] |= currCell;
+        this.field[y][x] = newField;
+
+        if (NOT_PLACEABLE.contains(newField.getProperty())) {
+            this.placeableMask &= ~currCell;
+        } else {
+            this.placeableMask |= currCell;
+        }
+        int oldFrontier = getFrontierIndex(oldField.getProperty());
+        int newFrontier = getFrontierIndex(newField.getProperty());
+        if (oldFrontier != newFrontier) {
+            if (oldFrontier != -1) {
+                removeFromFrontier(oldFrontier, cellIdx);
+            }
+            if (newFrontier != -1) {
+                addToFrontier(newFrontier, cellIdx);
+            }
+        }
+    }
+
+    /**
+     * Returns all cells a die can be placed on. A die can't be placed on cells
+     * that are already crossed out, not reachable, exploded, planets, locked
+     * padlocks or already have a die on them
+     *
+     * @return mask of the placeable cells
+     */
+    public long getPlaceableMask() {
+        return this.placeableMask;
+    }
+
+    /**
+     * Returns all placeable cells that are next to a cell of the given
+     * property. The neighbours of crossed and placed cells are kept up to date
+     * with every change of a cell, so no cell has to be looked at
+     *
+     * @param prop CROSSED | DICE_PLACED - neighbours of either crossed or
+     * placed cells
+     * @return mask of the placeable neighbours
+     */
+    public long getPlaceableNeighbourMask(Property prop) {
+        int frontier = getFrontierIndex(prop);
+        if (frontier == -1) {
+            return this.bitBoard.neighbours(getPropertyMask(prop)) & this.placeableMask;
+        }
+        return this.frontierMasks[frontier] & this.placeableMask;
+    }
+
+    /**
+     * @param prop property of the cells
+     * @return mask of all cells that currently have this property
+     */
+    public long getPropertyMask(Property prop) {
+        return this.propertyMasks[prop.ordinal()];
+    }
+
+    /**
+     * @param faceValue value of a die
+     * @return mask of all cells that need this die value
+     */
+    public long getFaceMask(int faceValue) {
+        return this.faceMasks[faceValue];
+    }
+
+    /**
+     * @return the bitBoard
+     */
+    public BitBoard getBitBoard() {
+        return bitBoard;
+    }
+
+    /**
+     * @return the cells of the bombs
+     */
+    public long getBombMask() {
+        return bombMask;
+    }
+
+    /**
+     * @return the cells of the starting positions
+     */
+    public long getStartingMask() {
+        return startingMask;
+    }
+
+    /**
+     * @return the cells of every horizontal line
+     */
+    public long[] getHorizontalMasks() {
+        return horizontalMasks;
+    }
+
+    /**
+     * @return the cells of every vertical line
+     */
+    public long[] getVerticalMasks() {
+        return verticalMasks;
+    }
+
+    /**
+     * @return the cells of every puzzle
+     */
+    public long[] getPuzzleMasks() {
+        return puzzleMasks;
+    }
+
+    /**
+     * @return the cells of every jewel type
+     */
+    public long[] getJewelMasks() {
+        return jewelMasks;
+    }
+
+    /**
+     * @return the special cells of the level
+     */
+    public SpecialCellIndex getSpecialCells() {
+        return specialCells;
     }
 
     /**
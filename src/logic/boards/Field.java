@@ -13,6 +13,11 @@ import logic.boards.fieldTypes.Property;
  */
 public class Field {
 
+    //Shared fields without points, first index is the ordinal of the
+    //property, second index is the face value of the die plus one (0 for
+    //cells without a die)
+    private static final Field[][] SHARED = createSharedFields();
+
     //Type of the cell
     private final Property property;
     //Die that is needed to place this cell
@@ -45,6 +50,47 @@ public class Field {
         this.points = points;
     }
 
+    /**
+     * Returns a field with the given content. Fields are immutable, so all
+     * fields without points are shared per property and die value. Fields
+     * with points are created once per level and shared by all boards of it
+     *
+     * @param property type of the cell
+     * @param dieValue die that is needed to place the cell, null for none
+     * @param points points of the cell, null for none
+     * @return field with the content
+     */
+    public static Field of(Property property, Die dieValue, Stack<Integer> points) {
+        if (points != null) {
+            return new Field(property, dieValue, points);
+        }
+        if (dieValue == null) {
+            return SHARED[property.ordinal()][0];
+        }
+        int faceValue = dieValue.getfaceValue();
+        if (faceValue >= 0 && faceValue <= Die.MAX_FACE_VALUE) {
+            return SHARED[property.ordinal()][faceValue + 1];
+        }
+        return new Field(property, dieValue, null);
+    }
+
+    /**
+     * Creates the shared fields without points
+     *
+     * @return fields for every property and die value
+     */
+    private static Field[][] createSharedFields() {
+        Property[] properties = Property.values();
+        Field[][] toReturn = new Field[properties.length][Die.MAX_FACE_VALUE + 2];
+        for (Property property : properties) {
+            toReturn[property.ordinal()][0] = new Field(property, null, null);
+            for (int faceValue = 0; faceValue <= Die.MAX_FACE_VALUE; faceValue++) {
+                toReturn[property.ordinal()][faceValue + 1] = new Field(property, Die.of(faceValue), null);
+            }
+        }
+        return toReturn;
+    }
+
     /**
      * @return the property
      */
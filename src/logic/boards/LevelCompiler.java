@@ -0,0 +1,558 @@
+package logic.boards;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Stack;
+import java.util.zip.CRC32;
+import logic.Die;
+import logic.Position;
+import logic.boards.fieldTypes.FieldProperty;
+import logic.boards.fieldTypes.Property;
+import logic.boards.fieldTypes.SPFlag;
+import logic.exceptions.LevelParsingException;
+
+/**
+ * Compiles the level files. A level is validated and constructed once when
+ * the project is built and written as a compact binary blob next to its JSON
+ * file. Loading a compiled level needs neither Gson nor the construction of
+ * the board, the finished cells and masks are read directly
+ * <p>
+ * The binary format (big endian):
+ * <pre>
+ * int    magic number "DZLV"
+ * byte   version
+ * byte   height, width
+ * byte   amount of point stacks
+ *   per stack: byte amount of points, int every point
+ * per cell (top left to bottom right):
+ *   byte die value of the level file (-1 if the cell can't be reached)
+ *   byte property, die value of the cell (-1 without die), point stack
+ *        (-1 without points)
+ * jewels, puzzles, horizontal lines, vertical lines:
+ *   byte amount, per entry: int points, positions, long cells
+ * bombs  int points, positions
+ * keys   byte amount, per key: position of the key, positions of the padlocks
+ * flag   byte amount of points (-1 without flag), int every point, position
+ * rocket, planet position
+ * long   cells of the bombs, cells of the starting positions
+ * int    CRC32 of all previous bytes
+ * </pre> A position is the index of its cell (-1 for none), positions are
+ * preceded by their amount (-1 for none)
+ *
+ * @author Mario da Graca (cgt103579)
+ */
+public final class LevelCompiler {
+
+    /**
+     * First bytes of every compiled level ("DZLV")
+     */
+    public final static int MAGIC = 0x445A4C56;
+
+    /**
+     * Version of the format that is written
+     */
+    public final static byte VERSION = 1;
+
+    /**
+     * File extension of compiled levels
+     */
+    public final static String EXTENSION = ".dzlv";
+
+    //Value for a missing value in a byte of the blob
+    private final static byte NONE = -1;
+    //Bytes of the checksum
+    private final static int CHECKSUM_SIZE = Integer.BYTES;
+    //Properties of the cells that are stored in the blob
+    private final static Property[] PROPERTIES = Property.values();
+
+    /**
+     * Utility class
+     */
+    private LevelCompiler() {
+    }
+
+    /**
+     * Compiles all level files of a folder, every LevelX.json is written as
+     * LevelX.dzlv into the same folder. Called when the project is built, the
+     * build fails if a level isn't valid
+     *
+     * @param args folder of the level files
+     */
+    public static void main(String[] args) {
+        if (args.length != 1) {
+            System.err.println("Usage: LevelCompiler <folder of the level files>");
+            System.exit(2);
+        }
+        try (DirectoryStream<Path> levelFiles = Files.newDirectoryStream(Paths.get(args[0]), "Level*.json")) {
+            for (Path levelFile : levelFiles) {
+                String fileName = levelFile.getFileName().toString();
+                LevelDataJSON levelData;
+                try (Reader reader = Files.newBufferedReader(levelFile, StandardCharsets.UTF_8)) {
+                    levelData = new Gson().fromJson(reader, LevelDataJSON.class);
+                } catch (JsonParseException e) {
+                    throw new LevelParsingException(fileName + ": " + e.getMessage(), e);
+                }
+                byte[] compiled;
+                try {
+                    compiled = compile(levelData);
+                } catch (LevelParsingException e) {
+                    throw new LevelParsingException(fileName + ": " + e.getMessage(), e);
+                }
+                Files.write(levelFile.resolveSibling(fileName.substring(0, fileName.length() - ".json".length())
+                        + EXTENSION), compiled);
+            }
+        } catch (IOException | LevelParsingException e) {
+            System.err.println("Compiling the levels failed.\n" + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Validates a level and compiles it
+     *
+     * @param levelData level data read from a level file
+     * @return compiled level
+     * @throws LevelParsingException Exception that occurs when the level isn't
+     * valid
+     */
+    public static byte[] compile(LevelDataJSON levelData) throws LevelParsingException {
+        validate(levelData);
+        Board board = new Board(levelData);
+        Field[][] field = board.getField();
+        Integer[][] dieValues = board.getDieValueBoard();
+        BitBoard bitBoard = board.getBitBoard();
+
+        //the cells of a special field share their points
+        Map<Stack<Integer>, Integer> stackIndices = new IdentityHashMap<>();
+        List<Stack<Integer>> stacks = new ArrayList<>();
+        for (Field[] row : field) {
+            for (Field cell : row) {
+                if (cell.getPoints() != null && !stackIndices.containsKey(cell.getPoints())) {
+                    stackIndices.put(cell.getPoints(), stacks.size());
+                    stacks.add(cell.getPoints());
+                }
+            }
+        }
+        int size = 7 + 1;
+        for (Stack<Integer> stack : stacks) {
+            size += 1 + stack.size() * Integer.BYTES;
+        }
+        size += bitBoard.getAmountCells() * 4;
+        size += getSize(board.getJewels()) + getSize(board.getPuzzles())
+                + getSize(board.getHorizontals()) + getSize(board.getVerticals());
+        size += Integer.BYTES + getSize(board.getBombs().getPositions());
+        size += 1;
+        for (FieldProperty key : board.getKeys()) {
+            size += 1 + getSize(key.getPositions());
+        }
+        size += 1 + (board.getFlag() == null ? 0 : board.getFlag().getPoints().length * Integer.BYTES + 1);
+        size += 2 + 2 * Long.BYTES + CHECKSUM_SIZE;
+        if (stacks.size() > Byte.MAX_VALUE) {
+            throw new LevelParsingException("The level has too many special fields.");
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC);
+        buffer.put(VERSION);
+        buffer.put((byte) field.length);
+        buffer.put((byte) field[0].length);
+        buffer.put((byte) stacks.size());
+        for (Stack<Integer> stack : stacks) {
+            buffer.put((byte) stack.size());
+            for (Integer points : stack) {
+                buffer.putInt(points);
+            }
+        }
+        for (int y = 0; y < field.length; y++) {
+            for (int x = 0; x < field[y].length; x++) {
+                Field cell = field[y][x];
+                buffer.put(dieValues[y][x] == null ? NONE : dieValues[y][x].byteValue());
+                buffer.put((byte) cell.getProperty().ordinal());
+                buffer.put(cell.getDieValue() == null ? NONE : (byte) cell.getDieValue().getfaceValue());
+                buffer.put(cell.getPoints() == null ? NONE : stackIndices.get(cell.getPoints()).byteValue());
+            }
+        }
+        putFieldProperties(buffer, bitBoard, board.getJewels(), board.getJewelMasks());
+        putFieldProperties(buffer, bitBoard, board.getPuzzles(), board.getPuzzleMasks());
+        putFieldProperties(buffer, bitBoard, board.getHorizontals(), board.getHorizontalMasks());
+        putFieldProperties(buffer, bitBoard, board.getVerticals(), board.getVerticalMasks());
+        buffer.putInt(board.getBombs().getPoints());
+        putPositions(buffer, bitBoard, board.getBombs().getPositions());
+        buffer.put((byte) board.getKeys().length);
+        for (FieldProperty key : board.getKeys()) {
+            putPosition(buffer, bitBoard, key.getPosition());
+            putPositions(buffer, bitBoard, key.getPositions());
+        }
+        if (board.getFlag() == null) {
+            buffer.put(NONE);
+        } else {
+            buffer.put((byte) board.getFlag().getPoints().length);
+            for (Integer points : board.getFlag().getPoints()) {
+                buffer.putInt(points);
+            }
+            putPosition(buffer, bitBoard, board.getFlag().getPosition());
+        }
+        putPosition(buffer, bitBoard, board.getRocket());
+        putPosition(buffer, bitBoard, board.getPlanet());
+        buffer.putLong(board.getBombMask());
+        buffer.putLong(board.getStartingMask());
+        buffer.putInt(checksum(buffer.array(), buffer.position()));
+        return buffer.array();
+    }
+
+    /**
+     * Checks everything of a level, that isn't checked while constructing its
+     * board, e.g. missing special fields or a board that can't be stored
+     *
+     * @param levelData level data read from a level file
+     * @throws LevelParsingException Exception that occurs when the level isn't
+     * valid
+     */
+    private static void validate(LevelDataJSON levelData) throws LevelParsingException {
+        if (levelData == null || levelData.getField() == null || levelData.getField().length == 0
+                || levelData.getField()[0] == null || levelData.getField()[0].length == 0) {
+            throw new LevelParsingException("The level has no cells.");
+        }
+        Integer[][] dieValues = levelData.getField();
+        if (!BitBoard.fits(dieValues.length, dieValues[0].length)) {
+            throw new LevelParsingException("The level has too many cells.\nA level can have at most "
+                    + BitBoard.MAX_CELLS + " cells.");
+        }
+        for (Integer[] row : dieValues) {
+            if (row == null || row.length != dieValues[0].length) {
+                throw new LevelParsingException("The rows of the level have different lengths.");
+            }
+            for (Integer dieValue : row) {
+                if (dieValue != null && (dieValue < 0 || dieValue > Byte.MAX_VALUE)) {
+                    throw new LevelParsingException("The level has the illegal die value " + dieValue + ".");
+                }
+            }
+        }
+        if (levelData.getJewels() == null || levelData.getBombs() == null || levelData.getPuzzles() == null
+                || levelData.getHorizontalLines() == null || levelData.getVerticalLines() == null
+                || levelData.getKeys() == null) {
+            throw new LevelParsingException("The level is missing special fields.");
+        }
+        if (levelData.getPuzzles().length + levelData.getHorizontalLines().length
+                + levelData.getVerticalLines().length > SpecialCellIndex.MAX_GROUPS) {
+            throw new LevelParsingException("The level has too many lines and puzzles.\nA level can have at most "
+                    + SpecialCellIndex.MAX_GROUPS + " lines and puzzles.");
+        }
+        for (FieldProperty[] fieldProperties : new FieldProperty[][]{levelData.getJewels(), levelData.getPuzzles()}) {
+            for (FieldProperty fieldProperty : fieldProperties) {
+                if (fieldProperty == null || fieldProperty.getPositions() == null) {
+                    throw new LevelParsingException("The level has a special field without positions.");
+                }
+            }
+        }
+        for (FieldProperty[] lines : new FieldProperty[][]{levelData.getHorizontalLines(), levelData.getVerticalLines()}) {
+            for (FieldProperty line : lines) {
+                if (line == null || line.getPositions() == null || line.getPositions().length != 2) {
+                    throw new LevelParsingException("The level has a line without start and end.");
+                }
+            }
+        }
+        if (levelData.getFlag() != null && (levelData.getFlag().getPoints() == null
+                || levelData.getFlag().getPoints().length > Byte.MAX_VALUE)) {
+            throw new LevelParsingException("The flag of the level has illegal points.");
+        }
+    }
+
+    /**
+     * Returns the size of special fields with their points and cells in the
+     * blob
+     *
+     * @param fieldProperties special fields
+     * @return amount of bytes
+     */
+    private static int getSize(FieldProperty[] fieldProperties) {
+        int toReturn = 1;
+        for (FieldProperty fieldProperty : fieldProperties) {
+            toReturn += Integer.BYTES + getSize(fieldProperty.getPositions()) + Long.BYTES;
+        }
+        return toReturn;
+    }
+
+    /**
+     * Returns the size of positions in the blob
+     *
+     * @param positions positions, can be null
+     * @return amount of bytes
+     */
+    private static int getSize(Position[] positions) {
+        return 1 + (positions == null ? 0 : positions.length);
+    }
+
+    /**
+     * Writes special fields with their points, positions and cells
+     *
+     * @param buffer buffer of the blob
+     * @param bitBoard geometry of the board
+     * @param fieldProperties special fields
+     * @param masks cells of every special field
+     * @throws LevelParsingException Exception that occurs when there are too
+     * many special fields
+     */
+    private static void putFieldProperties(ByteBuffer buffer, BitBoard bitBoard,
+            FieldProperty[] fieldProperties, long[] masks) throws LevelParsingException {
+        if (fieldProperties.length > Byte.MAX_VALUE) {
+            throw new LevelParsingException("The level has too many special fields.");
+        }
+        buffer.put((byte) fieldProperties.length);
+        for (int i = 0; i < fieldProperties.length; i++) {
+            buffer.putInt(fieldProperties[i].getPoints());
+            putPositions(buffer, bitBoard, fieldProperties[i].getPositions());
+            buffer.putLong(masks[i]);
+        }
+    }
+
+    /**
+     * Writes positions
+     *
+     * @param buffer buffer of the blob
+     * @param bitBoard geometry of the board
+     * @param positions positions, can be null
+     * @throws LevelParsingException Exception that occurs when a position is
+     * out of bounds or there are too many positions
+     */
+    private static void putPositions(ByteBuffer buffer, BitBoard bitBoard, Position[] positions)
+            throws LevelParsingException {
+        if (positions == null) {
+            buffer.put(NONE);
+        } else {
+            if (positions.length > Byte.MAX_VALUE) {
+                throw new LevelParsingException("The level has a special field with too many positions.");
+            }
+            buffer.put((byte) positions.length);
+            for (Position pos : positions) {
+                putPosition(buffer, bitBoard, pos);
+            }
+        }
+    }
+
+    /**
+     * Writes a position
+     *
+     * @param buffer buffer of the blob
+     * @param bitBoard geometry of the board
+     * @param pos position, can be null
+     * @throws LevelParsingException Exception that occurs when the position is
+     * out of bounds
+     */
+    private static void putPosition(ByteBuffer buffer, BitBoard bitBoard, Position pos)
+            throws LevelParsingException {
+        if (pos == null) {
+            buffer.put(NONE);
+        } else if (bitBoard.contains(pos)) {
+            buffer.put((byte) bitBoard.index(pos));
+        } else {
+            throw new LevelParsingException("While creating the level from the given level file, a coordinate out of bounds was parsed.\n"
+                    + "Position: " + pos);
+        }
+    }
+
+    /**
+     * Loads a compiled level from the resources
+     *
+     * @param levelPath path to the compiled level, relative to this class
+     * @return board of the level or null if the level wasn't compiled
+     * @throws LevelParsingException Exception that occurs when the compiled
+     * level is damaged
+     */
+    static Board load(String levelPath) throws LevelParsingException {
+        InputStream in = LevelCompiler.class.getResourceAsStream(levelPath);
+        if (in == null) {
+            return null;
+        }
+        try (InputStream compiled = in) {
+            ByteArrayOutputStream data = new ByteArrayOutputStream();
+            byte[] chunk = new byte[1024];
+            int amount;
+            while ((amount = compiled.read(chunk)) != -1) {
+                data.write(chunk, 0, amount);
+            }
+            return read(data.toByteArray());
+        } catch (IOException e) {
+            throw new LevelParsingException("There was an error while loading the level file.\n" + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads a compiled level
+     *
+     * @param data bytes of the compiled level
+     * @return board of the level
+     * @throws LevelParsingException Exception that occurs when the data isn't
+     * a compiled level or is damaged
+     */
+    public static Board read(byte[] data) throws LevelParsingException {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        if (data.length < 7 + CHECKSUM_SIZE || buffer.getInt() != MAGIC) {
+            throw new LevelParsingException("The compiled level file is no compiled level.\nRebuild the project.");
+        }
+        if (buffer.get() != VERSION) {
+            throw new LevelParsingException("The compiled level file has an unknown version.\nRebuild the project.");
+        }
+        int storedChecksum = ByteBuffer.wrap(data, data.length - CHECKSUM_SIZE, CHECKSUM_SIZE).getInt();
+        if (storedChecksum != checksum(data, data.length - CHECKSUM_SIZE)) {
+            throw new LevelParsingException("The compiled level file is damaged.\nRebuild the project.");
+        }
+        try {
+            int height = buffer.get();
+            int width = buffer.get();
+            BitBoard bitBoard = new BitBoard(height, width);
+
+            Stack<?>[] stacks = new Stack<?>[buffer.get()];
+            for (int i = 0; i < stacks.length; i++) {
+                Stack<Integer> stack = new Stack<>();
+                int amountPoints = buffer.get();
+                for (int k = 0; k < amountPoints; k++) {
+                    stack.push(buffer.getInt());
+                }
+                stacks[i] = stack;
+            }
+
+            Integer[][] dieValues = new Integer[height][width];
+            Field[][] field = new Field[height][width];
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    byte dieValue = buffer.get();
+                    dieValues[y][x] = dieValue == NONE ? null : (int) dieValue;
+                    Property property = PROPERTIES[buffer.get()];
+                    byte faceValue = buffer.get();
+                    byte stack = buffer.get();
+                    @SuppressWarnings("unchecked")
+                    Stack<Integer> points = stack == NONE ? null : (Stack<Integer>) stacks[stack];
+                    field[y][x] = Field.of(property, faceValue == NONE ? null : Die.of(faceValue), points);
+                }
+            }
+
+            long[] jewelMasks = new long[buffer.get()];
+            FieldProperty[] jewels = getFieldProperties(buffer, bitBoard, jewelMasks);
+            long[] puzzleMasks = new long[buffer.get()];
+            FieldProperty[] puzzles = getFieldProperties(buffer, bitBoard, puzzleMasks);
+            long[] horizontalMasks = new long[buffer.get()];
+            FieldProperty[] horizontals = getFieldProperties(buffer, bitBoard, horizontalMasks);
+            long[] verticalMasks = new long[buffer.get()];
+            FieldProperty[] verticals = getFieldProperties(buffer, bitBoard, verticalMasks);
+            if (puzzleMasks.length + horizontalMasks.length + verticalMasks.length > SpecialCellIndex.MAX_GROUPS) {
+                throw new LevelParsingException("The compiled level file is damaged.\nRebuild the project.");
+            }
+            int bombPoints = buffer.getInt();
+            FieldProperty bombs = new FieldProperty(bombPoints, getPositions(buffer, bitBoard), null);
+            FieldProperty[] keys = new FieldProperty[buffer.get()];
+            for (int i = 0; i < keys.length; i++) {
+                Position key = getPosition(buffer, bitBoard);
+                keys[i] = new FieldProperty(0, getPositions(buffer, bitBoard), key);
+            }
+            SPFlag flag = null;
+            int amountFlagPoints = buffer.get();
+            if (amountFlagPoints != NONE) {
+                Integer[] flagPoints = new Integer[amountFlagPoints];
+                for (int i = 0; i < amountFlagPoints; i++) {
+                    flagPoints[i] = buffer.getInt();
+                }
+                flag = new SPFlag(flagPoints, getPosition(buffer, bitBoard));
+            }
+            Position rocket = getPosition(buffer, bitBoard);
+            Position planet = getPosition(buffer, bitBoard);
+            long bombMask = buffer.getLong();
+            long startingMask = buffer.getLong();
+            if (buffer.remaining() != CHECKSUM_SIZE) {
+                throw new LevelParsingException("The compiled level file has the wrong size.\nRebuild the project.");
+            }
+
+            LevelDataJSON levelData = new LevelDataJSON(dieValues, jewels, bombs, puzzles,
+                    horizontals, verticals, keys, flag, rocket, planet);
+            return new Board(levelData, field, bombMask, startingMask,
+                    horizontalMasks, verticalMasks, puzzleMasks, jewelMasks);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException
+                | NegativeArraySizeException e) {
+            throw new LevelParsingException("The compiled level file is damaged.\nRebuild the project.", e);
+        }
+    }
+
+    /**
+     * Reads special fields with their points, positions and cells
+     *
+     * @param buffer buffer of the blob
+     * @param bitBoard geometry of the board
+     * @param masks array that gets the cells of every special field, its
+     * length is the amount of special fields
+     * @return special fields
+     */
+    private static FieldProperty[] getFieldProperties(ByteBuffer buffer, BitBoard bitBoard, long[] masks) {
+        FieldProperty[] toReturn = new FieldProperty[masks.length];
+        for (int i = 0; i < masks.length; i++) {
+            int points = buffer.getInt();
+            toReturn[i] = new FieldProperty(points, getPositions(buffer, bitBoard), null);
+            masks[i] = buffer.getLong();
+        }
+        return toReturn;
+    }
+
+    /**
+     * Reads positions
+     *
+     * @param buffer buffer of the blob
+     * @param bitBoard geometry of the board
+     * @return positions, can be null
+     */
+    private static Position[] getPositions(ByteBuffer buffer, BitBoard bitBoard) {
+        int amount = buffer.get();
+        if (amount == NONE) {
+            return null;
+        }
+        Position[] toReturn = new Position[amount];
+        for (int i = 0; i < amount; i++) {
+            toReturn[i] = getPosition(buffer, bitBoard);
+        }
+        return toReturn;
+    }
+
+    /**
+     * Reads a position
+     *
+     * @param buffer buffer of the blob
+     * @param bitBoard geometry of the board
+     * @return position, can be null
+     */
+    private static Position getPosition(ByteBuffer buffer, BitBoard bitBoard) {
+        int cellIdx = buffer.get();
+        if (cellIdx == NONE) {
+            return null;
+        }
+        if (cellIdx < 0 || cellIdx >= bitBoard.getAmountCells()) {
+            throw new IndexOutOfBoundsException("cell " + cellIdx);
+        }
+        return bitBoard.toPosition(cellIdx);
+    }
+
+    /**
+     * Calculates the checksum of the first bytes of the data
+     *
+     * @param data bytes of the blob
+     * @param length amount of bytes that are checked
+     * @return CRC32 of the bytes
+     */
+    private static int checksum(byte[] data, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, length);
+        return (int) crc.getValue();
+    }
+}
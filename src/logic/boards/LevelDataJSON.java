@@ -24,6 +24,43 @@ public class LevelDataJSON {
     private Position rocket;
     private Position planet;
 
+    /**
+     * Constructor for Gson
+     */
+    private LevelDataJSON() {
+    }
+
+    /**
+     * Constructor for level data that isn't read from JSON, e.g. a compiled
+     * level
+     *
+     * @param field die values of the cells, null for a cell that can't be
+     * reached
+     * @param jewels all jewels
+     * @param bombs all bombs
+     * @param puzzles all puzzles
+     * @param horizontalLines all horizontal lines
+     * @param verticalLines all vertical lines
+     * @param keys all keys and their padlocks
+     * @param flag the flag, can be null
+     * @param rocket the rocket, can be null
+     * @param planet the planet, can be null
+     */
+    LevelDataJSON(Integer[][] field, FieldProperty[] jewels, FieldProperty bombs,
+            FieldProperty[] puzzles, FieldProperty[] horizontalLines, FieldProperty[] verticalLines,
+            FieldProperty[] keys, SPFlag flag, Position rocket, Position planet) {
+        this.field = field;
+        this.jewels = jewels;
+        this.bombs = bombs;
+        this.puzzles = puzzles;
+        this.horizontalLines = horizontalLines;
+        this.verticalLines = verticalLines;
+        this.keys = keys;
+        this.flag = flag;
+        this.rocket = rocket;
+        this.planet = planet;
+    }
+
     /**
      * @return the Field
      */
@@ -0,0 +1,125 @@
+package logic.boards;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import logic.exceptions.LevelParsingException;
+
+/**
+ * Class that holds a parsed and validated level. Every level file is only
+ * parsed once per process, all games and players get their playing boards
+ * from the cached template. The template itself is never changed, the boards
+ * it creates share everything with it until a cell is changed
+ *
+ * @author Mario da Graca (cgt103579)
+ */
+public final class LevelTemplate {
+
+    /**
+     * Path to the level files, relative to this class
+     */
+    private final static String PATH = "levelFiles/Level";
+
+    /**
+     * All templates that were already loaded, key is the level number
+     */
+    private final static ConcurrentMap<Integer, LevelTemplate> CACHE = new ConcurrentHashMap<>();
+
+    //Number of the level
+    private final int levelNo;
+    //Fully constructed board of the level, never changed
+    private final Board board;
+
+    /**
+     * Constructor
+     *
+     * @param levelNo number of the level
+     * @param board fully constructed board of the level
+     */
+    private LevelTemplate(int levelNo, Board board) {
+        this.levelNo = levelNo;
+        this.board = board;
+    }
+
+    /**
+     * Returns the template of a level, the level is loaded when it is
+     * requested for the first time. The compiled level is used if the project
+     * was built with it, otherwise the level file is parsed
+     *
+     * @param levelNo number of the level
+     * @return template of the level
+     * @throws LevelParsingException Exception that occurs when the level file
+     * is missing or has an error
+     */
+    public static LevelTemplate get(int levelNo) throws LevelParsingException {
+        LevelTemplate toReturn = CACHE.get(levelNo);
+        if (toReturn == null) {
+            Board board = LevelCompiler.load(PATH + levelNo + LevelCompiler.EXTENSION);
+            if (board == null) {
+                //the level wasn't compiled, e.g. when running from the sources
+                board = new Board(readLevel(PATH + levelNo + ".json"));
+            }
+            LevelTemplate loaded = new LevelTemplate(levelNo, board);
+            //if another thread was faster, its template is used
+            toReturn = CACHE.putIfAbsent(levelNo, loaded);
+            if (toReturn == null) {
+                toReturn = loaded;
+            }
+        }
+        return toReturn;
+    }
+
+    /**
+     * Reads a level file from the resources
+     *
+     * @param levelPath path to the JSON, relative to this class
+     * @return LevelDataJSON
+     * @throws LevelParsingException Exception that occurs when the file is
+     * missing or isn't a valid level
+     */
+    private static LevelDataJSON readLevel(String levelPath) throws LevelParsingException {
+        InputStream in = LevelTemplate.class.getResourceAsStream(levelPath);
+        if (in == null) {
+            throw new LevelParsingException("There was an error while loading the level file.\nCheck if you got all necessary files.");
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            LevelDataJSON levelJSON = new Gson().fromJson(reader, LevelDataJSON.class);
+            if (levelJSON == null) {
+                throw new LevelParsingException("There was an error while loading the level file.\nThe file is empty.");
+            }
+            return levelJSON;
+        } catch (JsonParseException | IOException e) {
+            throw new LevelParsingException("There was an error while loading the level file.\n" + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Creates a new playing board of this level. The board is a copy-on-write
+     * overlay of the template, so creating it only costs one array per row
+     *
+     * @return new playing board
+     */
+    public Board createBoard() {
+        return new Board(this.board);
+    }
+
+    /**
+     * @return cells of the boards of this level as bits
+     */
+    public BitBoard getBitBoard() {
+        return this.board.getBitBoard();
+    }
+
+    /**
+     * @return the levelNo
+     */
+    public int getLevelNo() {
+        return this.levelNo;
+    }
+}
@@ -0,0 +1,248 @@
+package logic.boards;
+
+import logic.boards.fieldTypes.Property;
+
+/**
+ * Index of the special cells of a level. It is created once with the board of
+ * a level and shared by all boards of that level, so the end of a turn only
+ * has to look at the cells that matter instead of scanning the field: the
+ * keys with their padlocks, the rocket and the planet, the bombs, the flag and
+ * the lines and puzzles every cell belongs to
+ * <p>
+ * Lines and puzzles are numbered as groups: first all puzzles, then all
+ * vertical lines and then all horizontal lines, each in the order of the
+ * level data
+ *
+ * @author Mario da Graca (cgt103579)
+ */
+public final class SpecialCellIndex {
+
+    /**
+     * Maximum amount of lines and puzzles of a level
+     */
+    public final static int MAX_GROUPS = Long.SIZE;
+
+    //Properties of every key color: key, locked padlock, unlocked padlock
+    private final static Property[][] KEY_COLORS = {
+        {Property.KEY_YELLOW, Property.KEYHOLE_YELLOW, Property.UNLOCKED_KEYHOLE_YELLOW},
+        {Property.KEY_BLUE, Property.KEYHOLE_BLUE, Property.UNLOCKED_KEYHOLE_BLUE}};
+
+    //Cells of every key of the level
+    private final long[] keyMasks;
+    //Cells of the padlocks every key unlocks
+    private final long[] padlockMasks;
+    //Property of the padlocks of every key once they are unlocked
+    private final Property[] unlockedPadlocks;
+    //Cells of all keys
+    private final long allKeysMask;
+    //Cells of all padlocks
+    private final long allPadlocksMask;
+    //Content of every padlock once it is unlocked, index is the index of the
+    //cell (null for other cells)
+    private final Field[] unlockedPadlockFields;
+    //Cells of the rocket
+    private final long rocketMask;
+    //Cells of the planet the rocket crosses out
+    private final long planetMask;
+    //Cells of the bombs
+    private final long bombMask;
+    //Cells of the flag
+    private final long flagMask;
+    //Cells of every group
+    private final long[] groupMasks;
+    //Groups every cell belongs to as bits, index is the index of the cell
+    private final long[] groupsOfCell;
+
+    /**
+     * Constructor, creates the index from the cells of the constructed level.
+     * The level has at most MAX_GROUPS puzzles and lines, this is checked
+     * while the level is read
+     *
+     * @param bitBoard geometry of the board
+     * @param field constructed playing board of the level
+     * @param propertyMasks cells of every property, index is the ordinal of
+     * the property
+     * @param puzzleMasks cells of every puzzle
+     * @param verticalMasks cells of every vertical line
+     * @param horizontalMasks cells of every horizontal line
+     */
+    SpecialCellIndex(BitBoard bitBoard, Field[][] field, long[] propertyMasks,
+            long[] puzzleMasks, long[] verticalMasks, long[] horizontalMasks) {
+        int amountKeys = 0;
+        long[] keys = new long[KEY_COLORS.length];
+        long[] padlocks = new long[KEY_COLORS.length];
+        Property[] unlocked = new Property[KEY_COLORS.length];
+        for (Property[] keyColor : KEY_COLORS) {
+            long key = propertyMasks[keyColor[0].ordinal()];
+            if (key != 0L) {
+                keys[amountKeys] = key;
+                padlocks[amountKeys] = propertyMasks[keyColor[1].ordinal()] | propertyMasks[keyColor[2].ordinal()];
+                unlocked[amountKeys] = keyColor[2];
+                amountKeys++;
+            }
+        }
+        this.keyMasks = new long[amountKeys];
+        this.padlockMasks = new long[amountKeys];
+        this.unlockedPadlocks = new Property[amountKeys];
+        System.arraycopy(keys, 0, this.keyMasks, 0, amountKeys);
+        System.arraycopy(padlocks, 0, this.padlockMasks, 0, amountKeys);
+        System.arraycopy(unlocked, 0, this.unlockedPadlocks, 0, amountKeys);
+        long allKeys = 0L;
+        long allPadlocks = 0L;
+        this.unlockedPadlockFields = new Field[bitBoard.getAmountCells()];
+        for (int key = 0; key < amountKeys; key++) {
+            allKeys |= this.keyMasks[key];
+            allPadlocks |= this.padlockMasks[key];
+            long remaining = this.padlockMasks[key];
+            while (remaining != 0L) {
+                int cellIdx = Long.numberOfTrailingZeros(remaining);
+                this.unlockedPadlockFields[cellIdx] = Field.of(this.unlockedPadlocks[key],
+                        field[bitBoard.getY(cellIdx)][bitBoard.getX(cellIdx)].getDieValue(), null);
+                remaining &= remaining - 1;
+            }
+        }
+        this.allKeysMask = allKeys;
+        this.allPadlocksMask = allPadlocks;
+
+        this.rocketMask = propertyMasks[Property.ROCKET.ordinal()];
+        this.planetMask = propertyMasks[Property.PLANET.ordinal()];
+        this.bombMask = propertyMasks[Property.BOMB.ordinal()];
+        this.flagMask = propertyMasks[Property.FLAG_BLUE.ordinal()];
+
+        this.groupMasks = new long[puzzleMasks.length + verticalMasks.length + horizontalMasks.length];
+        System.arraycopy(puzzleMasks, 0, this.groupMasks, 0, puzzleMasks.length);
+        System.arraycopy(verticalMasks, 0, this.groupMasks, puzzleMasks.length, verticalMasks.length);
+        System.arraycopy(horizontalMasks, 0, this.groupMasks, puzzleMasks.length + verticalMasks.length,
+                horizontalMasks.length);
+        this.groupsOfCell = new long[bitBoard.getAmountCells()];
+        for (int group = 0; group < this.groupMasks.length; group++) {
+            long cells = this.groupMasks[group];
+            while (cells != 0L) {
+                this.groupsOfCell[Long.numberOfTrailingZeros(cells)] |= 1L << group;
+                cells &= cells - 1;
+            }
+        }
+    }
+
+    /**
+     * @return amount of keys of the level
+     */
+    public int getAmountKeys() {
+        return this.keyMasks.length;
+    }
+
+    /**
+     * @param key index of the key
+     * @return cells of the key
+     */
+    public long getKeyMask(int key) {
+        return this.keyMasks[key];
+    }
+
+    /**
+     * @param key index of the key
+     * @return cells of the padlocks the key unlocks
+     */
+    public long getPadlockMask(int key) {
+        return this.padlockMasks[key];
+    }
+
+    /**
+     * @param key index of the key
+     * @return property of the padlocks of the key once they are unlocked
+     */
+    public Property getUnlockedPadlock(int key) {
+        return this.unlockedPadlocks[key];
+    }
+
+    /**
+     * @return cells of all keys
+     */
+    public long getAllKeysMask() {
+        return this.allKeysMask;
+    }
+
+    /**
+     * @return cells of all padlocks
+     */
+    public long getAllPadlocksMask() {
+        return this.allPadlocksMask;
+    }
+
+    /**
+     * @param cellIdx index of a padlock
+     * @return content of the padlock once it is unlocked
+     */
+    public Field getUnlockedPadlockField(int cellIdx) {
+        return this.unlockedPadlockFields[cellIdx];
+    }
+
+    /**
+     * @return cells of the rocket
+     */
+    public long getRocketMask() {
+        return this.rocketMask;
+    }
+
+    /**
+     * @return cells of the planet the rocket crosses out
+     */
+    public long getPlanetMask() {
+        return this.planetMask;
+    }
+
+    /**
+     * @return cells of the bombs
+     */
+    public long getBombMask() {
+        return this.bombMask;
+    }
+
+    /**
+     * @return cells of the flag
+     */
+    public long getFlagMask() {
+        return this.flagMask;
+    }
+
+    /**
+     * @return amount of lines and puzzles
+     */
+    public int getAmountGroups() {
+        return this.groupMasks.length;
+    }
+
+    /**
+     * @param group index of the line or puzzle
+     * @return cells of the line or puzzle
+     */
+    public long getGroupMask(int group) {
+        return this.groupMasks[group];
+    }
+
+    /**
+     * Returns the lines and puzzles a cell belongs to
+     *
+     * @param cellIdx index of the cell
+     * @return indices of the groups as bits
+     */
+    public long getGroupsOfCell(int cellIdx) {
+        return this.groupsOfCell[cellIdx];
+    }
+
+    /**
+     * Returns the lines and puzzles any of the cells belongs to
+     *
+     * @param cells mask of cells
+     * @return indices of the groups as bits
+     */
+    public long getGroupsOfCells(long cells) {
+        long toReturn = 0L;
+        long remaining = cells;
+        while (remaining != 0L) {
+            toReturn |= this.groupsOfCell[Long.numberOfTrailingZeros(remaining)];
+            remaining &= remaining - 1;
+        }
+        return toReturn;
+    }
+}
@@ -17,6 +17,27 @@ public class FieldProperty {
     //else only a single position is saved
     private Position position;
 
+    /**
+     * Constructor for Gson
+     */
+    private FieldProperty() {
+    }
+
+    /**
+     * Constructor
+     *
+     * @param points Points that this special field gives
+     * @param positions Positions of the field, null if it has a single
+     * position
+     * @param position single position of the field, null if it has multiple
+     * positions
+     */
+    public FieldProperty(int points, Position[] positions, Position position) {
+        this.points = points;
+        this.positions = positions;
+        this.position = position;
+    }
+
     /**
      * @return the points
      */
@@ -14,6 +14,23 @@ public class SPFlag {
     //Position of the flag
     private Position position;
 
+    /**
+     * Constructor for Gson
+     */
+    private SPFlag() {
+    }
+
+    /**
+     * Constructor
+     *
+     * @param points Points that a flag gives, in the order it's reached
+     * @param position Position of the flag
+     */
+    public SPFlag(Integer[] points, Position position) {
+        this.points = points;
+        this.position = position;
+    }
+
     /**
      * @return the points
      */
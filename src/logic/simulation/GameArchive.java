@@ -0,0 +1,585 @@
+package logic.simulation;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.zip.CRC32;
+import logic.GameListener;
+import logic.GameLogicDizzle;
+import logic.GameResult;
+import logic.Position;
+import logic.boards.BitBoard;
+
+/**
+ * Archive of finished games for analytics, e.g. of millions of simulated
+ * games. Every game is a record of the same size in a memory-mapped file: its
+ * level, seed, final points and all moves of all players turn by turn. Games
+ * are recorded by a GameListener (see record), every thread of a simulation
+ * can append at the same time: a thread reserves the next record with an
+ * atomic counter and writes it into the mapped file without locking
+ * <p>
+ * Record layout (RECORD_SIZE bytes):
+ * [int CRC32 of the bytes after the flags][byte flags][byte levelNo]
+ * [byte amountPlayers][byte winner][long seed][byte board width]
+ * [byte move flags][short amountMoves][short points x 4]
+ * [byte amountCrossed x 4][short move x MAX_MOVES]
+ * <p>
+ * The committed flag of a record is written last, so records whose thread
+ * didn't finish (e.g. after a crash) are skipped by the reader. The file is
+ * mapped in segments of SEGMENT_RECORDS records and grows by whole segments
+ *
+ * @author Mario da Graca (cgt103579)
+ */
+public class GameArchive {
+
+    /**
+     * Size of a record in bytes
+     */
+    public final static int RECORD_SIZE = 1024;
+
+    /**
+     * Amount of moves a record can hold, the moves of longer games are cut off
+     */
+    public final static int MAX_MOVES = 496;
+
+    /**
+     * Amount of records in a mapped segment of the file
+     */
+    public final static int SEGMENT_RECORDS = 1 << 14;
+
+    /**
+     * Kinds of moves
+     */
+    public final static int MOVE_PLACE = 0;
+    public final static int MOVE_PUT_BACK = 1;
+    public final static int MOVE_ROLL = 2;
+    public final static int MOVE_SKIP = 3;
+    public final static int MOVE_END_OF_TURN = 4;
+
+    /**
+     * First bytes of every archive ("DZLA")
+     */
+    private final static int MAGIC = 0x445A4C41;
+
+    /**
+     * Version of the archive format
+     */
+    private final static byte VERSION = 1;
+
+    /**
+     * Size of the header at the start of the file
+     */
+    private final static int HEADER_SIZE = 64;
+
+    /**
+     * Size of a segment in bytes
+     */
+    private final static long SEGMENT_SIZE = (long) SEGMENT_RECORDS * RECORD_SIZE;
+
+    /**
+     * Maximum amount of segments of an archive
+     */
+    private final static int MAX_SEGMENTS = 1 << 12;
+
+    /**
+     * Offsets of the fields of a record
+     */
+    private final static int CRC = 0;
+    private final static int FLAGS = 4;
+    private final static int LEVEL_NO = 5;
+    private final static int AMOUNT_PLAYERS = 6;
+    private final static int WINNER = 7;
+    private final static int SEED = 8;
+    private final static int BOARD_WIDTH = 16;
+    private final static int MOVE_FLAGS = 17;
+    private final static int AMOUNT_MOVES = 18;
+    private final static int POINTS = 20;
+    private final static int AMOUNT_CROSSED = 28;
+    private final static int MOVES = 32;
+
+    /**
+     * Flag of a record that was completely written
+     */
+    private final static byte COMMITTED = 1;
+
+    /**
+     * Move flag of a record whose moves were cut off
+     */
+    private final static byte TRUNCATED = 1;
+
+    //File of the archive
+    private final FileChannel channel;
+    //Mapped segments of the file, null if a segment isn't mapped yet
+    private final AtomicReferenceArray<MappedByteBuffer> segments;
+    //Index of the next record that is appended
+    private final AtomicLong nextRecord;
+
+    /**
+     * Constructor, opens an existing archive or creates a new one. New records
+     * are appended after the last committed record
+     *
+     * @param path path to the archive
+     * @throws IOException error while opening the file or the file is no
+     * archive
+     */
+    public GameArchive(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.segments = new AtomicReferenceArray<>(MAX_SEGMENTS);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            if (this.channel.size() == 0) {
+                header.putInt(MAGIC).put(VERSION).putInt(RECORD_SIZE).clear();
+                while (header.hasRemaining()) {
+                    this.channel.write(header, header.position());
+                }
+            } else {
+                while (header.hasRemaining() && this.channel.read(header, header.position()) >= 0) {
+                    //read the whole header
+                }
+                if (header.hasRemaining() || header.getInt(0) != MAGIC
+                        || header.get(4) != VERSION || header.getInt(5) != RECORD_SIZE) {
+                    throw new IOException("The file is no game archive.");
+                }
+            }
+        } catch (IOException e) {
+            this.channel.close();
+            throw e;
+        }
+        this.nextRecord = new AtomicLong(findEnd());
+    }
+
+    /**
+     * Finds the record after the last committed one
+     *
+     * @return index of the record
+     * @throws IOException error while mapping the file
+     */
+    private long findEnd() throws IOException {
+        long toReturn = Math.max(0L, (this.channel.size() - HEADER_SIZE) / RECORD_SIZE);
+        while (toReturn > 0 && segment(toReturn - 1).get(offset(toReturn - 1) + FLAGS) != COMMITTED) {
+            toReturn--;
+        }
+        return toReturn;
+    }
+
+    /**
+     * Returns the mapped segment a record is in and maps it if necessary.
+     * Mapping a segment behind the end of the file makes the file grow
+     *
+     * @param index index of the record
+     * @return mapped segment
+     * @throws IOException error while mapping the file
+     */
+    private MappedByteBuffer segment(long index) throws IOException {
+        int segmentNo = (int) (index / SEGMENT_RECORDS);
+        MappedByteBuffer toReturn = this.segments.get(segmentNo);
+        if (toReturn == null) {
+            synchronized (this) {
+                toReturn = this.segments.get(segmentNo);
+                if (toReturn == null) {
+                    toReturn = this.channel.map(FileChannel.MapMode.READ_WRITE,
+                            HEADER_SIZE + segmentNo * SEGMENT_SIZE, SEGMENT_SIZE);
+                    this.segments.set(segmentNo, toReturn);
+                }
+            }
+        }
+        return toReturn;
+    }
+
+    /**
+     * @param index index of a record
+     * @return offset of the record in its segment
+     */
+    private static int offset(long index) {
+        return (int) (index % SEGMENT_RECORDS) * RECORD_SIZE;
+    }
+
+    /**
+     * Records the game from now on, the record is appended when the game is
+     * over. Every game needs its own recorder
+     *
+     * @param game game that is recorded, should be at its start
+     */
+    public void record(GameLogicDizzle game) {
+        game.addListener(new Recorder(game.getPlayers()[0].getBoard().getBitBoard()));
+    }
+
+    /**
+     * Appends a finished game. Can be called by several threads at once
+     *
+     * @param result outcome of the game
+     * @param boardWidth width of the playing board (to decode the cells)
+     * @param moves moves of the game, encoded by encodeMove
+     * @param amountMoves amount of moves
+     * @param truncated true if the game had more moves
+     * @return index of the record
+     * @throws IOException error while mapping the file
+     */
+    long append(GameResult result, int boardWidth, short[] moves, int amountMoves,
+            boolean truncated) throws IOException {
+        long index = this.nextRecord.getAndIncrement();
+        if (index >= (long) MAX_SEGMENTS * SEGMENT_RECORDS) {
+            throw new IOException("The game archive is full.");
+        }
+
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+        record.put(LEVEL_NO, (byte) result.getLevelNo());
+        record.put(AMOUNT_PLAYERS, (byte) result.getAmountPlayers());
+        record.put(WINNER, (byte) result.getWinner());
+        record.putLong(SEED, result.getSeed());
+        record.put(BOARD_WIDTH, (byte) boardWidth);
+        record.put(MOVE_FLAGS, truncated ? TRUNCATED : 0);
+        record.putShort(AMOUNT_MOVES, (short) amountMoves);
+        for (int i = 0; i < result.getAmountPlayers(); i++) {
+            record.putShort(POINTS + 2 * i, (short) result.getPoints(i));
+            record.put(AMOUNT_CROSSED + i, (byte) result.getAmountCrossed(i));
+        }
+        for (int i = 0; i < amountMoves; i++) {
+            record.putShort(MOVES + 2 * i, moves[i]);
+        }
+        record.putInt(CRC, checksum(record));
+
+        MappedByteBuffer segment = segment(index);
+        ByteBuffer target = segment.duplicate();
+        target.position(offset(index));
+        target.put(record);
+        //the record is only valid when it was completely written
+        segment.put(offset(index) + FLAGS, COMMITTED);
+        return index;
+    }
+
+    /**
+     * Calculates the checksum of a record
+     *
+     * @param record buffer whose position is the start of the record
+     * @return checksum of the bytes after the flags
+     */
+    private static int checksum(ByteBuffer record) {
+        ByteBuffer view = record.duplicate();
+        view.limit(view.position() + RECORD_SIZE).position(view.position() + FLAGS + 1);
+        CRC32 crc = new CRC32();
+        crc.update(view);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Forces all records that were appended so far to the disk
+     */
+    public void flush() {
+        forceSegments();
+    }
+
+    /**
+     * Forces every mapped segment to the disk. Segments are mapped on demand
+     * and in any order (a reopened archive only maps the segments it uses),
+     * so unmapped segments can be anywhere
+     *
+     * @return amount of segments that were forced
+     */
+    int forceSegments() {
+        int toReturn = 0;
+        for (int i = 0; i < MAX_SEGMENTS; i++) {
+            MappedByteBuffer segment = this.segments.get(i);
+            if (segment != null) {
+                segment.force();
+                toReturn++;
+            }
+        }
+        return toReturn;
+    }
+
+    /**
+     * Forces all records to the disk and closes the file. The archive can't
+     * be used anymore afterwards
+     *
+     * @throws IOException error while closing the file
+     */
+    public void close() throws IOException {
+        flush();
+        this.channel.close();
+    }
+
+    /**
+     * @return amount of records that were appended or reserved, including
+     * records that aren't committed yet
+     */
+    public long getAmountRecords() {
+        return this.nextRecord.get();
+    }
+
+    /**
+     * Creates a cursor over all records that were appended so far. The cursor
+     * reads the fields directly from the mapped file
+     *
+     * @return cursor before the first record
+     */
+    public Cursor cursor() {
+        return new Cursor(this.nextRecord.get());
+    }
+
+    /**
+     * Encodes a move in 16 bits: the cell in bits 0-5, the kind in bits 6-8
+     * and the player in bits 9-10
+     *
+     * @param kind kind of the move (MOVE_...)
+     * @param player index of the player
+     * @param cell index of the cell (y * width + x), 0 if the move has no cell
+     * @return encoded move
+     */
+    static short encodeMove(int kind, int player, int cell) {
+        return (short) (cell | kind << 6 | player << 9);
+    }
+
+    /**
+     * @param move encoded move
+     * @return kind of the move (MOVE_...)
+     */
+    public static int getMoveKind(int move) {
+        return (move >>> 6) & 0x7;
+    }
+
+    /**
+     * @param move encoded move
+     * @return index of the player that made the move
+     */
+    public static int getMovePlayer(int move) {
+        return (move >>> 9) & 0x3;
+    }
+
+    /**
+     * @param move encoded move
+     * @return index of the cell (y * width + x) of a place or put back move
+     */
+    public static int getMoveCell(int move) {
+        return move & 0x3F;
+    }
+
+    /**
+     * Cursor that streams the committed records of the archive one by one.
+     * Every getter reads the field of the current record from the mapped file,
+     * nothing is copied. A cursor belongs to one thread
+     */
+    public final class Cursor {
+
+        //First record that isn't part of the cursor anymore
+        private final long end;
+        //Index of the current record, -1 before the first one
+        private long index;
+        //View on the segment of the current record
+        private ByteBuffer view;
+        //Number of the segment of the view
+        private long viewSegmentNo;
+        //Offset of the current record in the view
+        private int offset;
+        //Checksum of the records
+        private final CRC32 crc;
+
+        /**
+         * Constructor
+         *
+         * @param end first record that isn't part of the cursor anymore
+         */
+        private Cursor(long end) {
+            this.end = end;
+            this.index = -1;
+            this.viewSegmentNo = -1;
+            this.crc = new CRC32();
+        }
+
+        /**
+         * Moves to the next committed record, skips records that weren't
+         * completely written or are damaged
+         *
+         * @return false if there is no record anymore
+         * @throws IOException error while mapping the file
+         */
+        public boolean next() throws IOException {
+            boolean found = false;
+            while (!found && this.index + 1 < this.end) {
+                this.index++;
+                long segmentNo = this.index / SEGMENT_RECORDS;
+                if (segmentNo != this.viewSegmentNo) {
+                    this.view = segment(this.index).duplicate();
+                    this.viewSegmentNo = segmentNo;
+                }
+                this.offset = offset(this.index);
+                this.view.clear();
+                if (this.view.get(this.offset + FLAGS) == COMMITTED) {
+                    this.view.position(this.offset + FLAGS + 1);
+                    this.view.limit(this.offset + RECORD_SIZE);
+                    this.crc.reset();
+                    this.crc.update(this.view);
+                    found = (int) this.crc.getValue() == this.view.getInt(this.offset + CRC);
+                }
+            }
+            return found;
+        }
+
+        /**
+         * @return index of the current record in the archive
+         */
+        public long getIndex() {
+            return this.index;
+        }
+
+        /**
+         * @return level number of the game
+         */
+        public int getLevelNo() {
+            return this.view.get(this.offset + LEVEL_NO);
+        }
+
+        /**
+         * @return amount of players of the game
+         */
+        public int getAmountPlayers() {
+            return this.view.get(this.offset + AMOUNT_PLAYERS);
+        }
+
+        /**
+         * @return index of the winner or -1 if the game ended in a tie
+         */
+        public int getWinner() {
+            return this.view.get(this.offset + WINNER);
+        }
+
+        /**
+         * @return seed the dice of the game were rolled with
+         */
+        public long getSeed() {
+            return this.view.getLong(this.offset + SEED);
+        }
+
+        /**
+         * @param player index of the player
+         * @return final points of the player
+         */
+        public int getPoints(int player) {
+            return this.view.getShort(this.offset + POINTS + 2 * player);
+        }
+
+        /**
+         * @param player index of the player
+         * @return amount of crossed out cells of the player
+         */
+        public int getAmountCrossed(int player) {
+            return this.view.get(this.offset + AMOUNT_CROSSED + player);
+        }
+
+        /**
+         * @return amount of moves of the record
+         */
+        public int getAmountMoves() {
+            return this.view.getShort(this.offset + AMOUNT_MOVES);
+        }
+
+        /**
+         * @return true if the game had more than MAX_MOVES moves
+         */
+        public boolean isTruncated() {
+            return this.view.get(this.offset + MOVE_FLAGS) == TRUNCATED;
+        }
+
+        /**
+         * @param i number of the move
+         * @return encoded move (see getMoveKind, getMovePlayer, getMoveCell)
+         */
+        public int getMove(int i) {
+            return this.view.getShort(this.offset + MOVES + 2 * i);
+        }
+
+        /**
+         * Decodes the cell of a place or put back move
+         *
+         * @param move encoded move
+         * @return position of the cell
+         */
+        public Position getMovePosition(int move) {
+            int width = this.view.get(this.offset + BOARD_WIDTH);
+            return Position.of(getMoveCell(move) % width, getMoveCell(move) / width);
+        }
+    }
+
+    /**
+     * Listener that collects the moves of a game and appends the game to the
+     * archive when it's over
+     */
+    private final class Recorder implements GameListener {
+
+        //Bit board of the level, to get the index of a cell
+        private final BitBoard bitBoard;
+        //Moves of the game so far
+        private final short[] moves;
+        //Amount of moves so far
+        private int amountMoves;
+        //Game had more moves than a record can hold
+        private boolean truncated;
+
+        /**
+         * Constructor
+         *
+         * @param bitBoard bit board of the level
+         */
+        private Recorder(BitBoard bitBoard) {
+            this.bitBoard = bitBoard;
+            this.moves = new short[MAX_MOVES];
+            this.amountMoves = 0;
+            this.truncated = false;
+        }
+
+        /**
+         * Adds a move
+         *
+         * @param kind kind of the move
+         * @param player index of the player
+         * @param cell index of the cell
+         */
+        private void add(int kind, int player, int cell) {
+            if (this.amountMoves < MAX_MOVES) {
+                this.moves[this.amountMoves++] = encodeMove(kind, player, cell);
+            } else {
+                this.truncated = true;
+            }
+        }
+
+        @Override
+        public void diePlaced(int player, Position pos) {
+            add(MOVE_PLACE, player, this.bitBoard.index(pos));
+        }
+
+        @Override
+        public void diePutBack(int player, Position pos) {
+            add(MOVE_PUT_BACK, player, this.bitBoard.index(pos));
+        }
+
+        @Override
+        public void diceRolled(int player) {
+            add(MOVE_ROLL, player, 0);
+        }
+
+        @Override
+        public void playerSkipped(int player) {
+            add(MOVE_SKIP, player, 0);
+        }
+
+        @Override
+        public void turnOver(GameLogicDizzle game, boolean gameOver) {
+            add(MOVE_END_OF_TURN, 0, 0);
+        }
+
+        @Override
+        public void gameOver(GameLogicDizzle game) {
+            try {
+                append(game.getResult(), this.bitBoard.getWidth(), this.moves, this.amountMoves, this.truncated);
+            } catch (IOException e) {
+                throw new IllegalStateException("The game couldn't be archived: " + e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package logic.simulation;
+
+import java.io.FileNotFoundException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import logic.GameLogicDizzle;
+import logic.HeuristicStrategy;
+import logic.MoveStrategy;
+import logic.boards.LevelTemplate;
+import logic.exceptions.LevelParsingException;
+
+/**
+ * Class that plays many headless games of the same level and amount of
+ * players on all cores and sums up the outcome. Every game is independent and
+ * seeded with the seed of the tournament plus its number, so a tournament
+ * always has the same outcome no matter how many threads are used (as long as
+ * the strategies aren't limited by time). Every player can use another
+ * strategy, the outcome is reported for every player and its strategy
+ *
+ * @author Mario da Graca (cgt103579)
+ */
+public class Tournament {
+
+    /**
+     * Amount of games a single task plays without splitting up any further
+     */
+    private final static int GAMES_PER_TASK = 16;
+
+    //Level that is played
+    private final int levelNo;
+    //Amount of computers besides the first player
+    private final int amountComputers;
+    //Amount of games that are played
+    private final int amountGames;
+    //Seed of the first game
+    private final long seed;
+    //Strategy of every player
+    private final MoveStrategy[] strategies;
+    //Archive the games are recorded in, null if they aren't recorded
+    private GameArchive archive;
+
+    /**
+     * Constructor
+     *
+     * @param levelNo level that is played
+     * @param amountComputers amount of computers besides the first player
+     * @param amountGames amount of games that are played
+     * @param seed seed of the first game
+     */
+    public Tournament(int levelNo, int amountComputers, int amountGames, long seed) {
+        this(levelNo, amountComputers, amountGames, seed, new MoveStrategy[0]);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param levelNo level that is played
+     * @param amountComputers amount of computers besides the first player
+     * @param amountGames amount of games that are played
+     * @param seed seed of the first game
+     * @param strategies strategy of every player (index is the index of the
+     * player) or none to play with the default strategy
+     */
+    public Tournament(int levelNo, int amountComputers, int amountGames, long seed,
+            MoveStrategy... strategies) {
+        if (levelNo < 1 || levelNo > GameLogicDizzle.AMOUNT_LEVELS) {
+            throw new IllegalArgumentException("There is no level " + levelNo);
+        }
+        if (amountComputers + 1 < GameLogicDizzle.MIN_AMOUNT_PLAYERS
+                || amountComputers + 1 > GameLogicDizzle.MAX_AMOUNT_PLAYERS) {
+            throw new IllegalArgumentException("Illegal amount of computers: " + amountComputers);
+        }
+        if (amountGames < 0) {
+            throw new IllegalArgumentException("Illegal amount of games: " + amountGames);
+        }
+        if (strategies.length != 0 && strategies.length != amountComputers + 1) {
+            throw new IllegalArgumentException("Every player needs a strategy");
+        }
+        this.levelNo = levelNo;
+        this.amountComputers = amountComputers;
+        this.amountGames = amountGames;
+        this.seed = seed;
+        this.strategies = new MoveStrategy[amountComputers + 1];
+        for (int i = 0; i < this.strategies.length; i++) {
+            this.strategies[i] = strategies.length == 0 ? HeuristicStrategy.INSTANCE : strategies[i];
+        }
+    }
+
+    /**
+     * Records every game of the tournament in an archive. The archive isn't
+     * closed by the tournament
+     *
+     * @param archive archive the games are appended to, null to not record
+     * the games
+     */
+    public void setArchive(GameArchive archive) {
+        this.archive = archive;
+    }
+
+    /**
+     * Plays the tournament on all available cores
+     *
+     * @return the outcome of all games
+     * @throws LevelParsingException gets thrown if the level can't be loaded
+     */
+    public TournamentResult run() throws LevelParsingException {
+        return run(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Plays the tournament in the given pool
+     *
+     * @param pool pool the games are played in
+     * @return the outcome of all games
+     * @throws LevelParsingException gets thrown if the level can't be loaded
+     */
+    public TournamentResult run(ForkJoinPool pool) throws LevelParsingException {
+        //Load the level once beforehand, so the tasks can't fail while parsing
+        LevelTemplate.get(this.levelNo);
+        return pool.invoke(new GamesTask(0, this.amountGames));
+    }
+
+    /**
+     * Creates a single headless game of the tournament
+     *
+     * @param gameNo number of the game
+     * @return the game
+     */
+    private GameLogicDizzle createGame(int gameNo) {
+        try {
+            GameLogicDizzle toReturn = new GameLogicDizzle(this.amountComputers, this.levelNo, this.seed + gameNo);
+            for (int i = 0; i < this.strategies.length; i++) {
+                toReturn.setStrategy(i, this.strategies[i]);
+            }
+            if (this.archive != null) {
+                this.archive.record(toReturn);
+            }
+            return toReturn;
+        } catch (LevelParsingException | FileNotFoundException e) {
+            //can't happen, the level was already loaded in run()
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return names of the strategies of all players
+     */
+    private String[] getStrategyNames() {
+        String[] toReturn = new String[this.strategies.length];
+        for (int i = 0; i < toReturn.length; i++) {
+            toReturn[i] = this.strategies[i].getName();
+        }
+        return toReturn;
+    }
+
+    /**
+     * Task that plays a range of games and splits it up, if the range is too
+     * big
+     */
+    private class GamesTask extends RecursiveTask<TournamentResult> {
+
+        private static final long serialVersionUID = 1L;
+
+        //First game of this task
+        private final int from;
+        //First game that isn't part of this task anymore
+        private final int to;
+
+        /**
+         * Constructor
+         *
+         * @param from first game of this task
+         * @param to first game that isn't part of this task anymore
+         */
+        GamesTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected TournamentResult compute() {
+            TournamentResult toReturn;
+            if (this.to - this.from <= GAMES_PER_TASK) {
+                toReturn = new TournamentResult(getStrategyNames());
+                for (int i = this.from; i < this.to; i++) {
+                    toReturn.add(createGame(i).playHeadless());
+                }
+            } else {
+                int middle = (this.from + this.to) >>> 1;
+                GamesTask left = new GamesTask(this.from, middle);
+                left.fork();
+                toReturn = new GamesTask(middle, this.to).compute();
+                toReturn.merge(left.join());
+            }
+            return toReturn;
+        }
+    }
+}
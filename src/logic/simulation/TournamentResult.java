@@ -0,0 +1,221 @@
+package logic.simulation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import logic.GameResult;
+import logic.HeuristicStrategy;
+
+/**
+ * Class that sums up the outcome of many games with the same level and amount
+ * of players. Collects the wins and the distribution of points of every
+ * player. An instance is not thread safe, every thread of a tournament fills
+ * its own instance and they are merged afterwards
+ *
+ * @author Mario da Graca (cgt103579)
+ */
+public class TournamentResult {
+
+    //Amount of players in every game
+    private final int amountPlayers;
+    //Name of the strategy of every player
+    private final String[] strategyNames;
+    //Amount of games that were added
+    private int amountGames;
+    //Amount of games that ended in a tie
+    private int amountTies;
+    //Amount of wins of every player
+    private final int[] wins;
+    //Sum of the points of every player
+    private final long[] pointsSum;
+    //Lowest points of every player
+    private final int[] minPoints;
+    //Highest points of every player
+    private final int[] maxPoints;
+    //How often every player reached which amount of points
+    private final List<SortedMap<Integer, Integer>> distributions;
+
+    /**
+     * Constructor for a tournament in which every player uses the default
+     * strategy
+     *
+     * @param amountPlayers amount of players in every game
+     */
+    public TournamentResult(int amountPlayers) {
+        this(defaultStrategyNames(amountPlayers));
+    }
+
+    /**
+     * Constructor
+     *
+     * @param strategyNames name of the strategy of every player
+     */
+    public TournamentResult(String[] strategyNames) {
+        int amountPlayers = strategyNames.length;
+        this.amountPlayers = amountPlayers;
+        this.strategyNames = strategyNames.clone();
+        this.amountGames = 0;
+        this.amountTies = 0;
+        this.wins = new int[amountPlayers];
+        this.pointsSum = new long[amountPlayers];
+        this.minPoints = new int[amountPlayers];
+        this.maxPoints = new int[amountPlayers];
+        this.distributions = new ArrayList<>(amountPlayers);
+        for (int i = 0; i < amountPlayers; i++) {
+            this.minPoints[i] = Integer.MAX_VALUE;
+            this.maxPoints[i] = Integer.MIN_VALUE;
+            this.distributions.add(new TreeMap<>());
+        }
+    }
+
+    /**
+     * @param amountPlayers amount of players in every game
+     * @return name of the default strategy for every player
+     */
+    private static String[] defaultStrategyNames(int amountPlayers) {
+        String[] toReturn = new String[amountPlayers];
+        Arrays.fill(toReturn, HeuristicStrategy.INSTANCE.getName());
+        return toReturn;
+    }
+
+    /**
+     * Adds the outcome of a single game
+     *
+     * @param result outcome of the game
+     */
+    public void add(GameResult result) {
+        if (result.getAmountPlayers() != this.amountPlayers) {
+            throw new IllegalArgumentException("Game has " + result.getAmountPlayers()
+                    + " players, but the tournament has " + this.amountPlayers);
+        }
+        this.amountGames++;
+        if (result.isTie()) {
+            this.amountTies++;
+        } else {
+            this.wins[result.getWinner()]++;
+        }
+        for (int i = 0; i < this.amountPlayers; i++) {
+            int points = result.getPoints(i);
+            this.pointsSum[i] += points;
+            this.minPoints[i] = Math.min(this.minPoints[i], points);
+            this.maxPoints[i] = Math.max(this.maxPoints[i], points);
+            this.distributions.get(i).merge(points, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Adds the outcome of another part of the tournament
+     *
+     * @param other outcome of the other games
+     */
+    public void merge(TournamentResult other) {
+        if (!Arrays.equals(other.strategyNames, this.strategyNames)) {
+            throw new IllegalArgumentException("Can't merge tournaments with different players");
+        }
+        this.amountGames += other.amountGames;
+        this.amountTies += other.amountTies;
+        for (int i = 0; i < this.amountPlayers; i++) {
+            this.wins[i] += other.wins[i];
+            this.pointsSum[i] += other.pointsSum[i];
+            this.minPoints[i] = Math.min(this.minPoints[i], other.minPoints[i]);
+            this.maxPoints[i] = Math.max(this.maxPoints[i], other.maxPoints[i]);
+            for (Map.Entry<Integer, Integer> entry : other.distributions.get(i).entrySet()) {
+                this.distributions.get(i).merge(entry.getKey(), entry.getValue(), Integer::sum);
+            }
+        }
+    }
+
+    /**
+     * @return the amount of players in every game
+     */
+    public int getAmountPlayers() {
+        return this.amountPlayers;
+    }
+
+    /**
+     * @param player index of the player
+     * @return name of the strategy of the player
+     */
+    public String getStrategyName(int player) {
+        return this.strategyNames[player];
+    }
+
+    /**
+     * @return the amount of played games
+     */
+    public int getAmountGames() {
+        return this.amountGames;
+    }
+
+    /**
+     * @return the amount of games that ended in a tie
+     */
+    public int getAmountTies() {
+        return this.amountTies;
+    }
+
+    /**
+     * @param player index of the player
+     * @return the amount of wins of the player
+     */
+    public int getWins(int player) {
+        return this.wins[player];
+    }
+
+    /**
+     * @param player index of the player
+     * @return share of games the player won (0.0 - 1.0)
+     */
+    public double getWinRate(int player) {
+        return this.amountGames == 0 ? 0.0 : (double) this.wins[player] / this.amountGames;
+    }
+
+    /**
+     * @param player index of the player
+     * @return the average points of the player
+     */
+    public double getAveragePoints(int player) {
+        return this.amountGames == 0 ? 0.0 : (double) this.pointsSum[player] / this.amountGames;
+    }
+
+    /**
+     * @param player index of the player
+     * @return the lowest points of the player
+     */
+    public int getMinPoints(int player) {
+        return this.minPoints[player];
+    }
+
+    /**
+     * @param player index of the player
+     * @return the highest points of the player
+     */
+    public int getMaxPoints(int player) {
+        return this.maxPoints[player];
+    }
+
+    /**
+     * @param player index of the player
+     * @return how often the player reached which amount of points, sorted by
+     * the points
+     */
+    public SortedMap<Integer, Integer> getDistribution(int player) {
+        return Collections.unmodifiableSortedMap(this.distributions.get(player));
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder toReturn = new StringBuilder();
+        toReturn.append(this.amountGames).append(" games, ")
+                .append(this.amountTies).append(" ties\n");
+        for (int i = 0; i < this.amountPlayers; i++) {
+            toReturn.append(String.format("Player %d (%s): win rate %.3f, points avg %.2f min %d max %d%n",
+                    i, this.strategyNames[i], getWinRate(i), getAveragePoints(i), this.minPoints[i], this.maxPoints[i]));
+        }
+        return toReturn.toString();
+    }
+}
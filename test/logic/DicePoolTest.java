@@ -0,0 +1,82 @@
+package logic;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Class to test methods of the Class DicePool.java
+ *
+ * @author Mario da Graca (cgt103579)
+ */
+public class DicePoolTest {
+
+    /**
+     * Tests that the dice are always returned in ascending order, no matter in
+     * which order they were added
+     */
+    @Test
+    public void testToArraySorted() {
+        DicePool pool = new DicePool(Die.of(5), Die.of(2), Die.of(5), Die.of(1));
+
+        assertArrayEquals(new Die[]{Die.of(1), Die.of(2), Die.of(5), Die.of(5)}, pool.toArray());
+        assertArrayEquals(new int[]{1, 2, 5, 5}, pool.toFaceValues());
+        assertEquals("[(1), (2), (5), (5)]", pool.toString());
+    }
+
+    /**
+     * Tests that removing a die that is present two times only removes one of
+     * them and that a missing die can't be removed
+     */
+    @Test
+    public void testRemove() {
+        DicePool pool = new DicePool(Die.of(3), Die.of(3), Die.of(4));
+
+        assertTrue(pool.remove(Die.of(3)));
+        assertEquals(1, pool.count(3));
+        assertTrue(pool.contains(3));
+        assertFalse(pool.remove(Die.of(6)));
+        assertTrue(pool.remove(Die.of(3)));
+        assertFalse(pool.contains(3));
+        assertEquals(1 << 4, pool.getFaceMask());
+        assertEquals(1, pool.size());
+    }
+
+    /**
+     * Tests that rolling into a pool results in the same dice as rolling an
+     * array with the same seed
+     */
+    @Test
+    public void testRollDiceSameAsArray() {
+        DicePool pool = new DicePool(Die.of(6));
+        Die.rollDice(pool, 13, new SplittableDiceSource(42L));
+
+        assertArrayEquals(Die.rollDice(13, new SplittableDiceSource(42L)), pool.toArray());
+    }
+
+    /**
+     * Tests that pools with the same dice have the same hash, no matter in
+     * which order the dice were added or removed
+     */
+    @Test
+    public void testStateHashOrderIndependent() {
+        DicePool first = new DicePool(Die.of(1), Die.of(5), Die.of(5), Die.of(2));
+        DicePool second = new DicePool(Die.of(5), Die.of(2), Die.of(3));
+        second.add(5);
+        second.add(1);
+        second.remove(3);
+
+        assertEquals(first.getStateHash(), second.getStateHash());
+        first.remove(5);
+        assertNotEquals(first.getStateHash(), second.getStateHash());
+        first.clear();
+        assertEquals(new DicePool().getStateHash(), first.getStateHash());
+    }
+
+    /**
+     * Tests that a die with a value that doesn't exist can't be added
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddInvalidFace() {
+        new DicePool().add(7);
+    }
+}
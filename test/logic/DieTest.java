@@ -28,13 +28,44 @@ public class DieTest {
      */
     @Test
     public void testEquals() {
-        Die one = new Die(2);
-        Die two = new Die(2);
-        Die three = new Die(3);
+        Die one = Die.of(2);
+        Die two = Die.of(2);
+        Die three = Die.of(3);
         
         assertEquals(one, two);
         assertNotEquals(one, three);
     }
+
+    /**
+     * Tests if two sources with the same seed roll the same dice and if
+     * splitting them results in sources with the same dice as well
+     */
+    @Test
+    public void testRollDiceSameSeed() {
+        DiceSource first = new SplittableDiceSource(7L);
+        DiceSource second = new SplittableDiceSource(7L);
+
+        assertArrayEquals(Die.rollDice(13, first), Die.rollDice(13, second));
+
+        DiceSource firstSplit = first.split();
+        DiceSource secondSplit = second.split();
+        assertEquals(firstSplit.getSeed(), secondSplit.getSeed());
+        assertArrayEquals(Die.rollDice(13, firstSplit), Die.rollDice(13, secondSplit));
+        assertArrayEquals(Die.rollDice(13, new SplittableDiceSource(firstSplit.getSeed())),
+                Die.rollDice(13, new SplittableDiceSource(secondSplit.getSeed())));
+    }
+
+    /**
+     * Tests if dice of the same face value are shared
+     */
+    @Test
+    public void testOfShared() {
+        assertSame(Die.of(4), Die.of(4));
+        assertSame(Die.of(0), Die.of(0));
+        assertEquals(7, Die.of(7).getfaceValue());
+        assertEquals(Die.of(7), Die.of(7));
+        assertEquals(Die.of(7).hashCode(), Die.of(7).hashCode());
+    }
     
     
 }
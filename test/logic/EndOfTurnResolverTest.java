@@ -0,0 +1,111 @@
+package logic;
+
+import java.util.HashSet;
+import logic.boards.BitBoard;
+import logic.boards.Board;
+import logic.boards.LevelTemplate;
+import logic.boards.fieldTypes.Property;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Class to test methods of the Class EndOfTurnResolver.java
+ *
+ * @author Mario da Graca (cgt103579)
+ */
+public class EndOfTurnResolverTest {
+
+    /**
+     * Creates the players of a game of level 3 without any cells played
+     *
+     * @param amountPlayers amount of players
+     * @return players of the game
+     * @throws Exception
+     */
+    private static Player[] createPlayers(int amountPlayers) throws Exception {
+        Player[] players = new Player[amountPlayers];
+        for (int i = 0; i < amountPlayers; i++) {
+            players[i] = new Player(true, new HashSet<>(), new HashSet<>(), new HashSet<>(), 0,
+                    LevelTemplate.get(3).createBoard());
+        }
+        return players;
+    }
+
+    /**
+     * Places a die on a cell of the board of a player
+     *
+     * @param player player that places the die
+     * @param pos cell of the die
+     */
+    private static void placeDie(Player player, Position pos) {
+        player.getBoard().updateCellAdd(Property.DICE_PLACED, pos);
+        player.addToDiceOn(pos);
+    }
+
+    /**
+     * Tests if a die on a bomb crosses it out for the player and lets it
+     * explode for all other players
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testBombCrossedAndExploded() throws Exception {
+        Player[] players = createPlayers(3);
+        Board board = players[0].getBoard();
+        BitBoard bitBoard = board.getBitBoard();
+        long bomb = Long.lowestOneBit(board.getSpecialCells().getBombMask());
+        Position bombPos = bitBoard.toPosition(Long.numberOfTrailingZeros(bomb));
+        placeDie(players[0], bombPos);
+        placeDie(players[1], bombPos);
+
+        CellChanges changes = new EndOfTurnResolver(board, 3).resolve(players, 3);
+
+        assertEquals(bomb, changes.getCrossed(0));
+        assertEquals(bomb, changes.getCrossed(1));
+        assertEquals(0L, changes.getExploded(0));
+        assertEquals(bomb, changes.getExploded(2));
+        assertEquals(bomb, players[0].getCheckedMask());
+        assertEquals(bomb, players[2].getExplodedMask());
+        assertEquals(0L, players[0].getDiceOnMask());
+        assertEquals(Property.EXPLODED, players[2].getBoard().getField()[bombPos.getY()][bombPos.getX()].getProperty());
+    }
+
+    /**
+     * Tests if a die on the key unlocks the padlocks and a die on the rocket
+     * crosses out the planet
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testKeyAndRocket() throws Exception {
+        Player[] players = createPlayers(2);
+        Board board = players[0].getBoard();
+        BitBoard bitBoard = board.getBitBoard();
+        placeDie(players[0], Position.of(4, 6));
+        placeDie(players[1], Position.of(0, 6));
+
+        CellChanges changes = new EndOfTurnResolver(board, 2).resolve(players, 2);
+
+        Board playerBoard = players[0].getBoard();
+        assertEquals(Property.UNLOCKED_KEYHOLE_YELLOW, playerBoard.getField()[1][4].getProperty());
+        assertEquals(Property.UNLOCKED_KEYHOLE_YELLOW, playerBoard.getField()[3][8].getProperty());
+        assertEquals(Property.KEYHOLE_YELLOW, players[1].getBoard().getField()[1][4].getProperty());
+        assertEquals(bitBoard.bit(4, 6), changes.getCrossed(0));
+        assertEquals(bitBoard.bit(0, 6) | bitBoard.bit(6, 6), changes.getCrossed(1));
+        assertEquals(bitBoard.bit(0, 6) | bitBoard.bit(6, 6), players[1].getCheckedMask());
+    }
+
+    /**
+     * Tests if the changes are empty when no die was placed
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testNoChanges() throws Exception {
+        Player[] players = createPlayers(2);
+
+        CellChanges changes = new EndOfTurnResolver(players[0].getBoard(), 2).resolve(players, 2);
+
+        assertTrue(changes.isEmpty());
+    }
+}
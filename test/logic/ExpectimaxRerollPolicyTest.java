@@ -0,0 +1,77 @@
+package logic;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Class to test methods of the Class ExpectimaxRerollPolicy.java
+ *
+ * @author Mario da Graca (cgt103579)
+ */
+public class ExpectimaxRerollPolicyTest {
+
+    /**
+     * Tests if the probabilities of all sets of face values add up to one and
+     * some single sets have their exact multinomial probability
+     */
+    @Test
+    public void testFaceSetProbabilities() {
+        for (int amountDice = 0; amountDice <= 15; amountDice++) {
+            double sum = 0.0;
+            for (double probability : ExpectimaxRerollPolicy.getFaceSetProbabilities(amountDice)) {
+                sum += probability;
+            }
+            assertEquals(1.0, sum, 1e-9);
+        }
+        //all seven dice show a three
+        assertEquals(Math.pow(6, -7), ExpectimaxRerollPolicy.getFaceSetProbabilities(7)[1 << 3], 1e-15);
+        //six dice show all six face values
+        double allFaces = 720 / Math.pow(6, 6);
+        assertEquals(allFaces, ExpectimaxRerollPolicy.getFaceSetProbabilities(6)[0b1111110], 1e-12);
+    }
+
+    /**
+     * Tests the expected value of rolling again if only one face value is
+     * placeable: with one die the risk to put back a die is too high, with
+     * seven dice the chance to roll the face value is high enough
+     */
+    @Test
+    public void testExpectedValue() {
+        ExpectimaxRerollPolicy policy = new ExpectimaxRerollPolicy(new TranspositionTable(64));
+        int[] gains = new int[Die.MAX_FACE_VALUE + 1];
+        gains[4] = ExpectimaxRerollPolicy.DIE_VALUE;
+        int loss = ExpectimaxRerollPolicy.DIE_VALUE;
+
+        assertEquals(-667, policy.getExpectedValue(1, gains, loss));
+        double hit = 1 - Math.pow(5.0 / 6.0, 7);
+        int expected = (int) Math.round(ExpectimaxRerollPolicy.DIE_VALUE * (2 * hit - 1));
+        assertEquals(expected, policy.getExpectedValue(7, gains, loss));
+        //memoized value
+        assertEquals(expected, policy.getExpectedValue(7, gains, loss));
+        //without a placed die nothing can be lost
+        assertTrue(policy.getExpectedValue(1, gains, 0) > 0);
+    }
+
+    /**
+     * Tests if computers that roll again by the policy get more points than
+     * computers that always skip, when they play against each other on both
+     * seats
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testBetterThanSkipping() throws Exception {
+        long expectimaxPoints = 0;
+        long skippingPoints = 0;
+        for (long seed = 0; seed < 40; seed++) {
+            for (int seat = 0; seat < 2; seat++) {
+                GameLogicDizzle game = new GameLogicDizzle(1, 3, seed);
+                game.setRerollPolicy(seat, RerollPolicy.NEVER);
+                GameResult result = game.playHeadless();
+                skippingPoints += result.getPoints(seat);
+                expectimaxPoints += result.getPoints(1 - seat);
+            }
+        }
+        assertTrue(expectimaxPoints + " <= " + skippingPoints, expectimaxPoints > skippingPoints);
+    }
+}
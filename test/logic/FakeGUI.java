@@ -90,6 +90,16 @@ public class FakeGUI implements GUIConnector {
 
     }
 
+    @Override
+    public void displayPutBackDie(Position position, Property property, Die die, int turnOf) {
+
+    }
+
+    @Override
+    public void displayChangedCells(CellChanges changes) {
+
+    }
+
     @Override
     public void createAllGridPanes() {
 
@@ -0,0 +1,136 @@
+package logic;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Class to test methods of the Class GameJournal.java
+ *
+ * @author Mario da Graca (cgt103579)
+ */
+public class GameJournalTest {
+
+    /**
+     * Temporary journal file
+     */
+    private Path journalFile;
+
+    /**
+     * Creates the temporary journal file
+     *
+     * @throws Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        this.journalFile = Files.createTempFile("dizzle", ".journal");
+    }
+
+    /**
+     * Deletes the temporary journal file
+     *
+     * @throws Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(this.journalFile);
+    }
+
+    /**
+     * Reads the types of all records of a journal
+     *
+     * @param data content of the journal
+     * @return types of the records in the order they were written
+     */
+    private static List<Byte> readTypes(byte[] data) {
+        List<Byte> toReturn = new ArrayList<>();
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        buffer.position(GameJournal.HEADER_SIZE);
+        while (buffer.hasRemaining()) {
+            int start = buffer.position();
+            int length = buffer.getInt();
+            byte type = buffer.get();
+            buffer.position(buffer.position() + length);
+            assertEquals(GameJournal.checksum(data, start + 4, length + 1), buffer.getInt());
+            toReturn.add(type);
+        }
+        return toReturn;
+    }
+
+    /**
+     * Tests if a new game starts its journal with a snapshot and the face
+     * values that were rolled before a record are written in front of it
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testRecordOrder() throws Exception {
+        GameLogicDizzle game = new GameLogicDizzle(1, 1, 7L);
+        GameJournal journal = new GameJournal(this.journalFile, 2);
+        game.setJournal(journal);
+        journal.face(3);
+        journal.face(5);
+        journal.click(Position.of(1, 2));
+        journal.face(6);
+        journal.close();
+        //records after closing are ignored
+        journal.skipClick();
+
+        byte[] data = Files.readAllBytes(this.journalFile);
+        assertEquals(GameJournal.MAGIC, ByteBuffer.wrap(data).getInt());
+        List<Byte> types = readTypes(data);
+        assertEquals(4, types.size());
+        assertEquals(GameJournal.SNAPSHOT, (byte) types.get(0));
+        assertEquals(GameJournal.DICE, (byte) types.get(1));
+        assertEquals(GameJournal.CLICK, (byte) types.get(2));
+        //face values after the last record are written when closing
+        assertEquals(GameJournal.DICE, (byte) types.get(3));
+        assertNull(journal.pollError());
+    }
+
+    /**
+     * Tests if a journaled game writes a snapshot every few turns and the end
+     * of the game
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testSnapshotInterval() throws Exception {
+        GameLogicDizzle game = new GameLogicDizzle(1, 2, 11L);
+        GameJournal journal = new GameJournal(this.journalFile, 2);
+        game.setJournal(journal);
+        game.playHeadless();
+        journal.close();
+
+        List<Byte> types = readTypes(Files.readAllBytes(this.journalFile));
+        int turns = 0;
+        int snapshots = 0;
+        for (byte type : types) {
+            if (type == GameJournal.END_OF_TURN) {
+                turns++;
+            } else if (type == GameJournal.SNAPSHOT) {
+                snapshots++;
+            }
+        }
+        //first snapshot at the start, no snapshot after the last turn
+        assertEquals(1 + (turns - 1) / 2, snapshots);
+        assertEquals(GameJournal.END_OF_GAME, (byte) types.get(types.size() - 1));
+    }
+
+    /**
+     * Expects an exception for a snapshot interval that doesn't fit in the
+     * header
+     *
+     * @throws Exception
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalSnapshotInterval() throws Exception {
+        new GameJournal(this.journalFile, 0);
+    }
+}
@@ -0,0 +1,125 @@
+package logic;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Class to test methods of the Class GameLogWriter.java
+ *
+ * @author Mario da Graca (cgt103579)
+ */
+public class GameLogWriterTest {
+
+    /**
+     * Temporary log file
+     */
+    private Path logFile;
+
+    /**
+     * Creates the temporary log file
+     *
+     * @throws Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        this.logFile = Files.createTempFile("dizzle", ".log");
+    }
+
+    /**
+     * Deletes the temporary log file
+     *
+     * @throws Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(this.logFile);
+    }
+
+    /**
+     * Tests if all entries are written in the right order when the writer is
+     * closed
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testCloseWritesAllEntries() throws Exception {
+        GameLogWriter writer = new GameLogWriter(this.logFile, false, 16, true);
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            writer.log("entry " + i + "\n");
+            expected.append("entry ").append(i).append("\n");
+        }
+        writer.close();
+
+        assertEquals(expected.toString(), new String(Files.readAllBytes(this.logFile), StandardCharsets.UTF_8));
+        assertNull(writer.pollError());
+    }
+
+    /**
+     * Tests if the file is cleared, when the writer doesn't append
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testClearsFile() throws Exception {
+        Files.write(this.logFile, "old game\n".getBytes(StandardCharsets.UTF_8));
+        GameLogWriter writer = new GameLogWriter(this.logFile, false, 16, true);
+        writer.log("new game\n");
+        writer.close();
+
+        assertEquals("new game\n", new String(Files.readAllBytes(this.logFile), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Tests if a flush that is requested while the queue is full isn't lost,
+     * every entry is either written or counted as dropped without closing
+     * the writer
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testFlushWithFullQueue() throws Exception {
+        GameLogWriter writer = new GameLogWriter(this.logFile, false, 1, false);
+        for (int i = 0; i < 1000; i++) {
+            writer.log("x\n");
+        }
+        writer.flush();
+
+        int amountEntries = 0;
+        long deadline = System.currentTimeMillis() + 5000;
+        while (amountEntries < 1000 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            amountEntries = 0;
+            for (String line : Files.readAllLines(this.logFile, StandardCharsets.UTF_8)) {
+                if (line.equals("x")) {
+                    amountEntries++;
+                } else if (line.endsWith(" log entries dropped]")) {
+                    amountEntries += Integer.parseInt(line.substring(1, line.indexOf(' ')));
+                }
+            }
+        }
+        writer.close();
+
+        assertEquals(1000, amountEntries);
+    }
+
+    /**
+     * Tests if entries after closing the writer are ignored
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testLogAfterClose() throws Exception {
+        GameLogWriter writer = new GameLogWriter(this.logFile, false, 16, false);
+        writer.close();
+        writer.log("too late\n");
+        writer.close();
+
+        assertEquals("", new String(Files.readAllBytes(this.logFile), StandardCharsets.UTF_8));
+    }
+}
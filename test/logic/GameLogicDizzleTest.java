@@ -22,16 +22,16 @@ public class GameLogicDizzleTest {
     @Test
     public void testCorrectDiceAmount() {
         GameLogicDizzle oneComputer = new GameLogicDizzle(1, new FakeGUI());
-        Die[] dice = oneComputer.createNewDicePool(1);
-        assertEquals(7, dice.length);
+        DicePool dice = oneComputer.createNewDicePool(1);
+        assertEquals(7, dice.size());
 
         GameLogicDizzle twoComputer = new GameLogicDizzle(2, new FakeGUI());
         dice = twoComputer.createNewDicePool(2);
-        assertEquals(10, dice.length);
+        assertEquals(10, dice.size());
 
         GameLogicDizzle threeComputer = new GameLogicDizzle(3, new FakeGUI());
         dice = threeComputer.createNewDicePool(3);
-        assertEquals(13, dice.length);
+        assertEquals(13, dice.size());
     }
 //</editor-fold>
 
@@ -64,11 +64,11 @@ public class GameLogicDizzleTest {
     @Test
     public void testRemoveDieFromDicePool() {
         // die only one time in Pool
-        Die[] diePool = new Die[]{new Die(6), new Die(1), new Die(2), new Die(3), new Die(4), new Die(5)};
-        Die[] result = new Die[]{new Die(6), new Die(1), new Die(2), new Die(4), new Die(5)};
+        Die[] diePool = new Die[]{Die.of(6), Die.of(1), Die.of(2), Die.of(3), Die.of(4), Die.of(5)};
+        Die[] result = new Die[]{Die.of(1), Die.of(2), Die.of(4), Die.of(5), Die.of(6)};
         GameLogicDizzle computerOne = new GameLogicDizzle(diePool, new FakeGUI());
 
-        computerOne.removeDieFromDicePool(new Die(3));
+        computerOne.removeDieFromDicePool(Die.of(3));
         assertArrayEquals(result, computerOne.getDice());
     }
 
@@ -78,11 +78,11 @@ public class GameLogicDizzleTest {
     @Test
     public void testRemoveDieFromDicePoolTwoDice() {
         // die several times in pool
-        Die[] diePool = new Die[]{new Die(6), new Die(6), new Die(3), new Die(3), new Die(4), new Die(5)};
-        Die[] result = new Die[]{new Die(6), new Die(6), new Die(3), new Die(4), new Die(5)};
+        Die[] diePool = new Die[]{Die.of(6), Die.of(6), Die.of(3), Die.of(3), Die.of(4), Die.of(5)};
+        Die[] result = new Die[]{Die.of(3), Die.of(4), Die.of(5), Die.of(6), Die.of(6)};
         GameLogicDizzle computerTwo = new GameLogicDizzle(diePool, new FakeGUI());
 
-        computerTwo.removeDieFromDicePool(new Die(3));
+        computerTwo.removeDieFromDicePool(Die.of(3));
         assertArrayEquals(result, computerTwo.getDice());
     }
 
@@ -92,11 +92,11 @@ public class GameLogicDizzleTest {
     @Test
     public void testRemoveDieFromDicePoolNoDie() {
         // die not in pool
-        Die[] diePool = new Die[]{new Die(6), new Die(6), new Die(3), new Die(3), new Die(4), new Die(5)};
-        Die[] result = new Die[]{new Die(6), new Die(6), new Die(3), new Die(3), new Die(4), new Die(5)};
+        Die[] diePool = new Die[]{Die.of(6), Die.of(6), Die.of(3), Die.of(3), Die.of(4), Die.of(5)};
+        Die[] result = new Die[]{Die.of(3), Die.of(3), Die.of(4), Die.of(5), Die.of(6), Die.of(6)};
         GameLogicDizzle computerThree = new GameLogicDizzle(diePool, new FakeGUI());
 
-        computerThree.removeDieFromDicePool(new Die(2));
+        computerThree.removeDieFromDicePool(Die.of(2));
         assertArrayEquals(result, computerThree.getDice());
     }
 
@@ -106,11 +106,11 @@ public class GameLogicDizzleTest {
     @Test
     public void testRemoveDieFromDicePoolAtStart() {
         // die at first spot in pool
-        Die[] diePool = new Die[]{new Die(6), new Die(5), new Die(3), new Die(3), new Die(4), new Die(5)};
-        Die[] result = new Die[]{new Die(5), new Die(3), new Die(3), new Die(4), new Die(5)};
+        Die[] diePool = new Die[]{Die.of(6), Die.of(5), Die.of(3), Die.of(3), Die.of(4), Die.of(5)};
+        Die[] result = new Die[]{Die.of(3), Die.of(3), Die.of(4), Die.of(5), Die.of(5)};
         GameLogicDizzle computerThree = new GameLogicDizzle(diePool, new FakeGUI());
 
-        computerThree.removeDieFromDicePool(new Die(6));
+        computerThree.removeDieFromDicePool(Die.of(6));
         assertArrayEquals(result, computerThree.getDice());
     }
 
@@ -120,11 +120,11 @@ public class GameLogicDizzleTest {
     @Test
     public void testRemoveDieFromDicePoolAtEnd() {
         // die at last spot in pool
-        Die[] diePool = new Die[]{new Die(6), new Die(6), new Die(3), new Die(3), new Die(4), new Die(5)};
-        Die[] result = new Die[]{new Die(6), new Die(6), new Die(3), new Die(3), new Die(4)};
+        Die[] diePool = new Die[]{Die.of(6), Die.of(6), Die.of(3), Die.of(3), Die.of(4), Die.of(5)};
+        Die[] result = new Die[]{Die.of(3), Die.of(3), Die.of(4), Die.of(6), Die.of(6)};
         GameLogicDizzle computerThree = new GameLogicDizzle(diePool, new FakeGUI());
 
-        computerThree.removeDieFromDicePool(new Die(5));
+        computerThree.removeDieFromDicePool(Die.of(5));
         assertArrayEquals(result, computerThree.getDice());
     }
 //</editor-fold>
@@ -138,8 +138,8 @@ public class GameLogicDizzleTest {
     @Test
     public void testOneDiePlacableOnOneCell_FieldNotPlacable() {
         //Field is not placable, but die Value matches
-        Field field = new Field(Property.NOT_REACHABLE, new Die(6));
-        GameLogicDizzle game = new GameLogicDizzle(new Die[]{new Die(6)}, new FakeGUI());
+        Field field = new Field(Property.NOT_REACHABLE, Die.of(6));
+        GameLogicDizzle game = new GameLogicDizzle(new Die[]{Die.of(6)}, new FakeGUI());
         assertFalse(game.isDiePlaceable(field, game.getDice()[0]));
     }
 
@@ -149,8 +149,8 @@ public class GameLogicDizzleTest {
     @Test
     public void testOneDiePlacableOnOneCell_FieldPlacable() {
         //Field is placable and die Value matches
-        Field field = new Field(Property.JEWEL_BLUE, new Die(6));
-        GameLogicDizzle game = new GameLogicDizzle(new Die[]{new Die(6)}, new FakeGUI());
+        Field field = new Field(Property.JEWEL_BLUE, Die.of(6));
+        GameLogicDizzle game = new GameLogicDizzle(new Die[]{Die.of(6)}, new FakeGUI());
         assertTrue(game.isDiePlaceable(field, game.getDice()[0]));
     }
 
@@ -160,8 +160,8 @@ public class GameLogicDizzleTest {
     @Test
     public void testOneDieNotPlacableOnOneCell_FieldPlacable() {
         //Field is placable, but die Value doesn't matches
-        Field field = new Field(Property.JEWEL_BLUE, new Die(4));
-        GameLogicDizzle game = new GameLogicDizzle(new Die[]{new Die(6)}, new FakeGUI());
+        Field field = new Field(Property.JEWEL_BLUE, Die.of(4));
+        GameLogicDizzle game = new GameLogicDizzle(new Die[]{Die.of(6)}, new FakeGUI());
         assertFalse(game.isDiePlaceable(field, game.getDice()[0]));
     }
 
@@ -171,8 +171,8 @@ public class GameLogicDizzleTest {
     @Test
     public void testOneDieNotPlacableOnOneCell_FieldNotPlacable() {
         //Field is not placable and die Value doesn't matches
-        Field field = new Field(Property.CROSSED, new Die(4));
-        GameLogicDizzle game = new GameLogicDizzle(new Die[]{new Die(6)}, new FakeGUI());
+        Field field = new Field(Property.CROSSED, Die.of(4));
+        GameLogicDizzle game = new GameLogicDizzle(new Die[]{Die.of(6)}, new FakeGUI());
         assertFalse(game.isDiePlaceable(field, game.getDice()[0]));
     }
 //</editor-fold>
@@ -186,11 +186,11 @@ public class GameLogicDizzleTest {
     @Test
     public void testDicePoolPlacableOnOneCell_FieldNotPlacable() {
         //Field is not placable, but atleast one Die matches
-        Field[][] playingField = {{new Field(Property.CROSSED, new Die(4))}};
-        GameLogicDizzle game = new GameLogicDizzle(new Die[]{new Die(6),
-            new Die(5), new Die(5), new Die(4), new Die(4), new Die(1),
-            new Die(6), new Die(6), new Die(2)}, new FakeGUI());
-        assertFalse(game.isOneOfTheDicePlacable(new Position(0, 0), playingField) && game.isPlaceable(playingField[0][0]));
+        Field[][] playingField = {{new Field(Property.CROSSED, Die.of(4))}};
+        GameLogicDizzle game = new GameLogicDizzle(new Die[]{Die.of(6),
+            Die.of(5), Die.of(5), Die.of(4), Die.of(4), Die.of(1),
+            Die.of(6), Die.of(6), Die.of(2)}, new FakeGUI());
+        assertFalse(game.isOneOfTheDicePlacable(Position.of(0, 0), playingField) && game.isPlaceable(playingField[0][0]));
     }
 
     /**
@@ -199,11 +199,11 @@ public class GameLogicDizzleTest {
     @Test
     public void testDicePoolPlacableOnOneCell_FieldPlacable() {
         //Field is placable and atleast one Die matches
-        Field[][] playingField = {{new Field(Property.BOMB, new Die(4))}};
-        GameLogicDizzle game = new GameLogicDizzle(new Die[]{new Die(6),
-            new Die(5), new Die(5), new Die(4), new Die(4), new Die(1),
-            new Die(6), new Die(6), new Die(2)}, new FakeGUI());
-        assertTrue(game.isOneOfTheDicePlacable(new Position(0, 0), playingField) && game.isPlaceable(playingField[0][0]));
+        Field[][] playingField = {{new Field(Property.BOMB, Die.of(4))}};
+        GameLogicDizzle game = new GameLogicDizzle(new Die[]{Die.of(6),
+            Die.of(5), Die.of(5), Die.of(4), Die.of(4), Die.of(1),
+            Die.of(6), Die.of(6), Die.of(2)}, new FakeGUI());
+        assertTrue(game.isOneOfTheDicePlacable(Position.of(0, 0), playingField) && game.isPlaceable(playingField[0][0]));
     }
 
     /**
@@ -212,11 +212,11 @@ public class GameLogicDizzleTest {
     @Test
     public void testDicePoolNotPlacableOnOneCell_FieldPlacable() {
         //Field is placable, but no Die matches
-        Field[][] playingField = {{new Field(Property.BOMB, new Die(3))}};
-        GameLogicDizzle game = new GameLogicDizzle(new Die[]{new Die(6),
-            new Die(5), new Die(5), new Die(4), new Die(4), new Die(1),
-            new Die(6), new Die(6), new Die(2)}, new FakeGUI());
-        assertFalse(game.isOneOfTheDicePlacable(new Position(0, 0), playingField) && game.isPlaceable(playingField[0][0]));
+        Field[][] playingField = {{new Field(Property.BOMB, Die.of(3))}};
+        GameLogicDizzle game = new GameLogicDizzle(new Die[]{Die.of(6),
+            Die.of(5), Die.of(5), Die.of(4), Die.of(4), Die.of(1),
+            Die.of(6), Die.of(6), Die.of(2)}, new FakeGUI());
+        assertFalse(game.isOneOfTheDicePlacable(Position.of(0, 0), playingField) && game.isPlaceable(playingField[0][0]));
     }
 
     /**
@@ -225,11 +225,11 @@ public class GameLogicDizzleTest {
     @Test
     public void testDicePoolNotPlacableOnOneCell_FieldNotPlacable() {
         //Field is not placable and no Die matches
-        Field[][] playingField = {{new Field(Property.BOMB, new Die(3))}};
-        GameLogicDizzle game = new GameLogicDizzle(new Die[]{new Die(6),
-            new Die(5), new Die(5), new Die(4), new Die(4), new Die(1),
-            new Die(6), new Die(6), new Die(2)}, new FakeGUI());
-        assertFalse(game.isOneOfTheDicePlacable(new Position(0, 0), playingField) && game.isPlaceable(playingField[0][0]));
+        Field[][] playingField = {{new Field(Property.BOMB, Die.of(3))}};
+        GameLogicDizzle game = new GameLogicDizzle(new Die[]{Die.of(6),
+            Die.of(5), Die.of(5), Die.of(4), Die.of(4), Die.of(1),
+            Die.of(6), Die.of(6), Die.of(2)}, new FakeGUI());
+        assertFalse(game.isOneOfTheDicePlacable(Position.of(0, 0), playingField) && game.isPlaceable(playingField[0][0]));
     }
 //</editor-fold>
 
@@ -242,24 +242,164 @@ public class GameLogicDizzleTest {
     @Test
     public void testIsOneOfTheDicePlaceable() {
         Field[][] playingBoard = new Field[3][3];
-        playingBoard[0][0] = new Field(Property.NORMAL, new Die(2));
+        playingBoard[0][0] = new Field(Property.NORMAL, Die.of(2));
         playingBoard[0][1] = new Field(Property.NOT_REACHABLE, null);
-        playingBoard[0][2] = new Field(Property.NORMAL, new Die(3));
-        playingBoard[1][0] = new Field(Property.NORMAL, new Die(4));
+        playingBoard[0][2] = new Field(Property.NORMAL, Die.of(3));
+        playingBoard[1][0] = new Field(Property.NORMAL, Die.of(4));
         playingBoard[1][1] = new Field(Property.CROSSED, null);
-        playingBoard[1][2] = new Field(Property.NORMAL, new Die(1));
-        playingBoard[2][0] = new Field(Property.NORMAL, new Die(5));
-        playingBoard[2][1] = new Field(Property.NORMAL, new Die(5));
-        playingBoard[2][2] = new Field(Property.NORMAL, new Die(6));
-
-        Die[] dicePool = new Die[]{new Die(2),
-            new Die(5), new Die(5), new Die(4), new Die(4), new Die(6),
-            new Die(3), new Die(3), new Die(2)};
+        playingBoard[1][2] = new Field(Property.NORMAL, Die.of(1));
+        playingBoard[2][0] = new Field(Property.NORMAL, Die.of(5));
+        playingBoard[2][1] = new Field(Property.NORMAL, Die.of(5));
+        playingBoard[2][2] = new Field(Property.NORMAL, Die.of(6));
+
+        Die[] dicePool = new Die[]{Die.of(2),
+            Die.of(5), Die.of(5), Die.of(4), Die.of(4), Die.of(6),
+            Die.of(3), Die.of(3), Die.of(2)};
         GameLogicDizzle game = new GameLogicDizzle(dicePool, new FakeGUI());
         Set<Position> neighbours = game.getAllPlaceableNeighbours(playingBoard, Property.CROSSED);
-        Position[] result = new Position[]{new Position(0, 1), new Position(1, 2)};
+        Position[] result = new Position[]{Position.of(0, 1), Position.of(1, 2)};
 
         assertArrayEquals(result, neighbours.toArray(new Position[neighbours.size()]));
     }
-}
 //</editor-fold>
+
+    //Liefert ein Spiel ohne GUI mit dem gleichen Seed das gleiche Ergebnis?
+    //<editor-fold defaultstate="collapsed" desc="playHeadless Method">
+
+    /**
+     * Tests if a headless game is played until the end and every player gets
+     * points
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testPlayHeadless() throws Exception {
+        GameLogicDizzle game = new GameLogicDizzle(3, 1, 42L);
+        GameResult result = game.playHeadless();
+
+        assertNotNull(result);
+        assertEquals(4, result.getAmountPlayers());
+        assertEquals(42L, result.getSeed());
+    }
+
+    /**
+     * Tests if two headless games with the same seed have the same outcome
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testPlayHeadlessSameSeed() throws Exception {
+        for (int levelNo = 1; levelNo <= GameLogicDizzle.AMOUNT_LEVELS; levelNo++) {
+            GameResult first = new GameLogicDizzle(2, levelNo, 1234L).playHeadless();
+            GameResult second = new GameLogicDizzle(2, levelNo, 1234L).playHeadless();
+
+            assertArrayEquals(first.getPoints(), second.getPoints());
+            assertEquals(first.getWinner(), second.getWinner());
+        }
+    }
+
+    /**
+     * Tests if a headless game stops when its deadline has passed and can't
+     * have a result then
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testPlayHeadlessDeadline() throws Exception {
+        GameLogicDizzle game = new GameLogicDizzle(3, 3, 5L);
+
+        assertNull(game.playHeadless(System.nanoTime()));
+        assertNotNull(new GameLogicDizzle(3, 3, 5L).playHeadless(Long.MAX_VALUE));
+    }
+//</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="getCurrentPoints Method">
+    /**
+     * Tests if the points of the flag depend on the order in which all four
+     * players reached it and a player who didn't reach it gets none
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testCurrentPointsFlag() throws Exception {
+        GameLogicDizzle game = new GameLogicDizzle(3, 3, 5L);
+        Player[] players = game.getPlayers();
+        int[] expected = {10, 6, 3, 1};
+
+        for (int i = 0; i < players.length; i++) {
+            assertEquals(players[i].getCellPoints(), game.getCurrentPoints(i));
+        }
+        for (int i = 0; i < players.length; i++) {
+            players[i].setFlagReachedAs(i + 1);
+        }
+        for (int i = 0; i < players.length; i++) {
+            assertEquals(players[i].getCellPoints() + expected[i], game.getCurrentPoints(i));
+        }
+    }
+
+    /**
+     * Tests if a headless game in which a player reached the flag as the
+     * fourth is played until the end
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testCurrentPointsFourthFlag() throws Exception {
+        GameLogicDizzle game = new GameLogicDizzle(3, 3, 1257L);
+        GameResult result = game.playHeadless();
+
+        assertNotNull(result);
+        assertEquals(4, game.getPlayers()[0].getFlagReachedAs());
+        assertEquals(game.getPlayers()[0].getCellPoints() + 1, result.getPoints()[0]);
+    }
+//</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="getStateHash Method">
+    /**
+     * Tests if the incremental hash of the game state always matches the hash
+     * calculated from scratch, checked before every move of a whole game
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testStateHashIncremental() throws Exception {
+        for (int levelNo = 1; levelNo <= GameLogicDizzle.AMOUNT_LEVELS; levelNo++) {
+            GameLogicDizzle game = new GameLogicDizzle(3, levelNo, levelNo);
+            MoveStrategy checking = new MoveStrategy() {
+                @Override
+                public Position nextMove(GameLogicDizzle game, Position[] placeable) {
+                    assertEquals(game.computeStateHash(), game.getStateHash());
+                    return HeuristicStrategy.INSTANCE.nextMove(game, placeable);
+                }
+
+                @Override
+                public String getName() {
+                    return "Checking";
+                }
+            };
+            for (int i = 0; i < game.getPlayers().length; i++) {
+                game.setStrategy(i, checking);
+            }
+            game.playHeadless();
+            assertEquals(game.computeStateHash(), game.getStateHash());
+        }
+    }
+
+    /**
+     * Tests if two games with the same seed have the same hash and a played
+     * move changes it
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testStateHashSameState() throws Exception {
+        GameLogicDizzle first = new GameLogicDizzle(2, 2, 7L);
+        GameLogicDizzle second = new GameLogicDizzle(2, 2, 7L);
+        assertEquals(first.getStateHash(), second.getStateHash());
+
+        long before = first.getStateHash();
+        first.playHeadless();
+        assertNotEquals(before, first.getStateHash());
+    }
+//</editor-fold>
+}
@@ -0,0 +1,250 @@
+package logic;
+
+import java.io.FileNotFoundException;
+import logic.exceptions.LevelParsingException;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Class to test methods of the Class GameState.java
+ *
+ * @author Mario da Graca (cgt103579)
+ */
+public class GameStateTest {
+
+    /**
+     * Source that rolls the dice of a seed until it is switched to another
+     * seed, so a game can continue with the dice of a played out state
+     */
+    private static class SwitchingDiceSource implements DiceSource {
+
+        //Source the dice are currently rolled with
+        private DiceSource source;
+
+        /**
+         * Constructor
+         *
+         * @param seed seed the dice are rolled with until the switch
+         */
+        SwitchingDiceSource(long seed) {
+            this.source = new SplittableDiceSource(seed);
+        }
+
+        /**
+         * Rolls all following dice with another seed
+         *
+         * @param seed seed of the following dice
+         */
+        void switchTo(long seed) {
+            this.source = new SplittableDiceSource(seed);
+        }
+
+        @Override
+        public int nextFaceValue() {
+            return this.source.nextFaceValue();
+        }
+
+        @Override
+        public long getSeed() {
+            return this.source.getSeed();
+        }
+
+        @Override
+        public DiceSource split() {
+            return this.source.split();
+        }
+    }
+
+    /**
+     * Strategy that plays the first placeable cell for a given amount of
+     * moves, switches the dice after the last of them and plays the rest of
+     * the game with the default strategy
+     */
+    private static class PrefixStrategy implements MoveStrategy {
+
+        //Amount of moves that play the first placeable cell
+        private final int amountPrefixMoves;
+        //Dice of the game, switched after the last of the moves
+        private final SwitchingDiceSource diceSource;
+        //Amount of moves that were made
+        private int amountMoves;
+
+        /**
+         * Constructor
+         *
+         * @param amountPrefixMoves amount of moves that play the first
+         * placeable cell
+         * @param diceSource dice of the game
+         */
+        PrefixStrategy(int amountPrefixMoves, SwitchingDiceSource diceSource) {
+            this.amountPrefixMoves = amountPrefixMoves;
+            this.diceSource = diceSource;
+        }
+
+        @Override
+        public Position nextMove(GameLogicDizzle game, Position[] placeable) {
+            this.amountMoves++;
+            if (this.amountMoves < this.amountPrefixMoves) {
+                return placeable[0];
+            }
+            if (this.amountMoves == this.amountPrefixMoves) {
+                this.diceSource.switchTo(this.amountPrefixMoves);
+                return placeable[0];
+            }
+            return HeuristicStrategy.INSTANCE.nextMove(game, placeable);
+        }
+
+        @Override
+        public String getName() {
+            return "Prefix";
+        }
+    }
+
+    /**
+     * Strategy that checks the state of the game before every move and plays
+     * the first placeable cell
+     */
+    private static class CheckingStrategy implements MoveStrategy {
+
+        //Amount of computers of the checked game
+        private final int amountComputers;
+        //Level of the checked game
+        private final int levelNo;
+        //Seed of the checked game
+        private final long seed;
+        //Amount of moves that were checked
+        private int amountMoves;
+
+        /**
+         * Constructor
+         *
+         * @param amountComputers amount of computers of the checked game
+         * @param levelNo level of the checked game
+         * @param seed seed of the checked game
+         */
+        CheckingStrategy(int amountComputers, int levelNo, long seed) {
+            this.amountComputers = amountComputers;
+            this.levelNo = levelNo;
+            this.seed = seed;
+        }
+
+        @Override
+        public Position nextMove(GameLogicDizzle game, Position[] placeable) {
+            GameState state = game.getState();
+            long placeableMask = game.getPlayers()[0].getBoard().getBitBoard().toMask(placeable);
+            assertEquals(game.getStateHash(), state.getStateHash());
+            assertEquals(placeableMask, state.getPlaceableCells());
+            this.amountMoves++;
+
+            //every few moves the rest of the game is played out from the
+            //state and by a game with the same seed that makes the same moves
+            if (this.amountMoves % 7 == 1) {
+                try {
+                    SwitchingDiceSource diceSource = new SwitchingDiceSource(this.seed);
+                    GameLogicDizzle expected = new GameLogicDizzle(this.amountComputers, this.levelNo, diceSource);
+                    PrefixStrategy prefix = new PrefixStrategy(this.amountMoves, diceSource);
+                    for (int i = 0; i <= this.amountComputers; i++) {
+                        expected.setStrategy(i, prefix);
+                    }
+                    GameLogicDizzle fromState = GameLogicDizzle.fromState(state.place(placeable[0]).nextPlayer(),
+                            new SplittableDiceSource(this.amountMoves));
+                    fromState.startGame();
+                    assertArrayEquals(expected.playHeadless().getPoints(), fromState.getResult().getPoints());
+                } catch (LevelParsingException | FileNotFoundException e) {
+                    throw new AssertionError(e);
+                }
+            }
+            return placeable[0];
+        }
+
+        @Override
+        public String getName() {
+            return "Checking";
+        }
+    }
+
+    /**
+     * Tests if a game continued from the snapshot of a game is in the same
+     * state
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testFromState() throws Exception {
+        GameLogicDizzle game = new GameLogicDizzle(3, 3, 5L);
+        GameState state = game.getState();
+
+        GameLogicDizzle copy = GameLogicDizzle.fromState(state, new SplittableDiceSource(5L));
+
+        assertEquals(game.getStateHash(), state.getStateHash());
+        assertEquals(game.getStateHash(), copy.getStateHash());
+        assertEquals(copy.computeStateHash(), copy.getStateHash());
+        assertEquals(state.getStateHash(), copy.getState().getStateHash());
+    }
+
+    /**
+     * Tests if a move only replaces the player who moved and undo returns the
+     * unchanged state
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testPlaceAndUndo() throws Exception {
+        GameLogicDizzle game = new GameLogicDizzle(2, 2, 3L);
+        GameState state = game.getState();
+        long cell = Long.lowestOneBit(state.getPlaceableCells());
+        Position pos = game.getPlayers()[0].getBoard().getBitBoard().toPosition(Long.numberOfTrailingZeros(cell));
+        int diceBefore = state.getDice().size();
+
+        GameState placed = state.place(pos);
+
+        assertSame(state, placed.undo());
+        assertSame(state.getSeat(1), placed.getSeat(1));
+        assertSame(state.getSeat(2), placed.getSeat(2));
+        assertEquals(cell, placed.getDiceOnMask(0));
+        assertEquals(0L, state.getDiceOnMask(0));
+        assertEquals(diceBefore - 1, placed.getDice().size());
+        assertEquals(diceBefore, state.getDice().size());
+        assertNotEquals(state.getStateHash(), placed.getStateHash());
+
+        GameState putBack = placed.putBack(pos);
+        assertEquals(state.getStateHash(), putBack.getStateHash());
+        assertSame(placed, putBack.undo());
+    }
+
+    /**
+     * Tests if a cell that isn't placeable is rejected
+     *
+     * @throws Exception
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testPlaceNotPlaceable() throws Exception {
+        GameLogicDizzle game = new GameLogicDizzle(1, 1, 3L);
+        GameState state = game.getState();
+        long notPlaceable = ~state.getPlaceableCells() & state.getPlaceableMask(0);
+
+        state.place(game.getPlayers()[0].getBoard().getBitBoard().toPosition(Long.numberOfTrailingZeros(notPlaceable)));
+    }
+
+    /**
+     * Tests if the state agrees with the game before every move of a whole
+     * game and if the rest of a game played out from a state has the same
+     * outcome as a game with the same seed that makes the same moves
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testStateFollowsGame() throws Exception {
+        for (int levelNo = 1; levelNo <= GameLogicDizzle.AMOUNT_LEVELS; levelNo++) {
+            GameLogicDizzle game = new GameLogicDizzle(3, levelNo, 17L + levelNo);
+            CheckingStrategy strategy = new CheckingStrategy(3, levelNo, 17L + levelNo);
+            for (int i = 0; i < 4; i++) {
+                game.setStrategy(i, strategy);
+            }
+
+            game.playHeadless();
+
+            assertTrue(strategy.amountMoves > 0);
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package logic;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import logic.boards.Board;
+import logic.exceptions.LevelParsingException;
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Class to test methods of the Class JournalRecovery.java
+ *
+ * @author Mario da Graca (cgt103579)
+ */
+public class JournalRecoveryTest {
+
+    /**
+     * Temporary journal file
+     */
+    private Path journalFile;
+
+    /**
+     * Creates the temporary journal file
+     *
+     * @throws Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        this.journalFile = Files.createTempFile("dizzle", ".journal");
+    }
+
+    /**
+     * Deletes the temporary journal file
+     *
+     * @throws Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(this.journalFile);
+    }
+
+    /**
+     * Resumes the game of the temporary journal
+     *
+     * @param gui gui of the game, null for a headless game
+     * @return resumed game
+     * @throws Exception
+     */
+    private GameLogicDizzle recover(GUIConnector gui) throws Exception {
+        JournalRecovery recovery = new JournalRecovery(this.journalFile, gui);
+        recovery.read();
+        return recovery.recover();
+    }
+
+    /**
+     * Makes moves for the human player, he places a die on the first
+     * placeable cell, puts back the first placed die if he has to and
+     * otherwise rolls the dice cup again or skips
+     *
+     * @param game game with a gui
+     * @param amountInputs amount of inputs, the game might be over before
+     */
+    private static void playHuman(GameLogicDizzle game, int amountInputs) {
+        int stuck = 0;
+        for (int i = 0; i < amountInputs && game.getResult() == null; i++) {
+            Player human = game.getPlayers()[0];
+            Board board = human.getBoard();
+            long dicePool = 0L;
+            for (Die die : game.getDice()) {
+                dicePool |= board.getFaceMask(die.getfaceValue());
+            }
+            long placeable = game.getCurrFrontier() & dicePool;
+            if (human.getPlayerState() == PlayerState.cantPlace && human.getDiceOnMask() != 0L) {
+                game.handleClickedCell(board.getBitBoard().toPositionArray(human.getDiceOnMask())[0]);
+            } else if (placeable != 0L) {
+                game.handleClickedCell(board.getBitBoard().toPositionArray(placeable)[0]);
+            } else if (stuck++ % 2 == 0) {
+                game.handleRollDiceClicked();
+            } else {
+                game.handleClickedSkippedButton();
+            }
+        }
+    }
+
+    /**
+     * Tests if a headless game that is resumed from its complete journal ends
+     * exactly like the journaled game
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testRecoverHeadless() throws Exception {
+        GameLogicDizzle game = new GameLogicDizzle(2, 3, 21L);
+        GameJournal journal = new GameJournal(this.journalFile, 2);
+        game.setJournal(journal);
+        GameResult expected = game.playHeadless();
+        journal.close();
+
+        GameLogicDizzle resumed = recover(null);
+        GameResult result = resumed.playHeadless();
+        resumed.getJournal().close();
+
+        assertArrayEquals(expected.getPoints(), result.getPoints());
+        assertEquals(expected.getWinner(), result.getWinner());
+        assertEquals(game.getStateHash(), resumed.getStateHash());
+    }
+
+    /**
+     * Tests if a game with a human player is resumed in the middle of a turn
+     * with exactly the same state, by replaying his inputs after the last
+     * snapshot
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testRecoverHumanInputs() throws Exception {
+        GameLogicDizzle game = new GameLogicDizzle(1, 1, 0, 0, new FakeGUI());
+        GameJournal journal = new GameJournal(this.journalFile, 3);
+        game.setJournal(journal);
+        game.startGame();
+        playHuman(game, 25);
+        journal.close();
+
+        GameLogicDizzle resumed = recover(new FakeGUI());
+        assertEquals(game.getStateHash(), resumed.getStateHash());
+        assertEquals(game.getTurnOf(), resumed.getTurnOf());
+        assertArrayEquals(game.getDice(), resumed.getDice());
+
+        //the resumed game rolls new dice and can be played to the end
+        playHuman(resumed, 10000);
+        resumed.getJournal().close();
+        assertNotNull(resumed.getResult());
+        assertEquals(2, resumed.getResult().getPoints().length);
+    }
+
+    /**
+     * Tests if a journal that was cut off anywhere (crash while writing) is
+     * resumed from its valid part, and the resumed game continues the journal
+     * so it can be resumed again
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testRecoverTruncated() throws Exception {
+        GameLogicDizzle game = new GameLogicDizzle(1, 2, 5L);
+        GameJournal journal = new GameJournal(this.journalFile, 1);
+        game.setJournal(journal);
+        game.playHeadless();
+        journal.close();
+        byte[] data = Files.readAllBytes(this.journalFile);
+
+        //the first snapshot ends after about 90 bytes
+        for (int length = 100; length < data.length; length += 97) {
+            Files.write(this.journalFile, Arrays.copyOf(data, length));
+            GameLogicDizzle resumed = recover(null);
+            GameResult result = resumed.playHeadless();
+            resumed.getJournal().close();
+            assertNotNull(result);
+
+            //the continued journal ends exactly like the resumed game
+            GameLogicDizzle resumedAgain = recover(null);
+            GameResult resultAgain = resumedAgain.playHeadless();
+            resumedAgain.getJournal().close();
+            assertArrayEquals(result.getPoints(), resultAgain.getPoints());
+            assertEquals(resumed.getStateHash(), resumedAgain.getStateHash());
+        }
+    }
+
+    /**
+     * Tests if a damaged record ends the valid part of the journal
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testDamagedRecord() throws Exception {
+        GameLogicDizzle game = new GameLogicDizzle(1, 1, 3L);
+        GameJournal journal = new GameJournal(this.journalFile, 1);
+        game.setJournal(journal);
+        journal.click(Position.of(0, 0));
+        journal.click(Position.of(1, 0));
+        journal.close();
+        byte[] data = Files.readAllBytes(this.journalFile);
+
+        JournalRecovery recovery = new JournalRecovery(this.journalFile, null);
+        recovery.read(data);
+        assertEquals(2, recovery.getAmountInputs());
+        assertEquals(1, recovery.getAmountComputers());
+
+        //payload of the last click
+        data[data.length - 5] ^= 1;
+        recovery.read(data);
+        assertEquals(1, recovery.getAmountInputs());
+    }
+
+    /**
+     * Tests if a record with a garbage length close to the maximum integer
+     * ends the valid part of the journal instead of crashing the recovery
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testGarbageLength() throws Exception {
+        GameLogicDizzle game = new GameLogicDizzle(1, 1, 3L);
+        GameJournal journal = new GameJournal(this.journalFile, 1);
+        game.setJournal(journal);
+        journal.click(Position.of(0, 0));
+        journal.close();
+        byte[] data = Files.readAllBytes(this.journalFile);
+        byte[] damaged = ByteBuffer.allocate(data.length + GameJournal.RECORD_OVERHEAD)
+                .put(data).putInt(0x7FFFFFFD).put(GameJournal.CLICK).putInt(0).array();
+
+        JournalRecovery recovery = new JournalRecovery(this.journalFile, null);
+        recovery.read(damaged);
+        assertEquals(1, recovery.getAmountInputs());
+        assertEquals(1, recovery.getAmountComputers());
+    }
+
+    /**
+     * Expects an exception if the journal has no snapshot
+     *
+     * @throws Exception
+     */
+    @Test(expected = LevelParsingException.class)
+    public void testNoSnapshot() throws Exception {
+        GameJournal journal = new GameJournal(this.journalFile, 1);
+        journal.close();
+        recover(null);
+    }
+}
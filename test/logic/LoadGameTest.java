@@ -1,6 +1,9 @@
 package logic;
 
+import java.io.File;
+import java.nio.charset.StandardCharsets;
 import logic.exceptions.LevelParsingException;
+import static org.junit.Assert.*;
 import org.junit.Test;
 
 /**
@@ -144,4 +147,56 @@ public class LoadGameTest {
         loadedGame.loadJSON(this.savedGameJSONStringIllegalDice);
         loadedGame.loadGame();
     }
+
+    /**
+     * Tests if the format of the save game is detected and both formats of the
+     * same game result in the same game
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testLoadDetectsFormat() throws Exception {
+        LoadGame fromJSON = new LoadGame("", new FakeGUI());
+        fromJSON.load(this.savedGameJSONString.getBytes(StandardCharsets.UTF_8));
+        GameLogicDizzle game = fromJSON.loadGame();
+
+        File file = File.createTempFile("dizzle", SaveGame.BINARY_EXTENSION);
+        try {
+            game.saveGame(file.getPath());
+            LoadGame fromBinary = new LoadGame(file.getPath(), new FakeGUI());
+            fromBinary.load();
+            GameLogicDizzle loaded = fromBinary.loadGame();
+
+            assertArrayEquals(game.createSaveGame().toBinary(), loaded.createSaveGame().toBinary());
+            assertEquals(fromJSON.getAmountComputers(), fromBinary.getAmountComputers());
+        } finally {
+            file.delete();
+        }
+    }
+
+    /**
+     * Tests if the save game of a running game, whose players only have the
+     * bits of their cells, is written as JSON with all of its cells
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testSaveJSONFromBits() throws Exception {
+        LoadGame fromString = new LoadGame("", new FakeGUI());
+        fromString.loadJSON(this.savedGameJSONString);
+        GameLogicDizzle game = fromString.loadGame();
+
+        File file = File.createTempFile("dizzle", ".json");
+        try {
+            game.saveGame(file.getPath());
+            LoadGame fromJSON = new LoadGame(file.getPath(), new FakeGUI());
+            fromJSON.load();
+            GameLogicDizzle loaded = fromJSON.loadGame();
+
+            assertArrayEquals(game.createSaveGame().toBinary(), loaded.createSaveGame().toBinary());
+            assertFalse(loaded.getPlayers()[0].getChecked().isEmpty());
+        } finally {
+            file.delete();
+        }
+    }
 }
@@ -0,0 +1,96 @@
+package logic;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import logic.boards.fieldTypes.Property;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Class to test methods of the Class MonteCarloStrategy.java
+ *
+ * @author Mario da Graca (cgt103579)
+ */
+public class MonteCarloStrategyTest {
+
+    /**
+     * Tests if two games with the same seed have the same outcome, if the
+     * strategy always plays all its rollouts
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testSameSeedSameOutcome() throws Exception {
+        MoveStrategy strategy = new MonteCarloStrategy(ForkJoinPool.commonPool(), 60000, 4);
+        GameLogicDizzle first = new GameLogicDizzle(2, 1, 11L);
+        GameLogicDizzle second = new GameLogicDizzle(2, 1, 11L);
+        first.setStrategy(0, strategy);
+        second.setStrategy(0, strategy);
+
+        assertArrayEquals(first.playHeadless().getPoints(), second.playHeadless().getPoints());
+    }
+
+    /**
+     * Tests if a move with a small time budget doesn't take much longer than
+     * the budget and is one of the placeable cells
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testTimeBudget() throws Exception {
+        MoveStrategy strategy = new MonteCarloStrategy(ForkJoinPool.commonPool(), 20, Integer.MAX_VALUE);
+        GameLogicDizzle game = new GameLogicDizzle(3, 3, 5L);
+        Position[] placeable = game.getAllPlaceableNeighbours(
+                game.getPlayers()[0].getBoard().getField(), Property.CROSSED).toArray(new Position[0]);
+
+        long start = System.nanoTime();
+        Position move = strategy.nextMove(game, placeable);
+        long millis = (System.nanoTime() - start) / 1000000;
+
+        assertTrue("Move took " + millis + " ms", millis < 500);
+        assertTrue(Arrays.asList(placeable).contains(move));
+    }
+
+    /**
+     * Tests if the budget holds even if it isn't enough for a rollout of
+     * every possible move, the move is then chosen by the default strategy
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testTinyTimeBudget() throws Exception {
+        MoveStrategy strategy = new MonteCarloStrategy(ForkJoinPool.commonPool(), 1, Integer.MAX_VALUE);
+        GameLogicDizzle game = new GameLogicDizzle(3, 3, 5L);
+        Position[] placeable = game.getAllPlaceableNeighbours(
+                game.getPlayers()[0].getBoard().getField(), Property.CROSSED).toArray(new Position[0]);
+        //warm up, the first moves are slower
+        for (int i = 0; i < 20; i++) {
+            strategy.nextMove(game, placeable);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 10; i++) {
+            assertTrue(Arrays.asList(placeable).contains(strategy.nextMove(game, placeable)));
+        }
+        long millis = (System.nanoTime() - start) / 1000000;
+
+        assertTrue("10 moves took " + millis + " ms", millis < 100);
+    }
+
+    /**
+     * Tests if a game on the third level with four players, in which the
+     * strategy plays against the default strategy, is played until the end
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testGameFinishes() throws Exception {
+        GameLogicDizzle game = new GameLogicDizzle(3, 3, 1257L);
+        game.setStrategy(0, new MonteCarloStrategy(ForkJoinPool.commonPool(), 10, Integer.MAX_VALUE));
+
+        GameResult result = game.playHeadless();
+
+        assertNotNull(result);
+        assertEquals(4, result.getAmountPlayers());
+    }
+}
@@ -19,30 +19,30 @@ public class PlayerTest {
     public void testEvaluateNextMoveOnlyPuzzleNeighbour() {
         Field[][] playingBoard = new Field[][]{
             new Field[]{
-                new Field(Property.NORMAL, new Die(4)),
-                new Field(Property.PUZZLE_BLUE, new Die(3)),
-                new Field(Property.NORMAL, new Die(6))
+                new Field(Property.NORMAL, Die.of(4)),
+                new Field(Property.PUZZLE_BLUE, Die.of(3)),
+                new Field(Property.NORMAL, Die.of(6))
             },
             new Field[]{
-                new Field(Property.NORMAL, new Die(1)),
+                new Field(Property.NORMAL, Die.of(1)),
                 new Field(Property.CROSSED, null),
-                new Field(Property.NORMAL, new Die(2))
+                new Field(Property.NORMAL, Die.of(2))
             },
             new Field[]{
-                new Field(Property.NORMAL, new Die(2)),
-                new Field(Property.NORMAL, new Die(5)),
-                new Field(Property.NORMAL, new Die(5))
+                new Field(Property.NORMAL, Die.of(2)),
+                new Field(Property.NORMAL, Die.of(5)),
+                new Field(Property.NORMAL, Die.of(5))
             }};
 
         Player player = new Player(playingBoard);
         Position[] positions = new Position[]{
-            new Position(1, 0),
-            new Position(0, 1),
-            new Position(2, 1),
-            new Position(1, 2)
+            Position.of(1, 0),
+            Position.of(0, 1),
+            Position.of(2, 1),
+            Position.of(1, 2)
         };
 
-        assertEquals(new Position(1, 0), player.evaluateNextMove(positions));
+        assertEquals(Position.of(1, 0), player.evaluateNextMove(positions));
     }
 
     /**
@@ -52,30 +52,30 @@ public class PlayerTest {
     public void testEvaluateNextMoveOnlyFlagNeighbour() {
         Field[][] playingBoard = new Field[][]{
             new Field[]{
-                new Field(Property.NORMAL, new Die(4)),
-                new Field(Property.FLAG_BLUE, new Die(3)),
-                new Field(Property.NORMAL, new Die(6))
+                new Field(Property.NORMAL, Die.of(4)),
+                new Field(Property.FLAG_BLUE, Die.of(3)),
+                new Field(Property.NORMAL, Die.of(6))
             },
             new Field[]{
-                new Field(Property.NORMAL, new Die(1)),
+                new Field(Property.NORMAL, Die.of(1)),
                 new Field(Property.CROSSED, null),
-                new Field(Property.NORMAL, new Die(2))
+                new Field(Property.NORMAL, Die.of(2))
             },
             new Field[]{
-                new Field(Property.NORMAL, new Die(2)),
-                new Field(Property.NORMAL, new Die(5)),
-                new Field(Property.NORMAL, new Die(5))
+                new Field(Property.NORMAL, Die.of(2)),
+                new Field(Property.NORMAL, Die.of(5)),
+                new Field(Property.NORMAL, Die.of(5))
             }};
 
         Player player = new Player(playingBoard);
         Position[] positions = new Position[]{
-            new Position(1, 0),
-            new Position(0, 1),
-            new Position(2, 1),
-            new Position(1, 2)
+            Position.of(1, 0),
+            Position.of(0, 1),
+            Position.of(2, 1),
+            Position.of(1, 2)
         };
 
-        assertEquals(new Position(1, 0), player.evaluateNextMove(positions));
+        assertEquals(Position.of(1, 0), player.evaluateNextMove(positions));
     }
 
     /**
@@ -85,30 +85,30 @@ public class PlayerTest {
     public void testEvaluateNextMoveOnlyJewelRedNeighbour() {
         Field[][] playingBoard = new Field[][]{
             new Field[]{
-                new Field(Property.NORMAL, new Die(4)),
-                new Field(Property.JEWEL_RED, new Die(3)),
-                new Field(Property.NORMAL, new Die(6))
+                new Field(Property.NORMAL, Die.of(4)),
+                new Field(Property.JEWEL_RED, Die.of(3)),
+                new Field(Property.NORMAL, Die.of(6))
             },
             new Field[]{
-                new Field(Property.NORMAL, new Die(1)),
+                new Field(Property.NORMAL, Die.of(1)),
                 new Field(Property.CROSSED, null),
-                new Field(Property.NORMAL, new Die(2))
+                new Field(Property.NORMAL, Die.of(2))
             },
             new Field[]{
-                new Field(Property.NORMAL, new Die(2)),
-                new Field(Property.NORMAL, new Die(5)),
-                new Field(Property.NORMAL, new Die(5))
+                new Field(Property.NORMAL, Die.of(2)),
+                new Field(Property.NORMAL, Die.of(5)),
+                new Field(Property.NORMAL, Die.of(5))
             }};
 
         Player player = new Player(playingBoard);
         Position[] positions = new Position[]{
-            new Position(1, 0),
-            new Position(0, 1),
-            new Position(2, 1),
-            new Position(1, 2)
+            Position.of(1, 0),
+            Position.of(0, 1),
+            Position.of(2, 1),
+            Position.of(1, 2)
         };
 
-        assertEquals(new Position(1, 0), player.evaluateNextMove(positions));
+        assertEquals(Position.of(1, 0), player.evaluateNextMove(positions));
     }
 
     /**
@@ -118,30 +118,30 @@ public class PlayerTest {
     public void testEvaluateNextMoveOnlyJewelBlueNeighbour() {
         Field[][] playingBoard = new Field[][]{
             new Field[]{
-                new Field(Property.NORMAL, new Die(4)),
-                new Field(Property.JEWEL_BLUE, new Die(3)),
-                new Field(Property.NORMAL, new Die(6))
+                new Field(Property.NORMAL, Die.of(4)),
+                new Field(Property.JEWEL_BLUE, Die.of(3)),
+                new Field(Property.NORMAL, Die.of(6))
             },
             new Field[]{
-                new Field(Property.NORMAL, new Die(1)),
+                new Field(Property.NORMAL, Die.of(1)),
                 new Field(Property.CROSSED, null),
-                new Field(Property.NORMAL, new Die(2))
+                new Field(Property.NORMAL, Die.of(2))
             },
             new Field[]{
-                new Field(Property.NORMAL, new Die(2)),
-                new Field(Property.NORMAL, new Die(5)),
-                new Field(Property.NORMAL, new Die(5))
+                new Field(Property.NORMAL, Die.of(2)),
+                new Field(Property.NORMAL, Die.of(5)),
+                new Field(Property.NORMAL, Die.of(5))
             }};
 
         Player player = new Player(playingBoard);
         Position[] positions = new Position[]{
-            new Position(1, 0),
-            new Position(0, 1),
-            new Position(2, 1),
-            new Position(1, 2)
+            Position.of(1, 0),
+            Position.of(0, 1),
+            Position.of(2, 1),
+            Position.of(1, 2)
         };
 
-        assertEquals(new Position(1, 0), player.evaluateNextMove(positions));
+        assertEquals(Position.of(1, 0), player.evaluateNextMove(positions));
     }
 
     /**
@@ -151,30 +151,30 @@ public class PlayerTest {
     public void testEvaluateNextMoveOnlyJewelYellowNeighbour() {
         Field[][] playingBoard = new Field[][]{
             new Field[]{
-                new Field(Property.NORMAL, new Die(4)),
-                new Field(Property.JEWEL_YELLOW, new Die(3)),
-                new Field(Property.NORMAL, new Die(6))
+                new Field(Property.NORMAL, Die.of(4)),
+                new Field(Property.JEWEL_YELLOW, Die.of(3)),
+                new Field(Property.NORMAL, Die.of(6))
             },
             new Field[]{
-                new Field(Property.NORMAL, new Die(1)),
+                new Field(Property.NORMAL, Die.of(1)),
                 new Field(Property.CROSSED, null),
-                new Field(Property.NORMAL, new Die(2))
+                new Field(Property.NORMAL, Die.of(2))
             },
             new Field[]{
-                new Field(Property.NORMAL, new Die(2)),
-                new Field(Property.NORMAL, new Die(5)),
-                new Field(Property.NORMAL, new Die(5))
+                new Field(Property.NORMAL, Die.of(2)),
+                new Field(Property.NORMAL, Die.of(5)),
+                new Field(Property.NORMAL, Die.of(5))
             }};
 
         Player player = new Player(playingBoard);
         Position[] positions = new Position[]{
-            new Position(1, 0),
-            new Position(0, 1),
-            new Position(2, 1),
-            new Position(1, 2)
+            Position.of(1, 0),
+            Position.of(0, 1),
+            Position.of(2, 1),
+            Position.of(1, 2)
         };
 
-        assertEquals(new Position(1, 0), player.evaluateNextMove(positions));
+        assertEquals(Position.of(1, 0), player.evaluateNextMove(positions));
     }
 
     /**
@@ -184,30 +184,30 @@ public class PlayerTest {
     public void testEvaluateNextMoveOnlyRocketNeighbour() {
         Field[][] playingBoard = new Field[][]{
             new Field[]{
-                new Field(Property.NORMAL, new Die(4)),
-                new Field(Property.ROCKET, new Die(3)),
-                new Field(Property.NORMAL, new Die(6))
+                new Field(Property.NORMAL, Die.of(4)),
+                new Field(Property.ROCKET, Die.of(3)),
+                new Field(Property.NORMAL, Die.of(6))
             },
             new Field[]{
-                new Field(Property.NORMAL, new Die(1)),
+                new Field(Property.NORMAL, Die.of(1)),
                 new Field(Property.CROSSED, null),
-                new Field(Property.NORMAL, new Die(2))
+                new Field(Property.NORMAL, Die.of(2))
             },
             new Field[]{
-                new Field(Property.NORMAL, new Die(2)),
-                new Field(Property.NORMAL, new Die(5)),
-                new Field(Property.NORMAL, new Die(5))
+                new Field(Property.NORMAL, Die.of(2)),
+                new Field(Property.NORMAL, Die.of(5)),
+                new Field(Property.NORMAL, Die.of(5))
             }};
 
         Player player = new Player(playingBoard);
         Position[] positions = new Position[]{
-            new Position(1, 0),
-            new Position(0, 1),
-            new Position(2, 1),
-            new Position(1, 2)
+            Position.of(1, 0),
+            Position.of(0, 1),
+            Position.of(2, 1),
+            Position.of(1, 2)
         };
 
-        assertEquals(new Position(1, 0), player.evaluateNextMove(positions));
+        assertEquals(Position.of(1, 0), player.evaluateNextMove(positions));
     }
 
     /**
@@ -217,30 +217,30 @@ public class PlayerTest {
     public void testEvaluateNextMoveOnlyBombNeighbour() {
         Field[][] playingBoard = new Field[][]{
             new Field[]{
-                new Field(Property.NORMAL, new Die(4)),
-                new Field(Property.BOMB, new Die(3)),
-                new Field(Property.NORMAL, new Die(6))
+                new Field(Property.NORMAL, Die.of(4)),
+                new Field(Property.BOMB, Die.of(3)),
+                new Field(Property.NORMAL, Die.of(6))
             },
             new Field[]{
-                new Field(Property.NORMAL, new Die(1)),
+                new Field(Property.NORMAL, Die.of(1)),
                 new Field(Property.CROSSED, null),
-                new Field(Property.NORMAL, new Die(2))
+                new Field(Property.NORMAL, Die.of(2))
             },
             new Field[]{
-                new Field(Property.NORMAL, new Die(2)),
-                new Field(Property.NORMAL, new Die(5)),
-                new Field(Property.NORMAL, new Die(5))
+                new Field(Property.NORMAL, Die.of(2)),
+                new Field(Property.NORMAL, Die.of(5)),
+                new Field(Property.NORMAL, Die.of(5))
             }};
 
         Player player = new Player(playingBoard);
         Position[] positions = new Position[]{
-            new Position(1, 0),
-            new Position(0, 1),
-            new Position(2, 1),
-            new Position(1, 2)
+            Position.of(1, 0),
+            Position.of(0, 1),
+            Position.of(2, 1),
+            Position.of(1, 2)
         };
 
-        assertEquals(new Position(1, 0), player.evaluateNextMove(positions));
+        assertEquals(Position.of(1, 0), player.evaluateNextMove(positions));
     }
 
     /**
@@ -250,30 +250,30 @@ public class PlayerTest {
     public void testEvaluateNextMoveOnlyKeyNeighbour() {
         Field[][] playingBoard = new Field[][]{
             new Field[]{
-                new Field(Property.NORMAL, new Die(4)),
-                new Field(Property.KEY_BLUE, new Die(3)),
-                new Field(Property.NORMAL, new Die(6))
+                new Field(Property.NORMAL, Die.of(4)),
+                new Field(Property.KEY_BLUE, Die.of(3)),
+                new Field(Property.NORMAL, Die.of(6))
             },
             new Field[]{
-                new Field(Property.NORMAL, new Die(1)),
+                new Field(Property.NORMAL, Die.of(1)),
                 new Field(Property.CROSSED, null),
-                new Field(Property.NORMAL, new Die(2))
+                new Field(Property.NORMAL, Die.of(2))
             },
             new Field[]{
-                new Field(Property.NORMAL, new Die(2)),
-                new Field(Property.NORMAL, new Die(5)),
-                new Field(Property.NORMAL, new Die(5))
+                new Field(Property.NORMAL, Die.of(2)),
+                new Field(Property.NORMAL, Die.of(5)),
+                new Field(Property.NORMAL, Die.of(5))
             }};
 
         Player player = new Player(playingBoard);
         Position[] positions = new Position[]{
-            new Position(1, 0),
-            new Position(0, 1),
-            new Position(2, 1),
-            new Position(1, 2)
+            Position.of(1, 0),
+            Position.of(0, 1),
+            Position.of(2, 1),
+            Position.of(1, 2)
         };
 
-        assertEquals(new Position(1, 0), player.evaluateNextMove(positions));
+        assertEquals(Position.of(1, 0), player.evaluateNextMove(positions));
     }
 
     /**
@@ -284,30 +284,30 @@ public class PlayerTest {
     public void testEvaluateNextMoveTwoJewelsNeighbour() {
         Field[][] playingBoard = new Field[][]{
             new Field[]{
-                new Field(Property.NORMAL, new Die(4)),
-                new Field(Property.JEWEL_BLUE, new Die(3)),
-                new Field(Property.NORMAL, new Die(6))
+                new Field(Property.NORMAL, Die.of(4)),
+                new Field(Property.JEWEL_BLUE, Die.of(3)),
+                new Field(Property.NORMAL, Die.of(6))
             },
             new Field[]{
-                new Field(Property.NORMAL, new Die(1)),
+                new Field(Property.NORMAL, Die.of(1)),
                 new Field(Property.CROSSED, null),
-                new Field(Property.NORMAL, new Die(2))
+                new Field(Property.NORMAL, Die.of(2))
             },
             new Field[]{
-                new Field(Property.NORMAL, new Die(2)),
-                new Field(Property.JEWEL_RED, new Die(5)),
-                new Field(Property.NORMAL, new Die(5))
+                new Field(Property.NORMAL, Die.of(2)),
+                new Field(Property.JEWEL_RED, Die.of(5)),
+                new Field(Property.NORMAL, Die.of(5))
             }};
 
         Player player = new Player(playingBoard);
         Position[] positions = new Position[]{
-            new Position(1, 0),
-            new Position(0, 1),
-            new Position(2, 1),
-            new Position(1, 2)
+            Position.of(1, 0),
+            Position.of(0, 1),
+            Position.of(2, 1),
+            Position.of(1, 2)
         };
 
-        assertEquals(new Position(1, 2), player.evaluateNextMove(positions));
+        assertEquals(Position.of(1, 2), player.evaluateNextMove(positions));
     }
 
     /**
@@ -318,30 +318,30 @@ public class PlayerTest {
     public void testEvaluateNextMoveTwoPuzzlessNeighbour() {
         Field[][] playingBoard = new Field[][]{
             new Field[]{
-                new Field(Property.NORMAL, new Die(4)),
-                new Field(Property.PUZZLE_BLUE, new Die(3)),
-                new Field(Property.NORMAL, new Die(6))
+                new Field(Property.NORMAL, Die.of(4)),
+                new Field(Property.PUZZLE_BLUE, Die.of(3)),
+                new Field(Property.NORMAL, Die.of(6))
             },
             new Field[]{
-                new Field(Property.PUZZLE_BLUE, new Die(1)),
+                new Field(Property.PUZZLE_BLUE, Die.of(1)),
                 new Field(Property.CROSSED, null),
-                new Field(Property.NORMAL, new Die(2))
+                new Field(Property.NORMAL, Die.of(2))
             },
             new Field[]{
-                new Field(Property.NORMAL, new Die(2)),
-                new Field(Property.NORMAL, new Die(5)),
-                new Field(Property.NORMAL, new Die(5))
+                new Field(Property.NORMAL, Die.of(2)),
+                new Field(Property.NORMAL, Die.of(5)),
+                new Field(Property.NORMAL, Die.of(5))
             }};
 
         Player player = new Player(playingBoard);
         Position[] positions = new Position[]{
-            new Position(1, 0),
-            new Position(0, 1),
-            new Position(2, 1),
-            new Position(1, 2)
+            Position.of(1, 0),
+            Position.of(0, 1),
+            Position.of(2, 1),
+            Position.of(1, 2)
         };
 
-        assertEquals(new Position(1, 0), player.evaluateNextMove(positions));
+        assertEquals(Position.of(1, 0), player.evaluateNextMove(positions));
     }
 
     /**
@@ -351,30 +351,30 @@ public class PlayerTest {
     public void testEvaluateNextMoveRocketBomb() {
         Field[][] playingBoard = new Field[][]{
             new Field[]{
-                new Field(Property.NORMAL, new Die(4)),
-                new Field(Property.ROCKET, new Die(3)),
-                new Field(Property.NORMAL, new Die(6))
+                new Field(Property.NORMAL, Die.of(4)),
+                new Field(Property.ROCKET, Die.of(3)),
+                new Field(Property.NORMAL, Die.of(6))
             },
             new Field[]{
-                new Field(Property.BOMB, new Die(1)),
+                new Field(Property.BOMB, Die.of(1)),
                 new Field(Property.CROSSED, null),
-                new Field(Property.NORMAL, new Die(2))
+                new Field(Property.NORMAL, Die.of(2))
             },
             new Field[]{
-                new Field(Property.NORMAL, new Die(2)),
-                new Field(Property.NORMAL, new Die(5)),
-                new Field(Property.NORMAL, new Die(5))
+                new Field(Property.NORMAL, Die.of(2)),
+                new Field(Property.NORMAL, Die.of(5)),
+                new Field(Property.NORMAL, Die.of(5))
             }};
 
         Player player = new Player(playingBoard);
         Position[] positions = new Position[]{
-            new Position(1, 0),
-            new Position(0, 1),
-            new Position(2, 1),
-            new Position(1, 2)
+            Position.of(1, 0),
+            Position.of(0, 1),
+            Position.of(2, 1),
+            Position.of(1, 2)
         };
 
-        assertEquals(new Position(1, 0), player.evaluateNextMove(positions));
+        assertEquals(Position.of(1, 0), player.evaluateNextMove(positions));
     }
 
     /**
@@ -385,29 +385,29 @@ public class PlayerTest {
     public void testEvaluateNextMoveKeyBlueKeyHoleYellow() {
         Field[][] playingBoard = new Field[][]{
             new Field[]{
-                new Field(Property.NORMAL, new Die(4)),
-                new Field(Property.KEYHOLE_YELLOW, new Die(3)),
-                new Field(Property.NORMAL, new Die(6))
+                new Field(Property.NORMAL, Die.of(4)),
+                new Field(Property.KEYHOLE_YELLOW, Die.of(3)),
+                new Field(Property.NORMAL, Die.of(6))
             },
             new Field[]{
-                new Field(Property.KEY_BLUE, new Die(1)),
+                new Field(Property.KEY_BLUE, Die.of(1)),
                 new Field(Property.CROSSED, null),
-                new Field(Property.NORMAL, new Die(2))
+                new Field(Property.NORMAL, Die.of(2))
             },
             new Field[]{
-                new Field(Property.NORMAL, new Die(2)),
-                new Field(Property.NORMAL, new Die(5)),
-                new Field(Property.NORMAL, new Die(5))
+                new Field(Property.NORMAL, Die.of(2)),
+                new Field(Property.NORMAL, Die.of(5)),
+                new Field(Property.NORMAL, Die.of(5))
             }};
 
         Player player = new Player(playingBoard);
         Position[] positions = new Position[]{
-            new Position(1, 0),
-            new Position(0, 1),
-            new Position(2, 1),
-            new Position(1, 2)
+            Position.of(1, 0),
+            Position.of(0, 1),
+            Position.of(2, 1),
+            Position.of(1, 2)
         };
 
-        assertEquals(new Position(0, 1), player.evaluateNextMove(positions));
+        assertEquals(Position.of(0, 1), player.evaluateNextMove(positions));
     }
 }
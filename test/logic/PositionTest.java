@@ -0,0 +1,49 @@
+package logic;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import java.util.HashSet;
+import java.util.Set;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Class to test methods of the Class Position.java
+ *
+ * @author Mario da Graca (cgt103579)
+ */
+public class PositionTest {
+
+    /**
+     * Tests if positions of small coordinates are shared and others are still
+     * equal
+     */
+    @Test
+    public void testOfShared() {
+        assertSame(Position.of(3, 5), Position.of(3, 5));
+        assertEquals(Position.of(-1, 40), Position.of(-1, 40));
+        assertEquals(Position.of(-1, 40).hashCode(), Position.of(-1, 40).hashCode());
+        assertNotEquals(Position.of(3, 5), Position.of(5, 3));
+    }
+
+    /**
+     * Tests if positions read by Gson come from the cache and can be found in
+     * a set
+     */
+    @Test
+    public void testGsonRoundTrip() {
+        Gson gson = new Gson();
+        Set<Position> positions = new HashSet<>();
+        positions.add(Position.of(2, 4));
+        positions.add(Position.of(20, 1));
+
+        String json = gson.toJson(positions);
+        Set<Position> loaded = gson.fromJson(json, new TypeToken<Set<Position>>() {
+        }.getType());
+
+        assertEquals(positions, loaded);
+        assertTrue(loaded.contains(Position.of(20, 1)));
+        assertSame(Position.of(1, 0), gson.fromJson("{\"y\":0,\"x\":1}", Position.class));
+        assertNull(gson.fromJson("null", Position.class));
+    }
+}
@@ -1,6 +1,8 @@
 package logic;
 
+import logic.exceptions.LevelParsingException;
 import logic.exceptions.LevelSavingException;
+import static org.junit.Assert.*;
 import org.junit.Test;
 
 /**
@@ -34,4 +36,74 @@ public class SaveGameTest {
         savedGame.saveToJSON("test.txt");
     }
 
+    /**
+     * Tests if a game that was converted to the binary format and back has
+     * the same state and only needs a few bytes
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testBinaryRoundTrip() throws Exception {
+        GameLogicDizzle game = new GameLogicDizzle(2, 3, 9L);
+        game.playHeadless();
+        SaveGame saved = game.createSaveGame();
+
+        byte[] data = saved.toBinary();
+        SaveGame loaded = SaveGame.fromBinary(data);
+
+        assertTrue(SaveGame.isBinary(data));
+        assertTrue(data.length < 100);
+        assertEquals(saved.getLevelNo(), loaded.getLevelNo());
+        assertEquals(saved.getRound(), loaded.getRound());
+        assertEquals(saved.getTurnOf(), loaded.getTurnOf());
+        assertArrayEquals(saved.getDice(), loaded.getDice());
+        assertEquals(saved.getPlayers().length, loaded.getPlayers().length);
+        for (int i = 0; i < saved.getPlayers().length; i++) {
+            Player expected = saved.getPlayers()[i];
+            Player actual = loaded.getPlayers()[i];
+            assertEquals(expected.isActive(), actual.isActive());
+            assertEquals(expected.getFlagReachedAs(), actual.getFlagReachedAs());
+            assertEquals(expected.getChecked(), actual.getChecked());
+            assertEquals(expected.getDiceOn(), actual.getDiceOn());
+            assertEquals(expected.getExploded(), actual.getExploded());
+        }
+    }
+
+    /**
+     * Expects exception while trying to read a binary save game with a
+     * changed byte
+     *
+     * @throws Exception
+     */
+    @Test(expected = LevelParsingException.class)
+    public void testBinaryDamaged() throws Exception {
+        byte[] data = new GameLogicDizzle(1, 1, 3L).createSaveGame().toBinary();
+        data[20] ^= 1;
+        SaveGame.fromBinary(data);
+    }
+
+    /**
+     * Tests if a save game whose players only have the sets of their cells
+     * (read from JSON) is written like the save game of the running game,
+     * which writes the bits of the cells directly
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testBinaryFromSets() throws Exception {
+        GameLogicDizzle game = new GameLogicDizzle(2, 2, 4L);
+        game.playHeadless();
+        SaveGame saved = game.createSaveGame();
+        Player[] players = new Player[saved.getPlayers().length];
+        for (int i = 0; i < players.length; i++) {
+            Player player = saved.getPlayers()[i];
+            players[i] = new Player(player.isActive(), player.getChecked(), player.getDiceOn(),
+                    player.getExploded(), player.getFlagReachedAs());
+        }
+        SaveGame fromSets = new SaveGame(saved.getLevelNo(), saved.getRound(), saved.getTurnOf(),
+                saved.getDice(), players);
+
+        assertArrayEquals(saved.toBinary(), fromSets.toBinary());
+    }
+
 }
@@ -0,0 +1,81 @@
+package logic;
+
+import logic.boards.Board;
+import logic.boards.LevelTemplate;
+import logic.boards.fieldTypes.FieldProperty;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Class to test methods of the Class ScoreLedger.java
+ *
+ * @author Mario da Graca (cgt103579)
+ */
+public class ScoreLedgerTest {
+
+    /**
+     * Counts the points of the cells of a player from scratch
+     *
+     * @param board playing board of the player
+     * @param checked crossed out cells
+     * @param exploded exploded cells
+     * @return points of the cells
+     */
+    private int countPoints(Board board, long checked, long exploded) {
+        int toReturn = Long.bitCount(exploded) * ScoreLedger.POINTS_PER_EXPLODED;
+        FieldProperty[][] groups = {board.getPuzzles(), board.getVerticals(), board.getHorizontals()};
+        long[][] groupMasks = {board.getPuzzleMasks(), board.getVerticalMasks(), board.getHorizontalMasks()};
+        for (int i = 0; i < groups.length; i++) {
+            for (int k = 0; k < groups[i].length; k++) {
+                if ((groupMasks[i][k] & ~checked) == 0L) {
+                    toReturn += groups[i][k].getPoints();
+                }
+            }
+        }
+        for (int k = 0; k < board.getJewels().length; k++) {
+            toReturn += Long.bitCount(board.getJewelMasks()[k] & checked) * board.getJewels()[k].getPoints();
+        }
+        return toReturn;
+    }
+
+    /**
+     * Tests if a line only gives points when its last cell is crossed out and
+     * if crossing out a cell twice doesn't count twice
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testLineCompleted() throws Exception {
+        Board board = LevelTemplate.get(1).createBoard();
+        ScoreLedger ledger = new ScoreLedger(board);
+        long line = board.getHorizontalMasks()[0];
+        long lastCell = Long.highestOneBit(line);
+
+        ledger.cross(line & ~lastCell);
+        assertEquals(countPoints(board, line & ~lastCell, 0L), ledger.getPoints());
+        ledger.cross(lastCell);
+        ledger.cross(lastCell);
+        assertEquals(countPoints(board, line, 0L), ledger.getPoints());
+        assertTrue(ledger.getPoints() >= board.getHorizontals()[0].getPoints());
+    }
+
+    /**
+     * Tests if the points that were kept up to date during whole games match
+     * the points that are counted from scratch at the end
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testSameAsCountingAtTheEnd() throws Exception {
+        for (int levelNo = 1; levelNo <= GameLogicDizzle.AMOUNT_LEVELS; levelNo++) {
+            for (long seed = 0; seed < 20; seed++) {
+                GameLogicDizzle game = new GameLogicDizzle(3, levelNo, seed);
+                game.playHeadless();
+                for (Player player : game.getPlayers()) {
+                    assertEquals(countPoints(player.getBoard(), player.getCheckedMask(), player.getExplodedMask()),
+                            player.getCellPoints());
+                }
+            }
+        }
+    }
+}
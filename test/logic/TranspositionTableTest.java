@@ -0,0 +1,99 @@
+package logic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Class to test methods of the Class TranspositionTable.java
+ *
+ * @author Mario da Graca (cgt103579)
+ */
+public class TranspositionTableTest {
+
+    /**
+     * Tests if a stored entry is found with all its data and an unknown hash
+     * isn't found
+     */
+    @Test
+    public void testStoreAndProbe() {
+        TranspositionTable table = new TranspositionTable(1000);
+        table.store(0x1234_5678_9ABC_DEF0L, -42, 3, 7);
+
+        long entry = table.probe(0x1234_5678_9ABC_DEF0L);
+        assertNotEquals(TranspositionTable.NO_ENTRY, entry);
+        assertEquals(-42, TranspositionTable.getValue(entry));
+        assertEquals(3, TranspositionTable.getDepth(entry));
+        assertEquals(7, TranspositionTable.getMove(entry));
+        assertEquals(TranspositionTable.NO_ENTRY, table.probe(0x1234_5678_9ABC_DEF1L));
+        assertEquals(1024, table.capacity());
+    }
+
+    /**
+     * Tests if the deeper search is kept in its bucket, while a shallow search
+     * of another state still gets stored in the second entry
+     */
+    @Test
+    public void testReplacement() {
+        TranspositionTable table = new TranspositionTable(2);
+        table.store(1L, 10, 5, 0);
+        table.store(2L, 20, 1, 0);
+        table.store(3L, 30, 1, 0);
+
+        assertEquals(10, TranspositionTable.getValue(table.probe(1L)));
+        assertEquals(TranspositionTable.NO_ENTRY, table.probe(2L));
+        assertEquals(30, TranspositionTable.getValue(table.probe(3L)));
+
+        table.store(4L, 40, 5, 0);
+        assertEquals(TranspositionTable.NO_ENTRY, table.probe(1L));
+        assertEquals(40, TranspositionTable.getValue(table.probe(4L)));
+
+        table.clear();
+        assertEquals(TranspositionTable.NO_ENTRY, table.probe(4L));
+    }
+
+    /**
+     * Tests if threads that write and read the same small table at the same
+     * time never read an entry that belongs to another hash
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testConcurrentAccess() throws Exception {
+        TranspositionTable table = new TranspositionTable(16);
+        AtomicInteger wrongEntries = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 200000; i++) {
+                    long hash = i % 64 + 1;
+                    //the value is derived from the hash, so every thread
+                    //writes the same value for the same hash
+                    table.store(hash, (int) hash * 3, i % 8, (int) hash);
+                    long entry = table.probe(hash + 1);
+                    if (entry != TranspositionTable.NO_ENTRY
+                            && TranspositionTable.getValue(entry) != (int) (hash + 1) * 3) {
+                        wrongEntries.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, wrongEntries.get());
+    }
+
+    /**
+     * Tests that a depth that doesn't fit in an entry is rejected
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalDepth() {
+        new TranspositionTable(16).store(1L, 0, TranspositionTable.MAX_DEPTH + 1, 0);
+    }
+}
@@ -0,0 +1,73 @@
+package logic.boards;
+
+import logic.Position;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Class to test methods of the Class BitBoard.java
+ *
+ * @author Mario da Graca (cgt103579)
+ */
+public class BitBoardTest {
+
+    /**
+     * Tests that the neighbours of a cell in the corner don't wrap around to
+     * the other side of the board
+     */
+    @Test
+    public void testNeighboursCorner() {
+        BitBoard bitBoard = new BitBoard(7, 9);
+        long expected = bitBoard.bit(7, 0) | bitBoard.bit(8, 1);
+
+        assertEquals(expected, bitBoard.neighbours(bitBoard.bit(8, 0)));
+    }
+
+    /**
+     * Tests that the neighbours of a cell in the middle are the four direct
+     * neighbours
+     */
+    @Test
+    public void testNeighboursMiddle() {
+        BitBoard bitBoard = new BitBoard(7, 9);
+        long expected = bitBoard.bit(3, 3) | bitBoard.bit(5, 3)
+                | bitBoard.bit(4, 2) | bitBoard.bit(4, 4);
+
+        assertEquals(expected, bitBoard.neighbours(bitBoard.bit(4, 3)));
+        assertEquals(expected, bitBoard.neighboursOf(bitBoard.index(4, 3)));
+    }
+
+    /**
+     * Tests that Positions are returned from the top left to the bottom right
+     */
+    @Test
+    public void testToPositionArraySorted() {
+        BitBoard bitBoard = new BitBoard(7, 9);
+        long cells = bitBoard.toMask(Position.of(2, 3), Position.of(8, 0), Position.of(0, 3));
+
+        assertArrayEquals(new Position[]{Position.of(8, 0), Position.of(0, 3), Position.of(2, 3)},
+                bitBoard.toPositionArray(cells));
+    }
+
+    /**
+     * Tests that a board with more than 64 cells can't be created
+     */
+    /**
+     * Tests if every cell has a single Position instance
+     */
+    @Test
+    public void testToPositionShared() {
+        BitBoard bitBoard = new BitBoard(7, 9);
+        Position pos = bitBoard.toPosition(bitBoard.index(4, 2));
+
+        assertEquals(Position.of(4, 2), pos);
+        assertSame(pos, bitBoard.toPosition(4, 2));
+        assertSame(pos, bitBoard.toPositionArray(bitBoard.bit(4, 2))[0]);
+        assertEquals(Position.of(9, 0), bitBoard.toPosition(9, 0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooManyCells() {
+        BitBoard bitBoard = new BitBoard(8, 9);
+    }
+}
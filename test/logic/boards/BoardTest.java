@@ -1,6 +1,9 @@
 package logic.boards;
 
+import logic.Position;
+import logic.boards.fieldTypes.Property;
 import logic.exceptions.LevelParsingException;
+import static org.junit.Assert.*;
 import org.junit.Test;
 
 /**
@@ -64,4 +67,58 @@ public class BoardTest {
     public void testConstructBoardWrongDimension() throws Exception {
         Board newBoard = new Board(this.level1JSONStringWrongDimensions);
     }
+
+    /**
+     * Tests that the placeable neighbours that are updated with every change
+     * of a cell match the neighbours that are calculated from scratch
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testPlaceableNeighboursIncremental() throws Exception {
+        Board board = new Board(this.level1JSONString);
+        BitBoard bitBoard = board.getBitBoard();
+        Field original = board.getField()[1][2];
+        Position[] moves = {Position.of(0, 1), Position.of(1, 1), Position.of(2, 1),
+            Position.of(2, 2), Position.of(3, 3)};
+
+        for (Position pos : moves) {
+            board.updateCellAdd(Property.DICE_PLACED, pos);
+        }
+        //put one die back and cross out two of the others
+        board.updateCellPutBack(original.getProperty(), Position.of(2, 1), original.getDieValue(), original.getPoints());
+        board.updateCellAdd(Property.CROSSED, Position.of(0, 1));
+        board.updateCellAdd(Property.CROSSED, Position.of(1, 1));
+
+        for (Property prop : new Property[]{Property.CROSSED, Property.DICE_PLACED}) {
+            long expected = bitBoard.neighbours(board.getPropertyMask(prop)) & board.getPlaceableMask();
+            assertEquals(expected, board.getPlaceableNeighbourMask(prop));
+        }
+        //the put back cell is placeable again, the placed one is not
+        long crossedNeighbours = board.getPlaceableNeighbourMask(Property.CROSSED);
+        assertTrue((crossedNeighbours & bitBoard.bit(2, 1)) != 0L);
+        assertTrue((crossedNeighbours & bitBoard.bit(1, 2)) != 0L);
+        assertEquals(0L, board.getPlaceableNeighbourMask(Property.DICE_PLACED) & bitBoard.bit(2, 2));
+    }
+
+    /**
+     * Tests that changed cells share their content and that a put back cell
+     * gets the content of the level back
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testSharedFields() throws Exception {
+        Board board = new Board(this.level1JSONString);
+        Field jewel = board.getField()[1][0];
+
+        board.updateCellAdd(Property.DICE_PLACED, Position.of(0, 1));
+        board.updateCellAdd(Property.DICE_PLACED, Position.of(1, 1));
+        assertSame(board.getField()[1][0], board.getField()[1][1]);
+
+        board.updateCellPutBack(jewel.getProperty(), Position.of(0, 1), jewel.getDieValue(), jewel.getPoints());
+        assertSame(jewel, board.getField()[1][0]);
+        //normal cells with the same die value share their content
+        assertSame(board.getField()[1][2], board.getField()[2][4]);
+    }
 }
@@ -0,0 +1,178 @@
+package logic.boards;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import logic.boards.fieldTypes.FieldProperty;
+import logic.exceptions.LevelParsingException;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Class to test methods of the Class LevelCompiler.java
+ *
+ * @author Mario da Graca (cgt103579)
+ */
+public class LevelCompilerTest {
+
+    /**
+     * Reads the level data of a level file from the resources
+     *
+     * @param levelNo number of the level
+     * @return level data
+     * @throws Exception
+     */
+    private static LevelDataJSON readLevel(int levelNo) throws Exception {
+        try (InputStream in = LevelCompilerTest.class.getResourceAsStream("levelFiles/Level" + levelNo + ".json")) {
+            ByteArrayOutputStream data = new ByteArrayOutputStream();
+            byte[] chunk = new byte[1024];
+            int amount;
+            while ((amount = in.read(chunk)) != -1) {
+                data.write(chunk, 0, amount);
+            }
+            return Board.getLevelFromJSONString(new String(data.toByteArray(), StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Checks if special fields have the same points and positions
+     *
+     * @param expected special fields of the level file
+     * @param actual special fields of the compiled level
+     */
+    private static void assertFieldPropertiesEqual(FieldProperty[] expected, FieldProperty[] actual) {
+        assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i].getPoints(), actual[i].getPoints());
+            assertArrayEquals(expected[i].getPositions(), actual[i].getPositions());
+        }
+    }
+
+    /**
+     * Tests if every compiled level is the same board as the one constructed
+     * from its level file
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testCompiledLevelsEqualLevelFiles() throws Exception {
+        for (int levelNo = 1; levelNo <= 3; levelNo++) {
+            Board expected = new Board(readLevel(levelNo));
+            Board actual = LevelCompiler.read(LevelCompiler.compile(readLevel(levelNo)));
+
+            assertEquals(expected.getBitBoard().getHeight(), actual.getBitBoard().getHeight());
+            assertEquals(expected.getBitBoard().getWidth(), actual.getBitBoard().getWidth());
+            assertTrue(Arrays.deepEquals(expected.getDieValueBoard(), actual.getDieValueBoard()));
+            for (int y = 0; y < expected.getField().length; y++) {
+                for (int x = 0; x < expected.getField()[y].length; x++) {
+                    Field expectedCell = expected.getField()[y][x];
+                    Field actualCell = actual.getField()[y][x];
+                    assertEquals(expectedCell.getProperty(), actualCell.getProperty());
+                    assertEquals(expectedCell.getDieValue() == null, actualCell.getDieValue() == null);
+                    if (expectedCell.getDieValue() != null) {
+                        assertEquals(expectedCell.getDieValue().getfaceValue(), actualCell.getDieValue().getfaceValue());
+                    }
+                    assertEquals(expectedCell.getPoints(), actualCell.getPoints());
+                }
+            }
+            assertArrayEquals(expected.getHorizontalMasks(), actual.getHorizontalMasks());
+            assertArrayEquals(expected.getVerticalMasks(), actual.getVerticalMasks());
+            assertArrayEquals(expected.getPuzzleMasks(), actual.getPuzzleMasks());
+            assertArrayEquals(expected.getJewelMasks(), actual.getJewelMasks());
+            assertEquals(expected.getBombMask(), actual.getBombMask());
+            assertEquals(expected.getStartingMask(), actual.getStartingMask());
+            assertEquals(expected.getPlaceableMask(), actual.getPlaceableMask());
+            assertEquals(expected.getBombOn(), actual.getBombOn());
+            assertEquals(expected.getStartingPos(), actual.getStartingPos());
+            assertEquals(expected.getAmountPlaceableCells(), actual.getAmountPlaceableCells());
+
+            assertFieldPropertiesEqual(expected.getJewels(), actual.getJewels());
+            assertFieldPropertiesEqual(expected.getPuzzles(), actual.getPuzzles());
+            assertFieldPropertiesEqual(expected.getHorizontals(), actual.getHorizontals());
+            assertFieldPropertiesEqual(expected.getVerticals(), actual.getVerticals());
+            assertFieldPropertiesEqual(new FieldProperty[]{expected.getBombs()}, new FieldProperty[]{actual.getBombs()});
+            assertEquals(expected.getKeys().length, actual.getKeys().length);
+            for (int i = 0; i < expected.getKeys().length; i++) {
+                assertEquals(expected.getKeys()[i].getPosition(), actual.getKeys()[i].getPosition());
+                assertArrayEquals(expected.getKeys()[i].getPositions(), actual.getKeys()[i].getPositions());
+            }
+            assertEquals(expected.getFlag() == null, actual.getFlag() == null);
+            if (expected.getFlag() != null) {
+                assertArrayEquals(expected.getFlag().getPoints(), actual.getFlag().getPoints());
+                assertEquals(expected.getFlag().getPosition(), actual.getFlag().getPosition());
+            }
+            assertEquals(expected.getRocket(), actual.getRocket());
+            assertEquals(expected.getPlanet(), actual.getPlanet());
+        }
+    }
+
+    /**
+     * Tests if the cells of a special field still share their points
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testPointsAreShared() throws Exception {
+        Board board = LevelCompiler.read(LevelCompiler.compile(readLevel(1)));
+        long jewels = board.getJewelMasks()[0];
+        Field first = board.getField()[board.getBitBoard().getY(Long.numberOfTrailingZeros(jewels))]
+                [board.getBitBoard().getX(Long.numberOfTrailingZeros(jewels))];
+        Field last = board.getField()[board.getBitBoard().getY(63 - Long.numberOfLeadingZeros(jewels))]
+                [board.getBitBoard().getX(63 - Long.numberOfLeadingZeros(jewels))];
+        assertSame(first.getPoints(), last.getPoints());
+    }
+
+    /**
+     * Tests if a level with rows of different lengths isn't compiled
+     *
+     * @throws Exception
+     */
+    @Test(expected = LevelParsingException.class)
+    public void testCompileWrongDimensions() throws Exception {
+        LevelCompiler.compile(Board.getLevelFromJSONString("{\"field\":[[1,2,3],[4,5]],\"jewels\":[],"
+                + "\"bombs\":{\"points\":2,\"positions\":[]},\"puzzles\":[],\"horizontal-lines\":[],"
+                + "\"vertical-lines\":[],\"keys\":[]}"));
+    }
+
+    /**
+     * Tests if a level with a coordinate out of bounds isn't compiled
+     *
+     * @throws Exception
+     */
+    @Test(expected = LevelParsingException.class)
+    public void testCompileWrongCoords() throws Exception {
+        LevelCompiler.compile(Board.getLevelFromJSONString("{\"field\":[[1,2,3],[4,5,6]],\"jewels\":[],"
+                + "\"bombs\":{\"points\":2,\"positions\":[{\"x\":3,\"y\":0}]},\"puzzles\":[],"
+                + "\"horizontal-lines\":[],\"vertical-lines\":[],\"keys\":[]}"));
+    }
+
+    /**
+     * Tests if a level with more lines and puzzles than the special cell index
+     * can hold isn't compiled
+     *
+     * @throws Exception
+     */
+    @Test(expected = LevelParsingException.class)
+    public void testCompileTooManyGroups() throws Exception {
+        StringBuilder puzzles = new StringBuilder();
+        for (int i = 0; i <= SpecialCellIndex.MAX_GROUPS; i++) {
+            puzzles.append(i == 0 ? "" : ",").append("{\"points\":1,\"positions\":[{\"x\":0,\"y\":0}]}");
+        }
+        LevelCompiler.compile(Board.getLevelFromJSONString("{\"field\":[[1,2,3],[4,5,6]],\"jewels\":[],"
+                + "\"bombs\":{\"points\":2,\"positions\":[]},\"puzzles\":[" + puzzles + "],"
+                + "\"horizontal-lines\":[],\"vertical-lines\":[],\"keys\":[]}"));
+    }
+
+    /**
+     * Tests if a damaged compiled level isn't read
+     *
+     * @throws Exception
+     */
+    @Test(expected = LevelParsingException.class)
+    public void testReadDamaged() throws Exception {
+        byte[] compiled = LevelCompiler.compile(readLevel(2));
+        compiled[20] ^= 1;
+        LevelCompiler.read(compiled);
+    }
+}
@@ -0,0 +1,57 @@
+package logic.boards;
+
+import logic.Position;
+import logic.boards.fieldTypes.Property;
+import logic.exceptions.LevelParsingException;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Class to test methods of the Class LevelTemplate.java
+ *
+ * @author Mario da Graca (cgt103579)
+ */
+public class LevelTemplateTest {
+
+    /**
+     * Tests if a level is only loaded once
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testTemplateIsCached() throws Exception {
+        assertSame(LevelTemplate.get(2), LevelTemplate.get(2));
+    }
+
+    /**
+     * Tests if changing one board doesn't change other boards of the same
+     * level
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testCopyOnWrite() throws Exception {
+        LevelTemplate template = LevelTemplate.get(1);
+        Board first = template.createBoard();
+        Board second = template.createBoard();
+        Position pos = Position.of(1, 1);
+        Property before = second.getField()[1][1].getProperty();
+
+        first.updateCellAdd(Property.DICE_PLACED, pos);
+
+        assertEquals(Property.DICE_PLACED, first.getField()[1][1].getProperty());
+        assertEquals(before, second.getField()[1][1].getProperty());
+        assertEquals(before, template.createBoard().getField()[1][1].getProperty());
+        assertEquals(0L, second.getPropertyMask(Property.DICE_PLACED));
+    }
+
+    /**
+     * Tests if a level that doesn't exist can't be loaded
+     *
+     * @throws Exception
+     */
+    @Test(expected = LevelParsingException.class)
+    public void testMissingLevel() throws Exception {
+        LevelTemplate.get(0);
+    }
+}
@@ -0,0 +1,77 @@
+package logic.boards;
+
+import logic.Position;
+import logic.boards.fieldTypes.Property;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Class to test methods of the Class SpecialCellIndex.java
+ *
+ * @author Mario da Graca (cgt103579)
+ */
+public class SpecialCellIndexTest {
+
+    /**
+     * Tests if the key of level 3 is linked to both of its padlocks
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testKeyUnlocksPadlocks() throws Exception {
+        Board board = LevelTemplate.get(3).createBoard();
+        BitBoard bitBoard = board.getBitBoard();
+        SpecialCellIndex specialCells = board.getSpecialCells();
+
+        assertEquals(1, specialCells.getAmountKeys());
+        assertEquals(bitBoard.bit(4, 6), specialCells.getKeyMask(0));
+        assertEquals(bitBoard.bit(4, 1) | bitBoard.bit(8, 3), specialCells.getPadlockMask(0));
+        assertEquals(Property.UNLOCKED_KEYHOLE_YELLOW, specialCells.getUnlockedPadlock(0));
+        assertEquals(specialCells.getKeyMask(0), specialCells.getAllKeysMask());
+    }
+
+    /**
+     * Tests if the rocket, planet, flag and bombs of level 3 are indexed
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testRocketPlanetFlagAndBombs() throws Exception {
+        Board board = LevelTemplate.get(3).createBoard();
+        BitBoard bitBoard = board.getBitBoard();
+        SpecialCellIndex specialCells = board.getSpecialCells();
+
+        assertEquals(bitBoard.bit(0, 6), specialCells.getRocketMask());
+        assertEquals(bitBoard.bit(6, 6), specialCells.getPlanetMask());
+        assertEquals(bitBoard.bit(8, 0), specialCells.getFlagMask());
+        assertEquals(board.getBombMask(), specialCells.getBombMask());
+    }
+
+    /**
+     * Tests if every cell knows the lines and puzzles it belongs to
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testGroupsOfCells() throws Exception {
+        Board board = LevelTemplate.get(3).createBoard();
+        BitBoard bitBoard = board.getBitBoard();
+        SpecialCellIndex specialCells = board.getSpecialCells();
+        int amountPuzzles = board.getPuzzles().length;
+        int amountVerticals = board.getVerticals().length;
+
+        assertEquals(amountPuzzles + amountVerticals + board.getHorizontals().length,
+                specialCells.getAmountGroups());
+        //second vertical line and first horizontal line
+        assertEquals(1L << (amountPuzzles + 1) | 1L << (amountPuzzles + amountVerticals),
+                specialCells.getGroupsOfCell(bitBoard.index(Position.of(3, 1))));
+        //the puzzle and the fifth horizontal line
+        assertEquals(1L | 1L << (amountPuzzles + amountVerticals + 4),
+                specialCells.getGroupsOfCell(bitBoard.index(Position.of(4, 5))));
+        for (int group = 0; group < specialCells.getAmountGroups(); group++) {
+            long cells = specialCells.getGroupMask(group);
+            assertEquals(1L << group, specialCells.getGroupsOfCells(cells) & 1L << group);
+        }
+        assertEquals(0L, specialCells.getGroupsOfCells(0L));
+    }
+}
@@ -0,0 +1,240 @@
+package logic.simulation;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import logic.GameLogicDizzle;
+import logic.GameResult;
+import logic.boards.BitBoard;
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Class to test methods of the Class GameArchive.java
+ *
+ * @author Mario da Graca (cgt103579)
+ */
+public class GameArchiveTest {
+
+    /**
+     * Temporary archive file
+     */
+    private Path archiveFile;
+
+    /**
+     * Creates the temporary archive file
+     *
+     * @throws Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        this.archiveFile = Files.createTempFile("dizzle", ".archive");
+    }
+
+    /**
+     * Deletes the temporary archive file
+     *
+     * @throws Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(this.archiveFile);
+    }
+
+    /**
+     * Counts the committed records of an archive
+     *
+     * @param archive archive to read
+     * @return amount of records
+     * @throws IOException
+     */
+    private static int count(GameArchive archive) throws IOException {
+        int toReturn = 0;
+        GameArchive.Cursor cursor = archive.cursor();
+        while (cursor.next()) {
+            toReturn++;
+        }
+        return toReturn;
+    }
+
+    /**
+     * Tests if every game of a tournament that is played by several threads
+     * is archived exactly once with its seed and its points
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testConcurrentAppends() throws Exception {
+        GameArchive archive = new GameArchive(this.archiveFile);
+        Tournament tournament = new Tournament(2, 2, 60, 500L);
+        tournament.setArchive(archive);
+        ForkJoinPool fourThreads = new ForkJoinPool(4);
+        TournamentResult result = tournament.run(fourThreads);
+        fourThreads.shutdown();
+
+        boolean[] seen = new boolean[60];
+        int[] wins = new int[3];
+        GameArchive.Cursor cursor = archive.cursor();
+        while (cursor.next()) {
+            int gameNo = (int) (cursor.getSeed() - 500L);
+            assertFalse(seen[gameNo]);
+            seen[gameNo] = true;
+            assertEquals(2, cursor.getLevelNo());
+            assertEquals(3, cursor.getAmountPlayers());
+            if (cursor.getWinner() >= 0) {
+                wins[cursor.getWinner()]++;
+            }
+
+            //the points are the same as in a single game with the same seed
+            GameResult expected = new GameLogicDizzle(2, 2, cursor.getSeed()).playHeadless();
+            for (int i = 0; i < 3; i++) {
+                assertEquals(expected.getPoints(i), cursor.getPoints(i));
+                assertEquals(expected.getAmountCrossed(i), cursor.getAmountCrossed(i));
+            }
+        }
+        for (boolean gameSeen : seen) {
+            assertTrue(gameSeen);
+        }
+        for (int i = 0; i < 3; i++) {
+            assertEquals(result.getWins(i), wins[i]);
+        }
+        archive.close();
+    }
+
+    /**
+     * Tests if the moves of a game are recorded turn by turn and every placed
+     * die is decoded to its cell
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testMoves() throws Exception {
+        GameArchive archive = new GameArchive(this.archiveFile);
+        GameLogicDizzle game = new GameLogicDizzle(1, 3, 8L);
+        archive.record(game);
+        game.playHeadless();
+        BitBoard bitBoard = game.getPlayers()[0].getBoard().getBitBoard();
+
+        GameArchive.Cursor cursor = archive.cursor();
+        assertTrue(cursor.next());
+        assertFalse(cursor.isTruncated());
+        int turns = 0;
+        int placed = 0;
+        for (int i = 0; i < cursor.getAmountMoves(); i++) {
+            int move = cursor.getMove(i);
+            switch (GameArchive.getMoveKind(move)) {
+                case GameArchive.MOVE_END_OF_TURN:
+                    turns++;
+                    break;
+                case GameArchive.MOVE_PLACE:
+                    placed++;
+                    assertEquals(GameArchive.getMoveCell(move), bitBoard.index(cursor.getMovePosition(move)));
+                    assertTrue(GameArchive.getMovePlayer(move) < 2);
+                    break;
+                default:
+                    break;
+            }
+        }
+        //the last move of the game ends the last turn
+        assertEquals(GameArchive.MOVE_END_OF_TURN,
+                GameArchive.getMoveKind(cursor.getMove(cursor.getAmountMoves() - 1)));
+        assertTrue(turns > 0);
+        assertTrue(placed >= cursor.getAmountCrossed(0) + cursor.getAmountCrossed(1));
+        assertFalse(cursor.next());
+        archive.close();
+    }
+
+    /**
+     * Tests if a reopened archive contains all records and new records are
+     * appended after them
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testReopen() throws Exception {
+        GameArchive archive = new GameArchive(this.archiveFile);
+        for (long seed = 0; seed < 3; seed++) {
+            GameLogicDizzle game = new GameLogicDizzle(1, 1, seed);
+            archive.record(game);
+            game.playHeadless();
+        }
+        archive.close();
+
+        GameArchive reopened = new GameArchive(this.archiveFile);
+        assertEquals(3, reopened.getAmountRecords());
+        GameLogicDizzle game = new GameLogicDizzle(1, 1, 3L);
+        reopened.record(game);
+        game.playHeadless();
+
+        long seed = 0;
+        GameArchive.Cursor cursor = reopened.cursor();
+        while (cursor.next()) {
+            assertEquals(seed++, cursor.getSeed());
+        }
+        assertEquals(4, seed);
+        reopened.close();
+    }
+
+    /**
+     * Tests if a reopened archive that only mapped its last segment forces
+     * that segment to the disk
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testReopenFlush() throws Exception {
+        GameArchive archive = new GameArchive(this.archiveFile);
+        GameResult result = new GameResult(2, 0L, new int[]{10, 20}, new int[]{1, 2}, 1);
+        for (int i = 0; i <= GameArchive.SEGMENT_RECORDS; i++) {
+            archive.append(result, 7, new short[0], 0, false);
+        }
+        archive.close();
+
+        GameArchive reopened = new GameArchive(this.archiveFile);
+        reopened.append(result, 7, new short[0], 0, false);
+        assertEquals(1, reopened.forceSegments());
+        assertEquals(GameArchive.SEGMENT_RECORDS + 2, count(reopened));
+        assertEquals(2, reopened.forceSegments());
+        reopened.close();
+    }
+
+    /**
+     * Tests if a damaged record is skipped by the reader
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testDamagedRecord() throws Exception {
+        GameArchive archive = new GameArchive(this.archiveFile);
+        short[] moves = {GameArchive.encodeMove(GameArchive.MOVE_ROLL, 1, 0)};
+        for (long seed = 0; seed < 3; seed++) {
+            archive.append(new GameResult(2, seed, new int[]{10, 20}, new int[]{1, 2}, 1), 7, moves, 1, false);
+        }
+        archive.close();
+
+        try (RandomAccessFile file = new RandomAccessFile(this.archiveFile.toFile(), "rw")) {
+            //points of the second record
+            long position = file.length() - GameArchive.SEGMENT_RECORDS * (long) GameArchive.RECORD_SIZE
+                    + GameArchive.RECORD_SIZE + 20;
+            file.seek(position);
+            file.writeShort(99);
+        }
+
+        GameArchive reopened = new GameArchive(this.archiveFile);
+        GameArchive.Cursor cursor = reopened.cursor();
+        assertTrue(cursor.next());
+        assertEquals(0L, cursor.getSeed());
+        assertEquals(20, cursor.getPoints(1));
+        assertEquals(GameArchive.MOVE_ROLL, GameArchive.getMoveKind(cursor.getMove(0)));
+        assertEquals(1, GameArchive.getMovePlayer(cursor.getMove(0)));
+        assertTrue(cursor.next());
+        assertEquals(2L, cursor.getSeed());
+        assertFalse(cursor.next());
+        assertEquals(2, count(reopened));
+        reopened.close();
+    }
+}
@@ -0,0 +1,97 @@
+package logic.simulation;
+
+import java.util.concurrent.ForkJoinPool;
+import logic.HeuristicStrategy;
+import logic.MonteCarloStrategy;
+import logic.MoveStrategy;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Class to test methods of the Class Tournament.java
+ *
+ * @author Mario da Graca (cgt103579)
+ */
+public class TournamentTest {
+
+    /**
+     * Tests if every game is counted exactly once
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testAllGamesPlayed() throws Exception {
+        TournamentResult result = new Tournament(2, 2, 50, 7L).run();
+
+        int amountFinished = result.getAmountTies();
+        for (int i = 0; i < result.getAmountPlayers(); i++) {
+            amountFinished += result.getWins(i);
+        }
+        assertEquals(50, result.getAmountGames());
+        assertEquals(50, amountFinished);
+    }
+
+    /**
+     * Tests if the outcome doesn't depend on the amount of threads
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testSameOutcomeAnyAmountThreads() throws Exception {
+        ForkJoinPool singleThread = new ForkJoinPool(1);
+        ForkJoinPool fourThreads = new ForkJoinPool(4);
+        TournamentResult first = new Tournament(3, 3, 40, 99L).run(singleThread);
+        TournamentResult second = new Tournament(3, 3, 40, 99L).run(fourThreads);
+        singleThread.shutdown();
+        fourThreads.shutdown();
+
+        for (int i = 0; i < first.getAmountPlayers(); i++) {
+            assertEquals(first.getWins(i), second.getWins(i));
+            assertEquals(first.getDistribution(i), second.getDistribution(i));
+        }
+    }
+
+    /**
+     * Tests if a tournament with enough games on the third level finishes,
+     * some of its games have a player that reached the flag as the fourth
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testManyGamesFinish() throws Exception {
+        TournamentResult result = new Tournament(3, 3, 1000, 700L).run();
+
+        assertEquals(1000, result.getAmountGames());
+    }
+
+    /**
+     * Tests if a level that doesn't exist is rejected
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalLevel() {
+        Tournament tournament = new Tournament(4, 1, 10, 0L);
+    }
+
+    /**
+     * Tests if the outcome is reported with the strategy of every player
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testStrategyPerPlayer() throws Exception {
+        MoveStrategy monteCarlo = new MonteCarloStrategy(ForkJoinPool.commonPool(), 60000, 2);
+        TournamentResult result = new Tournament(1, 1, 4, 3L, monteCarlo, HeuristicStrategy.INSTANCE).run();
+
+        assertEquals(4, result.getAmountGames());
+        assertEquals(monteCarlo.getName(), result.getStrategyName(0));
+        assertEquals(HeuristicStrategy.INSTANCE.getName(), result.getStrategyName(1));
+    }
+
+    /**
+     * Tests if a tournament without a strategy for every player is rejected
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingStrategy() {
+        Tournament tournament = new Tournament(1, 2, 10, 0L, HeuristicStrategy.INSTANCE);
+    }
+}